@@ -0,0 +1,16 @@
+package io.kaoto.forage.core.ai;
+
+import io.kaoto.forage.core.common.BeanProvider;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Provider interface exposing the store behind a chat memory kind, so that other chat memories can be layered
+ * on top of it.
+ */
+public interface ChatMemoryStoreProvider extends BeanProvider<ChatMemoryStore> {
+
+    /**
+     * Returns the kind selecting this provider in the memory configuration (e.g., message-window, redis).
+     */
+    String kind();
+}
@@ -0,0 +1,36 @@
+package io.kaoto.forage.core.ai;
+
+import java.time.Duration;
+
+/**
+ * Remote tier of the agent response cache, shared by all the application instances using the same store.
+ *
+ * <p>Keys are namespaced by the caller, values are serialized chat responses. Stores keep the responses apart
+ * from the other data of their backend, e.g. in a dedicated cache or key prefix, and own their connections,
+ * which are released by {@link #close()}.
+ */
+public interface ChatResponseCacheStore extends AutoCloseable {
+
+    /**
+     * Returns the value stored under the given key.
+     *
+     * @param key the cache key
+     * @return the stored value, or {@code null} if there is none or it has expired
+     */
+    String get(String key);
+
+    /**
+     * Stores a value under the given key.
+     *
+     * @param key the cache key
+     * @param value the value to store
+     * @param ttl how long the value is kept
+     */
+    void put(String key, String value, Duration ttl);
+
+    /**
+     * Releases the connections of the store.
+     */
+    @Override
+    default void close() {}
+}
@@ -0,0 +1,14 @@
+package io.kaoto.forage.core.ai;
+
+import io.kaoto.forage.core.common.BeanProvider;
+
+/**
+ * Provider interface for creating the remote tier of the agent response cache.
+ */
+public interface ChatResponseCacheStoreProvider extends BeanProvider<ChatResponseCacheStore> {
+
+    /**
+     * Returns the kind selecting this provider in the agent configuration (e.g., redis, infinispan).
+     */
+    String kind();
+}
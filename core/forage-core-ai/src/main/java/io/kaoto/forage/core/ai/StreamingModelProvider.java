@@ -0,0 +1,18 @@
+package io.kaoto.forage.core.ai;
+
+import dev.langchain4j.model.chat.StreamingChatModel;
+
+/**
+ * Implemented by the {@link ModelProvider} of the model kinds that can stream their responses.
+ *
+ * <p>The streaming model is created from the same configuration as the chat model of the provider.
+ */
+public interface StreamingModelProvider {
+
+    /**
+     * Creates a new streaming chat model
+     * @param id a pre-existing ID that can be used by the provider to refer to itself (i.e.: in things such as configurations)
+     * @return the created streaming chat model
+     */
+    StreamingChatModel createStreaming(String id);
+}
@@ -0,0 +1,128 @@
+package io.kaoto.forage.core.ai.http;
+
+import javax.net.ssl.SSLContext;
+
+import java.lang.reflect.Method;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+
+/**
+ * Factory of the HTTP clients used by the Forage model and embedding providers.
+ *
+ * <p>Providers pass the builder returned by {@link #httpClientBuilder()} to their LangChain4j model builder.
+ * All the builders handed out with the same HTTP version, connect timeout, SSL context and proxy are backed by
+ * a single {@link HttpClient}, which pools connections per host, so every model talking to the same endpoint
+ * with the same settings reuses the same connections. The read timeout is applied per request.
+ *
+ * <p>The connection pool size and keep-alive of the JDK HTTP client are JVM wide and read once, when the JDK
+ * creates its first HTTP client. Set them at startup with the {@code jdk.httpclient.connectionPoolSize} and
+ * {@code jdk.httpclient.keepalive.timeout} system properties if needed.
+ */
+public final class ForageHttpClients {
+    private static final Logger LOG = LoggerFactory.getLogger(ForageHttpClients.class);
+
+    private static final Map<Settings, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+    private ForageHttpClients() {}
+
+    /**
+     * Returns an HTTP client builder for a model or embedding provider.
+     *
+     * @return a builder backed by a shared client, or null when sharing is disabled and the provider
+     *         should fall back to its default client
+     */
+    public static HttpClientBuilder httpClientBuilder() {
+        return httpClientBuilder(null);
+    }
+
+    /**
+     * Returns an HTTP client builder for a provider that requires a specific HTTP version.
+     *
+     * @param version the HTTP version to use, or null for the configured one
+     * @return a builder backed by a shared client for the version, a dedicated builder when sharing is
+     *         disabled and a version is requested, or null otherwise
+     */
+    public static HttpClientBuilder httpClientBuilder(HttpClient.Version version) {
+        HttpClientConfig config = new HttpClientConfig();
+        if (!config.shared()) {
+            return version == null
+                    ? null
+                    : new JdkHttpClientBuilder()
+                            .httpClientBuilder(HttpClient.newBuilder().version(version));
+        }
+
+        HttpClient.Version resolved = version != null ? version : config.version();
+        JdkHttpClientBuilder builder = new JdkHttpClientBuilder()
+                .httpClientBuilder(new SharedHttpClientBuilder(resolved, config.connectTimeout()))
+                .connectTimeout(config.connectTimeout());
+        if (config.readTimeout() != null) {
+            builder.readTimeout(config.readTimeout());
+        }
+        return builder;
+    }
+
+    /**
+     * Returns the shared client with the given settings, creating it on first use.
+     */
+    static HttpClient client(
+            HttpClient.Version version, Duration connectTimeout, SSLContext sslContext, ProxySelector proxy) {
+        return CLIENTS.computeIfAbsent(
+                new Settings(version, connectTimeout, sslContext, proxy), ForageHttpClients::newHttpClient);
+    }
+
+    private static HttpClient newHttpClient(Settings settings) {
+        HttpClientConfig config = new HttpClientConfig();
+        HttpClient.Builder builder =
+                HttpClient.newBuilder().version(settings.version()).connectTimeout(settings.connectTimeout());
+        if (settings.sslContext() != null) {
+            builder.sslContext(settings.sslContext());
+        }
+        if (settings.proxy() != null) {
+            builder.proxy(settings.proxy());
+        }
+        if (config.virtualThreads()) {
+            ExecutorService executor = virtualThreadExecutor();
+            if (executor != null) {
+                builder.executor(executor);
+            }
+        }
+
+        LOG.info(
+                "Creating shared {} HTTP client for the model providers, with a {} connect timeout",
+                settings.version(),
+                settings.connectTimeout());
+        return builder.build();
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            LOG.warn("Virtual threads are not available on this JVM, using the default HTTP client executor");
+            return null;
+        }
+    }
+
+    /**
+     * Forgets the shared clients, so that the next builder creates new ones from the current configuration.
+     */
+    static void reset() {
+        CLIENTS.clear();
+    }
+
+    /**
+     * Settings telling the shared clients apart. The SSL context and proxy are compared by identity.
+     */
+    private record Settings(
+            HttpClient.Version version, Duration connectTimeout, SSLContext sslContext, ProxySelector proxy) {}
+}
@@ -0,0 +1,52 @@
+package io.kaoto.forage.core.ai.http;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import io.kaoto.forage.core.util.config.AbstractConfig;
+
+import static io.kaoto.forage.core.ai.http.HttpClientConfigEntries.CONNECT_TIMEOUT;
+import static io.kaoto.forage.core.ai.http.HttpClientConfigEntries.READ_TIMEOUT;
+import static io.kaoto.forage.core.ai.http.HttpClientConfigEntries.SHARED;
+import static io.kaoto.forage.core.ai.http.HttpClientConfigEntries.VERSION;
+import static io.kaoto.forage.core.ai.http.HttpClientConfigEntries.VIRTUAL_THREADS;
+
+/**
+ * Configuration of the HTTP client shared by the Forage model and embedding providers.
+ *
+ * <p>The settings are global: they are read from {@code forage.http.client.*} properties, the matching
+ * environment variables or the forage-http-client.properties file, and apply to every provider that talks
+ * to its backend through the LangChain4j HTTP client.
+ *
+ * @see ForageHttpClients
+ */
+public class HttpClientConfig extends AbstractConfig {
+
+    public HttpClientConfig() {
+        super(null, HttpClientConfigEntries.class);
+    }
+
+    @Override
+    public String name() {
+        return "forage-http-client";
+    }
+
+    public boolean shared() {
+        return get(SHARED).map(Boolean::parseBoolean).orElse(true);
+    }
+
+    public HttpClient.Version version() {
+        return get(VERSION).map(HttpClient.Version::valueOf).orElse(HttpClient.Version.valueOf(VERSION.defaultValue()));
+    }
+
+    public Duration connectTimeout() {
+        return get(CONNECT_TIMEOUT).map(Duration::parse).orElse(Duration.parse(CONNECT_TIMEOUT.defaultValue()));
+    }
+
+    public Duration readTimeout() {
+        return get(READ_TIMEOUT).map(Duration::parse).orElse(null);
+    }
+
+    public boolean virtualThreads() {
+        return get(VIRTUAL_THREADS).map(Boolean::parseBoolean).orElse(false);
+    }
+}
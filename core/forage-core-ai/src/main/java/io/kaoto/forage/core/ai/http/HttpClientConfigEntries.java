@@ -0,0 +1,57 @@
+package io.kaoto.forage.core.ai.http;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+
+public final class HttpClientConfigEntries extends ConfigEntries {
+    public static final ConfigModule SHARED = ConfigModule.of(
+            HttpClientConfig.class,
+            "forage.http.client.shared",
+            "Share one pooled HTTP client between all the model and embedding providers",
+            "Shared Client",
+            "true",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule VERSION = ConfigModule.of(
+            HttpClientConfig.class,
+            "forage.http.client.version",
+            "The preferred HTTP version (HTTP_2 or HTTP_1_1)",
+            "HTTP Version",
+            "HTTP_2",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule CONNECT_TIMEOUT = ConfigModule.of(
+            HttpClientConfig.class,
+            "forage.http.client.connect.timeout",
+            "Connect timeout in ISO-8601 format (e.g. PT15S for 15 seconds)",
+            "Connect Timeout",
+            "PT15S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule READ_TIMEOUT = ConfigModule.of(
+            HttpClientConfig.class,
+            "forage.http.client.read.timeout",
+            "Default read timeout in ISO-8601 format, used when the provider configures no timeout of its own",
+            "Read Timeout",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule VIRTUAL_THREADS = ConfigModule.of(
+            HttpClientConfig.class,
+            "forage.http.client.virtual.threads",
+            "Run the HTTP client on virtual threads (requires Java 21 or later)",
+            "Virtual Threads",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    static {
+        initModules(HttpClientConfigEntries.class, SHARED, VERSION, CONNECT_TIMEOUT, READ_TIMEOUT, VIRTUAL_THREADS);
+    }
+}
@@ -0,0 +1,95 @@
+package io.kaoto.forage.core.ai.http;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * JDK HTTP client builder handing out the shared client matching the settings applied to it.
+ *
+ * <p>The HTTP version, connect timeout, SSL context and proxy select which shared client is built, so models
+ * configuring the same values share it. The other settings cannot be shared and are rejected: disable
+ * {@code forage.http.client.shared} to give the model a client of its own.
+ */
+final class SharedHttpClientBuilder implements HttpClient.Builder {
+    private HttpClient.Version version;
+    private Duration connectTimeout;
+    private SSLContext sslContext;
+    private ProxySelector proxy;
+
+    SharedHttpClientBuilder(HttpClient.Version version, Duration connectTimeout) {
+        this.version = version;
+        this.connectTimeout = connectTimeout;
+    }
+
+    @Override
+    public HttpClient.Builder cookieHandler(CookieHandler cookieHandler) {
+        throw unsupported("cookie handler");
+    }
+
+    @Override
+    public HttpClient.Builder connectTimeout(Duration duration) {
+        this.connectTimeout = duration;
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder sslContext(SSLContext sslContext) {
+        this.sslContext = sslContext;
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder sslParameters(SSLParameters sslParameters) {
+        throw unsupported("SSL parameters");
+    }
+
+    @Override
+    public HttpClient.Builder executor(Executor executor) {
+        throw unsupported("executor");
+    }
+
+    @Override
+    public HttpClient.Builder followRedirects(HttpClient.Redirect policy) {
+        throw unsupported("redirect policy");
+    }
+
+    @Override
+    public HttpClient.Builder version(HttpClient.Version version) {
+        this.version = version;
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder priority(int priority) {
+        throw unsupported("priority");
+    }
+
+    @Override
+    public HttpClient.Builder proxy(ProxySelector proxySelector) {
+        this.proxy = proxySelector;
+        return this;
+    }
+
+    @Override
+    public HttpClient.Builder authenticator(Authenticator authenticator) {
+        throw unsupported("authenticator");
+    }
+
+    @Override
+    public HttpClient build() {
+        return ForageHttpClients.client(version, connectTimeout, sslContext, proxy);
+    }
+
+    private static UnsupportedOperationException unsupported(String setting) {
+        return new UnsupportedOperationException("A model sets an HTTP client " + setting
+                + ", which the shared HTTP client does not support: set forage.http.client.shared=false"
+                + " to give every model its own client");
+    }
+}
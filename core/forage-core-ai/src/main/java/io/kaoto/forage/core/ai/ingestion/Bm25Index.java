@@ -0,0 +1,514 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+
+/**
+ * In-process BM25 inverted index of text segments, finding the segments sharing exact terms with a query.
+ *
+ * <p>Vector search finds segments with a similar meaning, but often misses exact identifiers such as error codes,
+ * product references or class names. This index complements it: the text is lowercased and cut into terms made of
+ * letters and digits, a term joining such runs with {@code - _ . / : #} (e.g. {@code ERR-1042}) being indexed both
+ * whole and as its parts. The segments are scored with Okapi BM25.
+ *
+ * <p>The postings of each term are kept in two int arrays, the document numbers and the term frequencies, the
+ * numbers of removed segments being reused. {@link #save(Path)} writes the segments and the postings, delta and
+ * variable-length encoded, so that {@link #load(Path)} restores the index without tokenizing the segments again.
+ */
+public class Bm25Index {
+    private static final int MAGIC = 0x46424D32; // FBM2
+    private static final int VERSION = 1;
+    private static final String CONNECTORS = "-_./:#";
+
+    private final double k1;
+    private final double b;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> documentsById = new HashMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final Deque<Integer> freeDocuments = new ArrayDeque<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private long totalLength;
+
+    /**
+     * Creates an index with the usual BM25 parameters, {@code k1 = 1.2} and {@code b = 0.75}.
+     */
+    public Bm25Index() {
+        this(1.2, 0.75);
+    }
+
+    /**
+     * @param k1 the term frequency saturation
+     * @param b the document length normalization, between 0 (none) and 1 (full)
+     */
+    public Bm25Index(double k1, double b) {
+        this.k1 = k1;
+        this.b = b;
+    }
+
+    /**
+     * Returns the number of indexed segments.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a segment, replacing the segment indexed with the same id.
+     */
+    public void add(String id, TextSegment segment) {
+        addAll(List.of(id), List.of(segment));
+    }
+
+    /**
+     * Indexes segments, replacing the segments indexed with the same ids.
+     */
+    public void addAll(List<String> ids, List<TextSegment> segments) {
+        if (ids.size() != segments.size()) {
+            throw new IllegalArgumentException("The number of ids and segments differ");
+        }
+        lock.writeLock().lock();
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                if (segments.get(i) != null) {
+                    index(ids.get(i), segments.get(i));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the segments with the given ids.
+     */
+    public void removeAll(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            ids.forEach(this::unindex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the segments matching a predicate.
+     */
+    public void removeIf(Predicate<TextSegment> predicate) {
+        lock.writeLock().lock();
+        try {
+            documents.stream()
+                    .filter(document -> document != null && predicate.test(document.segment()))
+                    .map(Document::id)
+                    .toList()
+                    .forEach(this::unindex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all the segments.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documentsById.clear();
+            documents.clear();
+            freeDocuments.clear();
+            postings.clear();
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the segments with the highest BM25 score for the terms of the query, the best first.
+     *
+     * @param query the query text
+     * @param maxResults the maximum number of segments returned
+     * @return the matching segments, with their id and BM25 score
+     */
+    public List<EmbeddingMatch<TextSegment>> search(String query, int maxResults) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || documentsById.isEmpty() || maxResults <= 0) {
+                return List.of();
+            }
+            double averageLength = (double) totalLength / documentsById.size();
+            double[] scores = new double[documents.size()];
+            for (String term : terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentsById.size() - termPostings.size + 0.5) / (termPostings.size + 0.5));
+                for (int i = 0; i < termPostings.size; i++) {
+                    int document = termPostings.documents[i];
+                    int frequency = termPostings.frequencies[i];
+                    double norm = k1 * (1 - b + b * documents.get(document).length() / averageLength);
+                    scores[document] += idf * frequency * (k1 + 1) / (frequency + norm);
+                }
+            }
+
+            PriorityQueue<Integer> best =
+                    new PriorityQueue<>(maxResults + 1, Comparator.comparingDouble(document -> scores[document]));
+            for (int document = 0; document < scores.length; document++) {
+                if (scores[document] > 0) {
+                    best.add(document);
+                    if (best.size() > maxResults) {
+                        best.poll();
+                    }
+                }
+            }
+            List<EmbeddingMatch<TextSegment>> matches = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                int document = best.poll();
+                Document entry = documents.get(document);
+                matches.add(new EmbeddingMatch<>(scores[document], entry.id(), null, entry.segment()));
+            }
+            Collections.reverse(matches);
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the index to a file, replacing it atomically.
+     */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            lock.readLock().lock();
+            try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                write(out);
+            } finally {
+                lock.readLock().unlock();
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Reads an index written by {@link #save(Path)}.
+     *
+     * @throws IOException if the file cannot be read or is not an index
+     */
+    public static Bm25Index load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(file + " is not a BM25 index");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported BM25 index version " + version + " in " + file);
+            }
+            Bm25Index index = new Bm25Index(in.readDouble(), in.readDouble());
+            index.read(in);
+            return index;
+        }
+    }
+
+    /**
+     * Returns the terms of a text, in order.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        int length = text.length();
+        int start = -1;
+        boolean compound = false;
+        for (int i = 0; i <= length; i++) {
+            char c = i < length ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (start < 0) {
+                    start = i;
+                    compound = false;
+                }
+            } else if (start >= 0
+                    && CONNECTORS.indexOf(c) >= 0
+                    && i + 1 < length
+                    && Character.isLetterOrDigit(text.charAt(i + 1))) {
+                compound = true;
+            } else if (start >= 0) {
+                String term = text.substring(start, i).toLowerCase(Locale.ROOT);
+                terms.add(term);
+                if (compound) {
+                    for (String part : term.split("[-_./:#]")) {
+                        terms.add(part);
+                    }
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    private void index(String id, TextSegment segment) {
+        unindex(id);
+        List<String> terms = tokenize(segment.text());
+        Integer free = freeDocuments.poll();
+        int document = free != null ? free : documents.size();
+        Document entry = new Document(id, segment, terms.size());
+        if (free != null) {
+            documents.set(document, entry);
+        } else {
+            documents.add(entry);
+        }
+        documentsById.put(id, document);
+        totalLength += terms.size();
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        terms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        frequencies.forEach((term, frequency) ->
+                postings.computeIfAbsent(term, t -> new Postings()).add(document, frequency));
+    }
+
+    private void unindex(String id) {
+        Integer document = documentsById.remove(id);
+        if (document == null) {
+            return;
+        }
+        Document entry = documents.set(document, null);
+        freeDocuments.push(document);
+        totalLength -= entry.length();
+        for (String term : new LinkedHashSet<>(tokenize(entry.segment().text()))) {
+            Postings termPostings = postings.get(term);
+            if (termPostings != null && termPostings.remove(document) && termPostings.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    private void write(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeDouble(k1);
+        out.writeDouble(b);
+
+        // Numbers the documents without the gaps of the removed ones
+        int[] numbers = new int[documents.size()];
+        writeVarInt(out, documentsById.size());
+        int count = 0;
+        for (int document = 0; document < documents.size(); document++) {
+            Document entry = documents.get(document);
+            if (entry != null) {
+                numbers[document] = count++;
+                writeString(out, entry.id());
+                writeString(out, entry.segment().text());
+                writeVarInt(out, entry.length());
+                writeMetadata(out, entry.segment().metadata());
+            }
+        }
+
+        writeVarInt(out, postings.size());
+        for (Map.Entry<String, Postings> term : new TreeMap<>(postings).entrySet()) {
+            Postings termPostings = term.getValue();
+            long[] pairs = new long[termPostings.size];
+            for (int i = 0; i < termPostings.size; i++) {
+                pairs[i] = ((long) numbers[termPostings.documents[i]] << 32) | termPostings.frequencies[i];
+            }
+            Arrays.sort(pairs);
+            writeString(out, term.getKey());
+            writeVarInt(out, pairs.length);
+            int previous = 0;
+            for (long pair : pairs) {
+                int document = (int) (pair >>> 32);
+                writeVarInt(out, document - previous);
+                writeVarInt(out, (int) pair);
+                previous = document;
+            }
+        }
+    }
+
+    private void read(DataInput in) throws IOException {
+        int count = readVarInt(in);
+        for (int document = 0; document < count; document++) {
+            String id = readString(in);
+            String text = readString(in);
+            int length = readVarInt(in);
+            Metadata metadata = readMetadata(in);
+            documents.add(new Document(id, TextSegment.from(text, metadata), length));
+            documentsById.put(id, document);
+            totalLength += length;
+        }
+
+        int terms = readVarInt(in);
+        for (int t = 0; t < terms; t++) {
+            String term = readString(in);
+            int size = readVarInt(in);
+            Postings termPostings = new Postings(size);
+            int document = 0;
+            for (int i = 0; i < size; i++) {
+                document += readVarInt(in);
+                termPostings.add(document, readVarInt(in));
+            }
+            postings.put(term, termPostings);
+        }
+    }
+
+    private static void writeMetadata(DataOutput out, Metadata metadata) throws IOException {
+        Map<String, Object> entries = metadata.toMap();
+        writeVarInt(out, entries.size());
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            writeString(out, entry.getKey());
+            Object value = entry.getValue();
+            if (value instanceof Integer integer) {
+                out.writeByte(1);
+                out.writeInt(integer);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(2);
+                out.writeLong(longValue);
+            } else if (value instanceof Float floatValue) {
+                out.writeByte(3);
+                out.writeFloat(floatValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(4);
+                out.writeDouble(doubleValue);
+            } else if (value instanceof UUID uuid) {
+                out.writeByte(5);
+                writeString(out, uuid.toString());
+            } else {
+                out.writeByte(0);
+                writeString(out, String.valueOf(value));
+            }
+        }
+    }
+
+    private static Metadata readMetadata(DataInput in) throws IOException {
+        Metadata metadata = new Metadata();
+        int size = readVarInt(in);
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            byte type = in.readByte();
+            switch (type) {
+                case 0 -> metadata.put(key, readString(in));
+                case 1 -> metadata.put(key, in.readInt());
+                case 2 -> metadata.put(key, in.readLong());
+                case 3 -> metadata.put(key, in.readFloat());
+                case 4 -> metadata.put(key, in.readDouble());
+                case 5 -> metadata.put(key, UUID.fromString(readString(in)));
+                default -> throw new IOException("Unknown metadata type " + type);
+            }
+        }
+        return metadata;
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private record Document(String id, TextSegment segment, int length) {}
+
+    /**
+     * The documents containing a term, and the number of times they contain it.
+     */
+    private static final class Postings {
+        private int[] documents;
+        private int[] frequencies;
+        private int size;
+
+        private Postings() {
+            this(4);
+        }
+
+        private Postings(int capacity) {
+            documents = new int[Math.max(1, capacity)];
+            frequencies = new int[documents.length];
+        }
+
+        private void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        private boolean remove(int document) {
+            for (int i = 0; i < size; i++) {
+                if (documents[i] == document) {
+                    size--;
+                    documents[i] = documents[size];
+                    frequencies[i] = frequencies[size];
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
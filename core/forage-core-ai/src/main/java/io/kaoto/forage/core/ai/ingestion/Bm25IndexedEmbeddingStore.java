@@ -0,0 +1,180 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+/**
+ * Embedding store keeping a {@link Bm25Index} of the segments added to another embedding store.
+ *
+ * <p>All the operations are delegated to the wrapped store, and the segments added or removed with their id are
+ * added to or removed from the index, whatever the kind of the wrapped store. The default RAG searches the index
+ * together with the store, see {@code forage.ingestion.lexical.index}.
+ *
+ * <p>When a file is given, the index is loaded from it when it exists, and {@link #persist()} writes it back after
+ * changes, so that a restart does not need to index the segments again.
+ */
+public class Bm25IndexedEmbeddingStore implements EmbeddingStore<TextSegment> {
+    private static final Logger LOG = LoggerFactory.getLogger(Bm25IndexedEmbeddingStore.class);
+
+    private final EmbeddingStore<TextSegment> delegate;
+    private final Bm25Index index;
+    private final Path file;
+    private final AtomicBoolean modified = new AtomicBoolean();
+
+    /**
+     * @param delegate the store the operations are delegated to
+     * @param index the index of the segments of the store
+     * @param file the file the index is persisted to, or null to keep it in memory only
+     */
+    public Bm25IndexedEmbeddingStore(EmbeddingStore<TextSegment> delegate, Bm25Index index, Path file) {
+        this.delegate = delegate;
+        this.index = index;
+        this.file = file;
+    }
+
+    /**
+     * Wraps a store with the index persisted in a file, loading it when the file exists.
+     *
+     * @param delegate the store the operations are delegated to
+     * @param file the file the index is persisted to, or null to keep it in memory only
+     */
+    public static Bm25IndexedEmbeddingStore of(EmbeddingStore<TextSegment> delegate, Path file) {
+        Bm25Index index = null;
+        if (file != null && Files.exists(file)) {
+            try {
+                index = Bm25Index.load(file);
+                LOG.info("Loaded the lexical index of {} segments from {}", index.size(), file);
+            } catch (IOException e) {
+                LOG.warn(
+                        "Cannot load the lexical index from {}, starting with an empty index: {}",
+                        file,
+                        e.getMessage());
+            }
+        }
+        return new Bm25IndexedEmbeddingStore(delegate, index != null ? index : new Bm25Index(), file);
+    }
+
+    /**
+     * Returns the index of the segments of the store.
+     */
+    public Bm25Index index() {
+        return index;
+    }
+
+    /**
+     * Returns the wrapped store.
+     */
+    public EmbeddingStore<TextSegment> delegate() {
+        return delegate;
+    }
+
+    /**
+     * Writes the index to its file if it changed since it was last written.
+     */
+    public void persist() {
+        if (file == null || !modified.getAndSet(false)) {
+            return;
+        }
+        try {
+            index.save(file);
+            LOG.debug("Saved the lexical index of {} segments to {}", index.size(), file);
+        } catch (IOException e) {
+            modified.set(true);
+            LOG.warn("Cannot save the lexical index to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public String add(Embedding embedding) {
+        return delegate.add(embedding);
+    }
+
+    @Override
+    public void add(String id, Embedding embedding) {
+        delegate.add(id, embedding);
+        // The segment of the id, if any, is replaced by none
+        removeFromIndex(List.of(id));
+    }
+
+    @Override
+    public String add(Embedding embedding, TextSegment segment) {
+        String id = delegate.add(embedding, segment);
+        addToIndex(List.of(id), List.of(segment));
+        return id;
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings) {
+        return delegate.addAll(embeddings);
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings, List<TextSegment> segments) {
+        List<String> ids = delegate.addAll(embeddings, segments);
+        addToIndex(ids, segments);
+        return ids;
+    }
+
+    @Override
+    public void addAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> segments) {
+        delegate.addAll(ids, embeddings, segments);
+        if (segments != null) {
+            addToIndex(ids, segments);
+        } else {
+            removeFromIndex(ids);
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        delegate.remove(id);
+        removeFromIndex(List.of(id));
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        delegate.removeAll(ids);
+        removeFromIndex(ids);
+    }
+
+    @Override
+    public void removeAll(Filter filter) {
+        delegate.removeAll(filter);
+        index.removeIf(segment -> filter.test(segment.metadata()));
+        modified.set(true);
+    }
+
+    @Override
+    public void removeAll() {
+        delegate.removeAll();
+        index.clear();
+        modified.set(true);
+    }
+
+    @Override
+    public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+        return delegate.search(request);
+    }
+
+    private void addToIndex(List<String> ids, List<TextSegment> segments) {
+        index.addAll(ids, segments);
+        modified.set(true);
+    }
+
+    private void removeFromIndex(Collection<String> ids) {
+        index.removeAll(ids);
+        modified.set(true);
+    }
+}
@@ -0,0 +1,632 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.data.document.Document;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+
+/**
+ * Ingests files into an embedding store incrementally, and keeps them in sync while they change.
+ *
+ * <p>The files of the sources are split by a {@link StreamingDocumentSplitter} while they are read. Each segment
+ * gets an id derived from the file path and the segment text, so that ingesting a file again only embeds and adds
+ * the segments whose text changed, and removes the segments that are gone. The ids of the segments of each file are
+ * kept in memory and, with a state file, saved after each ingestion and loaded at startup: the segments of the files
+ * changed or deleted while the application was stopped are then removed from the store, and the unchanged ones are
+ * not embedded again. The state file is only meant for stores keeping their content across restarts, since its
+ * segments are assumed to be in the store: it is ignored, with a warning, for a {@link TransientEmbeddingStore} or an
+ * {@link InMemoryEmbeddingStore}. Without it, all the files are ingested again after a restart and, for the stores
+ * that do not replace an embedding added with an existing id, the store should start empty.
+ *
+ * <p>{@link #start(EmbeddingStore, EmbeddingModel, IngestionConfig)} ingests the sources in a background thread, so
+ * that the application does not wait for the files to be embedded; {@link #initialIngestion()} completes once they
+ * are.
+ *
+ * <p>{@link #watch()} registers the directories of the sources with a {@link WatchService} and ingests the files
+ * created, modified or deleted in the background, once no change has been seen for the quiet period. When the
+ * watch service loses events, all the sources are ingested again.
+ *
+ * <p>When the store is a {@link Bm25IndexedEmbeddingStore}, its lexical index is persisted after
+ * {@link #ingestAll()} and after each batch of changes ingested in the background, as is the state file.
+ */
+public class DocumentIngestor implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(DocumentIngestor.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final int STATE_MAGIC = 0x46495331; // FIS1
+    private static final int STATE_VERSION = 1;
+
+    /**
+     * Numbers of segments changed by an ingestion.
+     */
+    public record Result(int added, int removed, int unchanged) {
+        static final Result NONE = new Result(0, 0, 0);
+
+        Result plus(Result other) {
+            return new Result(added + other.added, removed + other.removed, unchanged + other.unchanged);
+        }
+    }
+
+    private final EmbeddingStore<TextSegment> store;
+    private final EmbeddingModel embeddingModel;
+    private final List<IngestionSource> sources;
+    private final StreamingDocumentSplitter splitter;
+    private final int batchSize;
+    private final Duration quietPeriod;
+    private final Path stateFile;
+    private final Map<Path, Set<String>> idsByFile = new ConcurrentHashMap<>();
+    private final AtomicBoolean stateModified = new AtomicBoolean();
+    private final Set<Path> watchedDirectories = ConcurrentHashMap.newKeySet();
+    private final CompletableFuture<Result> initialIngestion = new CompletableFuture<>();
+    private WatchService watchService;
+    private volatile boolean closed;
+
+    /**
+     * @param store the store the segments are added to
+     * @param embeddingModel the model embedding the segments
+     * @param sources the files, directories or glob patterns to ingest
+     * @param splitter the splitter of the files into segments
+     * @param batchSize the number of segments embedded and stored together
+     * @param quietPeriod the time without changes before the changed files are ingested
+     */
+    public DocumentIngestor(
+            EmbeddingStore<TextSegment> store,
+            EmbeddingModel embeddingModel,
+            List<String> sources,
+            StreamingDocumentSplitter splitter,
+            int batchSize,
+            Duration quietPeriod) {
+        this(store, embeddingModel, sources, splitter, batchSize, quietPeriod, null);
+    }
+
+    /**
+     * @param store the store the segments are added to
+     * @param embeddingModel the model embedding the segments
+     * @param sources the files, directories or glob patterns to ingest
+     * @param splitter the splitter of the files into segments
+     * @param batchSize the number of segments embedded and stored together
+     * @param quietPeriod the time without changes before the changed files are ingested
+     * @param stateFile the file the ids of the ingested segments are loaded from and saved to, or null to keep them
+     * in memory only, ignored when the store does not keep its content across restarts
+     */
+    public DocumentIngestor(
+            EmbeddingStore<TextSegment> store,
+            EmbeddingModel embeddingModel,
+            List<String> sources,
+            StreamingDocumentSplitter splitter,
+            int batchSize,
+            Duration quietPeriod,
+            Path stateFile) {
+        this.store = store;
+        this.embeddingModel = embeddingModel;
+        this.sources = sources.stream().map(IngestionSource::of).toList();
+        this.splitter = splitter;
+        this.batchSize = Math.max(1, batchSize);
+        this.quietPeriod = quietPeriod;
+        if (stateFile != null && isTransient(store)) {
+            LOG.warn(
+                    "Ignoring the ingestion state file {}: the embedding store does not keep its content across restarts, all the files are ingested at startup",
+                    stateFile);
+            stateFile = null;
+        }
+        this.stateFile = stateFile;
+        if (stateFile != null && Files.exists(stateFile)) {
+            loadState();
+        }
+    }
+
+    /**
+     * Returns whether the content of the store, or of the store wrapped by an indexed store, is lost at restart.
+     */
+    static boolean isTransient(EmbeddingStore<TextSegment> store) {
+        EmbeddingStore<TextSegment> target =
+                store instanceof Bm25IndexedEmbeddingStore indexedStore ? indexedStore.delegate() : store;
+        return target instanceof TransientEmbeddingStore || target instanceof InMemoryEmbeddingStore;
+    }
+
+    /**
+     * Starts ingesting the sources of the configuration into the store in the background, and watches them when
+     * enabled by the configuration.
+     *
+     * @return the ingestor, or null when the configuration has no source
+     */
+    public static DocumentIngestor start(
+            EmbeddingStore<TextSegment> store, EmbeddingModel embeddingModel, IngestionConfig config) {
+        if (config.sources().isEmpty()) {
+            return null;
+        }
+        DocumentIngestor ingestor = new DocumentIngestor(
+                store,
+                embeddingModel,
+                config.sources(),
+                new StreamingDocumentSplitter(config.maxSegmentSize(), config.overlapSize()),
+                config.batchSize(),
+                config.quietPeriod(),
+                config.stateFile());
+        ingestor.ingestInBackground(config.watch());
+        return ingestor;
+    }
+
+    /**
+     * Ingests the sources in a background thread, watching them first when requested so that no change made during
+     * the ingestion is missed.
+     */
+    void ingestInBackground(boolean watch) {
+        Thread ingestion = new Thread(
+                () -> {
+                    try {
+                        if (watch) {
+                            try {
+                                watch();
+                            } catch (IOException e) {
+                                LOG.warn("Cannot watch the ingestion sources {}: {}", sources, e.getMessage());
+                            }
+                        }
+                        initialIngestion.complete(ingestAll());
+                    } catch (RuntimeException e) {
+                        LOG.warn("Cannot ingest the ingestion sources {}: {}", sources, e.getMessage(), e);
+                        initialIngestion.completeExceptionally(e);
+                    }
+                },
+                "forage-ingestion-" + THREAD_COUNT.incrementAndGet());
+        ingestion.setDaemon(true);
+        ingestion.start();
+    }
+
+    /**
+     * Returns the ingestion of the sources started by
+     * {@link #start(EmbeddingStore, EmbeddingModel, IngestionConfig)}.
+     */
+    public CompletableFuture<Result> initialIngestion() {
+        return initialIngestion;
+    }
+
+    /**
+     * Returns the files whose segments are in the store.
+     */
+    public Set<Path> files() {
+        return Set.copyOf(idsByFile.keySet());
+    }
+
+    /**
+     * Returns the number of segments added to the store.
+     */
+    public int segments() {
+        return idsByFile.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Ingests the files matching the sources, and removes the segments of the files that no longer match.
+     */
+    public synchronized Result ingestAll() {
+        Set<Path> files = new TreeSet<>();
+        for (IngestionSource source : sources) {
+            try {
+                files.addAll(source.files());
+            } catch (IOException e) {
+                LOG.warn("Cannot list the files of the ingestion source {}: {}", source, e.getMessage());
+            }
+        }
+
+        Result result = Result.NONE;
+        for (Path file : files) {
+            if (closed) {
+                LOG.debug("Stopped ingesting the ingestion sources {}", sources);
+                return result;
+            }
+            try {
+                result = result.plus(ingest(file));
+            } catch (IOException e) {
+                LOG.warn("Cannot ingest {}: {}", file, e.getMessage());
+            }
+        }
+        // Includes the files of the state file deleted while the application was stopped
+        for (Path file : files()) {
+            if (!files.contains(file)) {
+                result = result.plus(remove(file));
+            }
+        }
+        LOG.info(
+                "Ingested {} files from {}: {} segments added, {} removed, {} unchanged",
+                files.size(),
+                sources,
+                result.added(),
+                result.removed(),
+                result.unchanged());
+        persist();
+        return result;
+    }
+
+    /**
+     * Adds the new segments of a file to the store, and removes its segments that are gone.
+     */
+    public synchronized Result ingest(Path file) throws IOException {
+        Path path = file.toAbsolutePath().normalize();
+        Set<String> previous = idsByFile.getOrDefault(path, Set.of());
+        Set<String> current = new HashSet<>();
+        Map<String, Integer> occurrences = new HashMap<>();
+        Batch batch = new Batch();
+
+        Metadata metadata = Metadata.from(Document.FILE_NAME, path.getFileName().toString());
+        if (path.getParent() != null) {
+            metadata.put(Document.ABSOLUTE_DIRECTORY_PATH, path.getParent().toString());
+        }
+        try (Reader reader = new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8)) {
+            splitter.split(reader, metadata, segment -> {
+                String id = segmentId(path, segment.text(), occurrences);
+                current.add(id);
+                if (!previous.contains(id)) {
+                    batch.add(id, segment);
+                }
+            });
+            batch.flush();
+        } catch (IOException | RuntimeException e) {
+            // Keeps track of the segments already stored, so that they are removed with the file
+            Set<String> stored = new HashSet<>(previous);
+            stored.addAll(batch.stored);
+            idsByFile.put(path, stored);
+            stateModified.set(true);
+            throw e;
+        }
+
+        List<String> removed = new ArrayList<>();
+        for (String id : previous) {
+            if (!current.contains(id)) {
+                removed.add(id);
+            }
+        }
+        if (!removed.isEmpty()) {
+            store.removeAll(removed);
+        }
+        if (!current.equals(idsByFile.put(path, current))) {
+            stateModified.set(true);
+        }
+
+        Result result = new Result(batch.stored.size(), removed.size(), current.size() - batch.stored.size());
+        LOG.debug(
+                "Ingested {}: {} segments added, {} removed, {} unchanged",
+                path,
+                result.added(),
+                result.removed(),
+                result.unchanged());
+        return result;
+    }
+
+    /**
+     * Removes the segments of a file from the store.
+     */
+    public synchronized Result remove(Path file) {
+        Path path = file.toAbsolutePath().normalize();
+        Set<String> ids = idsByFile.remove(path);
+        if (ids == null) {
+            return Result.NONE;
+        }
+        stateModified.set(true);
+        if (ids.isEmpty()) {
+            return Result.NONE;
+        }
+        store.removeAll(ids);
+        LOG.debug("Removed the {} segments of {}", ids.size(), path);
+        return new Result(0, ids.size(), 0);
+    }
+
+    /**
+     * Starts ingesting the changes of the sources in the background.
+     */
+    public synchronized void watch() throws IOException {
+        if (watchService != null || closed) {
+            return;
+        }
+        watchService = FileSystems.getDefault().newWatchService();
+        for (IngestionSource source : sources) {
+            if (source.directory()) {
+                registerTree(source.base());
+            } else if (source.base().getParent() != null) {
+                register(source.base().getParent());
+            }
+        }
+        Thread watcher = new Thread(this::watchChanges, "forage-ingestion-watch-" + THREAD_COUNT.incrementAndGet());
+        watcher.setDaemon(true);
+        watcher.start();
+        LOG.info("Watching {} directories of the ingestion sources {}", watchedDirectories.size(), sources);
+    }
+
+    /**
+     * Stops watching the sources. The segments stay in the store.
+     */
+    @Override
+    public void close() {
+        // Stops the background ingestion after the file being ingested
+        closed = true;
+        synchronized (this) {
+            closeWatchService();
+        }
+    }
+
+    private void closeWatchService() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOG.debug("Cannot close the ingestion watch service", e);
+            }
+        }
+    }
+
+    private void watchChanges() {
+        try {
+            while (!closed) {
+                Set<Path> changed = new TreeSet<>();
+                boolean overflow = false;
+                WatchKey key = watchService.take();
+                // Waits for the end of a burst of changes, such as a file being written or a directory copied
+                do {
+                    overflow |= collect(key, changed);
+                    key = watchService.poll(quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+                } while (key != null);
+                ingestChanges(changed, overflow);
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOG.debug("Stopped watching the ingestion sources {}", sources);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        Path directory = (Path) key.watchable();
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else {
+                changed.add(directory.resolve((Path) event.context()));
+            }
+        }
+        if (!key.reset()) {
+            watchedDirectories.remove(directory);
+        }
+        return overflow;
+    }
+
+    private synchronized void ingestChanges(Set<Path> changed, boolean overflow) {
+        if (closed) {
+            return;
+        }
+        try {
+            if (overflow) {
+                LOG.debug("File change events of the ingestion sources were lost, ingesting all the sources");
+                for (IngestionSource source : sources) {
+                    if (source.directory()) {
+                        registerTree(source.base());
+                    }
+                }
+                ingestAll();
+                return;
+            }
+
+            Result result = Result.NONE;
+            try {
+                for (Path path : changed) {
+                    result = result.plus(ingestChange(path));
+                }
+            } finally {
+                persist();
+            }
+            LOG.info(
+                    "Ingested {} changed paths: {} segments added, {} removed, {} unchanged",
+                    changed.size(),
+                    result.added(),
+                    result.removed(),
+                    result.unchanged());
+        } catch (RuntimeException | IOException e) {
+            LOG.warn("Cannot ingest the changes of the ingestion sources {}: {}", sources, e.getMessage(), e);
+        }
+    }
+
+    private Result ingestChange(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            if (sources.stream().noneMatch(source -> source.directory() && path.startsWith(source.base()))) {
+                return Result.NONE;
+            }
+            // The files of a new directory can be created before it is registered
+            registerTree(path);
+            Result result = Result.NONE;
+            try (Stream<Path> files = Files.walk(path)) {
+                for (Path file :
+                        files.filter(Files::isRegularFile).filter(this::matches).toList()) {
+                    result = result.plus(ingest(file));
+                }
+            }
+            return result;
+        }
+        if (Files.isRegularFile(path)) {
+            return matches(path) ? ingest(path) : Result.NONE;
+        }
+
+        // Deleted file or directory
+        Result result = Result.NONE;
+        for (Path file : files()) {
+            if (file.startsWith(path) && !Files.exists(file)) {
+                result = result.plus(remove(file));
+            }
+        }
+        return result;
+    }
+
+    private void persist() {
+        if (store instanceof Bm25IndexedEmbeddingStore indexedStore) {
+            indexedStore.persist();
+        }
+        if (stateFile != null && stateModified.getAndSet(false)) {
+            try {
+                saveState();
+            } catch (IOException e) {
+                stateModified.set(true);
+                LOG.warn("Cannot save the ingestion state to {}: {}", stateFile, e.getMessage());
+            }
+        }
+    }
+
+    private void saveState() throws IOException {
+        Path parent = stateFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temporary = Files.createTempFile(parent, stateFile.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(STATE_MAGIC);
+                out.writeInt(STATE_VERSION);
+                Map<Path, Set<String>> files = Map.copyOf(idsByFile);
+                out.writeInt(files.size());
+                for (Map.Entry<Path, Set<String>> file : files.entrySet()) {
+                    out.writeUTF(file.getKey().toString());
+                    out.writeInt(file.getValue().size());
+                    for (String id : file.getValue()) {
+                        out.writeUTF(id);
+                    }
+                }
+            }
+            Files.move(temporary, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Saved the ids of the segments of {} files to {}", idsByFile.size(), stateFile);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void loadState() {
+        Map<Path, Set<String>> files = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(stateFile)))) {
+            if (in.readInt() != STATE_MAGIC) {
+                throw new IOException(stateFile + " is not an ingestion state file");
+            }
+            int version = in.readInt();
+            if (version != STATE_VERSION) {
+                throw new IOException("Unsupported ingestion state version " + version + " in " + stateFile);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Path file = Path.of(in.readUTF());
+                int ids = in.readInt();
+                Set<String> segmentIds = new HashSet<>(ids);
+                for (int j = 0; j < ids; j++) {
+                    segmentIds.add(in.readUTF());
+                }
+                files.put(file, segmentIds);
+            }
+        } catch (IOException | RuntimeException e) {
+            LOG.warn(
+                    "Cannot load the ingestion state from {}, ingesting all the files again: {}",
+                    stateFile,
+                    e.getMessage());
+            return;
+        }
+        idsByFile.putAll(files);
+        LOG.info("Loaded the ids of the segments of {} ingested files from {}", files.size(), stateFile);
+    }
+
+    private boolean matches(Path path) {
+        return sources.stream().anyMatch(source -> source.matches(path));
+    }
+
+    private void registerTree(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> directories = Files.walk(directory)) {
+            for (Path subdirectory : directories.filter(Files::isDirectory).toList()) {
+                register(subdirectory);
+            }
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        if (Files.isDirectory(directory) && watchedDirectories.add(directory)) {
+            directory.register(
+                    watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        }
+    }
+
+    /**
+     * Returns the id of a segment of a file, numbering the segments with the same text.
+     */
+    private static String segmentId(Path file, String text, Map<String, Integer> occurrences) {
+        String id = UUID.nameUUIDFromBytes((file + "\n" + text).getBytes(StandardCharsets.UTF_8))
+                .toString();
+        int occurrence = occurrences.merge(id, 1, Integer::sum);
+        if (occurrence == 1) {
+            return id;
+        }
+        return UUID.nameUUIDFromBytes((id + "\n" + occurrence).getBytes(StandardCharsets.UTF_8))
+                .toString();
+    }
+
+    /**
+     * Segments waiting to be embedded and added to the store.
+     */
+    private final class Batch {
+        private final List<String> stored = new ArrayList<>();
+        private List<String> ids = new ArrayList<>(batchSize);
+        private List<TextSegment> segments = new ArrayList<>(batchSize);
+
+        private void add(String id, TextSegment segment) {
+            ids.add(id);
+            segments.add(segment);
+            if (segments.size() == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (segments.isEmpty()) {
+                return;
+            }
+            List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+            store.addAll(ids, embeddings, segments);
+            stored.addAll(ids);
+            ids = new ArrayList<>(batchSize);
+            segments = new ArrayList<>(batchSize);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import io.kaoto.forage.core.util.config.AbstractConfig;
+
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.BATCH_SIZE;
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.LEXICAL_INDEX;
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.LEXICAL_INDEX_FILE;
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.MAX_SEGMENT_SIZE;
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.OVERLAP_SIZE;
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.QUIET_PERIOD;
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.SOURCES;
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.STATE_FILE;
+import static io.kaoto.forage.core.ai.ingestion.IngestionConfigEntries.WATCH;
+
+/**
+ * Configuration of the documents ingested into the embedding stores.
+ *
+ * <p>The settings are read from {@code forage.ingestion.*} properties, the matching environment variables or the
+ * forage-ingestion.properties file.
+ *
+ * @see DocumentIngestor
+ */
+public class IngestionConfig extends AbstractConfig {
+
+    public IngestionConfig() {
+        this(null);
+    }
+
+    public IngestionConfig(String prefix) {
+        super(prefix, IngestionConfigEntries.class);
+    }
+
+    @Override
+    public String name() {
+        return "forage-ingestion";
+    }
+
+    public List<String> sources() {
+        return get(SOURCES)
+                .map(sources -> Arrays.stream(sources.split(","))
+                        .map(String::trim)
+                        .filter(source -> !source.isEmpty())
+                        .toList())
+                .orElse(List.of());
+    }
+
+    public boolean watch() {
+        return get(WATCH).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public int maxSegmentSize() {
+        return get(MAX_SEGMENT_SIZE).map(Integer::parseInt).orElse(Integer.parseInt(MAX_SEGMENT_SIZE.defaultValue()));
+    }
+
+    public int overlapSize() {
+        return get(OVERLAP_SIZE).map(Integer::parseInt).orElse(Integer.parseInt(OVERLAP_SIZE.defaultValue()));
+    }
+
+    public int batchSize() {
+        return get(BATCH_SIZE).map(Integer::parseInt).orElse(Integer.parseInt(BATCH_SIZE.defaultValue()));
+    }
+
+    public Duration quietPeriod() {
+        return get(QUIET_PERIOD).map(Duration::parse).orElse(Duration.parse(QUIET_PERIOD.defaultValue()));
+    }
+
+    public boolean lexicalIndex() {
+        return get(LEXICAL_INDEX).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public Path lexicalIndexFile() {
+        return get(LEXICAL_INDEX_FILE).map(Path::of).orElse(null);
+    }
+
+    public Path stateFile() {
+        return get(STATE_FILE).map(Path::of).orElse(null);
+    }
+}
@@ -0,0 +1,103 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+
+public final class IngestionConfigEntries extends ConfigEntries {
+    public static final ConfigModule SOURCES = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.sources",
+            "Comma separated files, directories or glob patterns (e.g. docs/**/*.md) ingested into the embedding store",
+            "Sources",
+            null,
+            "string",
+            false,
+            ConfigTag.COMMON);
+    public static final ConfigModule WATCH = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.watch",
+            "Watch the sources and ingest the changed files in the background",
+            "Watch",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.COMMON);
+    public static final ConfigModule MAX_SEGMENT_SIZE = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.max.segment.size",
+            "Maximum size of a segment, in characters",
+            "Max Segment Size",
+            "1000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule OVERLAP_SIZE = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.overlap.size",
+            "Maximum number of characters of a segment repeated at the start of the next one",
+            "Overlap Size",
+            "100",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule BATCH_SIZE = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.batch.size",
+            "Number of segments embedded and stored together",
+            "Batch Size",
+            "64",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule QUIET_PERIOD = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.quiet.period",
+            "Time without file changes before the changed files are ingested, in ISO-8601 format (e.g. PT1S)",
+            "Quiet Period",
+            "PT1S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule LEXICAL_INDEX = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.lexical.index",
+            "Also index the segments of the embedding store in an in-process BM25 index, searched together with the store by the default RAG",
+            "Lexical Index",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule LEXICAL_INDEX_FILE = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.lexical.index.file",
+            "File the lexical index is loaded from at startup and saved to after ingestion, kept in memory only when not set or with the in-memory store",
+            "Lexical Index File",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule STATE_FILE = ConfigModule.of(
+            IngestionConfig.class,
+            "forage.ingestion.state.file",
+            "File the ids of the ingested segments are loaded from at startup and saved to after ingestion, so that the files changed or deleted while stopped are reconciled; ignored for the embedding stores not keeping their content across restarts, such as the in-memory store",
+            "State File",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    static {
+        initModules(
+                IngestionConfigEntries.class,
+                SOURCES,
+                WATCH,
+                MAX_SEGMENT_SIZE,
+                OVERLAP_SIZE,
+                BATCH_SIZE,
+                QUIET_PERIOD,
+                LEXICAL_INDEX,
+                LEXICAL_INDEX_FILE,
+                STATE_FILE);
+    }
+}
@@ -0,0 +1,116 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * A file, a directory or a glob pattern of files to ingest.
+ *
+ * <p>A directory, which may be marked by a trailing {@code /} when it does not exist yet, matches all the files
+ * below it. A glob pattern is resolved against the directory before its first
+ * wildcard, so that {@code docs/**}{@code /*.md} matches the Markdown files of {@code docs} and of all its
+ * subdirectories.
+ */
+final class IngestionSource {
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private final String source;
+    private final Path base;
+    private final boolean directory;
+    private final PathMatcher[] matchers;
+
+    private IngestionSource(String source, Path base, boolean directory, PathMatcher... matchers) {
+        this.source = source;
+        this.base = base;
+        this.directory = directory;
+        this.matchers = matchers;
+    }
+
+    static IngestionSource of(String source) {
+        int wildcard = indexOfAny(source, GLOB_CHARACTERS);
+        if (wildcard < 0) {
+            Path path = Path.of(source).toAbsolutePath().normalize();
+            return new IngestionSource(source, path, source.endsWith("/") || Files.isDirectory(path));
+        }
+
+        int separator = source.lastIndexOf('/', wildcard);
+        Path base = Path.of(separator < 0 ? "" : source.substring(0, separator))
+                .toAbsolutePath()
+                .normalize();
+        String pattern = source.substring(separator + 1);
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        if (pattern.startsWith("**/")) {
+            // A '**/' pattern also matches the files directly in the base directory
+            PathMatcher direct = FileSystems.getDefault().getPathMatcher("glob:" + pattern.substring(3));
+            return new IngestionSource(source, base, true, matcher, direct);
+        }
+        return new IngestionSource(source, base, true, matcher);
+    }
+
+    /**
+     * Returns the file, or the directory containing the files, of this source.
+     */
+    Path base() {
+        return base;
+    }
+
+    boolean directory() {
+        return directory;
+    }
+
+    boolean matches(Path path) {
+        if (!directory) {
+            return path.equals(base);
+        }
+        if (!path.startsWith(base) || path.equals(base)) {
+            return false;
+        }
+        if (matchers.length == 0) {
+            return true;
+        }
+        Path relative = base.relativize(path);
+        for (PathMatcher matcher : matchers) {
+            if (matcher.matches(relative)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the regular files currently matching this source.
+     */
+    List<Path> files() throws IOException {
+        if (!directory) {
+            return Files.isRegularFile(base) ? List.of(base) : List.of();
+        }
+        if (!Files.isDirectory(base)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.walk(base)) {
+            return paths.filter(Files::isRegularFile)
+                    .filter(this::matches)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static int indexOfAny(String value, String characters) {
+        for (int i = 0; i < value.length(); i++) {
+            if (characters.indexOf(value.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
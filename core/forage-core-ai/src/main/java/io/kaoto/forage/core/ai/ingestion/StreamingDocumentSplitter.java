@@ -0,0 +1,124 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+
+/**
+ * Splits a text into segments while reading it, so that large documents are never loaded whole.
+ *
+ * <p>Lines are added to the current segment until it would exceed the maximum segment size. The next segment then
+ * starts with the last {@code overlapSize} characters of the previous one, cut at a word boundary. Lines longer than
+ * a segment are cut at the last whitespace that fits. Splitting the same text always yields the same segments, and
+ * each segment gets the metadata of the document plus its {@code index} in the document.
+ */
+public class StreamingDocumentSplitter {
+    static final String INDEX = "index";
+
+    private final int maxSegmentSize;
+    private final int overlapSize;
+
+    /**
+     * @param maxSegmentSize the maximum size of a segment, in characters
+     * @param overlapSize the maximum number of characters of a segment repeated at the start of the next one
+     */
+    public StreamingDocumentSplitter(int maxSegmentSize, int overlapSize) {
+        if (maxSegmentSize <= 0 || overlapSize < 0 || overlapSize >= maxSegmentSize) {
+            throw new IllegalArgumentException("The overlap size " + overlapSize
+                    + " must be positive and smaller than the max segment size " + maxSegmentSize);
+        }
+        this.maxSegmentSize = maxSegmentSize;
+        this.overlapSize = overlapSize;
+    }
+
+    /**
+     * Reads the text and passes its segments to the consumer as soon as they are complete.
+     *
+     * @param reader the text, which is not closed
+     * @param metadata the metadata of the document, copied to each segment
+     * @param consumer the consumer of the segments
+     */
+    public void split(Reader reader, Metadata metadata, Consumer<TextSegment> consumer) throws IOException {
+        Segments segments = new Segments(metadata, consumer);
+        BufferedReader lines = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        String line;
+        while ((line = lines.readLine()) != null) {
+            segments.append(line + "\n");
+        }
+        segments.finish();
+    }
+
+    private final class Segments {
+        private final Metadata metadata;
+        private final Consumer<TextSegment> consumer;
+        private final StringBuilder current = new StringBuilder();
+        // Length of the overlap carried over from the previous segment
+        private int carried;
+        private int index;
+
+        private Segments(Metadata metadata, Consumer<TextSegment> consumer) {
+            this.metadata = metadata;
+            this.consumer = consumer;
+        }
+
+        private void append(String text) {
+            if (current.length() + text.length() > maxSegmentSize && current.length() > carried) {
+                emit();
+            }
+            while (current.length() + text.length() > maxSegmentSize) {
+                int cut = cut(text, maxSegmentSize - current.length());
+                current.append(text, 0, cut);
+                emit();
+                text = text.substring(cut);
+            }
+            current.append(text);
+        }
+
+        private void finish() {
+            if (current.length() > carried) {
+                emit();
+            }
+        }
+
+        private void emit() {
+            String text = current.toString().strip();
+            if (!text.isEmpty()) {
+                consumer.accept(TextSegment.from(text, metadata.copy().put(INDEX, String.valueOf(index++))));
+            }
+            String overlap = overlap(current);
+            current.setLength(0);
+            current.append(overlap);
+            carried = overlap.length();
+        }
+    }
+
+    /**
+     * Returns the position at which a text too long for the room left is cut: after its last whitespace that fits,
+     * or at the room left when no whitespace fits.
+     */
+    private static int cut(String text, int room) {
+        for (int i = room; i > 0; i--) {
+            if (Character.isWhitespace(text.charAt(i - 1))) {
+                return i;
+            }
+        }
+        return room;
+    }
+
+    private String overlap(CharSequence segment) {
+        if (overlapSize == 0) {
+            return "";
+        }
+        int start = Math.max(0, segment.length() - overlapSize);
+        if (start > 0) {
+            // Skips the word cut by the overlap
+            while (start < segment.length() && !Character.isWhitespace(segment.charAt(start - 1))) {
+                start++;
+            }
+        }
+        return segment.subSequence(start, segment.length()).toString();
+    }
+}
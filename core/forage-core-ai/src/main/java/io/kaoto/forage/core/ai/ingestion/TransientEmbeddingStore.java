@@ -0,0 +1,10 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+/**
+ * Marks the embedding stores whose content is lost when the application stops, such as the in-memory stores.
+ *
+ * <p>The {@link DocumentIngestor} ignores its state file for such stores, since the segments the file lists are not
+ * in the store anymore after a restart. {@link dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore},
+ * which cannot implement this interface, is treated the same way.
+ */
+public interface TransientEmbeddingStore {}
@@ -0,0 +1,21 @@
+package io.kaoto.forage.core.ai.memory;
+
+/**
+ * Serializes the updates of a chat memory.
+ *
+ * <p>A chat memory update reads the messages from the store, changes them and writes them back. Two updates
+ * of the same memory running at once would both read the same messages, and the last write would lose the
+ * messages of the other one. Locking each memory id confines the contention to a single conversation.
+ *
+ * @see LockingChatMemory
+ */
+public interface ChatMemoryLock {
+
+    /**
+     * Runs an action while holding the lock of a memory.
+     *
+     * @param memoryId the id of the memory
+     * @param action the action reading and updating the memory
+     */
+    void withLock(Object memoryId, Runnable action);
+}
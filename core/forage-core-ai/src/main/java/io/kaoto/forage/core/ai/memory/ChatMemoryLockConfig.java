@@ -0,0 +1,49 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.time.Duration;
+import io.kaoto.forage.core.util.config.AbstractConfig;
+
+import static io.kaoto.forage.core.ai.memory.ChatMemoryLockConfigEntries.DISTRIBUTED;
+import static io.kaoto.forage.core.ai.memory.ChatMemoryLockConfigEntries.LEASE_TIME;
+import static io.kaoto.forage.core.ai.memory.ChatMemoryLockConfigEntries.STRIPES;
+import static io.kaoto.forage.core.ai.memory.ChatMemoryLockConfigEntries.TIMEOUT;
+
+/**
+ * Configuration of the per memory id locks of the chat memories.
+ *
+ * <p>The settings are read from {@code forage.memory.lock.*} properties, the matching environment variables or
+ * the forage-memory-lock.properties file.
+ *
+ * @see ChatMemoryLock
+ */
+public class ChatMemoryLockConfig extends AbstractConfig {
+
+    public ChatMemoryLockConfig() {
+        this(null);
+    }
+
+    public ChatMemoryLockConfig(String prefix) {
+        super(prefix, ChatMemoryLockConfigEntries.class);
+    }
+
+    @Override
+    public String name() {
+        return "forage-memory-lock";
+    }
+
+    public int stripes() {
+        return get(STRIPES).map(Integer::parseInt).orElse(Integer.parseInt(STRIPES.defaultValue()));
+    }
+
+    public boolean distributed() {
+        return get(DISTRIBUTED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public Duration leaseTime() {
+        return get(LEASE_TIME).map(Duration::parse).orElse(Duration.parse(LEASE_TIME.defaultValue()));
+    }
+
+    public Duration timeout() {
+        return get(TIMEOUT).map(Duration::parse).orElse(Duration.parse(TIMEOUT.defaultValue()));
+    }
+}
@@ -0,0 +1,48 @@
+package io.kaoto.forage.core.ai.memory;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+
+public final class ChatMemoryLockConfigEntries extends ConfigEntries {
+    public static final ConfigModule STRIPES = ConfigModule.of(
+            ChatMemoryLockConfig.class,
+            "forage.memory.lock.stripes",
+            "Number of local locks the chat memory ids are spread over",
+            "Lock Stripes",
+            "256",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule DISTRIBUTED = ConfigModule.of(
+            ChatMemoryLockConfig.class,
+            "forage.memory.lock.distributed",
+            "Also lock the chat memories in the store, for applications running several instances (redis and infinispan)",
+            "Distributed Lock",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule LEASE_TIME = ConfigModule.of(
+            ChatMemoryLockConfig.class,
+            "forage.memory.lock.lease.time",
+            "Time after which a distributed lock expires, in ISO-8601 format (e.g. PT30S)",
+            "Lock Lease Time",
+            "PT30S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule TIMEOUT = ConfigModule.of(
+            ChatMemoryLockConfig.class,
+            "forage.memory.lock.timeout",
+            "Maximum time to wait for a distributed lock, in ISO-8601 format (e.g. PT10S)",
+            "Lock Timeout",
+            "PT10S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    static {
+        initModules(ChatMemoryLockConfigEntries.class, STRIPES, DISTRIBUTED, LEASE_TIME, TIMEOUT);
+    }
+}
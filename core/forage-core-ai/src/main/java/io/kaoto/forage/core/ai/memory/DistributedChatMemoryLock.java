@@ -0,0 +1,105 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ChatMemoryLock} shared by the instances of an application through the chat memory store.
+ *
+ * <p>The lock of a memory is a key of the store, created only when absent and holding a token of its owner.
+ * It expires after the lease time, so that the lock of a crashed instance is eventually released, and it is
+ * only deleted by its owner. Updates from the same instance first queue on a local striped lock, so that the
+ * store is only polled by one waiter per stripe.
+ *
+ * <p>The lock keys are kept apart from the chat memories, under a key prefix or in a store of their own. A
+ * busy lock is polled again after a few tens of microseconds, then after a jittered backoff doubling up to a
+ * few milliseconds, so that a lock held for a short update is handed over without waiting for a long sleep.
+ */
+public abstract class DistributedChatMemoryLock implements ChatMemoryLock {
+    private static final Logger LOG = LoggerFactory.getLogger(DistributedChatMemoryLock.class);
+
+    /**
+     * The key prefix of the locks sharing their store with other data.
+     */
+    public static final String KEY_PREFIX = "forage:lock:memory:";
+
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final String keyPrefix;
+    private final StripedChatMemoryLock localLock;
+    private final Duration leaseTime;
+    private final Duration timeout;
+
+    /**
+     * @param stripes the number of local locks
+     * @param leaseTime how long the lock is held at most, it must exceed the duration of an update
+     * @param timeout how long to wait for the lock before failing the update
+     */
+    protected DistributedChatMemoryLock(int stripes, Duration leaseTime, Duration timeout) {
+        this(KEY_PREFIX, stripes, leaseTime, timeout);
+    }
+
+    /**
+     * @param keyPrefix the prefix of the lock keys, empty when the locks have a store of their own
+     * @param stripes the number of local locks
+     * @param leaseTime how long the lock is held at most, it must exceed the duration of an update
+     * @param timeout how long to wait for the lock before failing the update
+     */
+    protected DistributedChatMemoryLock(String keyPrefix, int stripes, Duration leaseTime, Duration timeout) {
+        this.keyPrefix = keyPrefix;
+        this.localLock = new StripedChatMemoryLock(stripes);
+        this.leaseTime = leaseTime;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Creates the lock key if absent.
+     *
+     * @return true when the key was created, that is when the lock was acquired
+     */
+    protected abstract boolean tryAcquire(String key, String token, Duration leaseTime);
+
+    /**
+     * Deletes the lock key if it still holds the token.
+     */
+    protected abstract void release(String key, String token);
+
+    @Override
+    public void withLock(Object memoryId, Runnable action) {
+        localLock.withLock(memoryId, () -> {
+            String key = keyPrefix + memoryId;
+            String token = UUID.randomUUID().toString();
+            acquire(key, token);
+            try {
+                action.run();
+            } finally {
+                release(key, token);
+            }
+        });
+    }
+
+    private void acquire(String key, String token) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        long backoff = MIN_BACKOFF_NANOS;
+        while (!tryAcquire(key, token, leaseTime)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new IllegalStateException("Timed out after " + timeout + " waiting for the lock " + key);
+            }
+            // Jittered, so that the waiters of several instances do not poll in step
+            LockSupport.parkNanos(Math.min(ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1), remaining));
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the lock " + key);
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        }
+        LOG.trace("Acquired the lock {}", key);
+    }
+}
@@ -0,0 +1,52 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.util.List;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.memory.ChatMemory;
+
+/**
+ * Chat memory decorator running the updates of the delegate under the lock of its memory id.
+ *
+ * <p>Two agent turns of the same conversation, possibly using two memory instances, then never read the same
+ * messages and overwrite each other. Turns of other conversations are not delayed. Reads are not locked.
+ */
+public class LockingChatMemory implements ChatMemory {
+
+    private final ChatMemory delegate;
+    private final ChatMemoryLock lock;
+
+    public LockingChatMemory(ChatMemory delegate, ChatMemoryLock lock) {
+        this.delegate = delegate;
+        this.lock = lock;
+    }
+
+    @Override
+    public Object id() {
+        return delegate.id();
+    }
+
+    @Override
+    public void add(ChatMessage message) {
+        lock.withLock(delegate.id(), () -> delegate.add(message));
+    }
+
+    @Override
+    public void add(Iterable<ChatMessage> messages) {
+        lock.withLock(delegate.id(), () -> delegate.add(messages));
+    }
+
+    @Override
+    public void set(Iterable<ChatMessage> messages) {
+        lock.withLock(delegate.id(), () -> delegate.set(messages));
+    }
+
+    @Override
+    public List<ChatMessage> messages() {
+        return delegate.messages();
+    }
+
+    @Override
+    public void clear() {
+        lock.withLock(delegate.id(), delegate::clear);
+    }
+}
@@ -0,0 +1,46 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local {@link ChatMemoryLock} mapping the memory ids to a fixed set of locks.
+ *
+ * <p>The memory ids are hashed to one of the stripes, so that memory is bounded whatever the number of
+ * conversations. Two conversations only wait for each other when they share a stripe, which becomes less
+ * likely as the number of stripes grows.
+ */
+public class StripedChatMemoryLock implements ChatMemoryLock {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripes the number of locks, rounded up to a power of two
+     */
+    public StripedChatMemoryLock(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void withLock(Object memoryId, Runnable action) {
+        ReentrantLock lock = stripes[stripe(memoryId)];
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int stripe(Object memoryId) {
+        int hash = memoryId.hashCode();
+        // Spread the high bits, as the stripe only uses the low ones
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
@@ -0,0 +1,305 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Chat memory store decorator writing the updates to the underlying store in the background.
+ *
+ * <p>Updates and deletions are buffered per memory id and the caller returns right away, so the latency of a
+ * remote store is no longer added to the agent response. Only the latest state of a memory is kept: the
+ * updates of a turn, or of several turns in a row, result in a single write. A memory is written at most the
+ * maximum staleness after its first buffered update, by a fixed number of flush threads, and the writes of a
+ * memory never overlap. Reads are served from the buffer first, so a memory always reads its own writes.
+ *
+ * <p>When more memories than the queue depth are waiting, an update is written by the calling thread. Failed
+ * writes are kept in the buffer and retried with an exponential backoff, up to the maximum number of retries;
+ * past that, or when the store is closed, the update is handed to the {@link DeadLetterHandler} and removed from
+ * the buffer. Closing the store writes all the buffered updates. The store registers no shutdown hook: it is
+ * closed by the provider owning it, and updates buffered when the process is killed are lost.
+ */
+public class WriteBehindChatMemoryStore implements ChatMemoryStore, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(WriteBehindChatMemoryStore.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private static final int MAX_BACKOFF_SHIFT = 5;
+    private static final int DEFAULT_MAX_RETRIES =
+            Integer.parseInt(WriteBehindConfigEntries.MAX_RETRIES.defaultValue());
+
+    private final ChatMemoryStore delegate;
+    private final long maxStalenessNanos;
+    private final int queueDepth;
+    private final int maxRetries;
+    private final DeadLetterHandler deadLetterHandler;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<Object, Pending> buffer = new ConcurrentHashMap<>();
+    private final WriteBehindMetrics metrics = new WriteBehindMetrics(buffer::size);
+    private volatile boolean closed;
+
+    /**
+     * Creates a store retrying failed writes the default number of times, then logging the dropped updates.
+     *
+     * @param delegate the store the updates are written to
+     * @param maxStaleness the maximum time an update waits before being written
+     * @param queueDepth the maximum number of memories waiting to be written
+     * @param flushThreads the number of threads writing to the store
+     */
+    public WriteBehindChatMemoryStore(
+            ChatMemoryStore delegate, Duration maxStaleness, int queueDepth, int flushThreads) {
+        this(delegate, maxStaleness, queueDepth, flushThreads, DEFAULT_MAX_RETRIES, DeadLetterHandler.LOGGING);
+    }
+
+    /**
+     * @param delegate the store the updates are written to
+     * @param maxStaleness the maximum time an update waits before being written
+     * @param queueDepth the maximum number of memories waiting to be written
+     * @param flushThreads the number of threads writing to the store
+     * @param maxRetries the number of times a failed write is retried before its update is dead-lettered
+     * @param deadLetterHandler the handler of the updates that could not be written
+     */
+    public WriteBehindChatMemoryStore(
+            ChatMemoryStore delegate,
+            Duration maxStaleness,
+            int queueDepth,
+            int flushThreads,
+            int maxRetries,
+            DeadLetterHandler deadLetterHandler) {
+        this.delegate = delegate;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.queueDepth = queueDepth;
+        this.maxRetries = maxRetries;
+        this.deadLetterHandler = deadLetterHandler;
+        this.executor = new ScheduledThreadPoolExecutor(Math.max(1, flushThreads), r -> {
+            Thread thread = new Thread(r, "forage-memory-write-behind-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // close() writes what the cancelled flushes would have written
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * Wraps a store with a write-behind buffer when enabled by the configuration.
+     *
+     * @return the write-behind store, or the given store when write-behind is disabled
+     */
+    public static ChatMemoryStore decorate(ChatMemoryStore store, WriteBehindConfig config) {
+        if (!config.enabled()) {
+            return store;
+        }
+        LOG.info(
+                "Writing the chat memory updates behind with maxStaleness={}, queueDepth={}, flushThreads={}, maxRetries={}",
+                config.maxStaleness(),
+                config.queueDepth(),
+                config.flushThreads(),
+                config.maxRetries());
+        return new WriteBehindChatMemoryStore(
+                store,
+                config.maxStaleness(),
+                config.queueDepth(),
+                config.flushThreads(),
+                config.maxRetries(),
+                DeadLetterHandler.LOGGING);
+    }
+
+    /**
+     * Returns the metrics of this store.
+     */
+    public WriteBehindMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public List<ChatMessage> getMessages(Object memoryId) {
+        Pending pending = buffer.get(memoryId);
+        if (pending != null) {
+            return pending.deleted() ? List.of() : pending.messages();
+        }
+        return delegate.getMessages(memoryId);
+    }
+
+    @Override
+    public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+        buffer(memoryId, List.copyOf(messages));
+    }
+
+    @Override
+    public void deleteMessages(Object memoryId) {
+        buffer(memoryId, null);
+    }
+
+    /**
+     * Writes the buffered updates and stops the flush threads. Later updates are written synchronously. The
+     * updates failing to be written are dead-lettered.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOG.warn("The chat memory flush threads did not stop within {} seconds", CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!buffer.isEmpty()) {
+            LOG.info("Writing {} buffered chat memories before closing", buffer.size());
+            for (Object memoryId : List.copyOf(buffer.keySet())) {
+                flush(memoryId);
+            }
+        }
+    }
+
+    private void buffer(Object memoryId, List<ChatMessage> messages) {
+        metrics.recordUpdate();
+        long now = System.nanoTime();
+        boolean[] first = new boolean[1];
+        buffer.compute(memoryId, (id, previous) -> {
+            // The first update not yet written sets the deadline of the write
+            first[0] = previous == null;
+            return previous != null ? previous.update(messages) : new Pending(messages, now, 0);
+        });
+        if (!first[0]) {
+            return;
+        }
+
+        if (closed || buffer.size() > queueDepth || !schedule(memoryId, maxStalenessNanos)) {
+            metrics.recordSynchronousWrite();
+            flush(memoryId);
+        }
+    }
+
+    /**
+     * Writes the latest state of a memory. Only one flush of a memory is scheduled or running at a time: the
+     * next one is scheduled by the update creating a new buffer entry, which can only happen once this flush
+     * removed the entry, or by this flush when the entry changed during the write.
+     */
+    private void flush(Object memoryId) {
+        Pending pending = buffer.get(memoryId);
+        if (pending == null) {
+            return;
+        }
+
+        try {
+            if (pending.deleted()) {
+                delegate.deleteMessages(memoryId);
+            } else {
+                delegate.updateMessages(memoryId, pending.messages());
+            }
+            metrics.recordWrite(System.nanoTime() - pending.since());
+        } catch (RuntimeException e) {
+            metrics.recordFailure();
+            failed(memoryId, e);
+            return;
+        }
+
+        if (!buffer.remove(memoryId, pending)) {
+            // Updated during the write, the newer state is already due
+            reschedule(memoryId, 0);
+        }
+    }
+
+    private void failed(Object memoryId, RuntimeException failure) {
+        Pending failed = buffer.computeIfPresent(memoryId, (id, current) -> current.failed());
+        if (failed == null) {
+            return;
+        }
+        if (!closed && failed.attempts() <= maxRetries) {
+            LOG.warn(
+                    "Failed to write chat memory {}, retry {} of {}: {}",
+                    memoryId,
+                    failed.attempts(),
+                    maxRetries,
+                    failure.getMessage());
+            reschedule(memoryId, maxStalenessNanos << Math.min(failed.attempts() - 1, MAX_BACKOFF_SHIFT));
+            return;
+        }
+
+        if (buffer.remove(memoryId, failed)) {
+            metrics.recordDeadLetter();
+            try {
+                deadLetterHandler.deadLetter(memoryId, failed.messages(), failure);
+            } catch (RuntimeException e) {
+                LOG.warn("The dead-letter handler failed for chat memory {}: {}", memoryId, e.getMessage());
+            }
+        } else {
+            // Updated in the meantime, the newer state gets its own attempts
+            reschedule(memoryId, 0);
+        }
+    }
+
+    private void reschedule(Object memoryId, long delayNanos) {
+        if (!closed) {
+            // Once closed, the remaining entries are written by close()
+            schedule(memoryId, delayNanos);
+        }
+    }
+
+    private boolean schedule(Object memoryId, long delayNanos) {
+        try {
+            executor.schedule(() -> flush(memoryId), delayNanos, TimeUnit.NANOSECONDS);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    private record Pending(List<ChatMessage> messages, long since, int attempts) {
+        boolean deleted() {
+            return messages == null;
+        }
+
+        /**
+         * Returns the newer state of the memory, still due at the deadline of the first update and counting the
+         * failed attempts, so that a store failing for good does not keep newer updates around forever.
+         */
+        Pending update(List<ChatMessage> newer) {
+            return new Pending(newer, since, attempts);
+        }
+
+        Pending failed() {
+            return new Pending(messages, since, attempts + 1);
+        }
+    }
+
+    /**
+     * Receives the updates that could not be written to the store.
+     */
+    @FunctionalInterface
+    public interface DeadLetterHandler {
+
+        /**
+         * Logs the dropped updates as errors.
+         */
+        DeadLetterHandler LOGGING = (memoryId, messages, failure) -> WriteBehindChatMemoryStore.LOG.error(
+                "Dropping the {} of chat memory {} that could not be written: {}",
+                messages != null ? messages.size() + " buffered messages" : "buffered deletion",
+                memoryId,
+                failure.getMessage());
+
+        /**
+         * Handles an update that could not be written.
+         *
+         * @param memoryId the memory id
+         * @param messages the latest messages of the memory, or null for a deletion
+         * @param failure the failure of the last write
+         */
+        void deadLetter(Object memoryId, List<ChatMessage> messages, RuntimeException failure);
+    }
+}
@@ -0,0 +1,54 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.time.Duration;
+import io.kaoto.forage.core.util.config.AbstractConfig;
+
+import static io.kaoto.forage.core.ai.memory.WriteBehindConfigEntries.ENABLED;
+import static io.kaoto.forage.core.ai.memory.WriteBehindConfigEntries.FLUSH_THREADS;
+import static io.kaoto.forage.core.ai.memory.WriteBehindConfigEntries.MAX_RETRIES;
+import static io.kaoto.forage.core.ai.memory.WriteBehindConfigEntries.MAX_STALENESS;
+import static io.kaoto.forage.core.ai.memory.WriteBehindConfigEntries.QUEUE_DEPTH;
+
+/**
+ * Configuration of the write-behind buffer of the persistent chat memory stores.
+ *
+ * <p>The settings are read from {@code forage.memory.write.behind.*} properties, the matching environment
+ * variables or the forage-memory-write-behind.properties file.
+ *
+ * @see WriteBehindChatMemoryStore
+ */
+public class WriteBehindConfig extends AbstractConfig {
+
+    public WriteBehindConfig() {
+        this(null);
+    }
+
+    public WriteBehindConfig(String prefix) {
+        super(prefix, WriteBehindConfigEntries.class);
+    }
+
+    @Override
+    public String name() {
+        return "forage-memory-write-behind";
+    }
+
+    public boolean enabled() {
+        return get(ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public Duration maxStaleness() {
+        return get(MAX_STALENESS).map(Duration::parse).orElse(Duration.parse(MAX_STALENESS.defaultValue()));
+    }
+
+    public int queueDepth() {
+        return get(QUEUE_DEPTH).map(Integer::parseInt).orElse(Integer.parseInt(QUEUE_DEPTH.defaultValue()));
+    }
+
+    public int flushThreads() {
+        return get(FLUSH_THREADS).map(Integer::parseInt).orElse(Integer.parseInt(FLUSH_THREADS.defaultValue()));
+    }
+
+    public int maxRetries() {
+        return get(MAX_RETRIES).map(Integer::parseInt).orElse(Integer.parseInt(MAX_RETRIES.defaultValue()));
+    }
+}
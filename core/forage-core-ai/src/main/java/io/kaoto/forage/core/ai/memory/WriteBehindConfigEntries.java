@@ -0,0 +1,57 @@
+package io.kaoto.forage.core.ai.memory;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+
+public final class WriteBehindConfigEntries extends ConfigEntries {
+    public static final ConfigModule ENABLED = ConfigModule.of(
+            WriteBehindConfig.class,
+            "forage.memory.write.behind.enabled",
+            "Write the chat memory updates to the store in the background instead of during the agent response",
+            "Write Behind",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule MAX_STALENESS = ConfigModule.of(
+            WriteBehindConfig.class,
+            "forage.memory.write.behind.max.staleness",
+            "Maximum time an update waits before being written to the store, in ISO-8601 format (e.g. PT0.5S)",
+            "Max Staleness",
+            "PT0.5S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule QUEUE_DEPTH = ConfigModule.of(
+            WriteBehindConfig.class,
+            "forage.memory.write.behind.queue.depth",
+            "Maximum number of memories waiting to be written, further updates are written synchronously",
+            "Queue Depth",
+            "10000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule FLUSH_THREADS = ConfigModule.of(
+            WriteBehindConfig.class,
+            "forage.memory.write.behind.flush.threads",
+            "Number of threads writing the updates to the store",
+            "Flush Threads",
+            "2",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule MAX_RETRIES = ConfigModule.of(
+            WriteBehindConfig.class,
+            "forage.memory.write.behind.max.retries",
+            "Number of times a failed write is retried before the update is dropped and logged as an error",
+            "Max Retries",
+            "5",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    static {
+        initModules(WriteBehindConfigEntries.class, ENABLED, MAX_STALENESS, QUEUE_DEPTH, FLUSH_THREADS, MAX_RETRIES);
+    }
+}
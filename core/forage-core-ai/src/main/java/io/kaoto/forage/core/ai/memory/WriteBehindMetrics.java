@@ -0,0 +1,122 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters of a {@link WriteBehindChatMemoryStore}.
+ *
+ * <p>The flush lag is the time between the first buffered update of a memory and the end of the write that
+ * persisted it, that is how stale the store was for that memory.
+ */
+public class WriteBehindMetrics {
+
+    private final LongAdder updates = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder synchronousWrites = new LongAdder();
+    private final LongAdder deadLetters = new LongAdder();
+    private final LongAdder totalLagNanos = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+    private final AtomicLong lastLagNanos = new AtomicLong();
+    private final IntSupplier pending;
+
+    WriteBehindMetrics(IntSupplier pending) {
+        this.pending = pending;
+    }
+
+    void recordUpdate() {
+        updates.increment();
+    }
+
+    void recordWrite(long lagNanos) {
+        writes.increment();
+        totalLagNanos.add(lagNanos);
+        lastLagNanos.set(lagNanos);
+        maxLagNanos.accumulateAndGet(lagNanos, Math::max);
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+
+    void recordSynchronousWrite() {
+        synchronousWrites.increment();
+    }
+
+    void recordDeadLetter() {
+        deadLetters.increment();
+    }
+
+    /**
+     * Returns the number of updates and deletions received.
+     */
+    public long updates() {
+        return updates.sum();
+    }
+
+    /**
+     * Returns the number of writes sent to the store.
+     */
+    public long writes() {
+        return writes.sum();
+    }
+
+    /**
+     * Returns the number of updates superseded by a later update of the same memory before being written.
+     */
+    public long coalesced() {
+        return Math.max(0, updates() - writes() - deadLetters() - pending());
+    }
+
+    /**
+     * Returns the number of failed writes, which are retried up to the maximum number of retries.
+     */
+    public long failures() {
+        return failures.sum();
+    }
+
+    /**
+     * Returns the number of updates written synchronously because the buffer was full.
+     */
+    public long synchronousWrites() {
+        return synchronousWrites.sum();
+    }
+
+    /**
+     * Returns the number of updates handed to the dead-letter handler after failing to be written.
+     */
+    public long deadLetters() {
+        return deadLetters.sum();
+    }
+
+    /**
+     * Returns the number of memories waiting to be written.
+     */
+    public int pending() {
+        return pending.getAsInt();
+    }
+
+    public Duration lastFlushLag() {
+        return Duration.ofNanos(lastLagNanos.get());
+    }
+
+    public Duration maxFlushLag() {
+        return Duration.ofNanos(maxLagNanos.get());
+    }
+
+    public Duration averageFlushLag() {
+        long count = writes();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalLagNanos.sum() / count);
+    }
+
+    @Override
+    public String toString() {
+        return "WriteBehindMetrics{updates=" + updates() + ", writes=" + writes() + ", coalesced=" + coalesced()
+                + ", failures=" + failures() + ", deadLetters=" + deadLetters() + ", synchronousWrites="
+                + synchronousWrites() + ", pending="
+                + pending() + ", averageFlushLag=" + averageFlushLag() + ", maxFlushLag=" + maxFlushLag() + "}";
+    }
+}
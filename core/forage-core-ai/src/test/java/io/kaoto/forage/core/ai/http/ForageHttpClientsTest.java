@@ -0,0 +1,114 @@
+package io.kaoto.forage.core.ai.http;
+
+import javax.net.ssl.SSLContext;
+
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ForageHttpClientsTest {
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("forage.http.client.shared", "true");
+        ForageHttpClients.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.setProperty("forage.http.client.shared", "true");
+        ForageHttpClients.reset();
+    }
+
+    @Test
+    void buildersShareOneClient() {
+        HttpClient first = jdkClient(ForageHttpClients.httpClientBuilder());
+        HttpClient second = jdkClient(ForageHttpClients.httpClientBuilder());
+
+        assertThat(first).isSameAs(second);
+        assertThat(first.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(first.connectTimeout()).contains(Duration.ofSeconds(15));
+    }
+
+    @Test
+    void modelConnectTimeoutSelectsTheSharedClientWithThatTimeout() {
+        HttpClient shared = jdkClient(ForageHttpClients.httpClientBuilder());
+
+        HttpClientBuilder builder = ForageHttpClients.httpClientBuilder().connectTimeout(Duration.ofSeconds(60));
+        HttpClient custom = jdkClient(builder);
+
+        assertThat(custom).isNotSameAs(shared);
+        assertThat(custom.connectTimeout()).contains(Duration.ofSeconds(60));
+        assertThat(jdkClient(ForageHttpClients.httpClientBuilder().connectTimeout(Duration.ofSeconds(60))))
+                .isSameAs(custom);
+    }
+
+    @Test
+    void modelSslContextAndProxyAreApplied() throws Exception {
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(null, null, null);
+        ProxySelector proxy = ProxySelector.of(new InetSocketAddress("localhost", 3128));
+
+        HttpClient client = ((JdkHttpClientBuilder) ForageHttpClients.httpClientBuilder())
+                .httpClientBuilder()
+                .sslContext(sslContext)
+                .proxy(proxy)
+                .build();
+
+        assertThat(client.sslContext()).isSameAs(sslContext);
+        assertThat(client.proxy()).contains(proxy);
+        assertThat(client).isNotSameAs(jdkClient(ForageHttpClients.httpClientBuilder()));
+    }
+
+    @Test
+    void unsupportedModelSettingsAreRejected() {
+        HttpClient.Builder builder = ((JdkHttpClientBuilder) ForageHttpClients.httpClientBuilder()).httpClientBuilder();
+
+        assertThatThrownBy(() -> builder.followRedirects(HttpClient.Redirect.ALWAYS))
+                .isInstanceOf(UnsupportedOperationException.class)
+                .hasMessageContaining("forage.http.client.shared=false");
+    }
+
+    @Test
+    void requestedVersionGetsItsOwnSharedClient() {
+        HttpClient http2 = jdkClient(ForageHttpClients.httpClientBuilder());
+        HttpClient http11 = jdkClient(ForageHttpClients.httpClientBuilder(HttpClient.Version.HTTP_1_1));
+
+        assertThat(http11).isNotSameAs(http2);
+        assertThat(http11.version()).isEqualTo(HttpClient.Version.HTTP_1_1);
+        assertThat(jdkClient(ForageHttpClients.httpClientBuilder(HttpClient.Version.HTTP_1_1)))
+                .isSameAs(http11);
+    }
+
+    @Test
+    void disabledSharingFallsBackToProviderDefaults() {
+        System.setProperty("forage.http.client.shared", "false");
+
+        assertThat(ForageHttpClients.httpClientBuilder()).isNull();
+
+        HttpClientBuilder http11 = ForageHttpClients.httpClientBuilder(HttpClient.Version.HTTP_1_1);
+        assertThat(http11).isNotNull();
+        assertThat(((JdkHttpClientBuilder) http11).httpClientBuilder().build().version())
+                .isEqualTo(HttpClient.Version.HTTP_1_1);
+    }
+
+    /**
+     * Builds the JDK client as {@code JdkHttpClient} does.
+     */
+    private static HttpClient jdkClient(HttpClientBuilder builder) {
+        HttpClient.Builder jdkBuilder = ((JdkHttpClientBuilder) builder).httpClientBuilder();
+        if (builder.connectTimeout() != null) {
+            jdkBuilder.connectTimeout(builder.connectTimeout());
+        }
+        return jdkBuilder.build();
+    }
+}
@@ -0,0 +1,92 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bm25IndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldSplitCompoundTerms() {
+        assertThat(Bm25Index.tokenize("Error ERR-1042: see SKU_77/b."))
+                .containsExactly("error", "err-1042", "err", "1042", "see", "sku_77/b", "sku", "77", "b");
+    }
+
+    @Test
+    void shouldRankTheSegmentsWithTheExactIdentifierFirst() {
+        Bm25Index index = newIndex();
+
+        List<EmbeddingMatch<TextSegment>> matches = index.search("what does ERR-1042 mean?", 3);
+
+        assertThat(ids(matches)).startsWith("err-1042");
+        assertThat(matches.get(0).score()).isGreaterThan(matches.get(1).score());
+        assertThat(ids(index.search("restart", 3))).containsExactly("err-1043");
+        assertThat(index.search("unknown words", 3)).isEmpty();
+    }
+
+    @Test
+    void shouldReplaceAndRemoveSegments() {
+        Bm25Index index = newIndex();
+
+        index.add("err-1042", TextSegment.from("Error ERR-2000 means the disk is full."));
+        assertThat(index.search("1042", 3)).isEmpty();
+        assertThat(ids(index.search("disk full", 3))).containsExactly("err-1042");
+
+        index.removeAll(List.of("err-1042"));
+        index.removeIf(segment -> "ops".equals(segment.metadata().getString("team")));
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.search("disk", 3)).isEmpty();
+
+        index.add("new", TextSegment.from("The disk was replaced."));
+        assertThat(ids(index.search("disk", 3))).containsExactly("new");
+    }
+
+    @Test
+    void shouldLoadASavedIndex() throws IOException {
+        Bm25Index index = newIndex();
+        index.removeAll(List.of("other"));
+        Path file = directory.resolve("index/lexical.bm25");
+
+        index.save(file);
+        Bm25Index loaded = Bm25Index.load(file);
+
+        assertThat(loaded.size()).isEqualTo(2);
+        List<EmbeddingMatch<TextSegment>> matches = loaded.search("ERR-1042 restart", 3);
+        assertThat(matches)
+                .usingRecursiveFieldByFieldElementComparator()
+                .isEqualTo(index.search("ERR-1042 restart", 3));
+        assertThat(matches.get(0).embedded().metadata().getString("team")).isEqualTo("storage");
+        assertThat(matches.get(0).embedded().metadata().getInteger("index")).isEqualTo(3);
+
+        loaded.add("other", TextSegment.from("Restart the service after an upgrade."));
+        assertThat(loaded.size()).isEqualTo(3);
+    }
+
+    private static Bm25Index newIndex() {
+        Bm25Index index = new Bm25Index();
+        index.add(
+                "err-1042",
+                TextSegment.from(
+                        "Error ERR-1042 means the disk quota is exceeded.",
+                        Metadata.from("team", "storage").put("index", 3)));
+        index.add(
+                "err-1043",
+                TextSegment.from("Error ERR-1043 means the service must restart.", Metadata.from("team", "ops")));
+        index.add("other", TextSegment.from("Errors are logged with their code and a short description."));
+        return index;
+    }
+
+    private static List<String> ids(List<EmbeddingMatch<TextSegment>> matches) {
+        return matches.stream().map(EmbeddingMatch::embeddingId).toList();
+    }
+}
@@ -0,0 +1,280 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentIngestorTest {
+
+    @TempDir
+    Path directory;
+
+    private final CountingEmbeddingModel embeddingModel = new CountingEmbeddingModel();
+    private final InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+    private DocumentIngestor ingestor;
+
+    @AfterEach
+    void cleanup() {
+        ingestor.close();
+    }
+
+    @Test
+    void shouldOnlyEmbedTheChangedSegments() throws IOException {
+        Path file = directory.resolve("guide.md");
+        Files.writeString(file, "First paragraph.\n\nSecond paragraph.\n\nThird paragraph.\n");
+        ingestor = newIngestor(List.of(directory.toString()));
+
+        assertThat(ingestor.ingestAll()).isEqualTo(new DocumentIngestor.Result(3, 0, 0));
+        assertThat(texts()).containsExactlyInAnyOrder("First paragraph.", "Second paragraph.", "Third paragraph.");
+
+        Files.writeString(file, "First paragraph.\n\nSecond paragraph, edited.\n\nThird paragraph.\n");
+        assertThat(ingestor.ingest(file)).isEqualTo(new DocumentIngestor.Result(1, 1, 2));
+        assertThat(texts())
+                .containsExactlyInAnyOrder("First paragraph.", "Second paragraph, edited.", "Third paragraph.");
+        assertThat(embeddingModel.embedded.get()).isEqualTo(4);
+
+        assertThat(ingestor.ingestAll()).isEqualTo(new DocumentIngestor.Result(0, 0, 3));
+        assertThat(embeddingModel.embedded.get()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldIngestTheFilesMatchingAGlob() throws IOException {
+        Files.createDirectories(directory.resolve("docs/api"));
+        Files.writeString(directory.resolve("docs/intro.md"), "Intro.");
+        Files.writeString(directory.resolve("docs/api/rest.md"), "REST.");
+        Files.writeString(directory.resolve("docs/api/notes.txt"), "Notes.");
+        ingestor = newIngestor(List.of(directory + "/docs/**/*.md"));
+
+        ingestor.ingestAll();
+
+        assertThat(ingestor.files())
+                .containsExactlyInAnyOrder(directory.resolve("docs/intro.md"), directory.resolve("docs/api/rest.md"));
+        assertThat(texts()).containsExactlyInAnyOrder("Intro.", "REST.");
+    }
+
+    @Test
+    void shouldRemoveTheSegmentsOfDeletedFiles() throws IOException {
+        Files.writeString(directory.resolve("a.txt"), "Alpha.");
+        Files.writeString(directory.resolve("b.txt"), "Beta.");
+        ingestor = newIngestor(List.of(directory.toString()));
+        ingestor.ingestAll();
+
+        Files.delete(directory.resolve("a.txt"));
+
+        assertThat(ingestor.ingestAll()).isEqualTo(new DocumentIngestor.Result(0, 1, 1));
+        assertThat(texts()).containsExactly("Beta.");
+    }
+
+    @Test
+    void shouldIngestTheWatchedChanges() throws Exception {
+        Files.writeString(directory.resolve("a.txt"), "Alpha.");
+        ingestor = newIngestor(List.of(directory.toString()));
+        ingestor.ingestAll();
+        ingestor.watch();
+
+        Files.writeString(directory.resolve("a.txt"), "Alpha, edited.");
+        Files.createDirectories(directory.resolve("sub"));
+        Files.writeString(directory.resolve("sub/b.txt"), "Beta.");
+        awaitTexts("Alpha, edited.", "Beta.");
+
+        Files.delete(directory.resolve("sub/b.txt"));
+        awaitTexts("Alpha, edited.");
+    }
+
+    @Test
+    void shouldPersistTheLexicalIndexOfAnIndexedStore() throws IOException {
+        Files.writeString(directory.resolve("a.txt"), "Alpha has ERR-1042.\n\nBeta is second.");
+        Path indexFile = directory.resolve("index/lexical.bm25");
+        Bm25IndexedEmbeddingStore indexedStore = Bm25IndexedEmbeddingStore.of(store, indexFile);
+        ingestor = newIngestor(indexedStore, List.of(directory + "/*.txt"));
+
+        ingestor.ingestAll();
+
+        assertThat(indexedStore.index().size()).isEqualTo(2);
+        assertThat(Bm25IndexedEmbeddingStore.of(new InMemoryEmbeddingStore<>(), indexFile)
+                        .index()
+                        .search("err-1042", 1))
+                .extracting(match -> match.embedded().text())
+                .containsExactly("Alpha has ERR-1042.");
+
+        Files.delete(directory.resolve("a.txt"));
+        ingestor.ingestAll();
+
+        assertThat(texts()).isEmpty();
+        assertThat(Bm25Index.load(indexFile).size()).isZero();
+    }
+
+    @Test
+    void shouldReconcileTheFilesChangedWhileStoppedWithTheStateFile() throws IOException {
+        Files.writeString(directory.resolve("a.txt"), "Alpha.");
+        Files.writeString(directory.resolve("b.txt"), "Beta.");
+        Path stateFile = directory.resolve("state/ingestion.state");
+        ingestor = newIngestor(new PersistentStore(store), List.of(directory + "/*.txt"), stateFile);
+        ingestor.ingestAll();
+        ingestor.close();
+
+        Files.delete(directory.resolve("a.txt"));
+        Files.writeString(directory.resolve("c.txt"), "Gamma.");
+        ingestor = newIngestor(new PersistentStore(store), List.of(directory + "/*.txt"), stateFile);
+
+        assertThat(ingestor.ingestAll()).isEqualTo(new DocumentIngestor.Result(1, 1, 1));
+        assertThat(texts()).containsExactlyInAnyOrder("Beta.", "Gamma.");
+        assertThat(embeddingModel.embedded.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldIngestAgainWithAnUnreadableStateFile() throws IOException {
+        Files.writeString(directory.resolve("a.txt"), "Alpha.");
+        Path stateFile = directory.resolve("ingestion.state");
+        Files.writeString(stateFile, "not a state file");
+        ingestor = newIngestor(new PersistentStore(store), List.of(directory + "/*.txt"), stateFile);
+
+        assertThat(ingestor.ingestAll()).isEqualTo(new DocumentIngestor.Result(1, 0, 0));
+        assertThat(ingestor.files()).containsExactly(directory.resolve("a.txt"));
+    }
+
+    @Test
+    void shouldIgnoreTheStateFileOfAnInMemoryStore() throws IOException {
+        Files.writeString(directory.resolve("a.txt"), "Alpha.");
+        Path stateFile = directory.resolve("ingestion.state");
+        ingestor = newIngestor(new PersistentStore(store), List.of(directory + "/*.txt"), stateFile);
+        ingestor.ingestAll();
+        ingestor.close();
+        assertThat(stateFile).exists();
+
+        // The in-memory store of the restarted application is empty, so the files are ingested again
+        InMemoryEmbeddingStore<TextSegment> restarted = new InMemoryEmbeddingStore<>();
+        ingestor = newIngestor(Bm25IndexedEmbeddingStore.of(restarted, null), List.of(directory + "/*.txt"), stateFile);
+
+        assertThat(ingestor.ingestAll()).isEqualTo(new DocumentIngestor.Result(1, 0, 0));
+        assertThat(DocumentIngestor.isTransient(restarted)).isTrue();
+        assertThat(DocumentIngestor.isTransient(new PersistentStore(restarted))).isFalse();
+    }
+
+    @Test
+    void shouldIngestInTheBackground() throws Exception {
+        Files.writeString(directory.resolve("a.txt"), "Alpha.");
+        ingestor = newIngestor(List.of(directory.toString()));
+
+        ingestor.ingestInBackground(true);
+
+        assertThat(ingestor.initialIngestion().get(30, TimeUnit.SECONDS))
+                .isEqualTo(new DocumentIngestor.Result(1, 0, 0));
+        Files.writeString(directory.resolve("b.txt"), "Beta.");
+        awaitTexts("Alpha.", "Beta.");
+    }
+
+    private DocumentIngestor newIngestor(List<String> sources) {
+        return newIngestor(store, sources);
+    }
+
+    private DocumentIngestor newIngestor(EmbeddingStore<TextSegment> store, List<String> sources) {
+        return new DocumentIngestor(
+                store, embeddingModel, sources, new StreamingDocumentSplitter(30, 0), 2, Duration.ofMillis(100));
+    }
+
+    private DocumentIngestor newIngestor(EmbeddingStore<TextSegment> store, List<String> sources, Path stateFile) {
+        return new DocumentIngestor(
+                store,
+                embeddingModel,
+                sources,
+                new StreamingDocumentSplitter(30, 0),
+                2,
+                Duration.ofMillis(100),
+                stateFile);
+    }
+
+    private List<String> texts() {
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(Embedding.from(new float[] {1, 1}))
+                .maxResults(100)
+                .build();
+        return store.search(request).matches().stream()
+                .map(EmbeddingMatch::embedded)
+                .map(TextSegment::text)
+                .toList();
+    }
+
+    private void awaitTexts(String... expected) throws InterruptedException {
+        // Polling watch services, such as the one of macOS, can take seconds to report a change
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (System.nanoTime() < deadline
+                && !(texts().size() == expected.length && texts().containsAll(List.of(expected)))) {
+            Thread.sleep(50);
+        }
+        assertThat(texts()).containsExactlyInAnyOrder(expected);
+    }
+
+    private static class CountingEmbeddingModel implements EmbeddingModel {
+        private final AtomicInteger embedded = new AtomicInteger();
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+            embedded.addAndGet(segments.size());
+            return Response.from(segments.stream()
+                    .map(segment ->
+                            Embedding.from(new float[] {1, segment.text().length()}))
+                    .toList());
+        }
+    }
+
+    /**
+     * Store standing for one keeping its content across restarts, such as a database.
+     */
+    private record PersistentStore(EmbeddingStore<TextSegment> delegate) implements EmbeddingStore<TextSegment> {
+
+        @Override
+        public String add(Embedding embedding) {
+            return delegate.add(embedding);
+        }
+
+        @Override
+        public void add(String id, Embedding embedding) {
+            delegate.add(id, embedding);
+        }
+
+        @Override
+        public String add(Embedding embedding, TextSegment segment) {
+            return delegate.add(embedding, segment);
+        }
+
+        @Override
+        public List<String> addAll(List<Embedding> embeddings) {
+            return delegate.addAll(embeddings);
+        }
+
+        @Override
+        public void addAll(List<String> ids, List<Embedding> embeddings, List<TextSegment> segments) {
+            delegate.addAll(ids, embeddings, segments);
+        }
+
+        @Override
+        public void removeAll(Collection<String> ids) {
+            delegate.removeAll(ids);
+        }
+
+        @Override
+        public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+            return delegate.search(request);
+        }
+    }
+}
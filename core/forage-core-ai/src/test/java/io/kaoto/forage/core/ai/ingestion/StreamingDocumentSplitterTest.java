@@ -0,0 +1,60 @@
+package io.kaoto.forage.core.ai.ingestion;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.segment.TextSegment;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamingDocumentSplitterTest {
+
+    @Test
+    void shouldSplitLinesIntoSegmentsWithOverlap() throws IOException {
+        String text = "The first line.\nThe second line.\nThe third line.\nThe fourth line.\n";
+
+        List<TextSegment> segments = split(new StreamingDocumentSplitter(40, 16), text);
+
+        assertThat(segments)
+                .extracting(TextSegment::text)
+                .containsExactly(
+                        "The first line.\nThe second line.",
+                        "second line.\nThe third line.",
+                        "The third line.\nThe fourth line.");
+        assertThat(segments).allSatisfy(segment -> assertThat(segment.text()).hasSizeLessThanOrEqualTo(40));
+        assertThat(segments.get(2).metadata().getString("source")).isEqualTo("test");
+        assertThat(segments.get(2).metadata().getString("index")).isEqualTo("2");
+    }
+
+    @Test
+    void shouldCutLongLinesAtWhitespace() throws IOException {
+        String text = "word ".repeat(100);
+
+        List<TextSegment> segments = split(new StreamingDocumentSplitter(52, 0), text);
+
+        assertThat(segments).hasSize(10).allSatisfy(segment -> assertThat(segment.text())
+                .isEqualTo("word ".repeat(10).strip()));
+    }
+
+    @Test
+    void shouldCutWordsLongerThanASegment() throws IOException {
+        List<TextSegment> segments = split(new StreamingDocumentSplitter(10, 0), "x".repeat(25));
+
+        assertThat(segments).extracting(TextSegment::text).containsExactly("x".repeat(10), "x".repeat(10), "xxxxx");
+    }
+
+    @Test
+    void shouldRejectAnOverlapLargerThanASegment() {
+        assertThatThrownBy(() -> new StreamingDocumentSplitter(10, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<TextSegment> split(StreamingDocumentSplitter splitter, String text) throws IOException {
+        List<TextSegment> segments = new ArrayList<>();
+        splitter.split(new StringReader(text), Metadata.from("source", "test"), segments::add);
+        return segments;
+    }
+}
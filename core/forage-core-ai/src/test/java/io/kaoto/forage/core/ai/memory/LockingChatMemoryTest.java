@@ -0,0 +1,156 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LockingChatMemoryTest {
+
+    private static final int THREADS = 8;
+    private static final int TURNS = 50;
+
+    private final ChatMemoryStore store = new SlowStore();
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void cleanup() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldNotLoseConcurrentUpdatesOfAConversation() throws Exception {
+        assertThat(addConcurrently(new StripedChatMemoryLock(16))).hasSize(THREADS * TURNS);
+    }
+
+    @Test
+    void shouldNotLoseConcurrentUpdatesAcrossInstances() throws Exception {
+        // Two instances of the application sharing the lock keys of their store
+        Map<String, String> keys = new ConcurrentHashMap<>();
+        List<ChatMemoryLock> locks = List.of(new MapLock(keys), new MapLock(keys));
+
+        List<ChatMessage> messages = addConcurrently(locks);
+
+        assertThat(messages).hasSize(THREADS * TURNS);
+        assertThat(keys).isEmpty();
+    }
+
+    @Test
+    void shouldOnlyBlockTheSameConversation() throws Exception {
+        StripedChatMemoryLock lock = new StripedChatMemoryLock(64);
+        String other = "conversation-2";
+        for (int i = 3; lock.stripe(other) == lock.stripe("conversation-1"); i++) {
+            other = "conversation-" + i;
+        }
+        String otherId = other;
+
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> lock.withLock("conversation-1", () -> {
+            locked.countDown();
+            await(release);
+        }));
+        locked.await(5, TimeUnit.SECONDS);
+
+        Future<?> sameConversation =
+                executor.submit(() -> memory("conversation-1", lock).add(UserMessage.from("same")));
+        Future<?> otherConversation =
+                executor.submit(() -> memory(otherId, lock).add(UserMessage.from("other")));
+
+        otherConversation.get(5, TimeUnit.SECONDS);
+        assertThat(sameConversation).isNotDone();
+
+        release.countDown();
+        sameConversation.get(5, TimeUnit.SECONDS);
+    }
+
+    private List<ChatMessage> addConcurrently(ChatMemoryLock lock) throws Exception {
+        return addConcurrently(List.of(lock));
+    }
+
+    private List<ChatMessage> addConcurrently(List<ChatMemoryLock> locks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            ChatMemoryLock lock = locks.get(t % locks.size());
+            futures.add(executor.submit(() -> {
+                await(start);
+                for (int i = 0; i < TURNS; i++) {
+                    // A new memory instance per turn, as for two exchanges of the same conversation
+                    memory("conversation-1", lock).add(UserMessage.from(thread + "-" + i));
+                }
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        return store.getMessages("conversation-1");
+    }
+
+    private ChatMemory memory(Object id, ChatMemoryLock lock) {
+        return new LockingChatMemory(
+                MessageWindowChatMemory.builder()
+                        .id(id)
+                        .maxMessages(THREADS * TURNS)
+                        .chatMemoryStore(store)
+                        .build(),
+                lock);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Widens the window between reading and writing a memory, where unlocked updates get lost.
+     */
+    private static final class SlowStore extends InMemoryChatMemoryStore {
+        @Override
+        public List<ChatMessage> getMessages(Object memoryId) {
+            List<ChatMessage> messages = super.getMessages(memoryId);
+            Thread.yield();
+            return messages;
+        }
+    }
+
+    private static final class MapLock extends DistributedChatMemoryLock {
+        private final Map<String, String> keys;
+
+        private MapLock(Map<String, String> keys) {
+            super(4, Duration.ofSeconds(30), Duration.ofSeconds(10));
+            this.keys = keys;
+        }
+
+        @Override
+        protected boolean tryAcquire(String key, String token, Duration leaseTime) {
+            return keys.putIfAbsent(key, token) == null;
+        }
+
+        @Override
+        protected void release(String key, String token) {
+            keys.remove(key, token);
+        }
+    }
+}
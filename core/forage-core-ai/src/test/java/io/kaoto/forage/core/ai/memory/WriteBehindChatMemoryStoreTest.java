@@ -0,0 +1,150 @@
+package io.kaoto.forage.core.ai.memory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WriteBehindChatMemoryStoreTest {
+
+    private final CountingStore delegate = new CountingStore();
+    private WriteBehindChatMemoryStore store;
+
+    @AfterEach
+    void cleanup() {
+        store.close();
+    }
+
+    @Test
+    void shouldCoalesceABurstIntoOneWrite() throws Exception {
+        store = new WriteBehindChatMemoryStore(delegate, Duration.ofMillis(100), 100, 1);
+
+        for (int i = 1; i <= 10; i++) {
+            store.updateMessages("user-1", messages(i));
+        }
+
+        // Read your writes before the store is written
+        assertThat(store.getMessages("user-1")).hasSize(10);
+        assertThat(delegate.getMessages("user-1")).isEmpty();
+
+        awaitWrites(1);
+        assertThat(delegate.getMessages("user-1")).hasSize(10);
+        assertThat(delegate.writes.get()).isEqualTo(1);
+        assertThat(store.getMetrics().updates()).isEqualTo(10);
+        assertThat(store.getMetrics().coalesced()).isEqualTo(9);
+        assertThat(store.getMetrics().maxFlushLag()).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+    }
+
+    @Test
+    void shouldBufferDeletions() throws Exception {
+        delegate.updateMessages("user-1", messages(2));
+        store = new WriteBehindChatMemoryStore(delegate, Duration.ofMillis(50), 100, 1);
+
+        store.deleteMessages("user-1");
+
+        assertThat(store.getMessages("user-1")).isEmpty();
+        awaitWrites(2);
+        assertThat(delegate.getMessages("user-1")).isEmpty();
+    }
+
+    @Test
+    void shouldFlushOnClose() {
+        store = new WriteBehindChatMemoryStore(delegate, Duration.ofHours(1), 100, 1);
+
+        store.updateMessages("user-1", messages(1));
+        store.updateMessages("user-2", messages(2));
+        store.close();
+
+        assertThat(delegate.getMessages("user-1")).hasSize(1);
+        assertThat(delegate.getMessages("user-2")).hasSize(2);
+        assertThat(store.getMetrics().pending()).isZero();
+    }
+
+    @Test
+    void shouldWriteSynchronouslyOverTheQueueDepth() {
+        store = new WriteBehindChatMemoryStore(delegate, Duration.ofHours(1), 1, 1);
+
+        store.updateMessages("user-1", messages(1));
+        store.updateMessages("user-2", messages(2));
+
+        assertThat(delegate.getMessages("user-1")).isEmpty();
+        assertThat(delegate.getMessages("user-2")).hasSize(2);
+        assertThat(store.getMetrics().synchronousWrites()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRetryFailedWrites() throws Exception {
+        delegate.failures.set(2);
+        store = new WriteBehindChatMemoryStore(delegate, Duration.ofMillis(20), 100, 1);
+
+        store.updateMessages("user-1", messages(3));
+
+        awaitWrites(1);
+        assertThat(delegate.getMessages("user-1")).hasSize(3);
+        assertThat(store.getMetrics().failures()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldDeadLetterUpdatesFailingPastTheMaxRetries() throws Exception {
+        delegate.failures.set(100);
+        CompletableFuture<List<ChatMessage>> deadLetter = new CompletableFuture<>();
+        store = new WriteBehindChatMemoryStore(
+                delegate,
+                Duration.ofMillis(10),
+                100,
+                1,
+                2,
+                (memoryId, messages, failure) -> deadLetter.complete(messages));
+
+        store.updateMessages("user-1", messages(3));
+
+        assertThat(deadLetter.get(5, TimeUnit.SECONDS)).hasSize(3);
+        assertThat(store.getMetrics().failures()).isEqualTo(3);
+        assertThat(store.getMetrics().deadLetters()).isEqualTo(1);
+        assertThat(store.getMetrics().pending()).isZero();
+        assertThat(store.getMessages("user-1")).isEmpty();
+    }
+
+    private void awaitWrites(int writes) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (delegate.writes.get() < writes && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(delegate.writes.get()).isEqualTo(writes);
+    }
+
+    private static List<ChatMessage> messages(int count) {
+        return IntStream.range(0, count)
+                .<ChatMessage>mapToObj(i -> UserMessage.from("message " + i))
+                .toList();
+    }
+
+    private static final class CountingStore extends InMemoryChatMemoryStore {
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+
+        @Override
+        public void updateMessages(Object memoryId, List<ChatMessage> messages) {
+            if (failures.getAndUpdate(f -> Math.max(0, f - 1)) > 0) {
+                throw new IllegalStateException("store unavailable");
+            }
+            super.updateMessages(memoryId, messages);
+            writes.incrementAndGet();
+        }
+
+        @Override
+        public void deleteMessages(Object memoryId) {
+            super.deleteMessages(memoryId);
+            writes.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.kaoto.forage.core.jta;
+
+import javax.transaction.xa.XAResource;
+
+import java.util.Set;
+import org.jboss.tm.LastResource;
+import com.arjuna.ats.jta.resources.LastResourceCommitOptimisation;
+import com.arjuna.ats.jta.transaction.Transaction;
+
+/**
+ * Required propagation for routes that only touch a single data source configured with {@code transaction.xa=false}.
+ * Such a data source is backed by the plain driver and enlisted as a local resource, so the transaction is committed
+ * in one phase, without XA start/end, prepare, or transaction log write. A transaction started by this policy is
+ * rolled back if more than one resource, or an XA resource, has been enlisted, so a route that grows a second
+ * resource or uses an XA pool fails fast instead of silently paying for two-phase commit.
+ */
+public final class LocalRequiredJtaTransactionPolicy extends TransactionalJtaTransactionPolicy {
+
+    @Override
+    public void run(final Runnable runnable) throws Throwable {
+        boolean isNew = !hasActiveTransaction();
+        runWithTransaction(
+                () -> {
+                    runnable.run();
+                    if (isNew) {
+                        verifySingleLocalResource();
+                    }
+                },
+                isNew);
+    }
+
+    private void verifySingleLocalResource() {
+        jakarta.transaction.Transaction transaction;
+        try {
+            transaction =
+                    com.arjuna.ats.jta.TransactionManager.transactionManager().getTransaction();
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to read the current transaction", e);
+        }
+        if (!(transaction instanceof Transaction narayanaTransaction)) {
+            return;
+        }
+
+        Set<XAResource> resources = narayanaTransaction.getResources().keySet();
+        if (resources.size() > 1) {
+            throw new IllegalStateException("LOCAL_REQUIRED transaction enlisted " + resources.size()
+                    + " resources, use PROPAGATION_REQUIRED for routes spanning several resources");
+        }
+        for (XAResource resource : resources) {
+            if (!(resource instanceof LastResource) && !(resource instanceof LastResourceCommitOptimisation)) {
+                throw new IllegalStateException("LOCAL_REQUIRED transaction enlisted the XA resource " + resource
+                        + ", configure its data source with transaction.xa=false or use PROPAGATION_REQUIRED");
+            }
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package io.kaoto.forage.quarkus.agent;
 
 import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.component.langchain4j.agent.api.Agent;
+import org.apache.camel.support.service.ServiceSupport;
 import org.jboss.logging.Logger;
 import io.kaoto.forage.agent.AgentConfig;
 import io.kaoto.forage.agent.AgentCreator;
@@ -39,8 +41,31 @@ public class ForageAgentRecorder {
         }
 
         if (agent != null) {
+            closeOnShutdown(camelContext, agent);
             return new RuntimeValue<>(agent);
         }
         return null;
     }
+
+    /**
+     * Closes the agent with the Camel context, releasing the resources it owns.
+     */
+    private static void closeOnShutdown(CamelContext camelContext, Agent agent) {
+        if (!(agent instanceof AutoCloseable closeable)) {
+            return;
+        }
+        try {
+            camelContext.addService(
+                    new ServiceSupport() {
+                        @Override
+                        protected void doStop() throws Exception {
+                            closeable.close();
+                        }
+                    },
+                    true,
+                    true);
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
 }
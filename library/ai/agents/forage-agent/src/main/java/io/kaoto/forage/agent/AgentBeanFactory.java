@@ -2,7 +2,9 @@ package io.kaoto.forage.agent;
 
 import java.util.Set;
 import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.component.langchain4j.agent.api.Agent;
+import org.apache.camel.support.service.ServiceSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.annotations.FactoryType;
@@ -70,6 +72,7 @@ public class AgentBeanFactory implements BeanFactory {
                     Agent agent = AgentCreator.createAgent(agentConfig, agentName, cl);
                     if (agent != null) {
                         camelContext.getRegistry().bind(agentName, agent);
+                        closeOnShutdown(agent);
                         LOG.info("Registered Agent bean with name: {}", agentName);
                     }
                 } catch (Exception e) {
@@ -87,6 +90,7 @@ public class AgentBeanFactory implements BeanFactory {
                 Agent agent = AgentCreator.createAgent(agentConfig, AgentCreator.DEFAULT_AGENT, cl);
                 if (agent != null) {
                     camelContext.getRegistry().bind(AgentCreator.DEFAULT_AGENT, agent);
+                    closeOnShutdown(agent);
                     LOG.info("Registered default Agent bean with name: {}", AgentCreator.DEFAULT_AGENT);
                 }
             } catch (Exception e) {
@@ -96,6 +100,28 @@ public class AgentBeanFactory implements BeanFactory {
         }
     }
 
+    /**
+     * Closes the agent with the Camel context, releasing the resources it owns.
+     */
+    private void closeOnShutdown(Agent agent) {
+        if (!(agent instanceof AutoCloseable closeable)) {
+            return;
+        }
+        try {
+            camelContext.addService(
+                    new ServiceSupport() {
+                        @Override
+                        protected void doStop() throws Exception {
+                            closeable.close();
+                        }
+                    },
+                    true,
+                    true);
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+
     @Override
     public void setCamelContext(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -8,9 +8,26 @@ import io.kaoto.forage.core.util.config.AbstractConfig;
 
 import static io.kaoto.forage.agent.AgentConfigEntries.API_KEY;
 import static io.kaoto.forage.agent.AgentConfigEntries.BASE_URL;
+import static io.kaoto.forage.agent.AgentConfigEntries.CACHE_ENABLED;
+import static io.kaoto.forage.agent.AgentConfigEntries.CACHE_MAX_SIZE;
+import static io.kaoto.forage.agent.AgentConfigEntries.CACHE_REMOTE_KIND;
+import static io.kaoto.forage.agent.AgentConfigEntries.CACHE_TTL;
+import static io.kaoto.forage.agent.AgentConfigEntries.COALESCING_ENABLED;
+import static io.kaoto.forage.agent.AgentConfigEntries.COALESCING_MAX_WAIT;
+import static io.kaoto.forage.agent.AgentConfigEntries.COALESCING_SKIP_SAMPLED;
+import static io.kaoto.forage.agent.AgentConfigEntries.COMPOSITE_HEDGE_PERCENTILE;
+import static io.kaoto.forage.agent.AgentConfigEntries.COMPOSITE_MEMBERS;
+import static io.kaoto.forage.agent.AgentConfigEntries.COMPOSITE_WEIGHTS;
 import static io.kaoto.forage.agent.AgentConfigEntries.DEFAULT_RAG_MAX_RESULTS;
 import static io.kaoto.forage.agent.AgentConfigEntries.DEFAULT_RAG_MIN_SCORE;
 import static io.kaoto.forage.agent.AgentConfigEntries.DEPLOYMENT_NAME;
+import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_BATCH_ENABLED;
+import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_BATCH_MAX_DELAY;
+import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_BATCH_MAX_SIZE;
+import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_CACHE_ENABLED;
+import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_CACHE_FILE_MAX_SIZE;
+import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_CACHE_MAX_SIZE;
+import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_CACHE_PATH;
 import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_MODEL_BASE_URL;
 import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_MODEL_MAX_RETRIES;
 import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_MODEL_MODEL_NAME;
@@ -20,6 +37,12 @@ import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_STORE_MAX_SIZE;
 import static io.kaoto.forage.agent.AgentConfigEntries.EMBEDDING_STORE_OVERLAP_SIZE;
 import static io.kaoto.forage.agent.AgentConfigEntries.ENDPOINT;
 import static io.kaoto.forage.agent.AgentConfigEntries.FEATURES;
+import static io.kaoto.forage.agent.AgentConfigEntries.LIMIT_ENABLED;
+import static io.kaoto.forage.agent.AgentConfigEntries.LIMIT_LATENCY_TOLERANCE;
+import static io.kaoto.forage.agent.AgentConfigEntries.LIMIT_MAX_CONCURRENCY;
+import static io.kaoto.forage.agent.AgentConfigEntries.LIMIT_QUEUE_TIMEOUT;
+import static io.kaoto.forage.agent.AgentConfigEntries.LIMIT_REQUESTS_PER_SECOND;
+import static io.kaoto.forage.agent.AgentConfigEntries.LIMIT_TOKENS_PER_MINUTE;
 import static io.kaoto.forage.agent.AgentConfigEntries.LOG_REQUESTS;
 import static io.kaoto.forage.agent.AgentConfigEntries.LOG_RESPONSES;
 import static io.kaoto.forage.agent.AgentConfigEntries.MAX_TOKENS;
@@ -32,6 +55,13 @@ import static io.kaoto.forage.agent.AgentConfigEntries.MEMORY_REDIS_PASSWORD;
 import static io.kaoto.forage.agent.AgentConfigEntries.MEMORY_REDIS_PORT;
 import static io.kaoto.forage.agent.AgentConfigEntries.MODEL_KIND;
 import static io.kaoto.forage.agent.AgentConfigEntries.MODEL_NAME;
+import static io.kaoto.forage.agent.AgentConfigEntries.SEMANTIC_CACHE_ENABLED;
+import static io.kaoto.forage.agent.AgentConfigEntries.SEMANTIC_CACHE_LAST_TURN;
+import static io.kaoto.forage.agent.AgentConfigEntries.SEMANTIC_CACHE_MAX_SIZE;
+import static io.kaoto.forage.agent.AgentConfigEntries.SEMANTIC_CACHE_MIN_SCORE;
+import static io.kaoto.forage.agent.AgentConfigEntries.SEMANTIC_CACHE_TTL;
+import static io.kaoto.forage.agent.AgentConfigEntries.STREAMING_ENABLED;
+import static io.kaoto.forage.agent.AgentConfigEntries.STREAMING_ENDPOINT;
 import static io.kaoto.forage.agent.AgentConfigEntries.TEMPERATURE;
 import static io.kaoto.forage.agent.AgentConfigEntries.TIMEOUT;
 import static io.kaoto.forage.agent.AgentConfigEntries.TOP_K;
@@ -68,12 +98,7 @@ public class AgentConfig extends AbstractConfig {
     }
 
     public List<String> features() {
-        return get(FEATURES)
-                .map(s -> Arrays.stream(s.split(","))
-                        .map(String::trim)
-                        .filter(token -> !token.isEmpty())
-                        .toList())
-                .orElse(Collections.emptyList());
+        return get(FEATURES).map(AgentConfig::split).orElse(Collections.emptyList());
     }
 
     public boolean hasFeature(String feature) {
@@ -138,6 +163,122 @@ public class AgentConfig extends AbstractConfig {
         return get(TIMEOUT).orElse(null);
     }
 
+    // Composite model
+
+    public List<String> compositeMembers() {
+        return get(COMPOSITE_MEMBERS).map(AgentConfig::split).orElse(Collections.emptyList());
+    }
+
+    public List<Integer> compositeWeights() {
+        return get(COMPOSITE_WEIGHTS)
+                .map(s -> split(s).stream().map(Integer::parseInt).toList())
+                .orElse(Collections.emptyList());
+    }
+
+    public double compositeHedgePercentile() {
+        return get(COMPOSITE_HEDGE_PERCENTILE).map(Double::parseDouble).orElse(0.0);
+    }
+
+    // Streaming
+
+    public boolean streamingEnabled() {
+        return get(STREAMING_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public String streamingEndpoint() {
+        return get(STREAMING_ENDPOINT).orElse(null);
+    }
+
+    // Response cache
+
+    public boolean cacheEnabled() {
+        return get(CACHE_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public int cacheMaxSize() {
+        return get(CACHE_MAX_SIZE).map(Integer::parseInt).orElse(Integer.parseInt(CACHE_MAX_SIZE.defaultValue()));
+    }
+
+    public Duration cacheTtl() {
+        return get(CACHE_TTL).map(Duration::parse).orElse(Duration.parse(CACHE_TTL.defaultValue()));
+    }
+
+    public String cacheRemoteKind() {
+        return get(CACHE_REMOTE_KIND).orElse(null);
+    }
+
+    // Semantic response cache
+
+    public boolean semanticCacheEnabled() {
+        return get(SEMANTIC_CACHE_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public boolean semanticCacheLastTurn() {
+        return get(SEMANTIC_CACHE_LAST_TURN)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(SEMANTIC_CACHE_LAST_TURN.defaultValue()));
+    }
+
+    public double semanticCacheMinScore() {
+        return get(SEMANTIC_CACHE_MIN_SCORE)
+                .map(Double::parseDouble)
+                .orElse(Double.parseDouble(SEMANTIC_CACHE_MIN_SCORE.defaultValue()));
+    }
+
+    public int semanticCacheMaxSize() {
+        return get(SEMANTIC_CACHE_MAX_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(SEMANTIC_CACHE_MAX_SIZE.defaultValue()));
+    }
+
+    public Duration semanticCacheTtl() {
+        return get(SEMANTIC_CACHE_TTL).map(Duration::parse).orElse(Duration.parse(SEMANTIC_CACHE_TTL.defaultValue()));
+    }
+
+    // Request coalescing
+
+    public boolean coalescingEnabled() {
+        return get(COALESCING_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public Duration coalescingMaxWait() {
+        return get(COALESCING_MAX_WAIT).map(Duration::parse).orElse(Duration.parse(COALESCING_MAX_WAIT.defaultValue()));
+    }
+
+    public boolean coalescingSkipSampled() {
+        return get(COALESCING_SKIP_SAMPLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    // Model limiter
+
+    public boolean limitEnabled() {
+        return get(LIMIT_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public int limitMaxConcurrency() {
+        return get(LIMIT_MAX_CONCURRENCY)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(LIMIT_MAX_CONCURRENCY.defaultValue()));
+    }
+
+    public double limitRequestsPerSecond() {
+        return get(LIMIT_REQUESTS_PER_SECOND).map(Double::parseDouble).orElse(0.0);
+    }
+
+    public int limitTokensPerMinute() {
+        return get(LIMIT_TOKENS_PER_MINUTE).map(Integer::parseInt).orElse(0);
+    }
+
+    public Duration limitQueueTimeout() {
+        return get(LIMIT_QUEUE_TIMEOUT).map(Duration::parse).orElse(Duration.parse(LIMIT_QUEUE_TIMEOUT.defaultValue()));
+    }
+
+    public double limitLatencyTolerance() {
+        return get(LIMIT_LATENCY_TOLERANCE)
+                .map(Double::parseDouble)
+                .orElse(Double.parseDouble(LIMIT_LATENCY_TOLERANCE.defaultValue()));
+    }
+
     // Memory configuration
 
     public Integer memoryMaxMessages() {
@@ -205,6 +346,46 @@ public class AgentConfig extends AbstractConfig {
         return get(EMBEDDING_MODEL_TIMEOUT).map(Duration::parse).orElse(null);
     }
 
+    // Embedding batching
+
+    public boolean embeddingBatchEnabled() {
+        return get(EMBEDDING_BATCH_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public int embeddingBatchMaxSize() {
+        return get(EMBEDDING_BATCH_MAX_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(EMBEDDING_BATCH_MAX_SIZE.defaultValue()));
+    }
+
+    public Duration embeddingBatchMaxDelay() {
+        return get(EMBEDDING_BATCH_MAX_DELAY)
+                .map(Duration::parse)
+                .orElse(Duration.parse(EMBEDDING_BATCH_MAX_DELAY.defaultValue()));
+    }
+
+    // Embedding cache
+
+    public boolean embeddingCacheEnabled() {
+        return get(EMBEDDING_CACHE_ENABLED).map(Boolean::parseBoolean).orElse(false);
+    }
+
+    public int embeddingCacheMaxSize() {
+        return get(EMBEDDING_CACHE_MAX_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(EMBEDDING_CACHE_MAX_SIZE.defaultValue()));
+    }
+
+    public String embeddingCachePath() {
+        return get(EMBEDDING_CACHE_PATH).orElse(null);
+    }
+
+    public int embeddingCacheFileMaxSize() {
+        return get(EMBEDDING_CACHE_FILE_MAX_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(EMBEDDING_CACHE_FILE_MAX_SIZE.defaultValue()));
+    }
+
     public Integer defaultRagMaxResults() {
         return get(DEFAULT_RAG_MAX_RESULTS).map(Integer::parseInt).orElse(null);
     }
@@ -212,4 +393,11 @@ public class AgentConfig extends AbstractConfig {
     public Double defaultRagMinScore() {
         return get(DEFAULT_RAG_MIN_SCORE).map(Double::parseDouble).orElse(null);
     }
+
+    private static List<String> split(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
 }
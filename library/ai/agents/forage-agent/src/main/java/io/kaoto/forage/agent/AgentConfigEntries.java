@@ -184,6 +184,242 @@ public final class AgentConfigEntries extends ConfigEntries {
             false,
             ConfigTag.COMMON);
 
+    // Composite model
+    public static final ConfigModule COMPOSITE_MEMBERS = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.composite.members",
+            "Comma-separated list of the agent names whose models are members of a composite model (model.kind=composite)",
+            "Composite Members",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule COMPOSITE_WEIGHTS = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.composite.weights",
+            "Comma-separated list of the load-balancing weights of the composite members, equal weights by default",
+            "Composite Weights",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule COMPOSITE_HEDGE_PERCENTILE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.composite.hedge.percentile",
+            "Latency percentile (e.g. 0.95) of a member after which the next member is called as well, 0 to only fail over on errors",
+            "Composite Hedge Percentile",
+            "0",
+            "double",
+            false,
+            ConfigTag.ADVANCED);
+
+    // Streaming
+    public static final ConfigModule STREAMING_ENABLED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.streaming.enabled",
+            "Create a streaming chat model so that the agent can stream responses as they are generated",
+            "Streaming Enabled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule STREAMING_ENDPOINT = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.streaming.endpoint",
+            "Camel endpoint URI receiving every chunk of the responses streamed when the agent is called from a route, with the headers of the calling exchange",
+            "Streaming Endpoint",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    // Response cache
+    public static final ConfigModule CACHE_ENABLED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.enabled",
+            "Serve identical requests from a response cache instead of calling the chat model",
+            "Response Cache Enabled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CACHE_MAX_SIZE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.max.size",
+            "Maximum number of responses kept in the local response cache",
+            "Response Cache Max Size",
+            "1000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CACHE_TTL = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.ttl",
+            "How long a cached response is served, in ISO-8601 format (e.g. PT1H for one hour)",
+            "Response Cache TTL",
+            "PT1H",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CACHE_REMOTE_KIND = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.cache.remote.kind",
+            "Remote response cache tier shared between instances (redis or infinispan), connecting to the servers configured for the chat memory of the same kind",
+            "Response Cache Remote Kind",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    // Semantic response cache
+    public static final ConfigModule SEMANTIC_CACHE_ENABLED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.semantic.cache.enabled",
+            "Serve paraphrased single turn questions from previous answers, using the configured embedding model. Requests carrying chat memory history are only served with forage.agent.semantic.cache.last.turn, and RAG questions are embedded with their retrieved content",
+            "Semantic Cache Enabled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule SEMANTIC_CACHE_LAST_TURN = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.semantic.cache.last.turn",
+            "Key multi-turn requests, such as those of agents with memory, on their final user message only, so that they can be served from the semantic cache. The earlier turns are then ignored",
+            "Semantic Cache Last Turn",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule SEMANTIC_CACHE_MIN_SCORE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.semantic.cache.min.score",
+            "Minimum similarity score (0.0-1.0) for a previous answer to be served",
+            "Semantic Cache Min Score",
+            "0.95",
+            "double",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule SEMANTIC_CACHE_MAX_SIZE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.semantic.cache.max.size",
+            "Maximum number of answers kept in the semantic cache",
+            "Semantic Cache Max Size",
+            "1000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule SEMANTIC_CACHE_TTL = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.semantic.cache.ttl",
+            "How long a semantically cached answer is served, in ISO-8601 format (e.g. PT1H for one hour)",
+            "Semantic Cache TTL",
+            "PT1H",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    // Request coalescing
+    public static final ConfigModule COALESCING_ENABLED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.coalescing.enabled",
+            "Share a single in-flight model call between concurrent identical requests",
+            "Coalescing Enabled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule COALESCING_MAX_WAIT = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.coalescing.max.wait",
+            "How long a request waits for an identical in-flight call before making its own, in ISO-8601 format",
+            "Coalescing Max Wait",
+            "PT30S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule COALESCING_SKIP_SAMPLED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.coalescing.skip.sampled",
+            "Never coalesce requests sampled with a non zero or provider default temperature",
+            "Coalescing Skip Sampled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    // Model limiter
+    public static final ConfigModule LIMIT_ENABLED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.limit.enabled",
+            "Limit the concurrency, requests and tokens sent to the chat and embedding model providers",
+            "Limiter Enabled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule LIMIT_MAX_CONCURRENCY = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.limit.max.concurrency",
+            "Upper bound of the adaptive number of concurrent calls to each model",
+            "Limiter Max Concurrency",
+            "32",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule LIMIT_REQUESTS_PER_SECOND = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.limit.requests.per.second",
+            "Maximum calls per second to each model, 0 for no limit",
+            "Limiter Requests Per Second",
+            "0",
+            "double",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule LIMIT_TOKENS_PER_MINUTE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.limit.tokens.per.minute",
+            "Maximum tokens per minute sent to each model, 0 for no limit",
+            "Limiter Tokens Per Minute",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule LIMIT_QUEUE_TIMEOUT = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.limit.queue.timeout",
+            "How long a call waits for the limiter before failing, in ISO-8601 format (e.g. PT30S for 30 seconds)",
+            "Limiter Queue Timeout",
+            "PT30S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule LIMIT_LATENCY_TOLERANCE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.limit.latency.tolerance",
+            "How many times the short term average latency per output token can exceed its long term average before the concurrency is reduced",
+            "Limiter Latency Tolerance",
+            "2.0",
+            "double",
+            false,
+            ConfigTag.ADVANCED);
+
     // Memory configuration
     public static final ConfigModule MEMORY_MAX_MESSAGES = ConfigModule.of(
             AgentConfig.class,
@@ -330,6 +566,76 @@ public final class AgentConfigEntries extends ConfigEntries {
             false,
             ConfigTag.COMMON);
 
+    public static final ConfigModule EMBEDDING_BATCH_ENABLED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.embedding.batch.enabled",
+            "Merge concurrent single text embedding calls into batched calls to the embedding model",
+            "Embedding Batching Enabled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule EMBEDDING_BATCH_MAX_SIZE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.embedding.batch.max.size",
+            "Maximum number of texts sent to the embedding model in one batch",
+            "Embedding Batch Max Size",
+            "16",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule EMBEDDING_BATCH_MAX_DELAY = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.embedding.batch.max.delay",
+            "How long a text waits for other texts to join its batch, in ISO-8601 format (e.g. PT0.002S)",
+            "Embedding Batch Max Delay",
+            "PT0.002S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule EMBEDDING_CACHE_ENABLED = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.embedding.cache.enabled",
+            "Cache the embeddings computed by the embedding model, keyed by model and content hash",
+            "Embedding Cache Enabled",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule EMBEDDING_CACHE_MAX_SIZE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.embedding.cache.max.size",
+            "Maximum number of embeddings kept on the heap",
+            "Embedding Cache Max Size",
+            "10000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule EMBEDDING_CACHE_FILE_MAX_SIZE = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.embedding.cache.file.max.size",
+            "Maximum number of embeddings kept in the embedding cache file, the least recently used are dropped",
+            "Embedding Cache File Max Size",
+            "100000",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule EMBEDDING_CACHE_PATH = ConfigModule.of(
+            AgentConfig.class,
+            "forage.agent.embedding.cache.path",
+            "File persisting the cached embeddings across restarts, embeddings are only cached on the heap when not set",
+            "Embedding Cache Path",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
     // rag
 
     public static final ConfigModule DEFAULT_RAG_MAX_RESULTS = ConfigModule.of(
@@ -369,6 +675,29 @@ public final class AgentConfigEntries extends ConfigEntries {
                 LOG_REQUESTS,
                 LOG_RESPONSES,
                 TIMEOUT,
+                COMPOSITE_MEMBERS,
+                COMPOSITE_WEIGHTS,
+                COMPOSITE_HEDGE_PERCENTILE,
+                STREAMING_ENABLED,
+                STREAMING_ENDPOINT,
+                CACHE_ENABLED,
+                CACHE_MAX_SIZE,
+                CACHE_TTL,
+                CACHE_REMOTE_KIND,
+                SEMANTIC_CACHE_ENABLED,
+                SEMANTIC_CACHE_LAST_TURN,
+                SEMANTIC_CACHE_MIN_SCORE,
+                SEMANTIC_CACHE_MAX_SIZE,
+                SEMANTIC_CACHE_TTL,
+                COALESCING_ENABLED,
+                COALESCING_MAX_WAIT,
+                COALESCING_SKIP_SAMPLED,
+                LIMIT_ENABLED,
+                LIMIT_MAX_CONCURRENCY,
+                LIMIT_REQUESTS_PER_SECOND,
+                LIMIT_TOKENS_PER_MINUTE,
+                LIMIT_QUEUE_TIMEOUT,
+                LIMIT_LATENCY_TOLERANCE,
                 MEMORY_MAX_MESSAGES,
                 MEMORY_REDIS_HOST,
                 MEMORY_REDIS_PORT,
@@ -383,6 +712,13 @@ public final class AgentConfigEntries extends ConfigEntries {
                 EMBEDDING_MODEL_MODEL_NAME,
                 EMBEDDING_MODEL_TIMEOUT,
                 EMBEDDING_MODEL_MAX_RETRIES,
+                EMBEDDING_BATCH_ENABLED,
+                EMBEDDING_BATCH_MAX_SIZE,
+                EMBEDDING_BATCH_MAX_DELAY,
+                EMBEDDING_CACHE_ENABLED,
+                EMBEDDING_CACHE_MAX_SIZE,
+                EMBEDDING_CACHE_PATH,
+                EMBEDDING_CACHE_FILE_MAX_SIZE,
                 DEFAULT_RAG_MAX_RESULTS,
                 DEFAULT_RAG_MIN_SCORE);
     }
@@ -1,20 +1,42 @@
 package io.kaoto.forage.agent;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.function.BiFunction;
 import org.apache.camel.component.langchain4j.agent.api.Agent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.kaoto.forage.agent.batch.BatchingEmbeddingModel;
+import io.kaoto.forage.agent.cache.CachingChatModel;
+import io.kaoto.forage.agent.cache.CachingEmbeddingModel;
+import io.kaoto.forage.agent.cache.CachingStreamingChatModel;
+import io.kaoto.forage.agent.cache.ChatResponseCache;
+import io.kaoto.forage.agent.cache.CoalescingChatModel;
+import io.kaoto.forage.agent.cache.SemanticCachingChatModel;
 import io.kaoto.forage.agent.factory.ConfigurationAware;
+import io.kaoto.forage.agent.limit.LimitedChatModel;
+import io.kaoto.forage.agent.limit.LimitedEmbeddingModel;
+import io.kaoto.forage.agent.limit.LimitedStreamingChatModel;
+import io.kaoto.forage.agent.limit.ModelLimiter;
+import io.kaoto.forage.agent.limit.ModelLimiters;
+import io.kaoto.forage.agent.routing.CompositeChatModel;
+import io.kaoto.forage.agent.routing.CompositeStreamingChatModel;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
+import io.kaoto.forage.core.ai.ChatResponseCacheStore;
+import io.kaoto.forage.core.ai.ChatResponseCacheStoreProvider;
 import io.kaoto.forage.core.ai.EmbeddingModelAware;
 import io.kaoto.forage.core.ai.EmbeddingModelProvider;
 import io.kaoto.forage.core.ai.EmbeddingStoreAware;
 import io.kaoto.forage.core.ai.EmbeddingStoreProvider;
 import io.kaoto.forage.core.ai.ModelProvider;
 import io.kaoto.forage.core.ai.RetrievalAugmentorProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.ingestion.Bm25IndexedEmbeddingStore;
+import io.kaoto.forage.core.ai.ingestion.DocumentIngestor;
+import io.kaoto.forage.core.ai.ingestion.IngestionConfig;
 import io.kaoto.forage.core.annotations.ForageBean;
 import io.kaoto.forage.core.guardrails.InputGuardrailProvider;
 import io.kaoto.forage.core.guardrails.OutputGuardrailProvider;
@@ -26,9 +48,11 @@ import dev.langchain4j.guardrail.OutputGuardrail;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.rag.RetrievalAugmentor;
 import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
 
 /**
  * Reusable utility for creating Agent instances from configuration.
@@ -42,6 +66,7 @@ public final class AgentCreator {
     private static final Logger LOG = LoggerFactory.getLogger(AgentCreator.class);
     public static final String DEFAULT_AGENT = "agent";
     private static final String FEATURE_MEMORY = "memory";
+    static final String COMPOSITE_MODEL_KIND = "composite";
 
     private AgentCreator() {}
 
@@ -76,11 +101,51 @@ public final class AgentCreator {
             return null;
         }
 
+        // Closed with the agent
+        List<AutoCloseable> resources = new ArrayList<>();
+        EmbeddingModel embeddingModel =
+                config.hasEmbeddingConfig() ? createEmbeddingModel(config, modelKind, name, classLoader) : null;
+        if (embeddingModel != null && config.limitEnabled()) {
+            embeddingModel = new LimitedEmbeddingModel(
+                    embeddingModel,
+                    createModelLimiter(
+                            config,
+                            modelKind + "-embedding",
+                            config.embeddingModelBaseUrl() != null
+                                    ? config.embeddingModelBaseUrl()
+                                    : providerEndpoint(config),
+                            config.apiKey(),
+                            config.embeddingModelName()));
+        }
+        if (embeddingModel != null && config.embeddingBatchEnabled()) {
+            LOG.info(
+                    "Enabling embedding batching for agent '{}' - Max Size: {}, Max Delay: {}",
+                    name,
+                    config.embeddingBatchMaxSize(),
+                    config.embeddingBatchMaxDelay());
+            embeddingModel = new BatchingEmbeddingModel(
+                    embeddingModel, config.embeddingBatchMaxSize(), config.embeddingBatchMaxDelay());
+        }
+        // Outside the limiter and the batching, so that cached embeddings are neither throttled nor delayed
+        if (embeddingModel != null && config.embeddingCacheEnabled()) {
+            CachingEmbeddingModel cachingEmbeddingModel =
+                    createCachingEmbeddingModel(config, modelKind, name, embeddingModel);
+            resources.add(cachingEmbeddingModel);
+            embeddingModel = cachingEmbeddingModel;
+        }
+        List<ChatResponseCache> caches = new ArrayList<>();
+        chatModel = decorateChatModel(config, name, classLoader, chatModel, embeddingModel, resources, caches);
+        StreamingChatModel streamingChatModel =
+                config.streamingEnabled() ? createStreamingChatModel(config, modelKind, name, classLoader) : null;
+        if (streamingChatModel != null) {
+            streamingChatModel = decorateStreamingChatModel(config, name, streamingChatModel, caches);
+        }
+
         ChatMemoryProvider chatMemoryProvider = null;
         if (config.hasFeature(FEATURE_MEMORY)) {
             String memoryKind = config.memoryKind();
             if (memoryKind != null) {
-                chatMemoryProvider = createMemoryProvider(config, memoryKind, classLoader);
+                chatMemoryProvider = createMemoryProvider(config, memoryKind, classLoader, resources);
             } else {
                 chatMemoryProvider = createDefaultMemoryProvider(config);
             }
@@ -89,22 +154,55 @@ public final class AgentCreator {
         Agent agent = findAndCreateAgent(classLoader);
         if (agent == null) {
             LOG.warn("No Agent implementation found in classpath");
+            closeResources(resources);
             return null;
         }
 
         if (agent instanceof ConfigurationAware configurationAware) {
             ForageAgentConfiguration agentConfiguration = new ForageAgentConfiguration();
             agentConfiguration.withChatModel(chatModel).withChatMemoryProvider(chatMemoryProvider);
+            agentConfiguration.withResources(resources);
+            if (streamingChatModel != null) {
+                agentConfiguration
+                        .withStreamingChatModel(streamingChatModel)
+                        .withStreamingEndpoint(config.streamingEndpoint());
+            }
 
             // Only create embedding/RAG pipeline when embedding properties are configured
             if (config.hasEmbeddingConfig()) {
-                EmbeddingModel embeddingModel = createEmbeddingModel(config, modelKind, name, classLoader);
                 EmbeddingStore<TextSegment> embeddingStore =
                         createEmbeddingStore(config, modelKind, name, classLoader, embeddingModel);
+                IngestionConfig ingestionConfig = new IngestionConfig(DEFAULT_AGENT.equals(name) ? null : name);
+                if (embeddingStore != null
+                        && ingestionConfig.lexicalIndex()
+                        && !(embeddingStore instanceof Bm25IndexedEmbeddingStore)) {
+                    // Indexes the ingested segments for the lexical search of the RAG, the stores filled by their
+                    // provider, such as the in-memory store, being indexed by the provider itself
+                    Bm25IndexedEmbeddingStore indexedStore =
+                            Bm25IndexedEmbeddingStore.of(embeddingStore, ingestionConfig.lexicalIndexFile());
+                    if (indexedStore.index().size() == 0
+                            && ingestionConfig.sources().isEmpty()) {
+                        LOG.warn(
+                                "The lexical index of agent '{}' is empty and has no ingestion source: only the segments ingested by forage.ingestion.sources are indexed, not those already in the embedding store",
+                                name);
+                    }
+                    embeddingStore = indexedStore;
+                }
+                if (embeddingStore != null && embeddingModel != null) {
+                    // Keeps the store in sync with the ingestion sources, if any, in the background
+                    DocumentIngestor ingestor = DocumentIngestor.start(embeddingStore, embeddingModel, ingestionConfig);
+                    if (ingestor != null) {
+                        resources.add(ingestor);
+                    }
+                }
 
                 RetrievalAugmentor retrievalAugmentor =
                         createRetrievalAugmentor(config, modelKind, name, classLoader, embeddingModel, embeddingStore);
 
+                if (retrievalAugmentor instanceof AutoCloseable closeable) {
+                    // Such as the search threads of the multi-store retrieval
+                    resources.add(closeable);
+                }
                 if (retrievalAugmentor != null) {
                     agentConfiguration.withRetrievalAugmentor(retrievalAugmentor);
                 }
@@ -123,6 +221,8 @@ public final class AgentCreator {
             }
 
             configurationAware.configure(agentConfiguration);
+        } else {
+            closeResources(resources);
         }
 
         return agent;
@@ -149,6 +249,46 @@ public final class AgentCreator {
     }
 
     static ChatModel createChatModel(AgentConfig config, String modelKind, String agentName, ClassLoader classLoader) {
+        if (COMPOSITE_MODEL_KIND.equals(modelKind)) {
+            return createCompositeChatModel(config, agentName, classLoader);
+        }
+
+        ChatModel chatModel = createWithModelProvider(config, modelKind, agentName, classLoader, ModelProvider::create);
+        if (chatModel == null) {
+            LOG.warn("No chat model provider found for kind: {}", modelKind);
+        }
+        return chatModel;
+    }
+
+    /**
+     * Creates the streaming chat model of the agent, when its model provider supports streaming.
+     */
+    static StreamingChatModel createStreamingChatModel(
+            AgentConfig config, String modelKind, String agentName, ClassLoader classLoader) {
+        if (COMPOSITE_MODEL_KIND.equals(modelKind)) {
+            return createCompositeStreamingChatModel(config, agentName, classLoader);
+        }
+
+        StreamingChatModel streamingChatModel = createWithModelProvider(
+                config,
+                modelKind,
+                agentName,
+                classLoader,
+                (modelProvider, prefix) -> modelProvider instanceof StreamingModelProvider streamingModelProvider
+                        ? streamingModelProvider.createStreaming(prefix)
+                        : null);
+        if (streamingChatModel == null) {
+            LOG.warn("Model kind '{}' of agent '{}' does not support streaming", modelKind, agentName);
+        }
+        return streamingChatModel;
+    }
+
+    private static <T> T createWithModelProvider(
+            AgentConfig config,
+            String modelKind,
+            String agentName,
+            ClassLoader classLoader,
+            BiFunction<ModelProvider, String, T> factory) {
         List<ServiceLoader.Provider<ModelProvider>> providers = findModelProviders(classLoader);
 
         for (ServiceLoader.Provider<ModelProvider> provider : providers) {
@@ -176,14 +316,317 @@ public final class AgentCreator {
                 setSystemPropertyIfNotNull(setKeys, prefix, providerPrefix, "timeout", config.timeout());
 
                 try {
-                    return modelProvider.create(prefix);
+                    return factory.apply(modelProvider, prefix);
                 } finally {
                     clearSystemProperties(setKeys);
                 }
             }
         }
 
-        LOG.warn("No chat model provider found for kind: {}", modelKind);
+        return null;
+    }
+
+    /**
+     * Creates a composite chat model routing to the models configured for the member agent names.
+     */
+    static ChatModel createCompositeChatModel(AgentConfig config, String agentName, ClassLoader classLoader) {
+        List<String> memberNames = config.compositeMembers();
+        List<Integer> weights = config.compositeWeights();
+        if (!weights.isEmpty() && weights.size() != memberNames.size()) {
+            LOG.warn(
+                    "Composite model of agent '{}' has {} weights for {} members, using equal weights",
+                    agentName,
+                    weights.size(),
+                    memberNames.size());
+            weights = List.of();
+        }
+
+        List<CompositeChatModel.Member> members = new ArrayList<>();
+        for (int i = 0; i < memberNames.size(); i++) {
+            String memberName = memberNames.get(i);
+            AgentConfig memberConfig =
+                    DEFAULT_AGENT.equals(memberName) ? new AgentConfig() : new AgentConfig(memberName);
+            String memberKind = memberConfig.modelKind();
+            if (memberKind == null || COMPOSITE_MODEL_KIND.equals(memberKind)) {
+                LOG.warn(
+                        "Skipping member '{}' of composite model '{}', it has no model kind or is itself composite",
+                        memberName,
+                        agentName);
+                continue;
+            }
+
+            ChatModel memberModel = createChatModel(memberConfig, memberKind, memberName, classLoader);
+            ModelLimiter limiter = memberModel != null ? createMemberLimiter(config, memberConfig) : null;
+            if (limiter != null) {
+                memberModel = new LimitedChatModel(memberModel, limiter);
+            }
+            if (memberModel != null) {
+                members.add(
+                        new CompositeChatModel.Member(memberName, memberModel, weights.isEmpty() ? 1 : weights.get(i)));
+            }
+        }
+
+        if (members.isEmpty()) {
+            LOG.warn("No member model could be created for composite model '{}'", agentName);
+            return null;
+        }
+
+        LOG.info(
+                "Creating composite model for agent '{}' - Members: {}, Hedge Percentile: {}",
+                agentName,
+                members.stream().map(CompositeChatModel.Member::name).toList(),
+                config.compositeHedgePercentile());
+        return new CompositeChatModel(members, config.compositeHedgePercentile());
+    }
+
+    /**
+     * Creates a composite streaming chat model routing to the streaming models of the member agent names, skipping
+     * the members whose model kind cannot stream.
+     */
+    static StreamingChatModel createCompositeStreamingChatModel(
+            AgentConfig config, String agentName, ClassLoader classLoader) {
+        List<String> memberNames = config.compositeMembers();
+        List<Integer> weights = config.compositeWeights();
+        if (weights.size() != memberNames.size()) {
+            weights = List.of();
+        }
+
+        List<CompositeStreamingChatModel.Member> members = new ArrayList<>();
+        for (int i = 0; i < memberNames.size(); i++) {
+            String memberName = memberNames.get(i);
+            AgentConfig memberConfig =
+                    DEFAULT_AGENT.equals(memberName) ? new AgentConfig() : new AgentConfig(memberName);
+            String memberKind = memberConfig.modelKind();
+            if (memberKind == null || COMPOSITE_MODEL_KIND.equals(memberKind)) {
+                continue;
+            }
+
+            StreamingChatModel memberModel =
+                    createStreamingChatModel(memberConfig, memberKind, memberName, classLoader);
+            ModelLimiter limiter = memberModel != null ? createMemberLimiter(config, memberConfig) : null;
+            if (limiter != null) {
+                memberModel = new LimitedStreamingChatModel(memberModel, limiter);
+            }
+            if (memberModel != null) {
+                members.add(new CompositeStreamingChatModel.Member(
+                        memberName, memberModel, weights.isEmpty() ? 1 : weights.get(i)));
+            }
+        }
+
+        if (members.isEmpty()) {
+            LOG.warn("No member of composite model '{}' supports streaming", agentName);
+            return null;
+        }
+        LOG.info(
+                "Creating composite streaming model for agent '{}' - Members: {}",
+                agentName,
+                members.stream().map(CompositeStreamingChatModel.Member::name).toList());
+        return new CompositeStreamingChatModel(members);
+    }
+
+    /**
+     * Returns the limiter of a composite member, or null when neither the member nor the composite is limited.
+     *
+     * <p>Each member is limited by the quota of its own provider, so that throttling one member does not slow down
+     * the others. The member limits apply, or the composite ones when the member has none. The chat and streaming
+     * models of a member share the same limiter.
+     */
+    private static ModelLimiter createMemberLimiter(AgentConfig config, AgentConfig memberConfig) {
+        if (!memberConfig.limitEnabled() && !config.limitEnabled()) {
+            return null;
+        }
+        return createModelLimiter(
+                memberConfig.limitEnabled() ? memberConfig : config,
+                memberConfig.modelKind(),
+                providerEndpoint(memberConfig),
+                memberConfig.apiKey(),
+                memberConfig.modelName());
+    }
+
+    /**
+     * Wraps the chat model with the decorators enabled in the agent configuration, adding the resources they
+     * open to those closed with the agent, and the response caches to those shared with the streaming model.
+     */
+    static ChatModel decorateChatModel(
+            AgentConfig config,
+            String agentName,
+            ClassLoader classLoader,
+            ChatModel chatModel,
+            EmbeddingModel embeddingModel,
+            List<AutoCloseable> resources,
+            List<ChatResponseCache> caches) {
+        // The members of a composite model are limited individually when they are created
+        if (config.limitEnabled() && !(chatModel instanceof CompositeChatModel)) {
+            chatModel = new LimitedChatModel(
+                    chatModel,
+                    createModelLimiter(
+                            config, config.modelKind(), providerEndpoint(config), config.apiKey(), config.modelName()));
+        }
+        // Inside the caches, so that only the requests missing every cache are coalesced
+        if (config.coalescingEnabled()) {
+            LOG.info(
+                    "Enabling request coalescing for agent '{}' - Max Wait: {}, Skip Sampled: {}",
+                    agentName,
+                    config.coalescingMaxWait(),
+                    config.coalescingSkipSampled());
+            chatModel = new CoalescingChatModel(chatModel, config.coalescingMaxWait(), config.coalescingSkipSampled());
+        }
+        if (config.semanticCacheEnabled()) {
+            if (embeddingModel == null) {
+                LOG.warn(
+                        "Semantic cache of agent '{}' is disabled because no embedding model is configured", agentName);
+            } else {
+                LOG.info(
+                        "Enabling semantic cache for agent '{}' - Last Turn: {}, Min Score: {}, Max Size: {}, TTL: {}",
+                        agentName,
+                        config.semanticCacheLastTurn(),
+                        config.semanticCacheMinScore(),
+                        config.semanticCacheMaxSize(),
+                        config.semanticCacheTtl());
+                SemanticCachingChatModel semanticCache = new SemanticCachingChatModel(
+                        chatModel,
+                        embeddingModel,
+                        new InMemoryEmbeddingStore<>(),
+                        agentName,
+                        config.semanticCacheLastTurn(),
+                        config.semanticCacheMinScore(),
+                        config.semanticCacheMaxSize(),
+                        config.semanticCacheTtl());
+                caches.add(0, semanticCache);
+                chatModel = semanticCache;
+            }
+        }
+        // The exact match cache is checked first, it is cheaper than embedding the question
+        if (config.cacheEnabled()) {
+            ChatResponseCacheStore remote = createResponseCacheStore(config, agentName, classLoader);
+            if (remote != null) {
+                resources.add(remote);
+            }
+            LOG.info(
+                    "Enabling response cache for agent '{}' - Max Size: {}, TTL: {}, Remote: {}",
+                    agentName,
+                    config.cacheMaxSize(),
+                    config.cacheTtl(),
+                    remote != null ? config.cacheRemoteKind() : "none");
+            CachingChatModel cache =
+                    new CachingChatModel(chatModel, agentName, config.cacheMaxSize(), config.cacheTtl(), remote);
+            caches.add(0, cache);
+            chatModel = cache;
+        }
+        return chatModel;
+    }
+
+    /**
+     * Wraps the streaming chat model with the limiter of the agent and the response caches of its chat model.
+     * Streamed requests are not coalesced.
+     */
+    static StreamingChatModel decorateStreamingChatModel(
+            AgentConfig config,
+            String agentName,
+            StreamingChatModel streamingChatModel,
+            List<ChatResponseCache> caches) {
+        // The members of a composite model are limited individually when they are created
+        if (config.limitEnabled() && !(streamingChatModel instanceof CompositeStreamingChatModel)) {
+            streamingChatModel = new LimitedStreamingChatModel(
+                    streamingChatModel,
+                    createModelLimiter(
+                            config, config.modelKind(), providerEndpoint(config), config.apiKey(), config.modelName()));
+        }
+        if (!caches.isEmpty()) {
+            LOG.info("Sharing {} response caches of agent '{}' with its streaming model", caches.size(), agentName);
+            streamingChatModel = new CachingStreamingChatModel(streamingChatModel, caches);
+        }
+        return streamingChatModel;
+    }
+
+    private static void closeResources(List<AutoCloseable> resources) {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            try {
+                resources.get(i).close();
+            } catch (Exception e) {
+                LOG.warn("Failed to close agent resource {}: {}", resources.get(i), e.getMessage());
+            }
+        }
+    }
+
+    static CachingEmbeddingModel createCachingEmbeddingModel(
+            AgentConfig config, String modelKind, String agentName, EmbeddingModel embeddingModel) {
+        String path = config.embeddingCachePath();
+        LOG.info(
+                "Enabling embedding cache for agent '{}' - Max Size: {}, Path: {}, File Max Size: {}",
+                agentName,
+                config.embeddingCacheMaxSize(),
+                path != null ? path : "none",
+                config.embeddingCacheFileMaxSize());
+        return new CachingEmbeddingModel(
+                embeddingModel,
+                modelKind + ":" + embeddingModelName(config, embeddingModel),
+                config.embeddingCacheMaxSize(),
+                path != null ? Path.of(path) : null,
+                config.embeddingCacheFileMaxSize());
+    }
+
+    /**
+     * Returns the name keying the cached embeddings of the model: the configured one, else the one the model
+     * reports, else {@code default}.
+     */
+    private static String embeddingModelName(AgentConfig config, EmbeddingModel embeddingModel) {
+        if (config.embeddingModelName() != null) {
+            return config.embeddingModelName();
+        }
+        String modelName = embeddingModel.modelName();
+        if (modelName != null && !modelName.isBlank() && !"unknown".equals(modelName)) {
+            return modelName;
+        }
+        LOG.warn("No embedding model name configured, caching embeddings as those of the default model: clear the "
+                + "embedding cache file whenever the embedding model changes");
+        return "default";
+    }
+
+    /**
+     * Returns the limiter shared by the models calling the same provider deployment, created with the limits of the
+     * given configuration if it does not exist yet.
+     */
+    static ModelLimiter createModelLimiter(
+            AgentConfig limits, String kind, String endpoint, String apiKey, String modelName) {
+        return ModelLimiters.forProvider(kind, endpoint, apiKey, modelName, limiterName -> {
+            LOG.info(
+                    "Enabling model limiter '{}' - Max Concurrency: {}, Requests Per Second: {}, Tokens Per Minute: {}, Queue Timeout: {}",
+                    limiterName,
+                    limits.limitMaxConcurrency(),
+                    limits.limitRequestsPerSecond(),
+                    limits.limitTokensPerMinute(),
+                    limits.limitQueueTimeout());
+            return new ModelLimiter(
+                    limiterName,
+                    limits.limitMaxConcurrency(),
+                    limits.limitRequestsPerSecond(),
+                    limits.limitTokensPerMinute(),
+                    limits.limitQueueTimeout(),
+                    limits.limitLatencyTolerance());
+        });
+    }
+
+    private static String providerEndpoint(AgentConfig config) {
+        return config.baseUrl() != null ? config.baseUrl() : config.endpoint();
+    }
+
+    static ChatResponseCacheStore createResponseCacheStore(
+            AgentConfig config, String agentName, ClassLoader classLoader) {
+        String remoteKind = config.cacheRemoteKind();
+        if (remoteKind == null) {
+            return null;
+        }
+
+        ServiceLoader<ChatResponseCacheStoreProvider> loader =
+                ServiceLoader.load(ChatResponseCacheStoreProvider.class, classLoader);
+        for (ChatResponseCacheStoreProvider provider : loader) {
+            if (remoteKind.equals(provider.kind())) {
+                return provider.create(DEFAULT_AGENT.equals(agentName) ? null : agentName);
+            }
+        }
+
+        LOG.warn("No response cache store found for kind '{}', caching locally only", remoteKind);
         return null;
     }
 
@@ -367,7 +810,8 @@ public final class AgentCreator {
         return null;
     }
 
-    static ChatMemoryProvider createMemoryProvider(AgentConfig config, String memoryKind, ClassLoader classLoader) {
+    static ChatMemoryProvider createMemoryProvider(
+            AgentConfig config, String memoryKind, ClassLoader classLoader, List<AutoCloseable> resources) {
         ServiceLoader<ChatMemoryBeanProvider> loader = ServiceLoader.load(ChatMemoryBeanProvider.class, classLoader);
         List<ServiceLoader.Provider<ChatMemoryBeanProvider>> providers =
                 loader.stream().toList();
@@ -378,6 +822,10 @@ public final class AgentCreator {
             if (annotation != null && annotation.value().equals(memoryKind)) {
                 LOG.debug("Found memory provider for kind '{}': {}", memoryKind, providerClass.getName());
                 ChatMemoryBeanProvider memoryProvider = provider.get();
+                if (memoryProvider instanceof AutoCloseable closeable) {
+                    // Such as the summarizer threads of the token window memory
+                    resources.add(closeable);
+                }
                 return memoryProvider.create();
             }
         }
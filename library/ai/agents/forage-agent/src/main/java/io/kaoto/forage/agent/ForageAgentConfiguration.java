@@ -5,6 +5,7 @@ import java.util.List;
 import org.apache.camel.component.langchain4j.agent.api.AgentConfiguration;
 import dev.langchain4j.guardrail.InputGuardrail;
 import dev.langchain4j.guardrail.OutputGuardrail;
+import dev.langchain4j.model.chat.StreamingChatModel;
 
 /**
  * Extended agent configuration that supports guardrail instances in addition to classes.
@@ -18,6 +19,9 @@ public class ForageAgentConfiguration extends AgentConfiguration {
 
     private List<InputGuardrail> inputGuardrails;
     private List<OutputGuardrail> outputGuardrails;
+    private StreamingChatModel streamingChatModel;
+    private String streamingEndpoint;
+    private final List<AutoCloseable> resources = new ArrayList<>();
 
     public ForageAgentConfiguration() {
         super();
@@ -108,4 +112,64 @@ public class ForageAgentConfiguration extends AgentConfiguration {
     public boolean hasOutputGuardrails() {
         return outputGuardrails != null && !outputGuardrails.isEmpty();
     }
+
+    /**
+     * Gets the streaming chat model used by {@link StreamingAgent} implementations.
+     *
+     * @return the streaming chat model, or null if the agent does not stream
+     */
+    public StreamingChatModel getStreamingChatModel() {
+        return streamingChatModel;
+    }
+
+    /**
+     * Sets the streaming chat model.
+     *
+     * @param streamingChatModel the streaming chat model
+     * @return this configuration for method chaining
+     */
+    public ForageAgentConfiguration withStreamingChatModel(StreamingChatModel streamingChatModel) {
+        this.streamingChatModel = streamingChatModel;
+        return this;
+    }
+
+    /**
+     * Gets the Camel endpoint receiving the chunks of the responses streamed when the agent is called from a route.
+     *
+     * @return the endpoint URI, or null if the agent does not stream in routes
+     */
+    public String getStreamingEndpoint() {
+        return streamingEndpoint;
+    }
+
+    /**
+     * Sets the Camel endpoint receiving the chunks of the responses streamed when the agent is called from a route.
+     *
+     * @param streamingEndpoint the endpoint URI
+     * @return this configuration for method chaining
+     */
+    public ForageAgentConfiguration withStreamingEndpoint(String streamingEndpoint) {
+        this.streamingEndpoint = streamingEndpoint;
+        return this;
+    }
+
+    /**
+     * Gets the resources owned by the agent, such as the connections of its caches, in creation order.
+     *
+     * @return the resources to close with the agent
+     */
+    public List<AutoCloseable> getResources() {
+        return resources;
+    }
+
+    /**
+     * Adds resources owned by the agent, closed with it in the reverse order.
+     *
+     * @param resources the resources to close with the agent
+     * @return this configuration for method chaining
+     */
+    public ForageAgentConfiguration withResources(List<? extends AutoCloseable> resources) {
+        this.resources.addAll(resources);
+        return this;
+    }
 }
@@ -0,0 +1,81 @@
+package io.kaoto.forage.agent;
+
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.CompleteToolCall;
+import dev.langchain4j.model.chat.response.PartialResponse;
+import dev.langchain4j.model.chat.response.PartialResponseContext;
+import dev.langchain4j.model.chat.response.PartialThinking;
+import dev.langchain4j.model.chat.response.PartialThinkingContext;
+import dev.langchain4j.model.chat.response.PartialToolCall;
+import dev.langchain4j.model.chat.response.PartialToolCallContext;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+/**
+ * Streaming response handler forwarding every event to another handler, for the streaming model decorators to
+ * observe the events they need.
+ */
+public class ForwardingStreamingChatResponseHandler implements StreamingChatResponseHandler {
+
+    private final StreamingChatResponseHandler delegate;
+
+    public ForwardingStreamingChatResponseHandler(StreamingChatResponseHandler delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Called before every partial event of the response is forwarded.
+     */
+    protected void beforePartial() {}
+
+    @Override
+    public void onPartialResponse(String partialResponse) {
+        beforePartial();
+        delegate.onPartialResponse(partialResponse);
+    }
+
+    @Override
+    public void onPartialResponse(PartialResponse partialResponse, PartialResponseContext context) {
+        beforePartial();
+        delegate.onPartialResponse(partialResponse, context);
+    }
+
+    @Override
+    public void onPartialThinking(PartialThinking partialThinking) {
+        beforePartial();
+        delegate.onPartialThinking(partialThinking);
+    }
+
+    @Override
+    public void onPartialThinking(PartialThinking partialThinking, PartialThinkingContext context) {
+        beforePartial();
+        delegate.onPartialThinking(partialThinking, context);
+    }
+
+    @Override
+    public void onPartialToolCall(PartialToolCall partialToolCall) {
+        beforePartial();
+        delegate.onPartialToolCall(partialToolCall);
+    }
+
+    @Override
+    public void onPartialToolCall(PartialToolCall partialToolCall, PartialToolCallContext context) {
+        beforePartial();
+        delegate.onPartialToolCall(partialToolCall, context);
+    }
+
+    @Override
+    public void onCompleteToolCall(CompleteToolCall completeToolCall) {
+        beforePartial();
+        delegate.onCompleteToolCall(completeToolCall);
+    }
+
+    @Override
+    public void onCompleteResponse(ChatResponse completeResponse) {
+        delegate.onCompleteResponse(completeResponse);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        delegate.onError(error);
+    }
+}
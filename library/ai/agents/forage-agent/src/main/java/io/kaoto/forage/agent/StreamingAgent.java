@@ -0,0 +1,91 @@
+package io.kaoto.forage.agent;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import org.apache.camel.component.langchain4j.agent.api.Agent;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import dev.langchain4j.service.tool.ToolProvider;
+
+/**
+ * Agent able to stream its response while it is generated.
+ *
+ * <p>Streaming requires the agent to be configured with a streaming chat model, see
+ * {@code forage.agent.streaming.enabled}. Routes can forward each chunk as soon as it is received, for example as
+ * Camel messages sent with a {@code ProducerTemplate} or as WebSocket frames:
+ *
+ * <pre>{@code
+ * String answer = agent.stream(body, null, chunk -> template.sendBody("direct:chunks", chunk));
+ * }</pre>
+ *
+ * <p>Routes calling the agent through the {@code langchain4j-agent} component stream the response to the endpoint
+ * configured with {@code forage.agent.streaming.endpoint}, if any.
+ */
+public interface StreamingAgent extends Agent {
+
+    /**
+     * Header of the chunks sent to the streaming endpoint, holding the index of the chunk in the response.
+     */
+    String CHUNK_INDEX = "ForageAgentChunkIndex";
+
+    /**
+     * Returns whether the agent was configured with a streaming chat model.
+     */
+    boolean isStreaming();
+
+    /**
+     * Streams the response to the given body. The model is called when the publisher is subscribed to, and a
+     * publisher accepts a single subscriber.
+     *
+     * @param aiAgentBody the request
+     * @param toolProvider the tools the agent can use, or null
+     * @return the publisher of the response chunks
+     */
+    Flow.Publisher<String> stream(AiAgentBody<?> aiAgentBody, ToolProvider toolProvider);
+
+    /**
+     * Streams the response to the given body to a chunk consumer, and waits for its completion.
+     *
+     * @param aiAgentBody the request
+     * @param toolProvider the tools the agent can use, or null
+     * @param onChunk called with every chunk of the response, in order
+     * @return the whole response
+     */
+    default String stream(AiAgentBody<?> aiAgentBody, ToolProvider toolProvider, Consumer<String> onChunk) {
+        CompletableFuture<String> response = new CompletableFuture<>();
+        stream(aiAgentBody, toolProvider).subscribe(new Flow.Subscriber<>() {
+            private final StringBuilder text = new StringBuilder();
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(String chunk) {
+                text.append(chunk);
+                onChunk.accept(chunk);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                response.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                response.complete(text.toString());
+            }
+        });
+
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.kaoto.forage.agent.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+/**
+ * Embedding model decorator merging concurrent single text calls into one {@code embedAll} call.
+ *
+ * <p>The first caller of a batch waits up to the maximum delay for other callers to join it, then sends the
+ * batch. A caller filling the batch up to its maximum size sends it right away. Texts therefore never wait
+ * more than the maximum delay before being sent, and no extra thread is involved. Calls embedding several
+ * segments at once, such as document ingestion, are already batched and go straight to the model.
+ *
+ * <p>The model reports the token usage of a whole batch, so the responses of batched calls carry none.
+ */
+public class BatchingEmbeddingModel implements EmbeddingModel {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingEmbeddingModel.class);
+
+    private final EmbeddingModel delegate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final EmbeddingBatchMetrics metrics;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition batchSealed = lock.newCondition();
+    private Batch open;
+
+    /**
+     * @param delegate the model embedding the batches
+     * @param maxBatchSize the maximum number of texts sent in one call
+     * @param maxDelay how long the first text of a batch waits for other texts
+     */
+    public BatchingEmbeddingModel(EmbeddingModel delegate, int maxBatchSize, Duration maxDelay) {
+        this.delegate = delegate;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.metrics = new EmbeddingBatchMetrics(this.maxBatchSize);
+    }
+
+    /**
+     * Returns the metrics of this model.
+     */
+    public EmbeddingBatchMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        if (textSegments.size() != 1) {
+            return delegate.embedAll(textSegments);
+        }
+
+        Pending pending = new Pending(textSegments.get(0), System.nanoTime());
+        Batch toSend = null;
+        lock.lock();
+        try {
+            boolean leader = open == null;
+            if (leader) {
+                open = new Batch();
+            }
+            Batch batch = open;
+            batch.items.add(pending);
+
+            if (batch.items.size() >= maxBatchSize) {
+                toSend = seal(batch);
+            } else if (leader) {
+                long remaining = maxDelayNanos;
+                while (!batch.sealed && remaining > 0) {
+                    try {
+                        remaining = batchSealed.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        // Send the batch now rather than leaving the other callers waiting
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                if (!batch.sealed) {
+                    toSend = seal(batch);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (toSend != null) {
+            send(toSend);
+        }
+        return Response.from(List.of(await(pending)));
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+
+    @Override
+    public String modelName() {
+        return delegate.modelName();
+    }
+
+    private Batch seal(Batch batch) {
+        batch.sealed = true;
+        open = null;
+        batchSealed.signalAll();
+        return batch;
+    }
+
+    private void send(Batch batch) {
+        long now = System.nanoTime();
+        List<TextSegment> segments = new ArrayList<>(batch.items.size());
+        for (Pending item : batch.items) {
+            segments.add(item.segment());
+            metrics.recordQueued(now - item.enqueuedNanos());
+        }
+        metrics.recordBatch(segments.size());
+        LOG.debug("Embedding a batch of {} texts", segments.size());
+
+        try {
+            List<Embedding> embeddings = delegate.embedAll(segments).content();
+            if (embeddings.size() != segments.size()) {
+                throw new IllegalStateException("The embedding model returned " + embeddings.size() + " embeddings for "
+                        + segments.size() + " texts");
+            }
+            for (int i = 0; i < embeddings.size(); i++) {
+                batch.items.get(i).result().complete(embeddings.get(i));
+            }
+        } catch (RuntimeException | Error e) {
+            batch.items.forEach(item -> item.result().completeExceptionally(e));
+        }
+    }
+
+    private static Embedding await(Pending pending) {
+        try {
+            return pending.result().get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an embedding batch", e);
+        }
+    }
+
+    private static final class Batch {
+        private final List<Pending> items = new ArrayList<>();
+        private boolean sealed;
+    }
+
+    private record Pending(TextSegment segment, long enqueuedNanos, CompletableFuture<Embedding> result) {
+        Pending(TextSegment segment, long enqueuedNanos) {
+            this(segment, enqueuedNanos, new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.kaoto.forage.agent.batch;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Batch size distribution and queueing counters of a batching embedding model.
+ */
+public class EmbeddingBatchMetrics {
+
+    private final AtomicLongArray batchSizes;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder texts = new LongAdder();
+    private final LongAdder queuedNanos = new LongAdder();
+
+    EmbeddingBatchMetrics(int maxBatchSize) {
+        this.batchSizes = new AtomicLongArray(maxBatchSize + 1);
+    }
+
+    void recordBatch(int size) {
+        batchSizes.incrementAndGet(Math.min(size, batchSizes.length() - 1));
+        batches.increment();
+        texts.add(size);
+    }
+
+    void recordQueued(long waitNanos) {
+        queuedNanos.add(waitNanos);
+    }
+
+    /**
+     * Returns the number of embedAll calls made to the model.
+     */
+    public long batches() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the number of texts embedded through batches.
+     */
+    public long texts() {
+        return texts.sum();
+    }
+
+    public double averageBatchSize() {
+        long count = batches();
+        return count == 0 ? 0.0 : (double) texts() / count;
+    }
+
+    /**
+     * Returns how many batches were sent for each batch size.
+     *
+     * @return the number of batches by batch size, in ascending size order
+     */
+    public Map<Integer, Long> batchSizeDistribution() {
+        Map<Integer, Long> distribution = new TreeMap<>();
+        for (int size = 1; size < batchSizes.length(); size++) {
+            long count = batchSizes.get(size);
+            if (count > 0) {
+                distribution.put(size, count);
+            }
+        }
+        return distribution;
+    }
+
+    /**
+     * Returns the total time texts spent waiting for their batch to be sent.
+     */
+    public Duration queueTime() {
+        return Duration.ofNanos(queuedNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "EmbeddingBatchMetrics{batches=" + batches() + ", texts=" + texts() + ", averageBatchSize="
+                + String.format("%.2f", averageBatchSize()) + ", batchSizeDistribution=" + batchSizeDistribution()
+                + ", queueTime=" + queueTime() + "}";
+    }
+}
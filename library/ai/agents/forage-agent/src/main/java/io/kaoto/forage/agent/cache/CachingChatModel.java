@@ -0,0 +1,273 @@
+package io.kaoto.forage.agent.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.ai.ChatResponseCacheStore;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.FinishReason;
+
+/**
+ * Chat model decorator serving identical requests from a response cache.
+ *
+ * <p>Requests are keyed by a canonical hash of their messages, tools and sampling parameters. Responses are
+ * kept in a bounded local LRU tier with a time to live, and optionally in a remote tier shared with the other
+ * application instances. Only the AI message of a response is shared through the remote tier.
+ *
+ * <p>Responses requesting tool executions are not cached: their tool call ids belong to the conversation that
+ * received them. Concurrent callers missing the cache for the same key wait for the first one to load the
+ * response instead of all calling the model; they make their own call if that response cannot be cached.
+ * Streamed requests share the cache through {@link #lookup(ChatRequest)}, without waiting for concurrent misses.
+ */
+public class CachingChatModel implements ChatModel, ChatResponseCache {
+    private static final Logger LOG = LoggerFactory.getLogger(CachingChatModel.class);
+
+    private final ChatModel delegate;
+    private final String namespace;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Duration ttl;
+    private final ChatResponseCacheStore remote;
+    private final ChatResponseCacheMetrics metrics = new ChatResponseCacheMetrics();
+    private final LinkedHashMap<String, Entry> local = new LinkedHashMap<>(16, 0.75f, true);
+    private final ConcurrentHashMap<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate the model answering the requests missing the cache
+     * @param namespace prefix of the cache keys, isolating the responses of an agent in the remote tier
+     * @param maxSize the maximum number of responses kept in the local tier
+     * @param ttl how long a response is served from the cache
+     * @param remote the remote tier, or {@code null} to only cache locally
+     */
+    public CachingChatModel(
+            ChatModel delegate, String namespace, int maxSize, Duration ttl, ChatResponseCacheStore remote) {
+        this.delegate = delegate;
+        this.namespace = namespace;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+        this.ttlNanos = ttl.toNanos();
+        this.remote = remote;
+    }
+
+    /**
+     * Returns the metrics of this cache.
+     */
+    public ChatResponseCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        String key = key(chatRequest);
+
+        Entry entry = getLocal(key);
+        if (entry != null) {
+            metrics.localHit(entry.latencyNanos());
+            LOG.debug("Serving chat response {} from the local cache", key);
+            return entry.response();
+        }
+
+        CompletableFuture<Entry> load = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = loading.putIfAbsent(key, load);
+        if (existing != null) {
+            return awaitLoad(key, existing, chatRequest);
+        }
+
+        try {
+            entry = load(key, chatRequest);
+            load.complete(isCacheable(entry.response()) ? entry : null);
+            return entry.response();
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    @Override
+    public Lookup lookup(ChatRequest chatRequest) {
+        String key = key(chatRequest);
+        Entry entry = getCached(key);
+        if (entry != null) {
+            return ChatResponseCache.hit(entry.response());
+        }
+        return new Lookup() {
+            @Override
+            public ChatResponse response() {
+                return null;
+            }
+
+            @Override
+            public void store(ChatResponse response, long latencyNanos) {
+                put(key, response, latencyNanos);
+            }
+        };
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    /**
+     * Loads the response of a request missing the local tier, from the remote tier or the model.
+     */
+    private Entry load(String key, ChatRequest chatRequest) {
+        // Another caller may have loaded the response between the local lookup and the registration of this load
+        Entry entry = getCached(key);
+        if (entry != null) {
+            return entry;
+        }
+
+        long start = System.nanoTime();
+        ChatResponse response = delegate.chat(chatRequest);
+        return put(key, response, System.nanoTime() - start);
+    }
+
+    /**
+     * Returns the response cached in the local or the remote tier, if any.
+     */
+    private Entry getCached(String key) {
+        Entry entry = getLocal(key);
+        if (entry != null) {
+            metrics.localHit(entry.latencyNanos());
+            return entry;
+        }
+
+        ChatResponse response = getRemote(key);
+        if (response != null) {
+            metrics.remoteHit();
+            LOG.debug("Serving chat response {} from the remote cache", key);
+            entry = new Entry(response, 0, System.nanoTime() + ttlNanos);
+            putLocal(key, entry);
+            return entry;
+        }
+        return null;
+    }
+
+    /**
+     * Records a response of the model, caching it in both tiers when it can be cached.
+     */
+    private Entry put(String key, ChatResponse response, long latencyNanos) {
+        metrics.miss(latencyNanos);
+        if (!isCacheable(response)) {
+            return new Entry(response, latencyNanos, 0);
+        }
+        Entry entry = new Entry(response, latencyNanos, System.nanoTime() + ttlNanos);
+        putLocal(key, entry);
+        putRemote(key, response.aiMessage());
+        return entry;
+    }
+
+    private String key(ChatRequest chatRequest) {
+        return namespace + ":" + ChatRequestKey.of(chatRequest, delegate.defaultRequestParameters());
+    }
+
+    private ChatResponse awaitLoad(String key, CompletableFuture<Entry> existing, ChatRequest chatRequest) {
+        Entry entry;
+        try {
+            entry = existing.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the chat response " + key, e);
+        }
+
+        if (entry == null) {
+            // The response was not cached, it is not shared with another conversation either
+            long start = System.nanoTime();
+            ChatResponse response = delegate.chat(chatRequest);
+            metrics.miss(System.nanoTime() - start);
+            return response;
+        }
+        metrics.localHit(entry.latencyNanos());
+        LOG.debug("Serving chat response {} loaded by a concurrent request", key);
+        return entry.response();
+    }
+
+    private static boolean isCacheable(ChatResponse response) {
+        return response != null
+                && response.aiMessage() != null
+                && !response.aiMessage().hasToolExecutionRequests();
+    }
+
+    private synchronized Entry getLocal(String key) {
+        Entry entry = local.get(key);
+        if (entry != null && System.nanoTime() - entry.expiresAtNanos() >= 0) {
+            local.remove(key);
+            return null;
+        }
+        return entry;
+    }
+
+    private synchronized void putLocal(String key, Entry entry) {
+        local.put(key, entry);
+        Iterator<Map.Entry<String, Entry>> it = local.entrySet().iterator();
+        while (local.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private ChatResponse getRemote(String key) {
+        if (remote == null) {
+            return null;
+        }
+        String value = remote.get(key);
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            AiMessage aiMessage = (AiMessage) ChatMessageDeserializer.messageFromJson(value);
+            return ChatResponse.builder()
+                    .aiMessage(aiMessage)
+                    .finishReason(FinishReason.STOP)
+                    .build();
+        } catch (RuntimeException e) {
+            LOG.warn("Ignoring cached chat response {} that cannot be read: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putRemote(String key, AiMessage aiMessage) {
+        if (remote != null) {
+            remote.put(key, ChatMessageSerializer.messageToJson(aiMessage), ttl);
+        }
+    }
+
+    private record Entry(ChatResponse response, long latencyNanos, long expiresAtNanos) {}
+}
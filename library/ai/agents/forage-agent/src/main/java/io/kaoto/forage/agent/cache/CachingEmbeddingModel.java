@@ -0,0 +1,170 @@
+package io.kaoto.forage.agent.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * Embedding model decorator serving the embeddings of already seen texts from a cache.
+ *
+ * <p>Embeddings are keyed by the model name and a hash of the text, so repeated queries and re-ingested
+ * documents are only embedded once. Vectors are kept as {@code float[]} in a bounded LRU tier on the heap,
+ * and optionally appended to a file that survives restarts, bounded the same way. Only the texts missing both
+ * tiers are sent to the model, in a single {@code embedAll} call.
+ */
+public class CachingEmbeddingModel implements EmbeddingModel, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(CachingEmbeddingModel.class);
+
+    private final EmbeddingModel delegate;
+    private final String namespace;
+    private final int maxSize;
+    private final EmbeddingCacheFile file;
+    private final LinkedHashMap<String, float[]> local = new LinkedHashMap<>(16, 0.75f, true);
+    private final EmbeddingCacheMetrics metrics;
+
+    /**
+     * @param delegate the model embedding the texts missing the cache
+     * @param namespace prefix of the cache keys, typically the model kind and name
+     * @param maxSize the maximum number of embeddings kept on the heap
+     * @param path the file persisting the embeddings, or {@code null} to only cache on the heap
+     * @param maxFileSize the maximum number of embeddings kept in the file
+     */
+    public CachingEmbeddingModel(EmbeddingModel delegate, String namespace, int maxSize, Path path, int maxFileSize) {
+        this.delegate = delegate;
+        this.namespace = namespace;
+        this.maxSize = maxSize;
+        this.file = path != null ? openFile(path, maxFileSize) : null;
+        this.metrics = new EmbeddingCacheMetrics(this::size, () -> file != null ? file.size() : 0);
+    }
+
+    /**
+     * Returns the metrics of this cache.
+     */
+    public EmbeddingCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        Embedding[] embeddings = new Embedding[textSegments.size()];
+        String[] keys = new String[textSegments.size()];
+        List<TextSegment> missing = new ArrayList<>();
+        List<Integer> missingIndexes = new ArrayList<>();
+
+        for (int i = 0; i < textSegments.size(); i++) {
+            keys[i] =
+                    namespace + ":" + ChatRequestKey.sha256(textSegments.get(i).text());
+            float[] vector = getLocal(keys[i]);
+            if (vector != null) {
+                metrics.hit();
+            } else if ((vector = getPersistent(keys[i])) != null) {
+                metrics.persistentHit();
+                putLocal(keys[i], vector);
+            } else {
+                metrics.miss();
+                missing.add(textSegments.get(i));
+                missingIndexes.add(i);
+                continue;
+            }
+            embeddings[i] = Embedding.from(vector.clone());
+        }
+
+        TokenUsage tokenUsage = null;
+        if (!missing.isEmpty()) {
+            Response<List<Embedding>> response = delegate.embedAll(missing);
+            List<Embedding> computed = response.content();
+            for (int i = 0; i < computed.size(); i++) {
+                int index = missingIndexes.get(i);
+                // The model may hand out a vector it still references, and callers may normalize it in place
+                float[] vector = computed.get(i).vector().clone();
+                putLocal(keys[index], vector);
+                putPersistent(keys[index], vector);
+                embeddings[index] = computed.get(i);
+            }
+            tokenUsage = response.tokenUsage();
+        }
+
+        return Response.from(Arrays.asList(embeddings), tokenUsage);
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+
+    @Override
+    public String modelName() {
+        return delegate.modelName();
+    }
+
+    @Override
+    public void close() {
+        if (file != null) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                LOG.debug("Failed to close the embedding cache file: {}", e.getMessage());
+            }
+        }
+    }
+
+    private synchronized int size() {
+        return local.size();
+    }
+
+    private synchronized float[] getLocal(String key) {
+        return local.get(key);
+    }
+
+    private synchronized void putLocal(String key, float[] vector) {
+        local.put(key, vector);
+        Iterator<Map.Entry<String, float[]>> it = local.entrySet().iterator();
+        while (local.size() > maxSize && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private float[] getPersistent(String key) {
+        if (file == null) {
+            return null;
+        }
+        try {
+            return file.get(key);
+        } catch (IOException e) {
+            LOG.warn("Failed to read cached embedding {}: {}", key, e.getMessage());
+            return null;
+        }
+    }
+
+    private void putPersistent(String key, float[] vector) {
+        if (file != null) {
+            try {
+                file.put(key, vector);
+            } catch (IOException e) {
+                LOG.warn("Failed to persist cached embedding {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private static EmbeddingCacheFile openFile(Path path, int maxFileSize) {
+        try {
+            return new EmbeddingCacheFile(path, maxFileSize);
+        } catch (IOException e) {
+            LOG.warn("Caching embeddings on the heap only, {} cannot be opened: {}", path, e.getMessage());
+            return null;
+        }
+    }
+}
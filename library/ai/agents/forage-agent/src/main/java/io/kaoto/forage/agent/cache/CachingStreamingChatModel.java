@@ -0,0 +1,95 @@
+package io.kaoto.forage.agent.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.agent.ForwardingStreamingChatResponseHandler;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+/**
+ * Streaming chat model decorator sharing the response caches of the chat model of the same agent.
+ *
+ * <p>The caches are looked up in order. A cached response is replayed as a single partial response followed by
+ * the complete response, without calling the model. Otherwise the response is streamed from the model and stored
+ * in every cache it missed once complete. Concurrent streamed requests are neither coalesced nor wait for each
+ * other.
+ */
+public class CachingStreamingChatModel implements StreamingChatModel {
+    private static final Logger LOG = LoggerFactory.getLogger(CachingStreamingChatModel.class);
+
+    private final StreamingChatModel delegate;
+    private final List<ChatResponseCache> caches;
+
+    /**
+     * @param delegate the model streaming the responses missing the caches
+     * @param caches the caches of the chat model, in lookup order
+     */
+    public CachingStreamingChatModel(StreamingChatModel delegate, List<ChatResponseCache> caches) {
+        this.delegate = delegate;
+        this.caches = List.copyOf(caches);
+    }
+
+    @Override
+    public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+        long start = System.nanoTime();
+        List<ChatResponseCache.Lookup> misses = new ArrayList<>();
+        for (ChatResponseCache cache : caches) {
+            ChatResponseCache.Lookup lookup = cache.lookup(chatRequest);
+            if (lookup.response() != null) {
+                store(misses, lookup.response(), System.nanoTime() - start);
+                replay(lookup.response(), handler);
+                return;
+            }
+            misses.add(lookup);
+        }
+
+        delegate.chat(chatRequest, new ForwardingStreamingChatResponseHandler(handler) {
+            @Override
+            public void onCompleteResponse(ChatResponse completeResponse) {
+                store(misses, completeResponse, System.nanoTime() - start);
+                super.onCompleteResponse(completeResponse);
+            }
+        });
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    private static void store(List<ChatResponseCache.Lookup> misses, ChatResponse response, long latencyNanos) {
+        for (ChatResponseCache.Lookup miss : misses) {
+            try {
+                miss.store(response, latencyNanos);
+            } catch (RuntimeException e) {
+                LOG.warn("Unable to cache the streamed chat response: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static void replay(ChatResponse response, StreamingChatResponseHandler handler) {
+        String text = response.aiMessage().text();
+        if (text != null && !text.isEmpty()) {
+            handler.onPartialResponse(text);
+        }
+        handler.onCompleteResponse(response);
+    }
+}
@@ -0,0 +1,91 @@
+package io.kaoto.forage.agent.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+
+/**
+ * Canonical hashes of a chat request.
+ *
+ * <p>The request parameters are merged with the default parameters of the model first, so a request relying on
+ * the model defaults and one setting the same values explicitly share the same key.
+ */
+final class ChatRequestKey {
+
+    private ChatRequestKey() {}
+
+    /**
+     * Hashes the messages, the tools and the sampling parameters of a request.
+     */
+    static String of(ChatRequest request, ChatRequestParameters defaults) {
+        StringBuilder canonical = new StringBuilder(ChatMessageSerializer.messagesToJson(request.messages()));
+        appendParameters(canonical, merge(request, defaults));
+        return sha256(canonical.toString());
+    }
+
+    /**
+     * Hashes what frames the conversation of a request: the system messages, the tools and the sampling
+     * parameters. Two requests with the same context only differ by their conversation messages.
+     */
+    static String context(ChatRequest request, ChatRequestParameters defaults) {
+        List<ChatMessage> systemMessages = request.messages().stream()
+                .filter(SystemMessage.class::isInstance)
+                .toList();
+        StringBuilder canonical = new StringBuilder(ChatMessageSerializer.messagesToJson(systemMessages));
+        appendParameters(canonical, merge(request, defaults));
+        return sha256(canonical.toString());
+    }
+
+    private static ChatRequestParameters merge(ChatRequest request, ChatRequestParameters defaults) {
+        ChatRequestParameters parameters = request.parameters();
+        if (defaults != null) {
+            parameters = parameters == null ? defaults : defaults.overrideWith(parameters);
+        }
+        return parameters;
+    }
+
+    private static void appendParameters(StringBuilder canonical, ChatRequestParameters parameters) {
+        if (parameters == null) {
+            return;
+        }
+        canonical
+                .append("\nmodel=")
+                .append(parameters.modelName())
+                .append("\ntemperature=")
+                .append(parameters.temperature())
+                .append("\ntopP=")
+                .append(parameters.topP())
+                .append("\ntopK=")
+                .append(parameters.topK())
+                .append("\nfrequencyPenalty=")
+                .append(parameters.frequencyPenalty())
+                .append("\npresencePenalty=")
+                .append(parameters.presencePenalty())
+                .append("\nmaxOutputTokens=")
+                .append(parameters.maxOutputTokens())
+                .append("\nstopSequences=")
+                .append(parameters.stopSequences())
+                .append("\ntools=")
+                .append(parameters.toolSpecifications())
+                .append("\ntoolChoice=")
+                .append(parameters.toolChoice())
+                .append("\nresponseFormat=")
+                .append(parameters.responseFormat());
+    }
+
+    static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
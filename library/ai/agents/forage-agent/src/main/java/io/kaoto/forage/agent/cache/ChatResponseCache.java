@@ -0,0 +1,53 @@
+package io.kaoto.forage.agent.cache;
+
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+/**
+ * Response cache of a chat model decorator, shared with the streaming chat model of the same agent through
+ * {@link CachingStreamingChatModel}.
+ */
+public interface ChatResponseCache {
+
+    /**
+     * Looks up the response to a request.
+     *
+     * @param chatRequest the request
+     * @return the lookup, holding the cached response on a hit
+     */
+    Lookup lookup(ChatRequest chatRequest);
+
+    /**
+     * Returns the lookup of a request served from the cache.
+     */
+    static Lookup hit(ChatResponse response) {
+        return new Lookup() {
+            @Override
+            public ChatResponse response() {
+                return response;
+            }
+
+            @Override
+            public void store(ChatResponse response, long latencyNanos) {}
+        };
+    }
+
+    /**
+     * Outcome of a cache lookup.
+     */
+    interface Lookup {
+
+        /**
+         * Returns the cached response, or null when the request missed the cache.
+         */
+        ChatResponse response();
+
+        /**
+         * Stores the response the model gave to a request that missed the cache, if it can be cached.
+         *
+         * @param response the response of the model
+         * @param latencyNanos how long the model took to answer
+         */
+        void store(ChatResponse response, long latencyNanos);
+    }
+}
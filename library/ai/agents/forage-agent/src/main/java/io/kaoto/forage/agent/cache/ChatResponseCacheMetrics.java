@@ -0,0 +1,78 @@
+package io.kaoto.forage.agent.cache;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss and latency counters of an agent response cache.
+ */
+public class ChatResponseCacheMetrics {
+
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder missNanos = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    void localHit(long latencyNanos) {
+        localHits.increment();
+        savedNanos.add(latencyNanos);
+    }
+
+    void remoteHit() {
+        remoteHits.increment();
+        // The latency of the original call is not shared through the remote tier, use the observed average
+        savedNanos.add(averageMissNanos());
+    }
+
+    void miss(long latencyNanos) {
+        misses.increment();
+        missNanos.add(latencyNanos);
+    }
+
+    public long localHits() {
+        return localHits.sum();
+    }
+
+    public long remoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long hits() {
+        return localHits() + remoteHits();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the model call time avoided by serving responses from the cache.
+     */
+    public Duration latencySaved() {
+        return Duration.ofNanos(savedNanos.sum());
+    }
+
+    /**
+     * Returns the ratio of requests served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 when no request has been made yet
+     */
+    public double hitRate() {
+        long hitCount = hits();
+        long total = hitCount + misses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private long averageMissNanos() {
+        long count = misses.sum();
+        return count == 0 ? 0 : missNanos.sum() / count;
+    }
+
+    @Override
+    public String toString() {
+        return "ChatResponseCacheMetrics{localHits=" + localHits() + ", remoteHits=" + remoteHits() + ", misses="
+                + misses() + ", hitRate=" + String.format("%.2f", hitRate()) + ", latencySaved="
+                + latencySaved().toMillis() + "ms}";
+    }
+}
@@ -0,0 +1,168 @@
+package io.kaoto.forage.agent.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+/**
+ * Chat model decorator sharing a single in-flight call between concurrent identical requests.
+ *
+ * <p>The first caller of a request makes the call, the callers arriving while it is in flight wait for its
+ * response or failure instead of making their own. Waiting is bounded: a caller that waited for
+ * {@code maxWait} makes its own call. Requests with a non zero temperature can be excluded, since callers
+ * sampling a non-deterministic model may expect different answers.
+ */
+public class CoalescingChatModel implements ChatModel {
+    private static final Logger LOG = LoggerFactory.getLogger(CoalescingChatModel.class);
+
+    private final ChatModel delegate;
+    private final long maxWaitNanos;
+    private final boolean skipSampled;
+    private final ConcurrentHashMap<String, CompletableFuture<ChatResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder waiting = new LongAdder();
+
+    /**
+     * @param delegate the model making the calls
+     * @param maxWait how long a caller waits for the in-flight call before making its own
+     * @param skipSampled whether requests sampled with a non zero temperature are never coalesced
+     */
+    public CoalescingChatModel(ChatModel delegate, Duration maxWait, boolean skipSampled) {
+        this.delegate = delegate;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.skipSampled = skipSampled;
+    }
+
+    /**
+     * Returns the number of calls made to the underlying model.
+     */
+    public long calls() {
+        return calls.sum();
+    }
+
+    /**
+     * Returns the number of requests answered by another caller's call.
+     */
+    public long coalescedRequests() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the number of callers that stopped waiting for an in-flight call and made their own.
+     */
+    public long timedOutWaits() {
+        return timedOut.sum();
+    }
+
+    /**
+     * Returns the number of callers currently waiting for an in-flight call.
+     */
+    public long waitingRequests() {
+        return waiting.sum();
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        ChatRequestParameters defaults = delegate.defaultRequestParameters();
+        if (skipSampled && isSampled(chatRequest, defaults)) {
+            return call(chatRequest);
+        }
+
+        String key = ChatRequestKey.of(chatRequest, defaults);
+        CompletableFuture<ChatResponse> call = new CompletableFuture<>();
+        CompletableFuture<ChatResponse> existing = inFlight.putIfAbsent(key, call);
+        if (existing == null) {
+            try {
+                ChatResponse response = call(chatRequest);
+                call.complete(response);
+                return response;
+            } catch (RuntimeException | Error e) {
+                call.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, call);
+            }
+        }
+
+        return await(existing, chatRequest);
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    private ChatResponse await(CompletableFuture<ChatResponse> existing, ChatRequest chatRequest) {
+        try {
+            ChatResponse response = waitFor(existing);
+            coalesced.increment();
+            return response;
+        } catch (TimeoutException e) {
+            timedOut.increment();
+            LOG.debug("Gave up waiting for an identical in-flight chat request, making a new call");
+            return call(chatRequest);
+        } catch (ExecutionException e) {
+            coalesced.increment();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an identical in-flight chat request", e);
+        }
+    }
+
+    private ChatResponse waitFor(CompletableFuture<ChatResponse> existing)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        waiting.increment();
+        try {
+            return existing.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } finally {
+            waiting.decrement();
+        }
+    }
+
+    private ChatResponse call(ChatRequest chatRequest) {
+        calls.increment();
+        return delegate.chat(chatRequest);
+    }
+
+    private static boolean isSampled(ChatRequest chatRequest, ChatRequestParameters defaults) {
+        Double temperature =
+                chatRequest.parameters() != null ? chatRequest.parameters().temperature() : null;
+        if (temperature == null && defaults != null) {
+            temperature = defaults.temperature();
+        }
+        // Without an explicit temperature the provider default applies, which samples
+        return temperature == null || temperature > 0;
+    }
+}
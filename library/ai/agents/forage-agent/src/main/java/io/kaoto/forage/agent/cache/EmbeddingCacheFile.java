@@ -0,0 +1,236 @@
+package io.kaoto.forage.agent.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only file of embeddings, keeping the embedding cache across restarts.
+ *
+ * <p>Only the position of each vector is kept on the heap. The vectors are read from the file on demand, so
+ * they are served from the operating system page cache rather than from the Java heap. A record is the
+ * length and UTF-8 bytes of the key followed by the dimension and floats of the vector; a record left
+ * incomplete by a crash is dropped when the file is opened.
+ *
+ * <p>The file holds at most {@code maxEntries} embeddings: past that, the least recently used ones are dropped.
+ * Dropped records stay in the file until they take more space than the live ones, then the file is rewritten
+ * with the live records only, so it never grows beyond about twice their size.
+ */
+final class EmbeddingCacheFile implements Closeable {
+    private static final Logger LOG = LoggerFactory.getLogger(EmbeddingCacheFile.class);
+
+    private static final int MAX_KEY_LENGTH = 4096;
+    private static final int MAX_DIMENSION = 1 << 16;
+
+    private final Path path;
+    private final int maxEntries;
+    // Access ordered, the eldest entry is the least recently used
+    private final LinkedHashMap<String, Location> locations = new LinkedHashMap<>(16, 0.75f, true);
+    private FileChannel channel;
+    private long end;
+    private long liveBytes;
+
+    EmbeddingCacheFile(Path path, int maxEntries) throws IOException {
+        this.path = path;
+        this.maxEntries = maxEntries;
+        this.channel = open(path);
+        load();
+    }
+
+    /**
+     * Returns the vector cached under the key.
+     *
+     * @return the vector, or null when the key is not in the file
+     */
+    synchronized float[] get(String key) throws IOException {
+        Location location = locations.get(key);
+        if (location == null) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(location.dimension() * Float.BYTES);
+        readFully(channel, buffer, location.position());
+        float[] vector = new float[location.dimension()];
+        buffer.flip().asFloatBuffer().get(vector);
+        return vector;
+    }
+
+    /**
+     * Appends the vector to the file, unless the key is already stored.
+     */
+    synchronized void put(String key, float[] vector) throws IOException {
+        if (locations.containsKey(key)) {
+            return;
+        }
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES + keyBytes.length + vector.length * Float.BYTES);
+        buffer.putInt(keyBytes.length).put(keyBytes).putInt(vector.length);
+        buffer.asFloatBuffer().put(vector);
+        buffer.rewind();
+
+        long position = end;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+        add(key, new Location(end, end + 2 * Integer.BYTES + keyBytes.length, vector.length));
+        end = position;
+
+        evict();
+        if (end - liveBytes > liveBytes) {
+            compact();
+        }
+    }
+
+    synchronized int size() {
+        return locations.size();
+    }
+
+    /**
+     * Returns the size of the file, including the records dropped since it was last compacted.
+     */
+    synchronized long fileSize() {
+        return end;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void add(String key, Location location) {
+        Location previous = locations.put(key, location);
+        if (previous != null) {
+            liveBytes -= previous.length();
+        }
+        liveBytes += location.length();
+    }
+
+    private void evict() {
+        Iterator<Location> it = locations.values().iterator();
+        while (locations.size() > maxEntries && it.hasNext()) {
+            liveBytes -= it.next().length();
+            it.remove();
+        }
+    }
+
+    /**
+     * Rewrites the file with the live records only, in least recently used order, and swaps it in atomically.
+     */
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        Map<String, Location> moved = new LinkedHashMap<>();
+        try (FileChannel target = FileChannel.open(
+                compacted, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            long position = 0;
+            for (Map.Entry<String, Location> entry : locations.entrySet()) {
+                Location location = entry.getValue();
+                ByteBuffer record = ByteBuffer.allocate((int) location.length());
+                readFully(channel, record, location.start());
+                record.flip();
+                long start = position;
+                while (record.hasRemaining()) {
+                    position += target.write(record, position);
+                }
+                moved.put(
+                        entry.getKey(),
+                        new Location(start, start + location.position() - location.start(), location.dimension()));
+            }
+            target.force(true);
+        }
+
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open(path);
+        LOG.debug("Compacted {} from {} to {} bytes", path, end, liveBytes);
+        locations.clear();
+        locations.putAll(moved);
+        end = liveBytes;
+    }
+
+    private void load() throws IOException {
+        long size = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        long position = 0;
+        while (position < size) {
+            long recordStart = position;
+            int keyLength = readInt(header, position, size);
+            if (keyLength <= 0 || keyLength > MAX_KEY_LENGTH || position + Integer.BYTES + keyLength > size) {
+                truncate(recordStart, size);
+                break;
+            }
+            position += Integer.BYTES;
+
+            ByteBuffer keyBuffer = ByteBuffer.allocate(keyLength);
+            readFully(channel, keyBuffer, position);
+            position += keyLength;
+
+            int dimension = readInt(header, position, size);
+            long vectorEnd = position + Integer.BYTES + (long) dimension * Float.BYTES;
+            if (dimension <= 0 || dimension > MAX_DIMENSION || vectorEnd > size) {
+                truncate(recordStart, size);
+                break;
+            }
+            String key = new String(keyBuffer.array(), StandardCharsets.UTF_8);
+            // A key stored again after it was dropped supersedes its earlier record
+            locations.remove(key);
+            add(key, new Location(recordStart, position + Integer.BYTES, dimension));
+            position = vectorEnd;
+            end = position;
+        }
+
+        evict();
+        if (end - liveBytes > liveBytes) {
+            compact();
+        }
+        LOG.info("Loaded {} cached embeddings from {}", locations.size(), path);
+    }
+
+    private int readInt(ByteBuffer buffer, long position, long size) throws IOException {
+        if (position + Integer.BYTES > size) {
+            return -1;
+        }
+        buffer.clear();
+        readFully(channel, buffer, position);
+        return buffer.getInt(0);
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of the embedding cache file");
+            }
+        }
+    }
+
+    private void truncate(long position, long size) throws IOException {
+        LOG.warn("Dropping {} bytes of incomplete records at the end of {}", size - position, path);
+        channel.truncate(position);
+        end = position;
+    }
+
+    private static FileChannel open(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Location of a record: where it starts, where its vector starts and the dimension of the vector.
+     */
+    private record Location(long start, long position, int dimension) {
+        long length() {
+            return position - start + (long) dimension * Float.BYTES;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package io.kaoto.forage.agent.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Hit, miss and size counters of an embedding cache.
+ */
+public class EmbeddingCacheMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder persistentHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final IntSupplier size;
+    private final IntSupplier persistentSize;
+
+    EmbeddingCacheMetrics(IntSupplier size, IntSupplier persistentSize) {
+        this.size = size;
+        this.persistentSize = persistentSize;
+    }
+
+    void hit() {
+        hits.increment();
+    }
+
+    void persistentHit() {
+        persistentHits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    /**
+     * Returns the number of embeddings served from the heap.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of embeddings served from the persistent tier.
+     */
+    public long persistentHits() {
+        return persistentHits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of embeddings kept on the heap.
+     */
+    public int size() {
+        return size.getAsInt();
+    }
+
+    /**
+     * Returns the number of embeddings kept in the persistent tier.
+     */
+    public int persistentSize() {
+        return persistentSize.getAsInt();
+    }
+
+    /**
+     * Returns the ratio of texts whose embedding was served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 when no text has been embedded yet
+     */
+    public double hitRate() {
+        long hitCount = hits() + persistentHits();
+        long total = hitCount + misses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "EmbeddingCacheMetrics{hits=" + hits() + ", persistentHits=" + persistentHits() + ", misses="
+                + misses() + ", hitRate=" + String.format("%.2f", hitRate()) + ", size=" + size()
+                + ", persistentSize=" + persistentSize() + "}";
+    }
+}
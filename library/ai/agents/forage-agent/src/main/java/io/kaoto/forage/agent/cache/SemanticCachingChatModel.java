@@ -0,0 +1,265 @@
+package io.kaoto.forage.agent.cache;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.FinishReason;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+
+/**
+ * Chat model decorator serving paraphrased questions from previous answers.
+ *
+ * <p>The user message of a single turn request is embedded and looked up in a dedicated embedding store. An
+ * answer is served without calling the chat model when a previous question of the same agent is similar enough
+ * and was asked in the same context: the same system prompt, tools and sampling parameters. Changing any of them
+ * invalidates the previous answers. Answers requesting tool executions are never cached.
+ *
+ * <p>By default only single turn requests are cached, since the answer to a multi-turn request depends on more
+ * than the last question: agents with chat memory send their history with every question and never hit the cache.
+ * With {@code lastTurn}, multi-turn requests are keyed on their final user message only, ignoring the earlier
+ * turns, which suits agents whose questions stand on their own. With a retrieval augmentor, the final user message
+ * includes the retrieved content, so a previous answer is only served for the same retrieved content.
+ */
+public class SemanticCachingChatModel implements ChatModel, ChatResponseCache {
+    private static final Logger LOG = LoggerFactory.getLogger(SemanticCachingChatModel.class);
+
+    static final String NAMESPACE = "forage_cache_namespace";
+    static final String CONTEXT = "forage_cache_context";
+    static final String EXPIRES_AT = "forage_cache_expires_at";
+    static final String LATENCY_NANOS = "forage_cache_latency_nanos";
+    static final String ANSWER = "forage_cache_answer";
+
+    private static final Lookup UNCACHEABLE = new Lookup() {
+        @Override
+        public ChatResponse response() {
+            return null;
+        }
+
+        @Override
+        public void store(ChatResponse response, long latencyNanos) {}
+    };
+
+    private final ChatModel delegate;
+    private final EmbeddingModel embeddingModel;
+    private final EmbeddingStore<TextSegment> store;
+    private final String namespace;
+    private final boolean lastTurn;
+    private final double minScore;
+    private final int maxSize;
+    private final long ttlMillis;
+    private final ChatResponseCacheMetrics metrics = new ChatResponseCacheMetrics();
+    private final Deque<String> entries = new ArrayDeque<>();
+
+    /**
+     * @param delegate the model answering the questions missing the cache
+     * @param embeddingModel the model embedding the questions
+     * @param store the store keeping the cached questions and answers, dedicated to response caching
+     * @param namespace isolates the answers of an agent when the store is shared
+     * @param lastTurn whether multi-turn requests are keyed on their final user message, ignoring the earlier turns
+     * @param minScore the minimum relevance score (0 to 1) for a previous answer to be served
+     * @param maxSize the maximum number of answers kept by this cache
+     * @param ttl how long an answer is served
+     */
+    public SemanticCachingChatModel(
+            ChatModel delegate,
+            EmbeddingModel embeddingModel,
+            EmbeddingStore<TextSegment> store,
+            String namespace,
+            boolean lastTurn,
+            double minScore,
+            int maxSize,
+            Duration ttl) {
+        this.delegate = delegate;
+        this.embeddingModel = embeddingModel;
+        this.store = store;
+        this.namespace = namespace;
+        this.lastTurn = lastTurn;
+        this.minScore = minScore;
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /**
+     * Returns the metrics of this cache, semantic matches are counted as local hits.
+     */
+    public ChatResponseCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Forgets all the answers cached for this agent.
+     */
+    public void invalidate() {
+        synchronized (entries) {
+            store.removeAll(metadataKey(NAMESPACE).isEqualTo(namespace));
+            entries.clear();
+        }
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        Lookup lookup = lookup(chatRequest);
+        if (lookup.response() != null) {
+            return lookup.response();
+        }
+
+        long start = System.nanoTime();
+        ChatResponse response = delegate.chat(chatRequest);
+        lookup.store(response, System.nanoTime() - start);
+        return response;
+    }
+
+    @Override
+    public Lookup lookup(ChatRequest chatRequest) {
+        String question = question(chatRequest.messages());
+        if (question == null) {
+            return UNCACHEABLE;
+        }
+
+        String context = ChatRequestKey.context(chatRequest, delegate.defaultRequestParameters());
+        Embedding embedding = embed(question);
+        if (embedding != null) {
+            ChatResponse cached = search(embedding, context);
+            if (cached != null) {
+                return ChatResponseCache.hit(cached);
+            }
+        }
+
+        return new Lookup() {
+            @Override
+            public ChatResponse response() {
+                return null;
+            }
+
+            @Override
+            public void store(ChatResponse response, long latencyNanos) {
+                metrics.miss(latencyNanos);
+                if (embedding != null && isCacheable(response)) {
+                    SemanticCachingChatModel.this.store(
+                            question, embedding, context, response.aiMessage().text(), latencyNanos);
+                }
+            }
+        };
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+
+    private String question(List<ChatMessage> messages) {
+        if (messages.isEmpty() || !(messages.get(messages.size() - 1) instanceof UserMessage userMessage)) {
+            return null;
+        }
+        if (!lastTurn) {
+            for (int i = 0; i < messages.size() - 1; i++) {
+                if (!(messages.get(i) instanceof SystemMessage)) {
+                    return null;
+                }
+            }
+        }
+        return userMessage.hasSingleText() ? userMessage.singleText() : null;
+    }
+
+    private static boolean isCacheable(ChatResponse response) {
+        return response != null
+                && response.aiMessage() != null
+                && response.aiMessage().text() != null
+                && !response.aiMessage().hasToolExecutionRequests();
+    }
+
+    private Embedding embed(String question) {
+        try {
+            return embeddingModel.embed(question).content();
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to embed the question for the semantic cache: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private ChatResponse search(Embedding embedding, String context) {
+        Filter filter = metadataKey(NAMESPACE)
+                .isEqualTo(namespace)
+                .and(metadataKey(CONTEXT).isEqualTo(context))
+                .and(metadataKey(EXPIRES_AT).isGreaterThan(System.currentTimeMillis()));
+
+        List<EmbeddingMatch<TextSegment>> matches;
+        try {
+            matches = store.search(EmbeddingSearchRequest.builder()
+                            .queryEmbedding(embedding)
+                            .maxResults(1)
+                            .minScore(minScore)
+                            .filter(filter)
+                            .build())
+                    .matches();
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to search the semantic cache: {}", e.getMessage());
+            return null;
+        }
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        EmbeddingMatch<TextSegment> match = matches.get(0);
+        Metadata metadata = match.embedded().metadata();
+        Long latency = metadata.getLong(LATENCY_NANOS);
+        metrics.localHit(latency != null ? latency : 0);
+        LOG.debug("Serving a semantically cached answer with score {}", match.score());
+        return ChatResponse.builder()
+                .aiMessage(AiMessage.from(metadata.getString(ANSWER)))
+                .finishReason(FinishReason.STOP)
+                .build();
+    }
+
+    private void store(String question, Embedding embedding, String context, String answer, long latencyNanos) {
+        Metadata metadata = new Metadata()
+                .put(NAMESPACE, namespace)
+                .put(CONTEXT, context)
+                .put(EXPIRES_AT, System.currentTimeMillis() + ttlMillis)
+                .put(LATENCY_NANOS, latencyNanos)
+                .put(ANSWER, answer);
+        try {
+            synchronized (entries) {
+                entries.addLast(store.add(embedding, TextSegment.from(question, metadata)));
+                while (entries.size() > maxSize) {
+                    store.remove(entries.removeFirst());
+                }
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("Unable to store the answer in the semantic cache: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.kaoto.forage.agent.limit;
+
+import java.util.Set;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+/**
+ * Chat model decorator admitting every call through a {@link ModelLimiter}.
+ */
+public class LimitedChatModel implements ChatModel {
+
+    private final ChatModel delegate;
+    private final ModelLimiter limiter;
+
+    public LimitedChatModel(ChatModel delegate, ModelLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    public ModelLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        ModelLimiter.Permit permit =
+                limiter.acquire(TokenEstimates.of(chatRequest, delegate.defaultRequestParameters()));
+        ChatResponse response;
+        try {
+            response = delegate.chat(chatRequest);
+        } catch (RuntimeException e) {
+            limiter.release(permit, -1, 0, ModelLimiter.isOverload(e));
+            throw e;
+        } catch (Error e) {
+            limiter.release(permit, -1, 0, false);
+            throw e;
+        }
+        limiter.release(permit, TokenEstimates.used(response.tokenUsage()), TokenEstimates.output(response), false);
+        return response;
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+}
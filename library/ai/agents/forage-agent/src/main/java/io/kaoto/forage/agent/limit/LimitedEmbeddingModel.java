@@ -0,0 +1,53 @@
+package io.kaoto.forage.agent.limit;
+
+import java.util.List;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+/**
+ * Embedding model decorator admitting every call through a {@link ModelLimiter}.
+ */
+public class LimitedEmbeddingModel implements EmbeddingModel {
+
+    private final EmbeddingModel delegate;
+    private final ModelLimiter limiter;
+
+    public LimitedEmbeddingModel(EmbeddingModel delegate, ModelLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    public ModelLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+        ModelLimiter.Permit permit = limiter.acquire(TokenEstimates.of(textSegments));
+        Response<List<Embedding>> response;
+        try {
+            response = delegate.embedAll(textSegments);
+        } catch (RuntimeException e) {
+            limiter.release(permit, -1, 0, ModelLimiter.isOverload(e));
+            throw e;
+        } catch (Error e) {
+            limiter.release(permit, -1, 0, false);
+            throw e;
+        }
+        // Embedding latency grows with the input
+        limiter.release(permit, TokenEstimates.used(response.tokenUsage()), permit.tokens(), false);
+        return response;
+    }
+
+    @Override
+    public int dimension() {
+        return delegate.dimension();
+    }
+
+    @Override
+    public String modelName() {
+        return delegate.modelName();
+    }
+}
@@ -0,0 +1,88 @@
+package io.kaoto.forage.agent.limit;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import io.kaoto.forage.agent.ForwardingStreamingChatResponseHandler;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+/**
+ * Streaming chat model decorator admitting every call through a {@link ModelLimiter}.
+ *
+ * <p>The permit is acquired on the calling thread and released once the response is complete or has failed, so
+ * the limiter sees the duration of the whole stream.
+ */
+public class LimitedStreamingChatModel implements StreamingChatModel {
+
+    private final StreamingChatModel delegate;
+    private final ModelLimiter limiter;
+
+    public LimitedStreamingChatModel(StreamingChatModel delegate, ModelLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    public ModelLimiter getLimiter() {
+        return limiter;
+    }
+
+    @Override
+    public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+        ModelLimiter.Permit permit =
+                limiter.acquire(TokenEstimates.of(chatRequest, delegate.defaultRequestParameters()));
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            delegate.chat(chatRequest, new ForwardingStreamingChatResponseHandler(handler) {
+                @Override
+                public void onCompleteResponse(ChatResponse completeResponse) {
+                    if (released.compareAndSet(false, true)) {
+                        limiter.release(
+                                permit,
+                                TokenEstimates.used(completeResponse.tokenUsage()),
+                                TokenEstimates.output(completeResponse),
+                                false);
+                    }
+                    super.onCompleteResponse(completeResponse);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    if (released.compareAndSet(false, true)) {
+                        limiter.release(permit, -1, 0, ModelLimiter.isOverload(error));
+                    }
+                    super.onError(error);
+                }
+            });
+        } catch (RuntimeException e) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(permit, -1, 0, ModelLimiter.isOverload(e));
+            }
+            throw e;
+        } catch (Error e) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(permit, -1, 0, false);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public ChatRequestParameters defaultRequestParameters() {
+        return delegate.defaultRequestParameters();
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return delegate.provider();
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        return delegate.supportedCapabilities();
+    }
+}
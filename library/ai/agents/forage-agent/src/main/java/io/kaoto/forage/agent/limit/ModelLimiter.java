@@ -0,0 +1,267 @@
+package io.kaoto.forage.agent.limit;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.exception.RateLimitException;
+
+/**
+ * Outbound limiter of the calls made to a model provider.
+ *
+ * <p>A call needs a concurrency slot, a request from the requests-per-second bucket and its estimated tokens from
+ * the tokens-per-minute bucket. Calls that cannot proceed wait until their queue deadline and then fail.
+ *
+ * <p>The concurrency limit adapts with AIMD: it grows by one every limit successful calls, and is cut when the
+ * provider rejects a call as overloaded (429 or 503) or when calls slow down. Latencies are normalized by the work
+ * of the call, e.g. its output tokens, so that long answers are not mistaken for an overloaded provider. Calls slow
+ * down when the short term average of the normalized latency exceeds its long term average by the latency
+ * tolerance, which is a gradient rather than a comparison with the fastest call ever seen.
+ *
+ * <p>A limiter stands for the quota of a provider deployment, so it is meant to be shared by all the models calling
+ * it, see {@link ModelLimiters}.
+ */
+public class ModelLimiter {
+    private static final Logger LOG = LoggerFactory.getLogger(ModelLimiter.class);
+
+    private static final double OVERLOAD_BACKOFF_RATIO = 0.5;
+    private static final double LATENCY_BACKOFF_RATIO = 0.9;
+    // Weights of a new latency in the short and long term averages
+    private static final double SHORT_TERM_WEIGHT = 0.2;
+    private static final double LONG_TERM_WEIGHT = 0.02;
+
+    private final String name;
+    private final int maxConcurrency;
+    private final double requestsPerSecond;
+    private final double tokensPerMinute;
+    private final long queueTimeoutNanos;
+    private final double latencyTolerance;
+    private final ModelLimiterMetrics metrics = new ModelLimiterMetrics(this);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    private double requests;
+    private double tokens;
+    private long refilledAt;
+    private double shortTermNanos;
+    private double longTermNanos;
+
+    /**
+     * @param name the name used in log messages
+     * @param maxConcurrency the upper bound of the adaptive concurrency limit
+     * @param requestsPerSecond the allowed requests per second, or 0 for no limit
+     * @param tokensPerMinute the allowed tokens per minute, or 0 for no limit
+     * @param queueTimeout how long a call waits for the limiter before failing
+     * @param latencyTolerance how many times slower than the long term average the short term average of the
+     *     normalized latency can be before the concurrency limit is decreased
+     */
+    public ModelLimiter(
+            String name,
+            int maxConcurrency,
+            double requestsPerSecond,
+            double tokensPerMinute,
+            Duration queueTimeout,
+            double latencyTolerance) {
+        this.name = name;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.requestsPerSecond = requestsPerSecond;
+        this.tokensPerMinute = tokensPerMinute;
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(1, this.maxConcurrency / 2);
+        this.requests = requestBurst();
+        this.tokens = tokensPerMinute;
+        this.refilledAt = System.nanoTime();
+    }
+
+    public ModelLimiterMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Waits for the limiter to admit a call.
+     *
+     * @param estimatedTokens the number of tokens the call is expected to use
+     * @return the permit to release once the call completes
+     * @throws RuntimeForageException if the call could not be admitted before the queue timeout
+     */
+    Permit acquire(long estimatedTokens) {
+        long start = System.nanoTime();
+        long deadline = start + queueTimeoutNanos;
+        lock.lock();
+        try {
+            waiting++;
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    refill(now);
+                    long waitNanos = waitNanos(estimatedTokens);
+                    if (waitNanos == 0) {
+                        requests -= requestsPerSecond > 0 ? 1 : 0;
+                        tokens -= tokensPerMinute > 0 ? estimatedTokens : 0;
+                        inFlight++;
+                        metrics.recordAdmitted(now - start);
+                        return new Permit(estimatedTokens, now);
+                    }
+
+                    long remaining = deadline - now;
+                    if (remaining <= 0) {
+                        metrics.recordRejected();
+                        throw new RuntimeForageException("Model limiter '" + name + "' did not admit the call within "
+                                + Duration.ofNanos(queueTimeoutNanos));
+                    }
+                    available.awaitNanos(Math.min(remaining, waitNanos));
+                }
+            } finally {
+                waiting--;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeForageException("Interrupted while waiting for model limiter '" + name + "'", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases the permit of a completed call and adapts the concurrency limit to its outcome.
+     *
+     * @param permit the permit of the call
+     * @param usedTokens the tokens reported by the provider, or a negative value when unknown
+     * @param work the work done by the call, e.g. its output tokens, by which its latency is normalized
+     * @param overloaded whether the provider rejected the call as overloaded
+     */
+    void release(Permit permit, long usedTokens, long work, boolean overloaded) {
+        long latency = System.nanoTime() - permit.start();
+        lock.lock();
+        try {
+            boolean saturated = inFlight >= (int) limit;
+            inFlight--;
+            if (tokensPerMinute > 0 && usedTokens >= 0) {
+                tokens = Math.min(tokensPerMinute, tokens + permit.tokens() - usedTokens);
+            }
+
+            if (overloaded) {
+                metrics.recordThrottled();
+                decrease(OVERLOAD_BACKOFF_RATIO);
+                LOG.debug("Model limiter '{}' was throttled, concurrency limit is now {}", name, (int) limit);
+            } else {
+                double normalized = latency / (double) Math.max(1, work);
+                if (longTermNanos == 0) {
+                    shortTermNanos = normalized;
+                    longTermNanos = normalized;
+                } else {
+                    shortTermNanos += (normalized - shortTermNanos) * SHORT_TERM_WEIGHT;
+                    longTermNanos += (normalized - longTermNanos) * LONG_TERM_WEIGHT;
+                }
+
+                if (shortTermNanos > longTermNanos * latencyTolerance) {
+                    decrease(LATENCY_BACKOFF_RATIO);
+                } else if (saturated) {
+                    // Only grow when the limit is what holds calls back
+                    limit = Math.min(maxConcurrency, limit + 1 / limit);
+                }
+            }
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether a failure is the provider signalling it is overloaded.
+     */
+    static boolean isOverload(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof RateLimitException) {
+                return true;
+            }
+            if (t instanceof HttpException httpException
+                    && (httpException.statusCode() == 429 || httpException.statusCode() == 503)) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    int limit() {
+        return read(() -> (int) limit);
+    }
+
+    int inFlight() {
+        return read(() -> inFlight);
+    }
+
+    int waiting() {
+        return read(() -> waiting);
+    }
+
+    long availableTokens() {
+        return read(() -> {
+            refill(System.nanoTime());
+            return tokensPerMinute > 0 ? (long) tokens : Long.MAX_VALUE;
+        });
+    }
+
+    private <T> T read(Supplier<T> value) {
+        lock.lock();
+        try {
+            return value.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease(double ratio) {
+        limit = Math.max(1, limit * ratio);
+    }
+
+    private double requestBurst() {
+        return Math.max(1, requestsPerSecond);
+    }
+
+    private void refill(long now) {
+        double elapsedSeconds = (now - refilledAt) / (double) TimeUnit.SECONDS.toNanos(1);
+        refilledAt = now;
+        if (requestsPerSecond > 0) {
+            requests = Math.min(requestBurst(), requests + elapsedSeconds * requestsPerSecond);
+        }
+        if (tokensPerMinute > 0) {
+            tokens = Math.min(tokensPerMinute, tokens + elapsedSeconds * tokensPerMinute / 60);
+        }
+    }
+
+    /**
+     * Returns how long a call must wait before it can be admitted, 0 if it can proceed now.
+     */
+    private long waitNanos(long estimatedTokens) {
+        if (inFlight >= (int) limit) {
+            // Woken up by the release of a call
+            return Long.MAX_VALUE;
+        }
+
+        double waitSeconds = 0;
+        if (requestsPerSecond > 0 && requests < 1) {
+            waitSeconds = (1 - requests) / requestsPerSecond;
+        }
+        // A call larger than the whole bucket waits for a full bucket rather than forever
+        double needed = Math.min(estimatedTokens, tokensPerMinute);
+        if (tokensPerMinute > 0 && tokens < needed) {
+            waitSeconds = Math.max(waitSeconds, (needed - tokens) * 60 / tokensPerMinute);
+        }
+        return waitSeconds == 0 ? 0 : Math.max(1, (long) (waitSeconds * TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    record Permit(long tokens, long start) {}
+}
@@ -0,0 +1,90 @@
+package io.kaoto.forage.agent.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * State and counters of a model limiter.
+ */
+public class ModelLimiterMetrics {
+
+    private final ModelLimiter limiter;
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder queuedNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder throttled = new LongAdder();
+
+    ModelLimiterMetrics(ModelLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    void recordAdmitted(long waitNanos) {
+        admitted.increment();
+        queuedNanos.add(waitNanos);
+    }
+
+    void recordRejected() {
+        rejected.increment();
+    }
+
+    void recordThrottled() {
+        throttled.increment();
+    }
+
+    /**
+     * Returns the current adaptive concurrency limit.
+     */
+    public int concurrencyLimit() {
+        return limiter.limit();
+    }
+
+    public int inFlight() {
+        return limiter.inFlight();
+    }
+
+    /**
+     * Returns the number of calls waiting to be admitted.
+     */
+    public int waiting() {
+        return limiter.waiting();
+    }
+
+    /**
+     * Returns the tokens left in the tokens-per-minute bucket, {@link Long#MAX_VALUE} when tokens are not limited.
+     */
+    public long availableTokens() {
+        return limiter.availableTokens();
+    }
+
+    public long admitted() {
+        return admitted.sum();
+    }
+
+    /**
+     * Returns the number of calls that failed because they were not admitted before the queue timeout.
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Returns the number of calls the provider rejected as overloaded.
+     */
+    public long throttled() {
+        return throttled.sum();
+    }
+
+    /**
+     * Returns the total time admitted calls spent waiting for the limiter.
+     */
+    public Duration queueTime() {
+        return Duration.ofNanos(queuedNanos.sum());
+    }
+
+    @Override
+    public String toString() {
+        return "ModelLimiterMetrics{concurrencyLimit=" + concurrencyLimit() + ", inFlight=" + inFlight() + ", waiting="
+                + waiting() + ", admitted=" + admitted() + ", rejected=" + rejected() + ", throttled=" + throttled()
+                + ", queueTime=" + queueTime() + "}";
+    }
+}
@@ -0,0 +1,53 @@
+package io.kaoto.forage.agent.limit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Model limiters shared by the agents calling the same provider deployment.
+ *
+ * <p>Providers enforce their rate limits per account and model, so the agents and composite members calling the
+ * same model kind, endpoint, API key and model name share one limiter: the calls of one agent then count against
+ * the budget of the others, and a provider throttling one of them slows all of them down. The limiter is created
+ * with the settings of the first model asking for it.
+ */
+public final class ModelLimiters {
+
+    private static final Map<String, ModelLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private ModelLimiters() {}
+
+    /**
+     * Returns the limiter of a provider deployment, creating it on first use.
+     *
+     * @param kind the model kind, e.g. openai
+     * @param endpoint the base URL or endpoint of the provider, or null for its default
+     * @param apiKey the API key of the account, or null; only a digest of it is kept
+     * @param modelName the model name, or null for the provider default
+     * @param factory creates the limiter from its name
+     * @return the shared limiter
+     */
+    public static ModelLimiter forProvider(
+            String kind, String endpoint, String apiKey, String modelName, Function<String, ModelLimiter> factory) {
+        String name = kind + ":" + Objects.toString(modelName, "default") + "@" + Objects.toString(endpoint, "default");
+        return LIMITERS.computeIfAbsent(name + "#" + digest(apiKey), key -> factory.apply(name));
+    }
+
+    private static String digest(String apiKey) {
+        if (apiKey == null) {
+            return "none";
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.kaoto.forage.agent.limit;
+
+import java.util.List;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.Content;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.request.ChatRequestParameters;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * Rough token counts used to charge the tokens-per-minute bucket before a call is made.
+ *
+ * <p>The estimate assumes four characters per token. It is corrected with the usage reported by the provider
+ * when the call completes.
+ */
+final class TokenEstimates {
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimates() {}
+
+    static long of(ChatRequest request, ChatRequestParameters defaults) {
+        long chars = 0;
+        for (ChatMessage message : request.messages()) {
+            chars += length(message);
+        }
+
+        Integer maxOutputTokens =
+                request.parameters() != null ? request.parameters().maxOutputTokens() : null;
+        if (maxOutputTokens == null && defaults != null) {
+            maxOutputTokens = defaults.maxOutputTokens();
+        }
+        return tokens(chars) + (maxOutputTokens != null ? maxOutputTokens : 0);
+    }
+
+    static long of(List<TextSegment> segments) {
+        long chars = 0;
+        for (TextSegment segment : segments) {
+            chars += segment.text().length();
+        }
+        return tokens(chars);
+    }
+
+    /**
+     * Returns the total tokens of a call, or -1 when the provider did not report them.
+     */
+    static long used(TokenUsage usage) {
+        return usage != null && usage.totalTokenCount() != null ? usage.totalTokenCount() : -1;
+    }
+
+    /**
+     * Returns the output tokens of a response, estimated from its text when the provider did not report them.
+     */
+    static long output(ChatResponse response) {
+        TokenUsage usage = response.tokenUsage();
+        if (usage != null && usage.outputTokenCount() != null) {
+            return usage.outputTokenCount();
+        }
+        AiMessage aiMessage = response.aiMessage();
+        return aiMessage != null && aiMessage.text() != null
+                ? tokens(aiMessage.text().length())
+                : 1;
+    }
+
+    private static long tokens(long chars) {
+        return Math.max(1, (chars + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN);
+    }
+
+    private static long length(ChatMessage message) {
+        if (message instanceof SystemMessage systemMessage) {
+            return systemMessage.text().length();
+        }
+        if (message instanceof UserMessage userMessage) {
+            long chars = 0;
+            for (Content content : userMessage.contents()) {
+                if (content instanceof TextContent textContent) {
+                    chars += textContent.text().length();
+                }
+            }
+            return chars;
+        }
+        if (message instanceof AiMessage aiMessage) {
+            long chars = aiMessage.text() != null ? aiMessage.text().length() : 0;
+            if (aiMessage.hasToolExecutionRequests()) {
+                for (ToolExecutionRequest toolRequest : aiMessage.toolExecutionRequests()) {
+                    chars += toolRequest.arguments() != null
+                            ? toolRequest.arguments().length()
+                            : 0;
+                }
+            }
+            return chars;
+        }
+        if (message instanceof ToolExecutionResultMessage toolResult) {
+            return toolResult.text() != null ? toolResult.text().length() : 0;
+        }
+        return 0;
+    }
+}
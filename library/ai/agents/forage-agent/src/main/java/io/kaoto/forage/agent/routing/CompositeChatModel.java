@@ -0,0 +1,378 @@
+package io.kaoto.forage.agent.routing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+/**
+ * Chat model routing every request to one of several member models.
+ *
+ * <p>The first member is picked at random according to the member weights, the others follow by decreasing
+ * weight. A member failing hands the request over to the next one. With hedging enabled, the next member is also
+ * called when the current one has not answered within the configured percentile of its own latency; the first
+ * answer wins and the slower calls are cancelled; the time they ran for is recorded in their member histogram as a
+ * lower bound of their latency.
+ *
+ * <p>Hedged requests run on a thread pool shared by all the composite models and bounded to {@value #MAX_THREADS}
+ * threads. When it is exhausted, requests are no longer hedged and run on the calling thread. A member throwing an
+ * {@link Error} is treated as a failing member.
+ *
+ * <p>The composite model has no default request parameters of its own: each member applies its own defaults.
+ */
+public class CompositeChatModel implements ChatModel {
+    private static final Logger LOG = LoggerFactory.getLogger(CompositeChatModel.class);
+
+    /**
+     * Number of samples a member needs before its latency is trusted to hedge it.
+     */
+    static final int MIN_HEDGE_SAMPLES = 20;
+
+    /**
+     * Maximum number of threads running hedged member calls, shared by all the composite models.
+     */
+    static final int MAX_THREADS = 128;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ThreadPoolExecutor EXECUTOR =
+            new ThreadPoolExecutor(0, MAX_THREADS, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                Thread thread = new Thread(r, "forage-composite-model-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final List<Member> members;
+    private final double hedgePercentile;
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    /**
+     * @param members the member models, in order of preference
+     * @param hedgePercentile the percentile of the member latency after which the next member is called as well,
+     *     or 0 to only fail over on errors
+     */
+    public CompositeChatModel(List<Member> members, double hedgePercentile) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A composite chat model needs at least one member");
+        }
+        this.members = List.copyOf(members);
+        this.hedgePercentile = hedgePercentile;
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    /**
+     * Returns the number of requests sent to another member because the current one was too slow.
+     */
+    public long hedgedRequests() {
+        return hedges.sum();
+    }
+
+    /**
+     * Returns the number of requests sent to another member because the current one failed.
+     */
+    public long failovers() {
+        return failovers.sum();
+    }
+
+    @Override
+    public ChatResponse chat(ChatRequest chatRequest) {
+        List<Member> order = order();
+        return hedgePercentile > 0 && order.size() > 1 ? hedged(chatRequest, order) : sequential(chatRequest, order);
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return ModelProvider.OTHER;
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        // Any member can answer, only the capabilities they all share are supported
+        Set<Capability> capabilities = EnumSet.allOf(Capability.class);
+        for (Member member : members) {
+            capabilities.retainAll(member.model().supportedCapabilities());
+        }
+        return capabilities;
+    }
+
+    private ChatResponse sequential(ChatRequest chatRequest, List<Member> order) {
+        RuntimeException failure = null;
+        for (Member member : order) {
+            if (failure != null) {
+                failovers.increment();
+            }
+            Attempt attempt = member.call(chatRequest);
+            if (attempt.response() != null) {
+                return attempt.response();
+            }
+            failure = addFailure(failure, attempt);
+        }
+        throw failure;
+    }
+
+    private ChatResponse hedged(ChatRequest chatRequest, List<Member> order) {
+        BlockingQueue<Attempt> completed = new LinkedBlockingQueue<>();
+        List<Call> calls = new ArrayList<>();
+        RuntimeException failure = null;
+        boolean hedging = true;
+        int next = 0;
+        int pending = 0;
+        Member current = order.get(next++);
+        launch(new Call(current, chatRequest, completed), calls, true);
+        pending++;
+
+        try {
+            while (pending > 0) {
+                Duration hedgeDelay = hedging && next < order.size() ? current.hedgeDelay(hedgePercentile) : null;
+                Attempt attempt = hedgeDelay != null
+                        ? completed.poll(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS)
+                        : completed.take();
+
+                if (attempt == null) {
+                    Member hedge = order.get(next);
+                    if (!launch(new Call(hedge, chatRequest, completed), calls, false)) {
+                        LOG.debug("No thread left to hedge chat request to member '{}', waiting", hedge.name());
+                        hedging = false;
+                        continue;
+                    }
+                    LOG.debug("Hedged chat request to member '{}' after {}", hedge.name(), hedgeDelay);
+                    hedges.increment();
+                    current = hedge;
+                    next++;
+                    pending++;
+                    continue;
+                }
+
+                pending--;
+                if (attempt.response() != null) {
+                    return attempt.response();
+                }
+                failure = addFailure(failure, attempt);
+                if (next == order.size()) {
+                    continue;
+                }
+                failovers.increment();
+                current = order.get(next++);
+                launch(new Call(current, chatRequest, completed), calls, true);
+                pending++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeForageException("Interrupted while waiting for a composite model member", e);
+        } finally {
+            calls.forEach(Call::cancel);
+        }
+        throw failure;
+    }
+
+    /**
+     * Runs the call on the shared thread pool, or on the calling thread when the pool is exhausted and
+     * {@code inline} is set.
+     *
+     * @return whether the call was started
+     */
+    private static boolean launch(Call call, List<Call> calls, boolean inline) {
+        try {
+            call.future = EXECUTOR.submit(call);
+        } catch (RejectedExecutionException e) {
+            if (!inline) {
+                return false;
+            }
+            call.run();
+        }
+        calls.add(call);
+        return true;
+    }
+
+    private static RuntimeException addFailure(RuntimeException failure, Attempt attempt) {
+        LOG.debug(
+                "Composite model member '{}' failed: {}",
+                attempt.member().name(),
+                attempt.failure().getMessage());
+        if (failure == null) {
+            return attempt.failure();
+        }
+        failure.addSuppressed(attempt.failure());
+        return failure;
+    }
+
+    /**
+     * Returns the members in the order they are tried.
+     */
+    private List<Member> order() {
+        return order(members, Member::weight);
+    }
+
+    /**
+     * Returns members in the order they are tried: a weighted random pick, then the others by weight.
+     */
+    static <M> List<M> order(List<M> members, ToIntFunction<M> weight) {
+        List<M> order = new ArrayList<>(members);
+        int totalWeight = members.stream().mapToInt(weight).sum();
+        if (order.size() == 1 || totalWeight <= 0) {
+            return order;
+        }
+
+        int pick = ThreadLocalRandom.current().nextInt(totalWeight);
+        M first = null;
+        for (M member : members) {
+            pick -= weight.applyAsInt(member);
+            if (pick < 0) {
+                first = member;
+                break;
+            }
+        }
+        order.remove(first);
+        order.sort(Comparator.comparingInt(weight).reversed());
+        order.add(0, first);
+        return order;
+    }
+
+    private record Attempt(Member member, ChatResponse response, RuntimeException failure) {}
+
+    /**
+     * Call of a member made on behalf of a hedged request.
+     */
+    private static final class Call implements Runnable {
+        private final Member member;
+        private final ChatRequest chatRequest;
+        private final BlockingQueue<Attempt> completed;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile long start;
+        private Future<?> future;
+
+        private Call(Member member, ChatRequest chatRequest, BlockingQueue<Attempt> completed) {
+            this.member = member;
+            this.chatRequest = chatRequest;
+            this.completed = completed;
+        }
+
+        @Override
+        public void run() {
+            start = System.nanoTime();
+            Attempt attempt;
+            try {
+                attempt = member.call(chatRequest, finished);
+            } catch (Error e) {
+                // Reported as a failure, otherwise the request would wait for this member forever
+                member.failures.increment();
+                finished.set(true);
+                attempt = new Attempt(
+                        member,
+                        null,
+                        new RuntimeForageException("Composite model member '" + member.name() + "' failed", e));
+            }
+            completed.add(attempt);
+        }
+
+        /**
+         * Cancels the call if it is still running, recording the time it ran for in the member histogram.
+         */
+        private void cancel() {
+            if (finished.compareAndSet(false, true)) {
+                long started = start;
+                if (started != 0) {
+                    member.latency.record(System.nanoTime() - started);
+                }
+                if (future != null) {
+                    future.cancel(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * Member of a composite chat model, with its call counters and latency histogram.
+     */
+    public static final class Member {
+        private final String name;
+        private final ChatModel model;
+        private final int weight;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        public Member(String name, ChatModel model, int weight) {
+            this.name = name;
+            this.model = model;
+            this.weight = weight;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public ChatModel model() {
+            return model;
+        }
+
+        public int weight() {
+            return weight;
+        }
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        public long calls() {
+            return calls.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+
+        private Duration hedgeDelay(double percentile) {
+            return latency.count() >= MIN_HEDGE_SAMPLES ? latency.percentile(percentile) : null;
+        }
+
+        private Attempt call(ChatRequest chatRequest) {
+            return call(chatRequest, new AtomicBoolean());
+        }
+
+        /**
+         * Calls the model, only recording the outcome when the call was not cancelled meanwhile.
+         */
+        private Attempt call(ChatRequest chatRequest, AtomicBoolean finished) {
+            calls.increment();
+            long start = System.nanoTime();
+            try {
+                ChatResponse response = model.chat(chatRequest);
+                if (finished.compareAndSet(false, true)) {
+                    latency.record(System.nanoTime() - start);
+                }
+                return new Attempt(this, response, null);
+            } catch (RuntimeException e) {
+                if (finished.compareAndSet(false, true)) {
+                    failures.increment();
+                }
+                return new Attempt(this, null, e);
+            }
+        }
+    }
+}
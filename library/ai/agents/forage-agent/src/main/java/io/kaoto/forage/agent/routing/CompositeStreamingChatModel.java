@@ -0,0 +1,159 @@
+package io.kaoto.forage.agent.routing;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.agent.ForwardingStreamingChatResponseHandler;
+import dev.langchain4j.model.ModelProvider;
+import dev.langchain4j.model.chat.Capability;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+/**
+ * Streaming chat model routing every request to one of several member models.
+ *
+ * <p>Members are tried in the same order as {@link CompositeChatModel}: a random pick according to the member
+ * weights, then the others by decreasing weight. A member failing before it streamed anything hands the request
+ * over to the next one; once a member has streamed part of its response, its failure is reported as is. Streamed
+ * requests are never hedged, since only one member can stream to the caller.
+ *
+ * <p>The composite model has no default request parameters of its own: each member applies its own defaults.
+ */
+public class CompositeStreamingChatModel implements StreamingChatModel {
+    private static final Logger LOG = LoggerFactory.getLogger(CompositeStreamingChatModel.class);
+
+    private final List<Member> members;
+    private final LongAdder failovers = new LongAdder();
+
+    /**
+     * @param members the member models, in order of preference
+     */
+    public CompositeStreamingChatModel(List<Member> members) {
+        if (members.isEmpty()) {
+            throw new IllegalArgumentException("A composite streaming chat model needs at least one member");
+        }
+        this.members = List.copyOf(members);
+    }
+
+    public List<Member> getMembers() {
+        return members;
+    }
+
+    /**
+     * Returns the number of requests sent to another member because the current one failed.
+     */
+    public long failovers() {
+        return failovers.sum();
+    }
+
+    @Override
+    public void chat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+        attempt(chatRequest, handler, CompositeChatModel.order(members, Member::weight), 0, null);
+    }
+
+    @Override
+    public ModelProvider provider() {
+        return ModelProvider.OTHER;
+    }
+
+    @Override
+    public Set<Capability> supportedCapabilities() {
+        // Any member can answer, only the capabilities they all share are supported
+        Set<Capability> capabilities = EnumSet.allOf(Capability.class);
+        for (Member member : members) {
+            capabilities.retainAll(member.model().supportedCapabilities());
+        }
+        return capabilities;
+    }
+
+    private void attempt(
+            ChatRequest chatRequest,
+            StreamingChatResponseHandler handler,
+            List<Member> order,
+            int index,
+            Throwable previousFailure) {
+        Member member = order.get(index);
+        AtomicBoolean started = new AtomicBoolean();
+        AtomicBoolean failed = new AtomicBoolean();
+        StreamingChatResponseHandler memberHandler = new ForwardingStreamingChatResponseHandler(handler) {
+            @Override
+            protected void beforePartial() {
+                started.set(true);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (!failed.compareAndSet(false, true)) {
+                    return;
+                }
+                member.failures.increment();
+                LOG.debug("Composite streaming model member '{}' failed: {}", member.name(), error.getMessage());
+
+                Throwable failure = addFailure(previousFailure, error);
+                if (started.get() || index + 1 == order.size()) {
+                    super.onError(failure);
+                    return;
+                }
+                failovers.increment();
+                attempt(chatRequest, handler, order, index + 1, failure);
+            }
+        };
+
+        member.calls.increment();
+        try {
+            member.model().chat(chatRequest, memberHandler);
+        } catch (RuntimeException e) {
+            memberHandler.onError(e);
+        }
+    }
+
+    private static Throwable addFailure(Throwable failure, Throwable error) {
+        if (failure == null) {
+            return error;
+        }
+        failure.addSuppressed(error);
+        return failure;
+    }
+
+    /**
+     * Member of a composite streaming chat model, with its call counters.
+     */
+    public static final class Member {
+        private final String name;
+        private final StreamingChatModel model;
+        private final int weight;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+
+        public Member(String name, StreamingChatModel model, int weight) {
+            this.name = name;
+            this.model = model;
+            this.weight = weight;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public StreamingChatModel model() {
+            return model;
+        }
+
+        public int weight() {
+            return weight;
+        }
+
+        public long calls() {
+            return calls.sum();
+        }
+
+        public long failures() {
+            return failures.sum();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.kaoto.forage.agent.routing;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency histogram with exponentially growing buckets, from one millisecond to about ten minutes.
+ *
+ * <p>The counts are halved once the histogram holds {@value #MAX_SAMPLES} samples, so that the percentiles follow
+ * the recent latency of a model rather than its whole history.
+ */
+public class LatencyHistogram {
+    static final int MAX_SAMPLES = 1024;
+    private static final double BUCKET_GROWTH = 1.2;
+    private static final long[] UPPER_BOUNDS = upperBounds();
+
+    private final long[] counts = new long[UPPER_BOUNDS.length];
+    private long total;
+
+    public synchronized void record(long latencyNanos) {
+        int index = Arrays.binarySearch(UPPER_BOUNDS, latencyNanos);
+        counts[Math.min(index >= 0 ? index : -index - 1, counts.length - 1)]++;
+        if (++total >= MAX_SAMPLES) {
+            total = 0;
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] /= 2;
+                total += counts[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of samples currently weighing on the percentiles.
+     */
+    public synchronized long count() {
+        return total;
+    }
+
+    /**
+     * Returns the latency under which the given ratio of the samples fall, rounded up to the bucket bound.
+     *
+     * @param percentile the ratio, between 0 and 1
+     * @return the latency, or null when no sample was recorded
+     */
+    public synchronized Duration percentile(double percentile) {
+        if (total == 0) {
+            return null;
+        }
+
+        long threshold = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= threshold && seen > 0) {
+                return Duration.ofNanos(UPPER_BOUNDS[i]);
+            }
+        }
+        return Duration.ofNanos(UPPER_BOUNDS[UPPER_BOUNDS.length - 1]);
+    }
+
+    private static long[] upperBounds() {
+        long max = TimeUnit.MINUTES.toNanos(10);
+        long[] bounds = new long[128];
+        int size = 0;
+        for (double bound = TimeUnit.MILLISECONDS.toNanos(1); bound < max; bound *= BUCKET_GROWTH) {
+            bounds[size++] = (long) bound;
+        }
+        bounds[size++] = max;
+        return Arrays.copyOf(bounds, size);
+    }
+}
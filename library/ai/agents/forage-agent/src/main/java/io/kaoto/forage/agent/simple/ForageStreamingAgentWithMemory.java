@@ -0,0 +1,18 @@
+package io.kaoto.forage.agent.simple;
+
+import dev.langchain4j.service.MemoryId;
+import dev.langchain4j.service.SystemMessage;
+import dev.langchain4j.service.TokenStream;
+import dev.langchain4j.service.UserMessage;
+import dev.langchain4j.service.V;
+
+public interface ForageStreamingAgentWithMemory {
+
+    /**
+     * Streaming AI service interface with memory support
+     */
+    TokenStream chat(@MemoryId Object memoryId, @UserMessage String message);
+
+    @SystemMessage("{{prompt}}")
+    TokenStream chat(@MemoryId Object memoryId, @UserMessage String message, @V("prompt") String prompt);
+}
@@ -1,31 +1,46 @@
 package io.kaoto.forage.agent.simple;
 
+import java.util.HashMap;
 import java.util.List;
-import org.apache.camel.component.langchain4j.agent.api.Agent;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
 import org.apache.camel.component.langchain4j.agent.api.AgentConfiguration;
 import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.agent.ForageAgentConfiguration;
+import io.kaoto.forage.agent.StreamingAgent;
 import io.kaoto.forage.agent.factory.ConfigurationAware;
 import dev.langchain4j.data.message.Content;
 import dev.langchain4j.guardrail.InputGuardrail;
 import dev.langchain4j.guardrail.OutputGuardrail;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.service.AiServices;
+import dev.langchain4j.service.TokenStream;
 import dev.langchain4j.service.tool.ToolProvider;
 
 /**
- * Simple implementation of an AI agent that provides basic chat functionality
+ * Simple implementation of an AI agent that provides basic chat functionality, streamed when a streaming chat model
+ * is configured. Closing the agent closes the resources of its {@link ForageAgentConfiguration}.
+ *
+ * <p>When the agent is called from a route and a streaming endpoint is configured, the response is streamed: every
+ * chunk is sent to the endpoint as soon as it is received, with the headers of the calling exchange and the
+ * {@link StreamingAgent#CHUNK_INDEX} header, and the whole response becomes the body of the exchange as usual.
  */
-public class SimpleAgent implements Agent, ConfigurationAware {
+public class SimpleAgent implements StreamingAgent, ConfigurationAware, AutoCloseable {
     private static final Logger LOG = LoggerFactory.getLogger(SimpleAgent.class);
 
     private AgentConfiguration configuration;
 
     // Cached AI service instances to avoid recreating proxies on every request
-    private ForageAgentWithMemory cachedMemoryService;
-    private ForageAgentWithoutMemory cachedNoMemoryService;
+    private final Map<Class<?>, Object> cachedServices = new ConcurrentHashMap<>();
     private ToolProvider lastToolProvider;
+    private ProducerTemplate producerTemplate;
 
     public SimpleAgent() {}
 
@@ -38,8 +53,41 @@ public class SimpleAgent implements Agent, ConfigurationAware {
         return configuration.getChatMemoryProvider() != null;
     }
 
+    private StreamingChatModel streamingChatModel() {
+        return configuration instanceof ForageAgentConfiguration forageConfig
+                ? forageConfig.getStreamingChatModel()
+                : null;
+    }
+
+    private String streamingEndpoint() {
+        return configuration instanceof ForageAgentConfiguration forageConfig
+                ? forageConfig.getStreamingEndpoint()
+                : null;
+    }
+
+    @Override
+    public boolean isStreaming() {
+        return streamingChatModel() != null;
+    }
+
+    /**
+     * Keeps the calling exchange with the body when the response is streamed to an endpoint, the route calling
+     * {@link #chat(AiAgentBody, ToolProvider)} right after.
+     */
+    @Override
+    public AiAgentBody<?> processBody(Object messagePayload, Exchange exchange) throws Exception {
+        AiAgentBody<?> aiAgentBody = StreamingAgent.super.processBody(messagePayload, exchange);
+        if (!isStreaming() || streamingEndpoint() == null) {
+            return aiAgentBody;
+        }
+        return RouteAiAgentBody.of(aiAgentBody, exchange);
+    }
+
     @Override
     public String chat(AiAgentBody<?> aiAgentBody, ToolProvider toolProvider) {
+        if (aiAgentBody instanceof RouteAiAgentBody<?> routeBody) {
+            return streamToEndpoint(routeBody, toolProvider);
+        }
         LOG.debug("Chatting using ForageAgent");
 
         if (hasMemory()) {
@@ -65,6 +113,88 @@ public class SimpleAgent implements Agent, ConfigurationAware {
         }
     }
 
+    @Override
+    public Flow.Publisher<String> stream(AiAgentBody<?> aiAgentBody, ToolProvider toolProvider) {
+        if (!isStreaming()) {
+            throw new IllegalStateException(
+                    "The agent has no streaming chat model, set forage.agent.streaming.enabled to true");
+        }
+        LOG.debug("Streaming using ForageAgent");
+
+        TokenStream tokenStream;
+        if (hasMemory()) {
+            ForageStreamingAgentWithMemory agentService =
+                    createAiAgentService(toolProvider, ForageStreamingAgentWithMemory.class);
+
+            tokenStream = aiAgentBody.getSystemMessage() != null
+                    ? agentService.chat(
+                            aiAgentBody.getMemoryId(), aiAgentBody.getUserMessage(), aiAgentBody.getSystemMessage())
+                    : agentService.chat(aiAgentBody.getMemoryId(), aiAgentBody.getUserMessage());
+        } else {
+            ForageStreamingAgentWithoutMemory agentService =
+                    createAiAgentService(toolProvider, ForageStreamingAgentWithoutMemory.class);
+
+            if (aiAgentBody.getContent() != null) {
+                tokenStream = agentService.chat(aiAgentBody.getUserMessage(), List.of(aiAgentBody.getContent()));
+            } else {
+                tokenStream = aiAgentBody.getSystemMessage() != null
+                        ? agentService.chat(aiAgentBody.getUserMessage(), aiAgentBody.getSystemMessage())
+                        : agentService.chat(aiAgentBody.getUserMessage());
+            }
+        }
+        return new TokenStreamPublisher(tokenStream);
+    }
+
+    private String streamToEndpoint(RouteAiAgentBody<?> routeBody, ToolProvider toolProvider) {
+        String endpoint = streamingEndpoint();
+        ProducerTemplate template = producerTemplate(routeBody.exchange.getContext());
+        Map<String, Object> headers = new HashMap<>(routeBody.exchange.getIn().getHeaders());
+        AtomicInteger index = new AtomicInteger();
+        LOG.debug("Streaming the response to {}", endpoint);
+
+        return stream(routeBody, toolProvider, chunk -> {
+            Map<String, Object> chunkHeaders = new HashMap<>(headers);
+            chunkHeaders.put(CHUNK_INDEX, index.getAndIncrement());
+            template.sendBodyAndHeaders(endpoint, chunk, chunkHeaders);
+        });
+    }
+
+    private synchronized ProducerTemplate producerTemplate(CamelContext camelContext) {
+        if (producerTemplate == null) {
+            producerTemplate = camelContext.createProducerTemplate();
+        }
+        return producerTemplate;
+    }
+
+    /**
+     * Closes the resources owned by the agent, in the reverse order of their creation.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (producerTemplate != null) {
+                try {
+                    producerTemplate.close();
+                } catch (Exception e) {
+                    LOG.warn("Failed to close the streaming producer template: {}", e.getMessage());
+                }
+                producerTemplate = null;
+            }
+        }
+        if (!(configuration instanceof ForageAgentConfiguration forageConfig)) {
+            return;
+        }
+        List<AutoCloseable> resources = forageConfig.getResources();
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            try {
+                resources.get(i).close();
+            } catch (Exception e) {
+                LOG.warn("Failed to close agent resource {}: {}", resources.get(i), e.getMessage());
+            }
+        }
+        resources.clear();
+    }
+
     /**
      * Create AI service with a single universal tool that handles multiple Camel routes and Memory Provider.
      * Services are cached to avoid recreating proxies on every request when the toolProvider is unchanged.
@@ -73,22 +203,24 @@ public class SimpleAgent implements Agent, ConfigurationAware {
     private <T> T createAiAgentService(ToolProvider toolProvider, Class<T> clazz) {
         // Check if we can return a cached instance
         if (toolProvider == lastToolProvider) {
-            if (clazz == ForageAgentWithMemory.class && cachedMemoryService != null) {
-                LOG.debug("Reusing cached ForageAgentWithMemory service");
-                return (T) cachedMemoryService;
-            } else if (clazz == ForageAgentWithoutMemory.class && cachedNoMemoryService != null) {
-                LOG.debug("Reusing cached ForageAgentWithoutMemory service");
-                return (T) cachedNoMemoryService;
+            Object cached = cachedServices.get(clazz);
+            if (cached != null) {
+                LOG.debug("Reusing cached {} service", clazz.getSimpleName());
+                return (T) cached;
             }
         } else {
             // Tool provider changed, invalidate cache
-            cachedMemoryService = null;
-            cachedNoMemoryService = null;
+            cachedServices.clear();
             lastToolProvider = toolProvider;
         }
 
         LOG.info("Creating new {} service", clazz.getSimpleName());
-        AiServices<T> builder = AiServices.builder(clazz).chatModel(configuration.getChatModel());
+        AiServices<T> builder = AiServices.builder(clazz);
+        if (clazz == ForageStreamingAgentWithMemory.class || clazz == ForageStreamingAgentWithoutMemory.class) {
+            builder.streamingChatModel(streamingChatModel());
+        } else {
+            builder.chatModel(configuration.getChatModel());
+        }
 
         if (hasMemory()) {
             builder = builder.chatMemoryProvider(configuration.getChatMemoryProvider());
@@ -127,12 +259,25 @@ public class SimpleAgent implements Agent, ConfigurationAware {
         T service = builder.build();
 
         // Cache the service
-        if (clazz == ForageAgentWithMemory.class) {
-            cachedMemoryService = (ForageAgentWithMemory) service;
-        } else if (clazz == ForageAgentWithoutMemory.class) {
-            cachedNoMemoryService = (ForageAgentWithoutMemory) service;
-        }
+        cachedServices.put(clazz, service);
 
         return service;
     }
+
+    /**
+     * Body of a request made from a route, with the exchange calling the agent.
+     */
+    private static final class RouteAiAgentBody<C extends Content> extends AiAgentBody<C> {
+        private final Exchange exchange;
+
+        private RouteAiAgentBody(AiAgentBody<C> aiAgentBody, Exchange exchange) {
+            super(aiAgentBody.getUserMessage(), aiAgentBody.getSystemMessage(), aiAgentBody.getMemoryId());
+            setContent(aiAgentBody.getContent());
+            this.exchange = exchange;
+        }
+
+        private static <C extends Content> RouteAiAgentBody<C> of(AiAgentBody<C> aiAgentBody, Exchange exchange) {
+            return new RouteAiAgentBody<>(aiAgentBody, exchange);
+        }
+    }
 }
@@ -0,0 +1,45 @@
+package io.kaoto.forage.agent.simple;
+
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import dev.langchain4j.service.TokenStream;
+
+/**
+ * Publishes the partial responses of a token stream.
+ *
+ * <p>The token stream is started on subscription, so that no chunk is lost. Chunks are buffered per subscriber; a
+ * slow subscriber with a full buffer blocks the thread receiving the model response.
+ */
+final class TokenStreamPublisher implements Flow.Publisher<String> {
+
+    private final TokenStream tokenStream;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    TokenStreamPublisher(TokenStream tokenStream) {
+        this.tokenStream = tokenStream;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super String> subscriber) {
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {}
+
+                @Override
+                public void cancel() {}
+            });
+            subscriber.onError(new IllegalStateException("A token stream can only be subscribed to once"));
+            return;
+        }
+
+        SubmissionPublisher<String> publisher = new SubmissionPublisher<>();
+        publisher.subscribe(subscriber);
+        tokenStream
+                .onPartialResponse(publisher::submit)
+                .onCompleteResponse(response -> publisher.close())
+                .onError(publisher::closeExceptionally)
+                .start();
+    }
+}
@@ -0,0 +1,121 @@
+package io.kaoto.forage.agent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
+
+/**
+ * Local server answering the OpenAI chat completions API with a fixed response, streamed in the given chunks, so
+ * that tests run the real OpenAI models.
+ */
+public final class OpenAiTestServer implements AutoCloseable {
+    private static final String COMPLETION =
+            "{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion\",\"created\":1700000000,\"model\":\"gpt-4o-mini\","
+                    + "\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\",\"content\":\"%s\"},"
+                    + "\"finish_reason\":\"stop\"}],"
+                    + "\"usage\":{\"prompt_tokens\":5,\"completion_tokens\":%d,\"total_tokens\":%d}}";
+    private static final String CHUNK =
+            "{\"id\":\"chatcmpl-1\",\"object\":\"chat.completion.chunk\",\"created\":1700000000,\"model\":\"gpt-4o-mini\","
+                    + "\"choices\":[{\"index\":0,\"delta\":%s,\"finish_reason\":%s}]}";
+
+    private final HttpServer server;
+    private final List<String> chunks;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile String failure;
+
+    /**
+     * @param chunks the chunks of the response
+     */
+    public OpenAiTestServer(String... chunks) throws IOException {
+        this.chunks = List.of(chunks);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.start();
+    }
+
+    /**
+     * Answers the next requests with a server error with the given message.
+     */
+    public OpenAiTestServer failWith(String message) {
+        this.failure = message;
+        return this;
+    }
+
+    /**
+     * Returns the number of requests received.
+     */
+    public int requests() {
+        return requests.get();
+    }
+
+    public OpenAiChatModel chatModel() {
+        return OpenAiChatModel.builder()
+                .baseUrl(baseUrl())
+                .apiKey("test")
+                .modelName("gpt-4o-mini")
+                .maxRetries(0)
+                .build();
+    }
+
+    public OpenAiStreamingChatModel streamingChatModel() {
+        return OpenAiStreamingChatModel.builder()
+                .baseUrl(baseUrl())
+                .apiKey("test")
+                .modelName("gpt-4o-mini")
+                .build();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/v1";
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        requests.incrementAndGet();
+
+        try (exchange) {
+            if (failure != null) {
+                send(exchange, 500, "application/json", "{\"error\":{\"message\":\"" + failure + "\"}}");
+                return;
+            }
+            if (!request.contains("\"stream\":true") && !request.contains("\"stream\" : true")) {
+                String text = String.join("", chunks);
+                send(exchange, 200, "application/json", COMPLETION.formatted(text, chunks.size(), chunks.size() + 5));
+                return;
+            }
+
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            for (String chunk : chunks) {
+                event(body, CHUNK.formatted("{\"content\":\"" + chunk + "\"}", "null"));
+            }
+            event(body, CHUNK.formatted("{}", "\"stop\""));
+            event(body, "[DONE]");
+        }
+    }
+
+    private static void event(OutputStream body, String data) throws IOException {
+        body.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        body.flush();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+}
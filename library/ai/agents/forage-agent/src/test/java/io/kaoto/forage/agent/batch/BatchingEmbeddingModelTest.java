@@ -0,0 +1,110 @@
+package io.kaoto.forage.agent.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.assertj.core.api.Assertions;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import org.junit.jupiter.api.Test;
+
+public class BatchingEmbeddingModelTest {
+
+    @Test
+    public void testConcurrentCallsAreSentAsOneBatch() throws Exception {
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel(null);
+        BatchingEmbeddingModel batchingModel = new BatchingEmbeddingModel(model, 4, Duration.ofSeconds(10));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Embedding>> results = new ArrayList<>();
+            for (String text : new String[] {"a", "bb", "ccc", "dddd"}) {
+                results.add(executor.submit(() -> batchingModel.embed(text).content()));
+            }
+
+            for (int i = 0; i < results.size(); i++) {
+                Assertions.assertThat(results.get(i).get().vector()[0]).isEqualTo(i + 1);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertThat(model.batches).hasSize(1);
+        Assertions.assertThat(model.batches.get(0)).containsExactlyInAnyOrder("a", "bb", "ccc", "dddd");
+        Assertions.assertThat(batchingModel.getMetrics().batchSizeDistribution())
+                .isEqualTo(Map.of(4, 1L));
+    }
+
+    @Test
+    public void testLoneCallIsSentAfterTheMaxDelay() {
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel(null);
+        BatchingEmbeddingModel batchingModel = new BatchingEmbeddingModel(model, 16, Duration.ofMillis(20));
+
+        long start = System.nanoTime();
+        Embedding embedding = batchingModel.embed("text").content();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Assertions.assertThat(embedding.vector()[0]).isEqualTo(4);
+        Assertions.assertThat(elapsed).isBetween(Duration.ofMillis(20), Duration.ofSeconds(5));
+        Assertions.assertThat(batchingModel.getMetrics().batches()).isEqualTo(1);
+        Assertions.assertThat(batchingModel.getMetrics().averageBatchSize()).isEqualTo(1.0);
+        Assertions.assertThat(batchingModel.getMetrics().queueTime()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+    }
+
+    @Test
+    public void testMultipleSegmentsGoStraightToTheModel() {
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel(null);
+        BatchingEmbeddingModel batchingModel = new BatchingEmbeddingModel(model, 16, Duration.ofSeconds(10));
+
+        batchingModel.embedAll(List.of(TextSegment.from("a"), TextSegment.from("b")));
+
+        Assertions.assertThat(model.batches).containsExactly(List.of("a", "b"));
+        Assertions.assertThat(batchingModel.getMetrics().batches()).isZero();
+    }
+
+    @Test
+    public void testFailureIsPropagatedToEveryCaller() throws Exception {
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel(new IllegalStateException("model down"));
+        BatchingEmbeddingModel batchingModel = new BatchingEmbeddingModel(model, 2, Duration.ofSeconds(10));
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> batchingModel.embed("a"));
+            Future<?> second = executor.submit(() -> batchingModel.embed("b"));
+
+            for (Future<?> result : List.of(first, second)) {
+                Assertions.assertThatThrownBy(result::get).hasRootCauseMessage("model down");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assertions.assertThat(model.batches).hasSize(1);
+    }
+
+    private static class RecordingEmbeddingModel implements EmbeddingModel {
+        private final List<List<String>> batches = new ArrayList<>();
+        private final RuntimeException failure;
+
+        RecordingEmbeddingModel(RuntimeException failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public synchronized Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            batches.add(textSegments.stream().map(TextSegment::text).toList());
+            if (failure != null) {
+                throw failure;
+            }
+            return Response.from(textSegments.stream()
+                    .map(segment -> Embedding.from(new float[] {segment.text().length(), 1f}))
+                    .toList());
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package io.kaoto.forage.agent.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import io.kaoto.forage.core.ai.ChatResponseCacheStore;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+import org.junit.jupiter.api.Test;
+
+public class CachingChatModelTest {
+
+    @Test
+    public void testIdenticalRequestsAreServedFromTheCache() {
+        CountingChatModel model = new CountingChatModel();
+        CachingChatModel cachingModel = new CachingChatModel(model, "agent", 10, Duration.ofMinutes(1), null);
+
+        String first = cachingModel.chat("What is Forage?");
+        String second = cachingModel.chat("What is Forage?");
+
+        Assertions.assertThat(second).isEqualTo(first);
+        Assertions.assertThat(model.calls.get()).isEqualTo(1);
+        Assertions.assertThat(cachingModel.getMetrics().localHits()).isEqualTo(1);
+        Assertions.assertThat(cachingModel.getMetrics().misses()).isEqualTo(1);
+        Assertions.assertThat(cachingModel.getMetrics().hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void testSamplingParametersArePartOfTheKey() {
+        CountingChatModel model = new CountingChatModel();
+        CachingChatModel cachingModel = new CachingChatModel(model, "agent", 10, Duration.ofMinutes(1), null);
+
+        cachingModel.chat(request("Hello", 0.0));
+        cachingModel.chat(request("Hello", 0.7));
+        cachingModel.chat(request("Hello", 0.0));
+
+        Assertions.assertThat(model.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testExpiredAndEvictedResponsesAreNotServed() throws Exception {
+        CountingChatModel model = new CountingChatModel();
+        CachingChatModel expiring = new CachingChatModel(model, "agent", 10, Duration.ofMillis(20), null);
+
+        expiring.chat("Hello");
+        Thread.sleep(50);
+        expiring.chat("Hello");
+        Assertions.assertThat(model.calls.get()).isEqualTo(2);
+
+        CachingChatModel bounded = new CachingChatModel(model, "agent", 1, Duration.ofMinutes(1), null);
+        bounded.chat("first");
+        bounded.chat("second");
+        bounded.chat("first");
+        Assertions.assertThat(model.calls.get()).isEqualTo(5);
+    }
+
+    @Test
+    public void testRemoteTierIsSharedBetweenInstances() {
+        InMemoryStore store = new InMemoryStore();
+        CountingChatModel model = new CountingChatModel();
+        CachingChatModel first = new CachingChatModel(model, "agent", 10, Duration.ofMinutes(1), store);
+        CachingChatModel second = new CachingChatModel(model, "agent", 10, Duration.ofMinutes(1), store);
+        CachingChatModel otherAgent = new CachingChatModel(model, "other", 10, Duration.ofMinutes(1), store);
+
+        String answer = first.chat("What is Forage?");
+        Assertions.assertThat(second.chat("What is Forage?")).isEqualTo(answer);
+        Assertions.assertThat(second.getMetrics().remoteHits()).isEqualTo(1);
+        Assertions.assertThat(model.calls.get()).isEqualTo(1);
+
+        otherAgent.chat("What is Forage?");
+        Assertions.assertThat(model.calls.get()).isEqualTo(2);
+        Assertions.assertThat(store.values).hasSize(2);
+    }
+
+    @Test
+    public void testToolExecutionRequestsAreNotCached() {
+        InMemoryStore store = new InMemoryStore();
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel model = new ChatModel() {
+            @Override
+            public ChatResponse doChat(ChatRequest chatRequest) {
+                return ChatResponse.builder()
+                        .aiMessage(AiMessage.from(ToolExecutionRequest.builder()
+                                .id("call-" + calls.incrementAndGet())
+                                .name("weather")
+                                .arguments("{}")
+                                .build()))
+                        .build();
+            }
+        };
+        CachingChatModel cachingModel = new CachingChatModel(model, "agent", 10, Duration.ofMinutes(1), store);
+
+        ChatResponse first = cachingModel.chat(
+                ChatRequest.builder().messages(UserMessage.from("Weather?")).build());
+        ChatResponse second = cachingModel.chat(
+                ChatRequest.builder().messages(UserMessage.from("Weather?")).build());
+
+        Assertions.assertThat(calls.get()).isEqualTo(2);
+        Assertions.assertThat(second.aiMessage().toolExecutionRequests().get(0).id())
+                .isNotEqualTo(first.aiMessage().toolExecutionRequests().get(0).id());
+        Assertions.assertThat(store.values).isEmpty();
+    }
+
+    @Test
+    public void testConcurrentMissesCallTheModelOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ChatModel model = new ChatModel() {
+            @Override
+            public ChatResponse doChat(ChatRequest chatRequest) {
+                calls.incrementAndGet();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return ChatResponse.builder()
+                        .aiMessage(AiMessage.from("answer"))
+                        .build();
+            }
+        };
+        CachingChatModel cachingModel = new CachingChatModel(model, "agent", 10, Duration.ofMinutes(1), null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> answers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                answers.add(executor.submit(() -> cachingModel.chat("What is Forage?")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> answer : answers) {
+                Assertions.assertThat(answer.get(5, TimeUnit.SECONDS)).isEqualTo("answer");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assertions.assertThat(calls.get()).isEqualTo(1);
+        Assertions.assertThat(cachingModel.getMetrics().misses()).isEqualTo(1);
+        Assertions.assertThat(cachingModel.getMetrics().localHits()).isEqualTo(7);
+    }
+
+    private static ChatRequest request(String message, double temperature) {
+        return ChatRequest.builder()
+                .messages(UserMessage.from(message))
+                .temperature(temperature)
+                .build();
+    }
+
+    private static class CountingChatModel implements ChatModel {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            return ChatResponse.builder()
+                    .aiMessage(AiMessage.from("answer " + calls.incrementAndGet()))
+                    .build();
+        }
+    }
+
+    private static class InMemoryStore implements ChatResponseCacheStore {
+        private final Map<String, String> values = new ConcurrentHashMap<>();
+
+        @Override
+        public String get(String key) {
+            return values.get(key);
+        }
+
+        @Override
+        public void put(String key, String value, Duration ttl) {
+            values.put(key, value);
+        }
+    }
+}
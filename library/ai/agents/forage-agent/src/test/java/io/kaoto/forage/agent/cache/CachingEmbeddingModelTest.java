@@ -0,0 +1,153 @@
+package io.kaoto.forage.agent.cache;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CachingEmbeddingModelTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testOnlyMissingTextsAreEmbedded() {
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel();
+        CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(model, "test", 100, null, 100);
+
+        cachingModel.embed("first");
+        List<Embedding> embeddings = cachingModel
+                .embedAll(List.of(TextSegment.from("first"), TextSegment.from("second")))
+                .content();
+
+        Assertions.assertThat(model.batches).containsExactly(List.of("first"), List.of("second"));
+        Assertions.assertThat(embeddings).containsExactly(model.embedding("first"), model.embedding("second"));
+        Assertions.assertThat(cachingModel.getMetrics().hits()).isEqualTo(1);
+        Assertions.assertThat(cachingModel.getMetrics().misses()).isEqualTo(2);
+        Assertions.assertThat(cachingModel.getMetrics().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testNormalizingAnEmbeddingDoesNotChangeTheCache() {
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel();
+        CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(model, "test", 100, null, 100);
+
+        cachingModel.embed("text").content().normalize();
+        cachingModel.embed("text").content().normalize();
+
+        Assertions.assertThat(cachingModel.embed("text").content()).isEqualTo(model.embedding("text"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEmbeddingIsEvicted() {
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel();
+        CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(model, "test", 2, null, 100);
+
+        for (String text : new String[] {"a", "b", "a", "c", "b"}) {
+            cachingModel.embed(text);
+        }
+
+        Assertions.assertThat(model.batches).containsExactly(List.of("a"), List.of("b"), List.of("c"), List.of("b"));
+        Assertions.assertThat(cachingModel.getMetrics().size()).isEqualTo(2);
+    }
+
+    @Test
+    public void testEmbeddingsArePersistedAcrossRestarts() {
+        Path path = tempDir.resolve("embeddings.bin");
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel();
+        try (CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(model, "test", 100, path, 100)) {
+            cachingModel.embedAll(List.of(TextSegment.from("first"), TextSegment.from("second")));
+        }
+
+        RecordingEmbeddingModel restarted = new RecordingEmbeddingModel();
+        try (CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(restarted, "test", 100, path, 100)) {
+            Assertions.assertThat(cachingModel.embed("second").content()).isEqualTo(model.embedding("second"));
+            Assertions.assertThat(cachingModel.embed("second").content()).isEqualTo(model.embedding("second"));
+
+            Assertions.assertThat(restarted.batches).isEmpty();
+            Assertions.assertThat(cachingModel.getMetrics().persistentHits()).isEqualTo(1);
+            Assertions.assertThat(cachingModel.getMetrics().hits()).isEqualTo(1);
+            Assertions.assertThat(cachingModel.getMetrics().persistentSize()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    public void testIncompleteRecordIsDroppedOnRestart() throws Exception {
+        Path path = tempDir.resolve("embeddings.bin");
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel();
+        try (CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(model, "test", 100, path, 100)) {
+            cachingModel.embed("first");
+        }
+        Files.write(path, new byte[] {0, 0, 0, 9, 't', 'e'}, StandardOpenOption.APPEND);
+
+        RecordingEmbeddingModel restarted = new RecordingEmbeddingModel();
+        try (CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(restarted, "test", 100, path, 100)) {
+            Assertions.assertThat(cachingModel.getMetrics().persistentSize()).isEqualTo(1);
+            cachingModel.embed("second");
+        }
+
+        try (CachingEmbeddingModel cachingModel =
+                new CachingEmbeddingModel(new RecordingEmbeddingModel(), "test", 100, path, 100)) {
+            Assertions.assertThat(cachingModel.getMetrics().persistentSize()).isEqualTo(2);
+            Assertions.assertThat(cachingModel.embed("second").content()).isEqualTo(restarted.embedding("second"));
+        }
+    }
+
+    @Test
+    public void testFileKeepsTheMostRecentlyUsedEmbeddingsAndIsCompacted() throws Exception {
+        Path path = tempDir.resolve("embeddings.bin");
+        RecordingEmbeddingModel model = new RecordingEmbeddingModel();
+        long compactedSize;
+        try (CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(model, "test", 1, path, 4)) {
+            for (String text : new String[] {"a", "b", "c", "d"}) {
+                cachingModel.embed(text);
+            }
+            compactedSize = Files.size(path);
+            // Reading "a" back from the file keeps it, while "b" to "f" are dropped
+            for (String text : new String[] {"a", "e", "f", "g", "a", "h", "i"}) {
+                cachingModel.embed(text);
+            }
+
+            Assertions.assertThat(model.batches).hasSize(9);
+            Assertions.assertThat(cachingModel.getMetrics().persistentSize()).isEqualTo(4);
+            Assertions.assertThat(Files.size(path)).isLessThanOrEqualTo(2 * compactedSize);
+        }
+
+        RecordingEmbeddingModel restarted = new RecordingEmbeddingModel();
+        try (CachingEmbeddingModel cachingModel = new CachingEmbeddingModel(restarted, "test", 1, path, 4)) {
+            Assertions.assertThat(cachingModel.getMetrics().persistentSize()).isEqualTo(4);
+            for (String text : new String[] {"a", "g", "h", "i"}) {
+                Assertions.assertThat(cachingModel.embed(text).content()).isEqualTo(model.embedding(text));
+            }
+            Assertions.assertThat(restarted.batches).isEmpty();
+
+            cachingModel.embed("b");
+            Assertions.assertThat(restarted.batches).containsExactly(List.of("b"));
+        }
+    }
+
+    private static class RecordingEmbeddingModel implements EmbeddingModel {
+        private final List<List<String>> batches = new ArrayList<>();
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            batches.add(textSegments.stream().map(TextSegment::text).toList());
+            return Response.from(textSegments.stream()
+                    .map(segment -> embedding(segment.text()))
+                    .toList());
+        }
+
+        Embedding embedding(String text) {
+            return Embedding.from(new float[] {text.length(), text.hashCode() % 100, 1f});
+        }
+    }
+}
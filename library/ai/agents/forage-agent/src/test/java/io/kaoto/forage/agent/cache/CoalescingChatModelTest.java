@@ -0,0 +1,167 @@
+package io.kaoto.forage.agent.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class CoalescingChatModelTest {
+
+    private static final int CALLERS = 8;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrentIdenticalRequestsShareOneCall() throws Exception {
+        BlockingChatModel model = new BlockingChatModel();
+        CoalescingChatModel coalescingModel = new CoalescingChatModel(model, Duration.ofSeconds(10), false);
+
+        List<Future<String>> answers = submit(coalescingModel, request("What is Forage?", 0.0), CALLERS);
+        awaitWaiters(coalescingModel, model);
+        model.release.countDown();
+
+        for (Future<String> answer : answers) {
+            Assertions.assertThat(answer.get(10, TimeUnit.SECONDS)).isEqualTo("answer 1");
+        }
+        Assertions.assertThat(coalescingModel.waitingRequests()).isZero();
+        Assertions.assertThat(model.calls.get()).isEqualTo(1);
+        Assertions.assertThat(coalescingModel.calls()).isEqualTo(1);
+        Assertions.assertThat(coalescingModel.coalescedRequests()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    public void testFailureIsSharedAndNextRequestCallsAgain() throws Exception {
+        BlockingChatModel model = new BlockingChatModel();
+        model.fail = true;
+        CoalescingChatModel coalescingModel = new CoalescingChatModel(model, Duration.ofSeconds(10), false);
+
+        List<Future<String>> answers = submit(coalescingModel, request("Hello", 0.0), CALLERS);
+        awaitWaiters(coalescingModel, model);
+        model.release.countDown();
+
+        for (Future<String> answer : answers) {
+            Assertions.assertThatThrownBy(() -> answer.get(10, TimeUnit.SECONDS))
+                    .hasRootCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("model unavailable");
+        }
+        Assertions.assertThat(model.calls.get()).isEqualTo(1);
+
+        model.fail = false;
+        Assertions.assertThat(
+                        coalescingModel.chat(request("Hello", 0.0)).aiMessage().text())
+                .isEqualTo("answer 2");
+    }
+
+    @Test
+    public void testWaitIsBounded() throws Exception {
+        BlockingChatModel model = new BlockingChatModel();
+        CoalescingChatModel coalescingModel = new CoalescingChatModel(model, Duration.ofMillis(50), false);
+
+        Future<String> leader =
+                submit(coalescingModel, request("Hello", 0.0), 1).get(0);
+        awaitCalls(model, 1);
+        Future<String> follower =
+                submit(coalescingModel, request("Hello", 0.0), 1).get(0);
+        awaitCalls(model, 2);
+        model.release.countDown();
+
+        Assertions.assertThat(leader.get(10, TimeUnit.SECONDS)).isNotEqualTo(follower.get(10, TimeUnit.SECONDS));
+        Assertions.assertThat(coalescingModel.timedOutWaits()).isEqualTo(1);
+        Assertions.assertThat(coalescingModel.coalescedRequests()).isZero();
+    }
+
+    @Test
+    public void testSampledRequestsCanBeExcluded() throws Exception {
+        BlockingChatModel model = new BlockingChatModel();
+        CoalescingChatModel coalescingModel = new CoalescingChatModel(model, Duration.ofSeconds(10), true);
+
+        List<Future<String>> answers = submit(coalescingModel, request("Tell me a story", 0.8), 2);
+        answers.addAll(submit(
+                coalescingModel,
+                ChatRequest.builder()
+                        .messages(UserMessage.from("Tell me a story"))
+                        .build(),
+                2));
+        awaitCalls(model, 4);
+        model.release.countDown();
+
+        for (Future<String> answer : answers) {
+            answer.get(10, TimeUnit.SECONDS);
+        }
+        Assertions.assertThat(coalescingModel.coalescedRequests()).isZero();
+    }
+
+    private List<Future<String>> submit(ChatModel model, ChatRequest request, int callers) {
+        List<Future<String>> answers = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            answers.add(executor.submit(() -> model.chat(request).aiMessage().text()));
+        }
+        return answers;
+    }
+
+    private static void awaitWaiters(CoalescingChatModel coalescingModel, BlockingChatModel model) throws Exception {
+        awaitCalls(model, 1);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (coalescingModel.waitingRequests() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertThat(coalescingModel.waitingRequests()).isEqualTo(CALLERS - 1);
+        Assertions.assertThat(coalescingModel.calls()).isEqualTo(1);
+    }
+
+    private static void awaitCalls(BlockingChatModel model, int calls) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (model.calls.get() < calls && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertThat(model.calls.get()).isEqualTo(calls);
+    }
+
+    private static ChatRequest request(String message, double temperature) {
+        return ChatRequest.builder()
+                .messages(UserMessage.from(message))
+                .temperature(temperature)
+                .build();
+    }
+
+    private static class BlockingChatModel implements ChatModel {
+        private final AtomicInteger calls = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean fail;
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            int call = calls.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (fail) {
+                throw new IllegalStateException("model unavailable");
+            }
+            return ChatResponse.builder()
+                    .aiMessage(AiMessage.from("answer " + call))
+                    .build();
+        }
+    }
+}
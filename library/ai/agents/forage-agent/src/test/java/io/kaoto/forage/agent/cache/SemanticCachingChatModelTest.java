@@ -0,0 +1,156 @@
+package io.kaoto.forage.agent.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+
+import org.junit.jupiter.api.Test;
+
+public class SemanticCachingChatModelTest {
+
+    @Test
+    public void testParaphrasedQuestionIsServedFromTheCache() {
+        CountingChatModel model = new CountingChatModel();
+        SemanticCachingChatModel cachingModel = cachingModel(model, Duration.ofMinutes(1));
+
+        String answer = cachingModel.chat("How do I reset my password?");
+
+        Assertions.assertThat(cachingModel.chat("how do I reset my password")).isEqualTo(answer);
+        Assertions.assertThat(cachingModel.chat("How do I delete my account?")).isNotEqualTo(answer);
+        Assertions.assertThat(model.calls.get()).isEqualTo(2);
+        Assertions.assertThat(cachingModel.getMetrics().hits()).isEqualTo(1);
+    }
+
+    @Test
+    public void testChangingTheSystemPromptInvalidatesAnswers() {
+        CountingChatModel model = new CountingChatModel();
+        SemanticCachingChatModel cachingModel = cachingModel(model, Duration.ofMinutes(1));
+
+        cachingModel.chat(SystemMessage.from("You are a support agent"), UserMessage.from("Reset my password"));
+        cachingModel.chat(SystemMessage.from("You are a support agent"), UserMessage.from("Reset my password"));
+        cachingModel.chat(SystemMessage.from("You are a sales agent"), UserMessage.from("Reset my password"));
+
+        Assertions.assertThat(model.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testMultiTurnRequestsAreNotCached() {
+        CountingChatModel model = new CountingChatModel();
+        SemanticCachingChatModel cachingModel = cachingModel(model, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 2; i++) {
+            cachingModel.chat(
+                    UserMessage.from("Hello"), AiMessage.from("Hi, how can I help?"), UserMessage.from("Reset it"));
+        }
+
+        Assertions.assertThat(model.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testMultiTurnRequestsAreKeyedOnTheLastTurn() {
+        CountingChatModel model = new CountingChatModel();
+        SemanticCachingChatModel cachingModel = new SemanticCachingChatModel(
+                model,
+                new WordEmbeddingModel(),
+                new InMemoryEmbeddingStore<>(),
+                "agent",
+                true,
+                0.95,
+                100,
+                Duration.ofMinutes(1));
+
+        String answer = cachingModel
+                .chat(
+                        SystemMessage.from("You are a support agent"),
+                        UserMessage.from("Hello"),
+                        AiMessage.from("Hi, how can I help?"),
+                        UserMessage.from("How do I reset my password?"))
+                .aiMessage()
+                .text();
+
+        Assertions.assertThat(cachingModel
+                        .chat(
+                                SystemMessage.from("You are a support agent"),
+                                UserMessage.from("how do I reset my password"))
+                        .aiMessage()
+                        .text())
+                .isEqualTo(answer);
+        Assertions.assertThat(cachingModel
+                        .chat(
+                                SystemMessage.from("You are a sales agent"),
+                                UserMessage.from("How do I reset my password?"))
+                        .aiMessage()
+                        .text())
+                .isNotEqualTo(answer);
+        Assertions.assertThat(model.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void testExpiredAndInvalidatedAnswersAreNotServed() throws Exception {
+        CountingChatModel model = new CountingChatModel();
+        SemanticCachingChatModel expiring = cachingModel(model, Duration.ofMillis(20));
+
+        expiring.chat("Reset my password");
+        Thread.sleep(50);
+        expiring.chat("Reset my password");
+        Assertions.assertThat(model.calls.get()).isEqualTo(2);
+
+        SemanticCachingChatModel invalidated = cachingModel(model, Duration.ofMinutes(1));
+        invalidated.chat("Reset my password");
+        invalidated.invalidate();
+        invalidated.chat("Reset my password");
+        Assertions.assertThat(model.calls.get()).isEqualTo(4);
+    }
+
+    private static SemanticCachingChatModel cachingModel(ChatModel model, Duration ttl) {
+        return new SemanticCachingChatModel(
+                model, new WordEmbeddingModel(), new InMemoryEmbeddingStore<>(), "agent", false, 0.95, 100, ttl);
+    }
+
+    private static class CountingChatModel implements ChatModel {
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            return ChatResponse.builder()
+                    .aiMessage(AiMessage.from("answer " + calls.incrementAndGet()))
+                    .build();
+        }
+    }
+
+    /**
+     * Embeds a text as the bag of its lower case words, so texts with the same words have the same embedding.
+     */
+    private static class WordEmbeddingModel implements EmbeddingModel {
+
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> textSegments) {
+            return Response.from(textSegments.stream()
+                    .map(segment -> wordEmbedding(segment.text()))
+                    .toList());
+        }
+
+        private static Embedding wordEmbedding(String text) {
+            float[] vector = new float[64];
+            for (String word : text.toLowerCase(Locale.ROOT).split("\\W+")) {
+                if (!word.isEmpty()) {
+                    vector[Math.floorMod(word.hashCode(), vector.length)] += 1;
+                }
+            }
+            return Embedding.from(vector);
+        }
+    }
+}
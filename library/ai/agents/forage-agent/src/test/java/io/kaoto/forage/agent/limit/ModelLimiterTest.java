@@ -0,0 +1,238 @@
+package io.kaoto.forage.agent.limit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import io.kaoto.forage.agent.OpenAiTestServer;
+import io.kaoto.forage.core.exceptions.RuntimeForageException;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.exception.HttpException;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+import dev.langchain4j.model.output.TokenUsage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class ModelLimiterTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(16);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testConcurrencyIsBoundedAndExcessCallsQueue() throws Exception {
+        SlowChatModel model = new SlowChatModel(50);
+        ModelLimiter limiter = new ModelLimiter("test", 4, 0, 0, Duration.ofSeconds(30), 100);
+        LimitedChatModel limited = new LimitedChatModel(model, limiter);
+
+        List<Future<String>> answers = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            answers.add(executor.submit(() -> limited.chat("Hello")));
+        }
+        for (Future<String> answer : answers) {
+            answer.get(30, TimeUnit.SECONDS);
+        }
+
+        // The limit starts at half of the maximum and can only grow up to it
+        Assertions.assertThat(model.maxConcurrent.get()).isBetween(2, 4);
+        Assertions.assertThat(limiter.getMetrics().admitted()).isEqualTo(16);
+        Assertions.assertThat(limiter.getMetrics().rejected()).isZero();
+        Assertions.assertThat(limiter.getMetrics().queueTime()).isPositive();
+        Assertions.assertThat(limiter.getMetrics().inFlight()).isZero();
+    }
+
+    @Test
+    public void testStreamedCallsHoldTheirPermitUntilTheyComplete() throws Exception {
+        ModelLimiter limiter = new ModelLimiter("test", 4, 0, 0, Duration.ofSeconds(30), 100);
+        try (OpenAiTestServer server = new OpenAiTestServer("Forage ", "is ", "great")) {
+            LimitedStreamingChatModel limited = new LimitedStreamingChatModel(server.streamingChatModel(), limiter);
+
+            CompletableFuture<Integer> inFlightOnCompletion = new CompletableFuture<>();
+            limited.chat("Hello", new StreamingChatResponseHandler() {
+                @Override
+                public void onCompleteResponse(ChatResponse completeResponse) {
+                    inFlightOnCompletion.complete(limiter.getMetrics().inFlight());
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    inFlightOnCompletion.completeExceptionally(error);
+                }
+            });
+
+            // The permit is released before the caller is notified
+            Assertions.assertThat(inFlightOnCompletion.get(10, TimeUnit.SECONDS))
+                    .isZero();
+            Assertions.assertThat(limiter.getMetrics().admitted()).isEqualTo(1);
+
+            server.failWith("overloaded");
+            CompletableFuture<Throwable> failure = new CompletableFuture<>();
+            limited.chat("Hello", new StreamingChatResponseHandler() {
+                @Override
+                public void onCompleteResponse(ChatResponse completeResponse) {
+                    failure.complete(null);
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                    failure.complete(error);
+                }
+            });
+            Assertions.assertThat(failure.get(10, TimeUnit.SECONDS)).hasMessageContaining("overloaded");
+            Assertions.assertThat(limiter.getMetrics().inFlight()).isZero();
+        }
+    }
+
+    @Test
+    public void testRequestsPerSecondAreSpread() {
+        ModelLimiter limiter = new ModelLimiter("test", 8, 20, 0, Duration.ofSeconds(30), 100);
+        LimitedChatModel limited = new LimitedChatModel(new SlowChatModel(0), limiter);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 30; i++) {
+            limited.chat("Hello");
+        }
+
+        // The first 20 calls use the burst, the next 10 are spread over half a second
+        Assertions.assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThan(Duration.ofMillis(400));
+    }
+
+    @Test
+    public void testTokenBucketIsCorrectedWithReportedUsage() {
+        ModelLimiter limiter = new ModelLimiter("test", 8, 0, 6000, Duration.ofSeconds(30), 100);
+        SlowChatModel model = new SlowChatModel(0);
+        model.usedTokens = 1000;
+        LimitedChatModel limited = new LimitedChatModel(model, limiter);
+
+        limited.chat("Hello");
+
+        Assertions.assertThat(limiter.getMetrics().availableTokens()).isBetween(5000L, 5010L);
+    }
+
+    @Test
+    public void testQueuedCallFailsAfterDeadline() {
+        ModelLimiter limiter = new ModelLimiter("test", 8, 0, 100, Duration.ofMillis(100), 100);
+        SlowChatModel model = new SlowChatModel(0);
+        model.usedTokens = 100;
+        LimitedChatModel limited = new LimitedChatModel(model, limiter);
+
+        limited.chat("Hello");
+
+        Assertions.assertThatThrownBy(() -> limited.chat("Hello")).isInstanceOf(RuntimeForageException.class);
+        Assertions.assertThat(limiter.getMetrics().rejected()).isEqualTo(1);
+        Assertions.assertThat(model.calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void testOverloadHalvesTheConcurrencyLimit() {
+        ModelLimiter limiter = new ModelLimiter("test", 16, 0, 0, Duration.ofSeconds(1), 100);
+        SlowChatModel model = new SlowChatModel(0);
+        model.failure = new RateLimitException("Too many requests");
+        LimitedChatModel limited = new LimitedChatModel(model, limiter);
+
+        Assertions.assertThatThrownBy(() -> limited.chat("Hello")).isInstanceOf(RateLimitException.class);
+        Assertions.assertThat(limiter.getMetrics().concurrencyLimit()).isEqualTo(4);
+
+        model.failure = new RuntimeException(new HttpException(503, "Service unavailable"));
+        Assertions.assertThatThrownBy(() -> limited.chat("Hello")).isInstanceOf(RuntimeException.class);
+        Assertions.assertThat(limiter.getMetrics().concurrencyLimit()).isEqualTo(2);
+        Assertions.assertThat(limiter.getMetrics().throttled()).isEqualTo(2);
+
+        model.failure = new IllegalArgumentException("Bad request");
+        Assertions.assertThatThrownBy(() -> limited.chat("Hello")).isInstanceOf(IllegalArgumentException.class);
+        Assertions.assertThat(limiter.getMetrics().concurrencyLimit()).isEqualTo(2);
+        Assertions.assertThat(limiter.getMetrics().inFlight()).isZero();
+    }
+
+    @Test
+    public void testLongAnswersDoNotReduceTheConcurrencyLimit() {
+        ModelLimiter limiter = new ModelLimiter("test", 16, 0, 0, Duration.ofSeconds(1), 2);
+
+        // Short answers establish the latency per output token, then answers ten times longer take ten times longer
+        for (int i = 0; i < 20; i++) {
+            limiter.release(new ModelLimiter.Permit(0, System.nanoTime() - 10_000_000L), -1, 10, false);
+        }
+        for (int i = 0; i < 20; i++) {
+            limiter.release(new ModelLimiter.Permit(0, System.nanoTime() - 100_000_000L), -1, 100, false);
+        }
+        Assertions.assertThat(limiter.getMetrics().concurrencyLimit()).isEqualTo(8);
+
+        // The same answers getting slower do
+        for (int i = 0; i < 20; i++) {
+            limiter.release(new ModelLimiter.Permit(0, System.nanoTime() - 500_000_000L), -1, 100, false);
+        }
+        Assertions.assertThat(limiter.getMetrics().concurrencyLimit()).isLessThan(8);
+    }
+
+    @Test
+    public void testLimitersAreSharedPerProvider() {
+        ModelLimiter first = ModelLimiters.forProvider(
+                "openai",
+                "https://api.example.com",
+                "key-1",
+                "gpt",
+                name -> new ModelLimiter(name, 4, 0, 0, Duration.ofSeconds(1), 2));
+        ModelLimiter second = ModelLimiters.forProvider(
+                "openai",
+                "https://api.example.com",
+                "key-1",
+                "gpt",
+                name -> new ModelLimiter(name, 8, 0, 0, Duration.ofSeconds(1), 2));
+        ModelLimiter otherKey = ModelLimiters.forProvider(
+                "openai",
+                "https://api.example.com",
+                "key-2",
+                "gpt",
+                name -> new ModelLimiter(name, 8, 0, 0, Duration.ofSeconds(1), 2));
+
+        Assertions.assertThat(second).isSameAs(first);
+        Assertions.assertThat(otherKey).isNotSameAs(first);
+    }
+
+    private static class SlowChatModel implements ChatModel {
+        private final long delayMillis;
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger concurrent = new AtomicInteger();
+        private final AtomicInteger maxConcurrent = new AtomicInteger();
+        private volatile int usedTokens;
+        private volatile RuntimeException failure;
+
+        private SlowChatModel(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            calls.incrementAndGet();
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                concurrent.decrementAndGet();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return ChatResponse.builder()
+                    .aiMessage(AiMessage.from("answer"))
+                    .tokenUsage(usedTokens > 0 ? new TokenUsage(usedTokens) : null)
+                    .build();
+        }
+    }
+}
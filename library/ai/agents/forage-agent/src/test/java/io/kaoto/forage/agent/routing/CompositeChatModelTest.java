@@ -0,0 +1,216 @@
+package io.kaoto.forage.agent.routing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import io.kaoto.forage.agent.OpenAiTestServer;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.exception.RateLimitException;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.chat.response.StreamingChatResponseHandler;
+
+import org.junit.jupiter.api.Test;
+
+public class CompositeChatModelTest {
+
+    @Test
+    public void testFailoverToNextMember() {
+        FakeChatModel failing = new FakeChatModel("primary", 0);
+        failing.failure = new RateLimitException("Too many requests");
+        FakeChatModel backup = new FakeChatModel("backup", 0);
+        CompositeChatModel composite = new CompositeChatModel(
+                List.of(new CompositeChatModel.Member("primary", failing, 1), member(backup, 0)), 0);
+
+        Assertions.assertThat(composite.chat("Hello")).isEqualTo("backup");
+        Assertions.assertThat(composite.failovers()).isEqualTo(1);
+        Assertions.assertThat(composite.getMembers().get(0).failures()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAllMembersFailing() {
+        FakeChatModel first = new FakeChatModel("first", 0);
+        first.failure = new IllegalStateException("first down");
+        FakeChatModel second = new FakeChatModel("second", 0);
+        second.failure = new IllegalStateException("second down");
+        CompositeChatModel composite = new CompositeChatModel(List.of(member(first, 1), member(second, 1)), 0.9);
+
+        Assertions.assertThatThrownBy(() -> composite.chat("Hello"))
+                .isInstanceOf(IllegalStateException.class)
+                .satisfies(e -> Assertions.assertThat(e.getSuppressed()).hasSize(1));
+    }
+
+    @Test
+    public void testRequestsAreBalancedByWeight() {
+        FakeChatModel heavy = new FakeChatModel("heavy", 0);
+        FakeChatModel light = new FakeChatModel("light", 0);
+        CompositeChatModel composite = new CompositeChatModel(List.of(member(heavy, 3), member(light, 1)), 0);
+
+        for (int i = 0; i < 4000; i++) {
+            composite.chat("Hello");
+        }
+
+        Assertions.assertThat(heavy.calls.get()).isBetween(2700, 3300);
+        Assertions.assertThat(light.calls.get()).isEqualTo(4000 - heavy.calls.get());
+    }
+
+    @Test
+    public void testSlowMemberIsHedgedOnceItsLatencyIsLearned() throws Exception {
+        FakeChatModel primary = new FakeChatModel("primary", 20);
+        FakeChatModel secondary = new FakeChatModel("secondary", 0);
+        CompositeChatModel composite = new CompositeChatModel(
+                List.of(new CompositeChatModel.Member("primary", primary, 1), member(secondary, 0)), 0.9);
+
+        for (int i = 0; i < CompositeChatModel.MIN_HEDGE_SAMPLES; i++) {
+            Assertions.assertThat(composite.chat("Hello")).isEqualTo("primary");
+        }
+        Assertions.assertThat(composite.hedgedRequests()).isZero();
+
+        primary.delayMillis = 2000;
+        long start = System.nanoTime();
+        Assertions.assertThat(composite.chat("Hello")).isEqualTo("secondary");
+        Assertions.assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        Assertions.assertThat(composite.hedgedRequests()).isEqualTo(1);
+
+        // The losing call is cancelled rather than left running
+        Assertions.assertThat(primary.interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    public void testMemberThrowingAnErrorFailsOver() {
+        FakeChatModel broken = new FakeChatModel("broken", 0);
+        broken.error = new StackOverflowError();
+        FakeChatModel backup = new FakeChatModel("backup", 0);
+        CompositeChatModel composite = new CompositeChatModel(
+                List.of(new CompositeChatModel.Member("broken", broken, 1), member(backup, 0)), 0.9);
+
+        Assertions.assertThat(composite.chat("Hello")).isEqualTo("backup");
+        Assertions.assertThat(composite.failovers()).isEqualTo(1);
+        Assertions.assertThat(composite.getMembers().get(0).failures()).isEqualTo(1);
+    }
+
+    @Test
+    public void testStreamingFailsOverBeforeTheFirstChunk() throws Exception {
+        try (OpenAiTestServer failing = new OpenAiTestServer("unused").failWith("primary down");
+                OpenAiTestServer backup = new OpenAiTestServer("Forage ", "is ", "great")) {
+            CompositeStreamingChatModel composite = new CompositeStreamingChatModel(List.of(
+                    new CompositeStreamingChatModel.Member("primary", failing.streamingChatModel(), 1),
+                    new CompositeStreamingChatModel.Member("backup", backup.streamingChatModel(), 0)));
+
+            StreamedResponse response = new StreamedResponse();
+            composite.chat("Hello", response);
+
+            Assertions.assertThat(response.completed.get(10, TimeUnit.SECONDS)).isEqualTo("Forage is great");
+            Assertions.assertThat(response.chunks).containsExactly("Forage ", "is ", "great");
+            Assertions.assertThat(composite.failovers()).isEqualTo(1);
+            Assertions.assertThat(composite.getMembers().get(0).failures()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testStreamingDoesNotFailOverOnceStarted() throws Exception {
+        StreamingChatModel interrupted = new StreamingChatModel() {
+            @Override
+            public void doChat(ChatRequest chatRequest, StreamingChatResponseHandler handler) {
+                handler.onPartialResponse("Forage ");
+                handler.onError(new IllegalStateException("connection lost"));
+            }
+        };
+        try (OpenAiTestServer backup = new OpenAiTestServer("unused")) {
+            CompositeStreamingChatModel composite = new CompositeStreamingChatModel(List.of(
+                    new CompositeStreamingChatModel.Member("primary", interrupted, 1),
+                    new CompositeStreamingChatModel.Member("backup", backup.streamingChatModel(), 0)));
+
+            StreamedResponse response = new StreamedResponse();
+            composite.chat("Hello", response);
+
+            Assertions.assertThatThrownBy(() -> response.completed.get(10, TimeUnit.SECONDS))
+                    .hasRootCauseMessage("connection lost");
+            Assertions.assertThat(response.chunks).containsExactly("Forage ");
+            Assertions.assertThat(backup.requests()).isZero();
+        }
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertThat(histogram.percentile(0.5)).isNull();
+
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        // Buckets grow by 20%, so percentiles are rounded up by at most that much
+        Assertions.assertThat(histogram.percentile(0.5).toMillis()).isBetween(50L, 60L);
+        Assertions.assertThat(histogram.percentile(0.95).toMillis()).isBetween(95L, 114L);
+
+        for (int i = 0; i < LatencyHistogram.MAX_SAMPLES * 4; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(500));
+        }
+        Assertions.assertThat(histogram.percentile(0.5).toMillis()).isBetween(500L, 600L);
+        Assertions.assertThat(histogram.count()).isLessThan(LatencyHistogram.MAX_SAMPLES);
+    }
+
+    private static class StreamedResponse implements StreamingChatResponseHandler {
+        private final List<String> chunks = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<String> completed = new CompletableFuture<>();
+
+        @Override
+        public void onPartialResponse(String partialResponse) {
+            chunks.add(partialResponse);
+        }
+
+        @Override
+        public void onCompleteResponse(ChatResponse completeResponse) {
+            completed.complete(completeResponse.aiMessage().text());
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            completed.completeExceptionally(error);
+        }
+    }
+
+    private static CompositeChatModel.Member member(FakeChatModel model, int weight) {
+        return new CompositeChatModel.Member(model.answer, model, weight);
+    }
+
+    private static class FakeChatModel implements ChatModel {
+        private final String answer;
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile long delayMillis;
+        private volatile RuntimeException failure;
+        private volatile Error error;
+        private final CountDownLatch interrupted = new CountDownLatch(1);
+
+        private FakeChatModel(String answer, long delayMillis) {
+            this.answer = answer;
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                Thread.currentThread().interrupt();
+            }
+            if (error != null) {
+                throw error;
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return ChatResponse.builder().aiMessage(AiMessage.from(answer)).build();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package io.kaoto.forage.agent.simple;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.langchain4j.agent.api.AiAgentBody;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.assertj.core.api.Assertions;
+import io.kaoto.forage.agent.ForageAgentConfiguration;
+import io.kaoto.forage.agent.OpenAiTestServer;
+import io.kaoto.forage.agent.StreamingAgent;
+import io.kaoto.forage.agent.cache.CachingChatModel;
+import io.kaoto.forage.agent.cache.CachingStreamingChatModel;
+import dev.langchain4j.data.message.UserMessage;
+
+import org.junit.jupiter.api.Test;
+
+public class SimpleAgentStreamingTest {
+
+    @Test
+    public void testChunksAreStreamedInOrder() throws Exception {
+        try (OpenAiTestServer server = new OpenAiTestServer("Forage ", "is ", "great")) {
+            SimpleAgent agent = new SimpleAgent();
+            agent.configure(new ForageAgentConfiguration().withStreamingChatModel(server.streamingChatModel()));
+
+            List<String> chunks = new ArrayList<>();
+            String answer = agent.stream(new AiAgentBody<>("What is Forage?"), null, chunks::add);
+
+            Assertions.assertThat(agent.isStreaming()).isTrue();
+            Assertions.assertThat(chunks).containsExactly("Forage ", "is ", "great");
+            Assertions.assertThat(answer).isEqualTo("Forage is great");
+        }
+    }
+
+    @Test
+    public void testPublisherStartsTheModelOnSubscription() throws Exception {
+        try (OpenAiTestServer server = new OpenAiTestServer("Forage ", "is ", "great")) {
+            SimpleAgent agent = new SimpleAgent();
+            agent.configure(new ForageAgentConfiguration().withStreamingChatModel(server.streamingChatModel()));
+
+            Flow.Publisher<String> publisher = agent.stream(new AiAgentBody<>("What is Forage?"), null);
+            Assertions.assertThat(server.requests()).isZero();
+
+            CompletableFuture<List<String>> received = new CompletableFuture<>();
+            publisher.subscribe(new Flow.Subscriber<>() {
+                private final List<String> chunks = new ArrayList<>();
+
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                    subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(String item) {
+                    chunks.add(item);
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                    received.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    received.complete(chunks);
+                }
+            });
+
+            Assertions.assertThat(received.get(10, TimeUnit.SECONDS)).containsExactly("Forage ", "is ", "great");
+            Assertions.assertThat(server.requests()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    public void testModelErrorIsPropagated() throws Exception {
+        try (OpenAiTestServer server = new OpenAiTestServer("unused").failWith("model down")) {
+            SimpleAgent agent = new SimpleAgent();
+            agent.configure(new ForageAgentConfiguration().withStreamingChatModel(server.streamingChatModel()));
+
+            Assertions.assertThatThrownBy(() -> agent.stream(new AiAgentBody<>("Hello"), null, chunk -> {}))
+                    .isInstanceOf(RuntimeException.class)
+                    .hasMessageContaining("model down");
+        }
+    }
+
+    @Test
+    public void testStreamingRequiresStreamingModel() {
+        SimpleAgent agent = new SimpleAgent();
+        agent.configure(new ForageAgentConfiguration());
+
+        Assertions.assertThat(agent.isStreaming()).isFalse();
+        Assertions.assertThatThrownBy(() -> agent.stream(new AiAgentBody<>("Hello"), null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testRouteCallsStreamToTheEndpoint() throws Exception {
+        try (OpenAiTestServer server = new OpenAiTestServer("Forage ", "is ", "great");
+                CamelContext camelContext = new DefaultCamelContext()) {
+            camelContext.addRoutes(new RouteBuilder() {
+                @Override
+                public void configure() {
+                    from("direct:chunks").to("mock:chunks");
+                }
+            });
+            camelContext.start();
+            MockEndpoint chunks = camelContext.getEndpoint("mock:chunks", MockEndpoint.class);
+            chunks.expectedBodiesReceived("Forage ", "is ", "great");
+
+            SimpleAgent agent = new SimpleAgent();
+            agent.configure(new ForageAgentConfiguration()
+                    .withStreamingChatModel(server.streamingChatModel())
+                    .withStreamingEndpoint("direct:chunks"));
+
+            // As the langchain4j-agent producer does
+            Exchange exchange = new DefaultExchange(camelContext);
+            exchange.getIn().setBody("What is Forage?");
+            exchange.getIn().setHeader("conversation", "42");
+            String answer = agent.chat(agent.processBody(exchange.getIn().getBody(), exchange), null);
+
+            Assertions.assertThat(answer).isEqualTo("Forage is great");
+            chunks.assertIsSatisfied(5000);
+            for (int i = 0; i < 3; i++) {
+                Exchange chunk = chunks.getReceivedExchanges().get(i);
+                Assertions.assertThat(chunk.getIn().getHeader(StreamingAgent.CHUNK_INDEX))
+                        .isEqualTo(i);
+                Assertions.assertThat(chunk.getIn().getHeader("conversation")).isEqualTo("42");
+            }
+            agent.close();
+        }
+    }
+
+    @Test
+    public void testStreamedResponsesShareTheResponseCache() throws Exception {
+        try (OpenAiTestServer server = new OpenAiTestServer("Forage ", "is ", "great")) {
+            CachingChatModel cache = new CachingChatModel(server.chatModel(), "agent", 10, Duration.ofMinutes(1), null);
+            SimpleAgent agent = new SimpleAgent();
+            agent.configure(new ForageAgentConfiguration()
+                    .withStreamingChatModel(
+                            new CachingStreamingChatModel(server.streamingChatModel(), List.of(cache))));
+
+            List<String> first = new ArrayList<>();
+            agent.stream(new AiAgentBody<>("What is Forage?"), null, first::add);
+            List<String> second = new ArrayList<>();
+            String answer = agent.stream(new AiAgentBody<>("What is Forage?"), null, second::add);
+
+            Assertions.assertThat(first).containsExactly("Forage ", "is ", "great");
+            Assertions.assertThat(second).containsExactly("Forage is great");
+            Assertions.assertThat(answer).isEqualTo("Forage is great");
+            Assertions.assertThat(cache.chat(UserMessage.from("What is Forage?"))
+                            .aiMessage()
+                            .text())
+                    .isEqualTo("Forage is great");
+            Assertions.assertThat(server.requests()).isEqualTo(1);
+        }
+    }
+}
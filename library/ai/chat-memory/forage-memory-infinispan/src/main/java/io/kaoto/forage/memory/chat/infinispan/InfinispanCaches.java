@@ -0,0 +1,34 @@
+package io.kaoto.forage.memory.chat.infinispan;
+
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Looks up the named caches used by the Infinispan backed Forage beans, creating them when missing.
+ */
+final class InfinispanCaches {
+    private static final Logger LOG = LoggerFactory.getLogger(InfinispanCaches.class);
+
+    private InfinispanCaches() {}
+
+    /**
+     * Returns the named cache, creating it with the default template if the server does not have it.
+     *
+     * @throws IllegalArgumentException if the cache can neither be found nor created
+     */
+    static <K, V> RemoteCache<K, V> getOrCreate(RemoteCacheManager cacheManager, String cacheName) {
+        try {
+            RemoteCache<K, V> cache = cacheManager.getCache(cacheName);
+            if (cache == null) {
+                LOG.info("Cache '{}' not found, creating it with default template", cacheName);
+                cacheManager.administration().createCache(cacheName, (String) null);
+                cache = cacheManager.getCache(cacheName);
+            }
+            return cache;
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Failed to get or create named cache %s".formatted(cacheName), e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package io.kaoto.forage.memory.chat.infinispan;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.infinispan.client.hotrod.Flag;
+import org.infinispan.client.hotrod.MetadataValue;
+import org.infinispan.client.hotrod.RemoteCache;
+import io.kaoto.forage.core.ai.memory.DistributedChatMemoryLock;
+
+/**
+ * Chat memory lock held in an Infinispan cache of its own, apart from the chat memories, shared by all the
+ * instances using it. The lock keys are the memory ids.
+ *
+ * <p>The lock is acquired with a {@code putIfAbsent} expiring after the lease time, and released with a
+ * {@code removeWithVersion} of the version read along with the token, so that a lock that expired and was
+ * acquired by another instance is left alone.
+ */
+public class InfinispanChatMemoryLock extends DistributedChatMemoryLock {
+
+    private final RemoteCache<String, String> cache;
+
+    public InfinispanChatMemoryLock(
+            RemoteCache<String, String> cache, int stripes, Duration leaseTime, Duration timeout) {
+        super("", stripes, leaseTime, timeout);
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean tryAcquire(String key, String token, Duration leaseTime) {
+        return cache.withFlags(Flag.FORCE_RETURN_VALUE)
+                        .putIfAbsent(key, token, leaseTime.toMillis(), TimeUnit.MILLISECONDS)
+                == null;
+    }
+
+    @Override
+    protected void release(String key, String token) {
+        MetadataValue<String> lock = cache.getWithMetadata(key);
+        if (lock != null && token.equals(lock.getValue())) {
+            cache.removeWithVersion(key, lock.getVersion());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.kaoto.forage.memory.chat.infinispan;
+
+import io.kaoto.forage.core.ai.ChatMemoryStoreProvider;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Exposes the Infinispan store of the Infinispan chat memory.
+ */
+public class InfinispanChatMemoryStoreProvider implements ChatMemoryStoreProvider {
+
+    @Override
+    public String kind() {
+        return "infinispan";
+    }
+
+    @Override
+    public ChatMemoryStore create(String id) {
+        return InfinispanMemoryBeanProvider.chatMemoryStore();
+    }
+}
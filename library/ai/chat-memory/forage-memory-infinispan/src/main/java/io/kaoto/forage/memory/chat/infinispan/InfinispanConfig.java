@@ -1,18 +1,24 @@
 package io.kaoto.forage.memory.chat.infinispan;
 
+import java.time.Duration;
 import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.util.config.AbstractConfig;
 
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.ASYNC;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.CACHE_NAME;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.CONNECTION_TIMEOUT;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.LIFESPAN;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.MARSHALLING;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.MAX_IDLE;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.MAX_RETRIES;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.PASSWORD;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.POOL_MAX_ACTIVE;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.POOL_MAX_WAIT;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.POOL_MIN_IDLE;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.REALM;
+import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.RESPONSE_CACHE_NAME;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.SASL_MECHANISM;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.SERVER_LIST;
 import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.SOCKET_TIMEOUT;
@@ -29,6 +35,7 @@ import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.USE
  * <ul>
  *   <li><code>infinispan.server-list</code> - Comma-separated list of Infinispan servers (default: localhost:11222) - required</li>
  *   <li><code>infinispan.cache-name</code> - Name of the cache for storing chat messages (default: chat-memory) - required</li>
+ *   <li><code>infinispan.response-cache-name</code> - Name of the cache for storing the agent responses (default: forage-response-cache)</li>
  *   <li><code>infinispan.username</code> - Username for authentication (optional)</li>
  *   <li><code>infinispan.password</code> - Password for authentication (optional)</li>
  *   <li><code>infinispan.realm</code> - Security realm (default: default)</li>
@@ -38,6 +45,10 @@ import static io.kaoto.forage.memory.chat.infinispan.InfinispanConfigEntries.USE
  *   <li><code>infinispan.max-retries</code> - Maximum number of connection retries (default: 3)</li>
  *   <li><code>infinispan.pool.max-active</code> - Maximum active connections per server (default: 20)</li>
  *   <li><code>infinispan.pool.max-wait</code> - Maximum time to wait for connection in milliseconds (default: 3000)</li>
+ *   <li><code>infinispan.marshalling</code> - Format of the stored conversations, protostream or json (default: protostream)</li>
+ *   <li><code>infinispan.lifespan</code> - Expiration of the conversations after their last update (optional)</li>
+ *   <li><code>infinispan.max-idle</code> - Expiration of the conversations after their last access (optional)</li>
+ *   <li><code>infinispan.async</code> - Whether updates use asynchronous Hot Rod operations (default: false)</li>
  * </ul>
  *
  * <p><strong>Configuration Sources (in order of precedence):</strong>
@@ -126,6 +137,15 @@ public class InfinispanConfig extends AbstractConfig {
         return get(CACHE_NAME).orElse(CACHE_NAME.defaultValue());
     }
 
+    /**
+     * Returns the name of the Infinispan cache to use for storing the agent responses.
+     *
+     * @return the cache name, defaults to "forage-response-cache" if not configured
+     */
+    public String responseCacheName() {
+        return get(RESPONSE_CACHE_NAME).orElse(RESPONSE_CACHE_NAME.defaultValue());
+    }
+
     /**
      * Returns the username for Infinispan authentication.
      *
@@ -270,6 +290,60 @@ public class InfinispanConfig extends AbstractConfig {
                 .orElse(Integer.parseInt(POOL_MAX_WAIT.defaultValue()));
     }
 
+    /**
+     * Returns whether the conversations are stored with the protostream chat memory schema rather than as JSON.
+     *
+     * @return {@code true} unless the marshalling is set to json
+     * @throws IllegalArgumentException if the configured marshalling is neither protostream nor json
+     */
+    public boolean protostream() {
+        String marshalling = get(MARSHALLING).orElse(MARSHALLING.defaultValue()).trim();
+        if ("protostream".equalsIgnoreCase(marshalling)) {
+            return true;
+        }
+        if ("json".equalsIgnoreCase(marshalling)) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid Infinispan marshalling value: " + marshalling);
+    }
+
+    /**
+     * Returns how long a conversation is kept after its last update.
+     *
+     * @return the lifespan, or {@code null} if the conversations do not expire
+     * @throws IllegalArgumentException if the configured value is not a valid ISO-8601 duration
+     */
+    public Duration lifespan() {
+        return get(LIFESPAN).map(value -> parseDuration(value, "lifespan")).orElse(null);
+    }
+
+    /**
+     * Returns how long a conversation is kept after it was last read or updated.
+     *
+     * @return the maximum idle time, or {@code null} if the conversations do not expire
+     * @throws IllegalArgumentException if the configured value is not a valid ISO-8601 duration
+     */
+    public Duration maxIdle() {
+        return get(MAX_IDLE).map(value -> parseDuration(value, "max-idle")).orElse(null);
+    }
+
+    /**
+     * Returns whether conversation updates are sent with asynchronous Hot Rod operations.
+     *
+     * @return {@code true} if updates do not wait for the server, defaults to {@code false}
+     */
+    public boolean async() {
+        return get(ASYNC).map(Boolean::parseBoolean).orElse(Boolean.parseBoolean(ASYNC.defaultValue()));
+    }
+
+    private static Duration parseDuration(String value, String name) {
+        try {
+            return Duration.parse(value.trim());
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid Infinispan " + name + " value: " + value, e);
+        }
+    }
+
     /**
      * Returns the unique name identifier for this Infinispan memory configuration module.
      *
@@ -23,6 +23,15 @@ public final class InfinispanConfigEntries extends ConfigEntries {
             "string",
             true,
             ConfigTag.COMMON);
+    public static final ConfigModule RESPONSE_CACHE_NAME = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.response-cache-name",
+            "Name of the cache for storing the agent responses, kept apart from the chat messages",
+            "Response Cache Name",
+            "forage-response-cache",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
     public static final ConfigModule USERNAME = ConfigModule.of(
             InfinispanConfig.class,
             "forage.infinispan.username",
@@ -113,12 +122,49 @@ public final class InfinispanConfigEntries extends ConfigEntries {
             "integer",
             false,
             ConfigTag.ADVANCED);
+    public static final ConfigModule MARSHALLING = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.marshalling",
+            "Format of the stored conversations: 'protostream' or 'json'. JSON conversations stay readable either way",
+            "Marshalling",
+            "protostream",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule LIFESPAN = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.lifespan",
+            "How long a conversation is kept after its last update as an ISO-8601 duration (kept forever if not set)",
+            "Lifespan",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule MAX_IDLE = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.max-idle",
+            "How long a conversation is kept after it was last read or updated as an ISO-8601 duration (kept forever if not set)",
+            "Max Idle",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule ASYNC = ConfigModule.of(
+            InfinispanConfig.class,
+            "forage.infinispan.async",
+            "Whether conversation updates are sent with asynchronous Hot Rod operations instead of waiting for the server",
+            "Async",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
 
     static {
         initModules(
                 InfinispanConfigEntries.class,
                 SERVER_LIST,
                 CACHE_NAME,
+                RESPONSE_CACHE_NAME,
                 USERNAME,
                 PASSWORD,
                 REALM,
@@ -128,6 +174,10 @@ public final class InfinispanConfigEntries extends ConfigEntries {
                 MAX_RETRIES,
                 POOL_MAX_ACTIVE,
                 POOL_MIN_IDLE,
-                POOL_MAX_WAIT);
+                POOL_MAX_WAIT,
+                MARSHALLING,
+                LIFESPAN,
+                MAX_IDLE,
+                ASYNC);
     }
 }
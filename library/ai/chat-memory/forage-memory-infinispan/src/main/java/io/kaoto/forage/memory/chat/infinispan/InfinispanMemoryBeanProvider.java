@@ -1,14 +1,24 @@
 package io.kaoto.forage.memory.chat.infinispan;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.infinispan.client.hotrod.configuration.ConfigurationBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
+import io.kaoto.forage.core.ai.memory.ChatMemoryLock;
+import io.kaoto.forage.core.ai.memory.ChatMemoryLockConfig;
+import io.kaoto.forage.core.ai.memory.LockingChatMemory;
+import io.kaoto.forage.core.ai.memory.StripedChatMemoryLock;
+import io.kaoto.forage.core.ai.memory.WriteBehindChatMemoryStore;
+import io.kaoto.forage.core.ai.memory.WriteBehindConfig;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.memory.chat.infinispan.proto.ChatMemorySchema;
+import io.kaoto.forage.memory.chat.infinispan.proto.ChatMemorySchemaImpl;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 
 /**
  * Infinispan-based implementation of {@link ChatMemoryBeanProvider} that creates chat memory providers
@@ -23,6 +33,7 @@ import dev.langchain4j.memory.chat.MessageWindowChatMemory;
  *   <li>Persistent chat memory storage using Infinispan</li>
  *   <li>Configurable message window size for memory management</li>
  *   <li>Distributed caching for scalability and high availability</li>
+ *   <li>Protostream marshalling of the conversations with a registered chat memory schema</li>
  *   <li>Automatic discovery via ServiceLoader mechanism</li>
  *   <li>Thread-safe memory provider creation</li>
  * </ul>
@@ -51,10 +62,16 @@ public class InfinispanMemoryBeanProvider implements ChatMemoryBeanProvider {
     private static final Logger LOG = LoggerFactory.getLogger(InfinispanMemoryBeanProvider.class);
     private static final int DEFAULT_MAX_MESSAGES = 10;
 
+    private static final String PROTOBUF_METADATA_CACHE = "___protobuf_metadata";
+    private static final String LOCK_CACHE_SUFFIX = "-locks";
+
     private static final InfinispanConfig CONFIG = new InfinispanConfig();
     private static final RemoteCacheManager CACHE_MANAGER;
     private static RemoteCache<String, String> CACHE;
-    private static final PersistentInfinispanStore INFINISPAN_STORE;
+    private static final PersistentInfinispanStore PERSISTENT_STORE;
+    private static final ChatMemoryStore INFINISPAN_STORE;
+    private static final ChatMemoryLock LOCK;
+    private static final AtomicBoolean CLOSED = new AtomicBoolean();
 
     static {
         LOG.info(
@@ -65,27 +82,21 @@ public class InfinispanMemoryBeanProvider implements ChatMemoryBeanProvider {
         try {
             // Initialize Infinispan cache manager with configuration from InfinispanConfig
             final ConfigurationBuilder builder = CONFIG.toConfigurationBuilder();
+            final ChatMemorySchema schema = new ChatMemorySchemaImpl();
+            builder.addContextInitializer(schema);
 
             CACHE_MANAGER = new RemoteCacheManager(builder.build());
 
             // Start the cache manager
             CACHE_MANAGER.start();
 
-            // Get or create the cache for chat messages
-            String cacheName = CONFIG.cacheName();
-            try {
-                // Try to get the named cache first
-                CACHE = CACHE_MANAGER.getCache(cacheName);
-                if (CACHE == null) {
-                    LOG.info("Cache '{}' not found, creating it with default template", cacheName);
-                    // Create cache using the default template
-                    CACHE_MANAGER.administration().createCache(cacheName, (String) null);
-                    CACHE = CACHE_MANAGER.getCache(cacheName);
-                }
-            } catch (Exception e) {
-                throw new IllegalArgumentException("Failed to get or create named cache %s".formatted(cacheName), e);
+            if (CONFIG.protostream()) {
+                registerSchema(schema);
             }
 
+            // Get or create the cache for chat messages
+            CACHE = InfinispanCaches.getOrCreate(CACHE_MANAGER, CONFIG.cacheName());
+
             // Test the connection by performing a simple operation
             CACHE.size(); // This will throw an exception if connection fails
             LOG.info(
@@ -93,7 +104,13 @@ public class InfinispanMemoryBeanProvider implements ChatMemoryBeanProvider {
                     CONFIG.serverList(),
                     CONFIG.cacheName());
 
-            INFINISPAN_STORE = new PersistentInfinispanStore(CACHE);
+            PERSISTENT_STORE = new PersistentInfinispanStore(
+                    CACHE, CONFIG.protostream(), CONFIG.lifespan(), CONFIG.maxIdle(), CONFIG.async());
+            INFINISPAN_STORE = WriteBehindChatMemoryStore.decorate(PERSISTENT_STORE, new WriteBehindConfig());
+            LOCK = createLock(new ChatMemoryLockConfig());
+            Runtime.getRuntime()
+                    .addShutdownHook(
+                            new Thread(InfinispanMemoryBeanProvider::close, "forage-memory-infinispan-shutdown"));
 
         } catch (Exception e) {
             LOG.error("Failed to initialize Infinispan connection for chat memory", e);
@@ -135,31 +152,87 @@ public class InfinispanMemoryBeanProvider implements ChatMemoryBeanProvider {
     public ChatMemoryProvider create() {
         return memoryId -> {
             LOG.debug("Creating message window chat memory for ID: {}", memoryId);
-            return MessageWindowChatMemory.builder()
-                    .id(memoryId)
-                    .maxMessages(DEFAULT_MAX_MESSAGES)
-                    .chatMemoryStore(INFINISPAN_STORE)
-                    .build();
+            return new LockingChatMemory(
+                    MessageWindowChatMemory.builder()
+                            .id(memoryId)
+                            .maxMessages(DEFAULT_MAX_MESSAGES)
+                            .chatMemoryStore(INFINISPAN_STORE)
+                            .build(),
+                    LOCK);
         };
     }
 
+    /**
+     * Registers the chat memory schema with the server, so that it can read the stored conversations, e.g. to
+     * display or query them. The client marshals them with the schema whether the registration succeeds or not.
+     */
+    private static void registerSchema(ChatMemorySchema schema) {
+        try {
+            CACHE_MANAGER
+                    .<String, String>getCache(PROTOBUF_METADATA_CACHE)
+                    .put(schema.getProtoFileName(), schema.getProtoFile());
+            LOG.debug("Registered the chat memory schema {}", schema.getProtoFileName());
+        } catch (Exception e) {
+            LOG.warn(
+                    "Failed to register the chat memory schema {} with the Infinispan server: {}",
+                    schema.getProtoFileName(),
+                    e.getMessage());
+        }
+    }
+
+    private static ChatMemoryLock createLock(ChatMemoryLockConfig config) {
+        if (!config.distributed()) {
+            return new StripedChatMemoryLock(config.stripes());
+        }
+        if (INFINISPAN_STORE instanceof WriteBehindChatMemoryStore) {
+            // The updates would reach the store after the release of their lock, other instances would read stale
+            // messages and overwrite them
+            throw new IllegalStateException("The distributed chat memory lock (forage.memory.lock.distributed) "
+                    + "cannot be combined with write-behind (forage.memory.write.behind.enabled)");
+        }
+        LOG.info("Locking the chat memories in Infinispan");
+        return new InfinispanChatMemoryLock(
+                InfinispanCaches.getOrCreate(CACHE_MANAGER, CONFIG.cacheName() + LOCK_CACHE_SUFFIX),
+                config.stripes(),
+                config.leaseTime(),
+                config.timeout());
+    }
+
     @Override
     public ChatMemoryProvider create(String id) {
         throw new UnsupportedOperationException("Named chat memory stores are not yet supported for Infinispan");
     }
 
+    /**
+     * Returns the Infinispan store backing the chat memories.
+     */
+    static ChatMemoryStore chatMemoryStore() {
+        return INFINISPAN_STORE;
+    }
+
     /**
      * Closes the Infinispan cache manager and releases all associated resources.
      *
      * <p>This method should be called during application shutdown to ensure proper
      * cleanup of Infinispan connections. After calling this method, the factory should
-     * not be used to create new memory providers.
+     * not be used to create new memory providers. With write-behind enabled, the buffered
+     * chat memory updates are written before the cache manager is closed, as are the updates
+     * sent with asynchronous Hot Rod operations.
      *
-     * <p><strong>Note:</strong> This method is not automatically called and must be
-     * explicitly invoked by the application or container during shutdown. Since the
+     * <p><strong>Note:</strong> This method is called by a shutdown hook registered when the
+     * provider is loaded, and can be invoked earlier by the application or container. Since the
      * cache manager is static, this affects all instances of this factory class.
      */
     public static void close() {
+        if (!CLOSED.compareAndSet(false, true)) {
+            return;
+        }
+        if (INFINISPAN_STORE instanceof WriteBehindChatMemoryStore writeBehindStore) {
+            writeBehindStore.close();
+        }
+        if (PERSISTENT_STORE != null) {
+            PERSISTENT_STORE.awaitPendingOperations();
+        }
         if (CACHE_MANAGER != null) {
             LOG.info("Closing Infinispan cache manager for chat memory");
             CACHE_MANAGER.close();
@@ -0,0 +1,68 @@
+package io.kaoto.forage.memory.chat.infinispan;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.infinispan.client.hotrod.RemoteCache;
+import org.infinispan.client.hotrod.RemoteCacheManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.ai.ChatResponseCacheStore;
+import io.kaoto.forage.core.ai.ChatResponseCacheStoreProvider;
+
+/**
+ * Infinispan remote tier of the agent response cache.
+ *
+ * <p>Responses are stored with an entry lifespan in their own cache, named by
+ * {@code forage.infinispan.response-cache-name}, apart from the conversations. Each store opens its own cache
+ * manager on the servers configured for the chat memory, without initializing the chat memory provider, and
+ * closes it with the agent.
+ */
+public class InfinispanResponseCacheStoreProvider implements ChatResponseCacheStoreProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(InfinispanResponseCacheStoreProvider.class);
+
+    @Override
+    public String kind() {
+        return "infinispan";
+    }
+
+    @Override
+    public ChatResponseCacheStore create(String id) {
+        InfinispanConfig config = new InfinispanConfig();
+        RemoteCacheManager cacheManager =
+                new RemoteCacheManager(config.toConfigurationBuilder().build());
+        RemoteCache<String, String> cache;
+        try {
+            cache = InfinispanCaches.getOrCreate(cacheManager, config.responseCacheName());
+        } catch (RuntimeException e) {
+            cacheManager.close();
+            throw e;
+        }
+        LOG.info("Connected the Infinispan response cache '{}' at {}", config.responseCacheName(), config.serverList());
+
+        return new ChatResponseCacheStore() {
+            @Override
+            public String get(String key) {
+                try {
+                    return cache.get(key);
+                } catch (RuntimeException e) {
+                    LOG.warn("Failed to read cached response {} from Infinispan: {}", key, e.getMessage());
+                    return null;
+                }
+            }
+
+            @Override
+            public void put(String key, String value, Duration ttl) {
+                try {
+                    cache.put(key, value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+                } catch (RuntimeException e) {
+                    LOG.warn("Failed to store cached response {} in Infinispan: {}", key, e.getMessage());
+                }
+            }
+
+            @Override
+            public void close() {
+                cacheManager.close();
+            }
+        };
+    }
+}
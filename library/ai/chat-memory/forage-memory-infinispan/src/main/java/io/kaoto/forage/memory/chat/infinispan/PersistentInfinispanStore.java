@@ -1,12 +1,21 @@
 package io.kaoto.forage.memory.chat.infinispan;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import org.infinispan.client.hotrod.RemoteCache;
 import org.infinispan.client.hotrod.RemoteCacheManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.kaoto.forage.memory.chat.infinispan.proto.ProtoChatMessages;
+import io.kaoto.forage.memory.chat.infinispan.proto.ProtoConversation;
 import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.ChatMessageDeserializer;
 import dev.langchain4j.data.message.ChatMessageSerializer;
@@ -16,22 +25,36 @@ import dev.langchain4j.store.memory.chat.ChatMemoryStore;
  * Infinispan-based implementation of {@link ChatMemoryStore} that provides persistent storage
  * for chat conversation history using Infinispan as the backing store.
  *
- * <p>This implementation stores chat messages as JSON-serialized data in Infinispan, with each
- * conversation identified by a unique memory ID. The store supports the full lifecycle
- * of chat memory operations including retrieval, updates, and deletion.
+ * <p>This implementation stores chat messages in Infinispan, with each conversation identified by a
+ * unique memory ID. The store supports the full lifecycle of chat memory operations including
+ * retrieval, updates, and deletion.
  *
  * <p><strong>Key Features:</strong>
  * <ul>
  *   <li>Persistent storage of chat conversations across application restarts</li>
- *   <li>Automatic JSON serialization/deserialization of chat messages</li>
+ *   <li>Protostream or JSON serialization of chat messages</li>
+ *   <li>Optional expiration of the conversations through a lifespan and a maximum idle time</li>
+ *   <li>Optional asynchronous Hot Rod operations</li>
  *   <li>Distributed caching via Infinispan for scalability and high availability</li>
  *   <li>UTF-8 encoding for proper international character support</li>
  *   <li>Robust error handling with proper resource cleanup</li>
  * </ul>
  *
  * <p><strong>Infinispan Key Structure:</strong>
- * Each conversation is stored with the memory ID as the cache key, containing a JSON string
- * of serialized {@link ChatMessage} objects. Empty conversations are represented as empty lists.
+ * Each conversation is stored with the memory ID as the cache key. With protostream marshalling the
+ * value is a {@link ProtoConversation} of the chat memory schema registered by
+ * {@link InfinispanMemoryBeanProvider}; otherwise it is a JSON string of serialized {@link ChatMessage}
+ * objects. Both are read whatever the configured marshalling, so existing JSON conversations remain
+ * readable after switching to protostream. Empty conversations are represented as empty lists.
+ *
+ * <p><strong>Asynchronous Operations:</strong>
+ * In asynchronous mode updates and deletions are sent with {@code putAsync} and {@code removeAsync}
+ * and return without waiting for the server. The operations on a conversation are chained so that
+ * they reach the server in order, and a read of a conversation waits for its pending operations only.
+ * Since the caller does not wait, a failed update is logged rather than thrown. {@link
+ * #getMessagesAsync(Object)} reads a conversation without blocking the calling thread, while
+ * {@link #getMessages(Object)}, bound to the synchronous {@link ChatMemoryStore} contract, still blocks on
+ * {@code join()} of that read.
  *
  * <p><strong>Thread Safety:</strong>
  * This class is thread-safe as it uses Infinispan's thread-safe {@link RemoteCache} operations.
@@ -50,16 +73,43 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
     private static final Logger LOG = LoggerFactory.getLogger(PersistentInfinispanStore.class);
     private static final String EMPTY_MESSAGES_JSON = "[]";
 
-    private final RemoteCache<String, String> cache;
+    private final RemoteCache<String, Object> cache;
+    private final boolean protostream;
+    private final long lifespanMillis;
+    private final long maxIdleMillis;
+    private final boolean async;
+    private final Map<String, CompletableFuture<?>> pending = new ConcurrentHashMap<>();
 
     /**
-     * Creates a new Infinispan-based chat memory store.
+     * Creates a new Infinispan-based chat memory store writing JSON conversations that never expire.
      *
      * @param cache the Infinispan remote cache to use for storing chat messages, must not be {@code null}
      * @throws NullPointerException if cache is null
      */
     public PersistentInfinispanStore(RemoteCache<String, String> cache) {
-        this.cache = Objects.requireNonNull(cache, "RemoteCache cannot be null");
+        this(cache, false, null, null, false);
+    }
+
+    /**
+     * Creates a new Infinispan-based chat memory store.
+     *
+     * @param cache the Infinispan remote cache to use for storing chat messages, must not be {@code null}
+     * @param protostream whether conversations are written as {@link ProtoConversation} rather than JSON, which
+     *        requires the chat memory schema to be registered with the cache manager
+     * @param lifespan how long a conversation is kept after its last update, or {@code null} to keep it
+     * @param maxIdle how long a conversation is kept after it was last accessed, or {@code null} to keep it
+     * @param async whether updates and deletions are sent with asynchronous Hot Rod operations
+     * @throws NullPointerException if cache is null
+     */
+    public PersistentInfinispanStore(
+            RemoteCache<String, ?> cache, boolean protostream, Duration lifespan, Duration maxIdle, boolean async) {
+        Objects.requireNonNull(cache, "RemoteCache cannot be null");
+        // A view of the same cache and data format, typed to hold both JSON strings and protostream conversations
+        this.cache = cache.withDataFormat(cache.getDataFormat());
+        this.protostream = protostream;
+        this.lifespanMillis = lifespan != null ? lifespan.toMillis() : -1;
+        this.maxIdleMillis = maxIdle != null ? maxIdle.toMillis() : -1;
+        this.async = async;
     }
 
     /**
@@ -78,8 +128,12 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
         Objects.requireNonNull(memoryId, "Memory ID cannot be null");
 
         String key = memoryId.toString();
+        if (async) {
+            submit(key, () -> cache.removeAsync(key));
+            return;
+        }
         try {
-            String removed = cache.remove(key);
+            Object removed = cache.remove(key);
             if (removed != null) {
                 LOG.debug("Deleted conversation for memory ID: {}", key);
             } else {
@@ -108,35 +162,48 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
 
         String key = memoryId.toString();
         try {
-            String json = cache.get(key);
-
-            if (json == null) {
-                LOG.debug("No messages found for memory ID: {}", key);
-                return Collections.emptyList();
-            }
-
-            if (json.isEmpty() || EMPTY_MESSAGES_JSON.equals(json)) {
-                return Collections.emptyList();
-            }
-
-            List<ChatMessage> messages = ChatMessageDeserializer.messagesFromJson(json);
+            List<ChatMessage> messages = async ? getMessagesAsync(key).join() : toMessages(key, cache.get(key));
             LOG.debug("Retrieved {} messages for memory ID: {}", messages.size(), key);
             return messages;
         } catch (Exception e) {
-            LOG.error("Failed to retrieve messages for memory ID: {}", key, e);
-            if (e.getMessage() != null && e.getMessage().contains("deserialization")) {
-                throw new RuntimeException("Failed to deserialize chat messages", e);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            LOG.error("Failed to retrieve messages for memory ID: {}", key, cause);
+            if (cause.getMessage() != null && cause.getMessage().contains("deserialization")) {
+                throw new RuntimeException("Failed to deserialize chat messages", cause);
             }
-            throw new RuntimeException("Failed to retrieve chat messages from Infinispan", e);
+            throw new RuntimeException("Failed to retrieve chat messages from Infinispan", cause);
         }
     }
 
+    /**
+     * Retrieves all chat messages for the specified memory ID without blocking the calling thread.
+     *
+     * <p>The conversation is read with {@code getAsync} once the pending asynchronous operations on
+     * it have completed.
+     *
+     * @param memoryId the unique identifier for the conversation to retrieve, must not be {@code null}
+     * @return a future of the chat messages for the conversation, completed exceptionally if an Infinispan
+     *         operation or deserialization fails
+     * @throws NullPointerException if memoryId is null
+     */
+    public CompletableFuture<List<ChatMessage>> getMessagesAsync(Object memoryId) {
+        Objects.requireNonNull(memoryId, "Memory ID cannot be null");
+
+        String key = memoryId.toString();
+        CompletableFuture<?> previous = pending.get(key);
+        CompletableFuture<Object> value = previous == null
+                ? cache.getAsync(key)
+                : previous.handle((result, failure) -> null).thenCompose(ignored -> cache.getAsync(key));
+        return value.thenApply(stored -> toMessages(key, stored));
+    }
+
     /**
      * Updates the chat messages for the specified memory ID.
      *
      * <p>This operation replaces the entire conversation history with the provided messages.
-     * The messages are serialized to JSON format and stored in Infinispan. If the messages list
-     * is empty, an empty conversation is stored (not deleted).
+     * The messages are serialized with the configured marshalling and stored in Infinispan, expiring
+     * after the configured lifespan and maximum idle time. If the messages list is empty, an empty
+     * conversation is stored (not deleted).
      *
      * @param memoryId the unique identifier for the conversation to update, must not be {@code null}
      * @param messages the complete list of messages for the conversation, must not be {@code null}
@@ -150,8 +217,25 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
 
         String key = memoryId.toString();
         try {
-            String json = ChatMessageSerializer.messagesToJson(messages);
-            cache.put(key, json);
+            Object value =
+                    protostream ? ProtoChatMessages.toProto(messages) : ChatMessageSerializer.messagesToJson(messages);
+            if (async) {
+                submit(
+                        key,
+                        () -> lifespanMillis < 0 && maxIdleMillis < 0
+                                ? cache.putAsync(key, value)
+                                : cache.putAsync(
+                                        key,
+                                        value,
+                                        lifespanMillis,
+                                        TimeUnit.MILLISECONDS,
+                                        maxIdleMillis,
+                                        TimeUnit.MILLISECONDS));
+            } else if (lifespanMillis < 0 && maxIdleMillis < 0) {
+                cache.put(key, value);
+            } else {
+                cache.put(key, value, lifespanMillis, TimeUnit.MILLISECONDS, maxIdleMillis, TimeUnit.MILLISECONDS);
+            }
             LOG.debug("Updated {} messages for memory ID: {}", messages.size(), key);
         } catch (Exception e) {
             LOG.error("Failed to update messages for memory ID: {}", key, e);
@@ -161,4 +245,49 @@ public class PersistentInfinispanStore implements ChatMemoryStore {
             throw new RuntimeException("Failed to update chat messages in Infinispan", e);
         }
     }
+
+    /**
+     * Waits for the asynchronous operations sent so far to complete.
+     */
+    public void awaitPendingOperations() {
+        for (CompletableFuture<?> future : pending.values()) {
+            try {
+                future.join();
+            } catch (RuntimeException e) {
+                // Already logged when the operation failed
+            }
+        }
+    }
+
+    private static List<ChatMessage> toMessages(String key, Object value) {
+        if (value == null) {
+            LOG.debug("No messages found for memory ID: {}", key);
+            return Collections.emptyList();
+        }
+        if (value instanceof ProtoConversation conversation) {
+            return ProtoChatMessages.fromProto(conversation);
+        }
+        if (value instanceof String json) {
+            if (json.isEmpty() || EMPTY_MESSAGES_JSON.equals(json)) {
+                return Collections.emptyList();
+            }
+            return ChatMessageDeserializer.messagesFromJson(json);
+        }
+        throw new IllegalStateException(
+                "Unexpected chat messages of type " + value.getClass().getName() + " for memory ID: " + key);
+    }
+
+    private void submit(String key, Supplier<CompletableFuture<?>> operation) {
+        CompletableFuture<?> future = pending.compute(
+                key,
+                (k, previous) -> previous == null
+                        ? operation.get()
+                        : previous.handle((result, failure) -> null).thenCompose(ignored -> operation.get()));
+        future.whenComplete((result, failure) -> {
+            pending.remove(key, future);
+            if (failure != null) {
+                LOG.error("Failed to write messages asynchronously for memory ID: {}", key, failure);
+            }
+        });
+    }
 }
@@ -0,0 +1,19 @@
+package io.kaoto.forage.memory.chat.infinispan.proto;
+
+import org.infinispan.protostream.GeneratedSchema;
+import org.infinispan.protostream.annotations.ProtoSchema;
+
+/**
+ * Protobuf schema of the chat memories, generated at build time as {@code ChatMemorySchemaImpl}.
+ */
+@ProtoSchema(
+        includeClasses = {
+            ProtoConversation.class,
+            ProtoChatMessage.class,
+            ProtoChatMessageType.class,
+            ProtoToolExecutionRequest.class
+        },
+        schemaFileName = "forage-chat-memory.proto",
+        schemaFilePath = "proto/",
+        schemaPackageName = "forage.memory")
+public interface ChatMemorySchema extends GeneratedSchema {}
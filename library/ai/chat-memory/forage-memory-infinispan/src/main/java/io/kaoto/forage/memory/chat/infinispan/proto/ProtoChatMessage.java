@@ -0,0 +1,50 @@
+package io.kaoto.forage.memory.chat.infinispan.proto;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+
+/**
+ * Protobuf form of a LangChain4j chat message.
+ *
+ * <p>The fields used depend on the type: the text of system, user and AI messages, the name of a user, the
+ * tool calls of an AI message, the id and tool name of a tool result. Messages carrying more than that are
+ * kept as LangChain4j JSON.
+ */
+public final class ProtoChatMessage {
+
+    @ProtoField(number = 1)
+    final ProtoChatMessageType type;
+
+    @ProtoField(number = 2)
+    final String text;
+
+    @ProtoField(number = 3)
+    final String name;
+
+    @ProtoField(number = 4)
+    final String id;
+
+    @ProtoField(number = 5, collectionImplementation = ArrayList.class)
+    final List<ProtoToolExecutionRequest> toolExecutionRequests;
+
+    @ProtoField(number = 6)
+    final String json;
+
+    @ProtoFactory
+    public ProtoChatMessage(
+            ProtoChatMessageType type,
+            String text,
+            String name,
+            String id,
+            List<ProtoToolExecutionRequest> toolExecutionRequests,
+            String json) {
+        this.type = type;
+        this.text = text;
+        this.name = name;
+        this.id = id;
+        this.toolExecutionRequests = toolExecutionRequests;
+        this.json = json;
+    }
+}
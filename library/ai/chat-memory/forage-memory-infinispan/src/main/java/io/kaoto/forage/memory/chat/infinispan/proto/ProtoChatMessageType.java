@@ -0,0 +1,22 @@
+package io.kaoto.forage.memory.chat.infinispan.proto;
+
+import org.infinispan.protostream.annotations.ProtoEnumValue;
+
+/**
+ * Type of a {@link ProtoChatMessage}.
+ */
+public enum ProtoChatMessageType {
+    @ProtoEnumValue(number = 0)
+    SYSTEM,
+    @ProtoEnumValue(number = 1)
+    USER,
+    @ProtoEnumValue(number = 2)
+    AI,
+    @ProtoEnumValue(number = 3)
+    TOOL_EXECUTION_RESULT,
+    /**
+     * A message only the LangChain4j JSON format can represent, such as a user message with images.
+     */
+    @ProtoEnumValue(number = 4)
+    JSON
+}
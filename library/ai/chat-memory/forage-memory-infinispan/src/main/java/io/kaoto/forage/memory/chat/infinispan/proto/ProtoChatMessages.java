@@ -0,0 +1,103 @@
+package io.kaoto.forage.memory.chat.infinispan.proto;
+
+import java.util.ArrayList;
+import java.util.List;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ChatMessageDeserializer;
+import dev.langchain4j.data.message.ChatMessageSerializer;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+
+/**
+ * Converts chat messages from and to their protobuf form.
+ */
+public final class ProtoChatMessages {
+
+    private ProtoChatMessages() {}
+
+    /**
+     * Returns the protobuf form of the given messages.
+     */
+    public static ProtoConversation toProto(List<ChatMessage> messages) {
+        List<ProtoChatMessage> protoMessages = new ArrayList<>(messages.size());
+        for (ChatMessage message : messages) {
+            protoMessages.add(toProto(message));
+        }
+        return new ProtoConversation(protoMessages);
+    }
+
+    /**
+     * Returns the messages of the given conversation.
+     */
+    public static List<ChatMessage> fromProto(ProtoConversation conversation) {
+        if (conversation.messages == null) {
+            return new ArrayList<>();
+        }
+        List<ChatMessage> messages = new ArrayList<>(conversation.messages.size());
+        for (ProtoChatMessage message : conversation.messages) {
+            messages.add(fromProto(message));
+        }
+        return messages;
+    }
+
+    static ProtoChatMessage toProto(ChatMessage message) {
+        if (message instanceof SystemMessage systemMessage) {
+            return new ProtoChatMessage(ProtoChatMessageType.SYSTEM, systemMessage.text(), null, null, null, null);
+        }
+        if (message instanceof UserMessage userMessage
+                && userMessage.hasSingleText()
+                && userMessage.attributes().isEmpty()) {
+            return new ProtoChatMessage(
+                    ProtoChatMessageType.USER, userMessage.singleText(), userMessage.name(), null, null, null);
+        }
+        if (message instanceof AiMessage aiMessage
+                && aiMessage.thinking() == null
+                && aiMessage.attributes().isEmpty()) {
+            List<ProtoToolExecutionRequest> requests = new ArrayList<>();
+            for (ToolExecutionRequest request : aiMessage.toolExecutionRequests()) {
+                requests.add(new ProtoToolExecutionRequest(request.id(), request.name(), request.arguments()));
+            }
+            return new ProtoChatMessage(ProtoChatMessageType.AI, aiMessage.text(), null, null, requests, null);
+        }
+        if (message instanceof ToolExecutionResultMessage resultMessage && resultMessage.isError() == null) {
+            return new ProtoChatMessage(
+                    ProtoChatMessageType.TOOL_EXECUTION_RESULT,
+                    resultMessage.text(),
+                    resultMessage.toolName(),
+                    resultMessage.id(),
+                    null,
+                    null);
+        }
+        return new ProtoChatMessage(
+                ProtoChatMessageType.JSON, null, null, null, null, ChatMessageSerializer.messageToJson(message));
+    }
+
+    static ChatMessage fromProto(ProtoChatMessage message) {
+        return switch (message.type) {
+            case SYSTEM -> SystemMessage.from(message.text);
+            case USER ->
+                message.name != null ? UserMessage.from(message.name, message.text) : UserMessage.from(message.text);
+            case AI -> {
+                List<ToolExecutionRequest> requests = new ArrayList<>();
+                if (message.toolExecutionRequests != null) {
+                    for (ProtoToolExecutionRequest request : message.toolExecutionRequests) {
+                        requests.add(ToolExecutionRequest.builder()
+                                .id(request.id)
+                                .name(request.name)
+                                .arguments(request.arguments)
+                                .build());
+                    }
+                }
+                yield AiMessage.builder()
+                        .text(message.text)
+                        .toolExecutionRequests(requests)
+                        .build();
+            }
+            case TOOL_EXECUTION_RESULT -> ToolExecutionResultMessage.from(message.id, message.name, message.text);
+            case JSON -> ChatMessageDeserializer.messageFromJson(message.json);
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package io.kaoto.forage.memory.chat.infinispan.proto;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+
+/**
+ * The messages of a chat memory, as stored in the Infinispan cache.
+ */
+public final class ProtoConversation {
+
+    @ProtoField(number = 1, collectionImplementation = ArrayList.class)
+    final List<ProtoChatMessage> messages;
+
+    @ProtoFactory
+    public ProtoConversation(List<ProtoChatMessage> messages) {
+        this.messages = messages;
+    }
+}
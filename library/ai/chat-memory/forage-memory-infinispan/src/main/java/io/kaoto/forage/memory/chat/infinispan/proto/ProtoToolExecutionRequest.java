@@ -0,0 +1,26 @@
+package io.kaoto.forage.memory.chat.infinispan.proto;
+
+import org.infinispan.protostream.annotations.ProtoFactory;
+import org.infinispan.protostream.annotations.ProtoField;
+
+/**
+ * Tool call requested by an AI message.
+ */
+public final class ProtoToolExecutionRequest {
+
+    @ProtoField(number = 1)
+    final String id;
+
+    @ProtoField(number = 2)
+    final String name;
+
+    @ProtoField(number = 3)
+    final String arguments;
+
+    @ProtoFactory
+    public ProtoToolExecutionRequest(String id, String name, String arguments) {
+        this.id = id;
+        this.name = name;
+        this.arguments = arguments;
+    }
+}
@@ -0,0 +1,61 @@
+package io.kaoto.forage.memory.chat.infinispan.proto;
+
+import java.util.List;
+import org.infinispan.commons.marshall.ProtoStreamMarshaller;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.ImageContent;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProtoChatMessagesTest {
+
+    @Test
+    void shouldRoundTripMessagesThroughProtostream() throws Exception {
+        ToolExecutionRequest request = ToolExecutionRequest.builder()
+                .id("call-1")
+                .name("weather")
+                .arguments("{\"city\":\"Brno\"}")
+                .build();
+        List<ChatMessage> messages = List.of(
+                SystemMessage.from("You are a helpful assistant"),
+                UserMessage.from("alice", "What is the weather in Brno?"),
+                AiMessage.from(request),
+                ToolExecutionResultMessage.from(request, "Sunny"),
+                AiMessage.from("It is sunny"));
+
+        assertThat(roundTrip(messages)).isEqualTo(messages);
+    }
+
+    @Test
+    void shouldKeepMessagesWithoutProtobufFieldsAsJson() throws Exception {
+        List<ChatMessage> messages = List.of(
+                UserMessage.from(TextContent.from("What is this?"), ImageContent.from("https://example.com/cat.png")),
+                AiMessage.builder().text("A cat").thinking("It has whiskers").build(),
+                ToolExecutionResultMessage.builder()
+                        .id("call-1")
+                        .toolName("weather")
+                        .text("Unknown city")
+                        .isError(true)
+                        .build());
+
+        ProtoConversation conversation = ProtoChatMessages.toProto(messages);
+
+        assertThat(conversation.messages).allMatch(message -> message.type == ProtoChatMessageType.JSON);
+        assertThat(roundTrip(messages)).isEqualTo(messages);
+    }
+
+    private static List<ChatMessage> roundTrip(List<ChatMessage> messages) throws Exception {
+        ProtoStreamMarshaller marshaller = new ProtoStreamMarshaller();
+        marshaller.register(new ChatMemorySchemaImpl());
+
+        byte[] bytes = marshaller.objectToByteBuffer(ProtoChatMessages.toProto(messages));
+        return ProtoChatMessages.fromProto((ProtoConversation) marshaller.objectFromByteBuffer(bytes));
+    }
+}
@@ -3,6 +3,10 @@ package io.kaoto.forage.memory.chat.messagewindow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
+import io.kaoto.forage.core.ai.memory.ChatMemoryLock;
+import io.kaoto.forage.core.ai.memory.ChatMemoryLockConfig;
+import io.kaoto.forage.core.ai.memory.LockingChatMemory;
+import io.kaoto.forage.core.ai.memory.StripedChatMemoryLock;
 import io.kaoto.forage.core.annotations.ForageBean;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
@@ -18,6 +22,7 @@ public class MessageWindowChatMemoryBeanProvider implements ChatMemoryBeanProvid
 
     private static final PersistentChatMemoryStore PERSISTENT_CHAT_MEMORY_STORE = new PersistentChatMemoryStore();
     private static final MessageWindowConfig CONFIG = new MessageWindowConfig();
+    private static final ChatMemoryLock LOCK = new StripedChatMemoryLock(new ChatMemoryLockConfig().stripes());
     private final ChatMemoryProvider chatMemoryProvider;
 
     public MessageWindowChatMemoryBeanProvider() {
@@ -35,12 +40,21 @@ public class MessageWindowChatMemoryBeanProvider implements ChatMemoryBeanProvid
                 "Named chat memory stores are not yet supported for the memory chat window");
     }
 
+    /**
+     * Returns the in-memory store backing the chat memories.
+     */
+    static PersistentChatMemoryStore chatMemoryStore() {
+        return PERSISTENT_CHAT_MEMORY_STORE;
+    }
+
     private static ChatMemoryProvider getChatMemoryProvider() {
         LOG.trace("Creating MessageWindowChatMemoryFactory with maxMessages={}", CONFIG.maxMessages());
-        return memoryId -> MessageWindowChatMemory.builder()
-                .id(memoryId)
-                .maxMessages(CONFIG.maxMessages())
-                .chatMemoryStore(PERSISTENT_CHAT_MEMORY_STORE)
-                .build();
+        return memoryId -> new LockingChatMemory(
+                MessageWindowChatMemory.builder()
+                        .id(memoryId)
+                        .maxMessages(CONFIG.maxMessages())
+                        .chatMemoryStore(PERSISTENT_CHAT_MEMORY_STORE)
+                        .build(),
+                LOCK);
     }
 }
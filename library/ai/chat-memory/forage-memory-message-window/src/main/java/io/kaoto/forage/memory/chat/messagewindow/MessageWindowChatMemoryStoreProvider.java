@@ -0,0 +1,20 @@
+package io.kaoto.forage.memory.chat.messagewindow;
+
+import io.kaoto.forage.core.ai.ChatMemoryStoreProvider;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Exposes the in-memory store of the message window chat memory.
+ */
+public class MessageWindowChatMemoryStoreProvider implements ChatMemoryStoreProvider {
+
+    @Override
+    public String kind() {
+        return "message-window";
+    }
+
+    @Override
+    public ChatMemoryStore create(String id) {
+        return MessageWindowChatMemoryBeanProvider.chatMemoryStore();
+    }
+}
@@ -1,6 +1,5 @@
 package io.kaoto.forage.memory.chat.redis;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -10,9 +9,10 @@ import dev.langchain4j.data.message.ChatMessage;
 import dev.langchain4j.data.message.ChatMessageDeserializer;
 import dev.langchain4j.data.message.ChatMessageSerializer;
 import dev.langchain4j.store.memory.chat.ChatMemoryStore;
-import redis.clients.jedis.Jedis;
-import redis.clients.jedis.JedisPool;
+import redis.clients.jedis.UnifiedJedis;
 import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.GetExParams;
+import redis.clients.jedis.params.SetParams;
 
 /**
  * Redis-based implementation of {@link ChatMemoryStore} that provides persistent storage
@@ -26,7 +26,8 @@ import redis.clients.jedis.exceptions.JedisException;
  * <ul>
  *   <li>Persistent storage of chat conversations across application restarts</li>
  *   <li>Automatic JSON serialization/deserialization of chat messages</li>
- *   <li>Connection pooling via {@link JedisPool} for optimal performance</li>
+ *   <li>Standalone, cluster, sentinel and sharded deployments through {@link RedisConnections}</li>
+ *   <li>Optional expiration of the conversations after their last update</li>
  *   <li>UTF-8 encoding for proper international character support</li>
  *   <li>Robust error handling with proper resource cleanup</li>
  * </ul>
@@ -34,9 +35,13 @@ import redis.clients.jedis.exceptions.JedisException;
  * <p><strong>Redis Key Structure:</strong>
  * Each conversation is stored with the memory ID as the Redis key, containing a JSON array
  * of serialized {@link ChatMessage} objects. Empty conversations are represented as empty lists.
+ * The keys are the same in every deployment mode, so conversations stored by a single node remain
+ * readable once moved to a cluster. With a time to live, each update sets the key with {@code SET EX} and
+ * each read refreshes its expiry with {@code GETEX}, so a conversation expires once it has not been read or
+ * updated for that long.
  *
  * <p><strong>Thread Safety:</strong>
- * This class is thread-safe as it uses a connection pool and ensures proper resource
+ * This class is thread-safe as it uses pooled connections and ensures proper resource
  * cleanup for each operation. Multiple threads can safely access different conversations
  * concurrently.
  *
@@ -45,7 +50,7 @@ import redis.clients.jedis.exceptions.JedisException;
  * Failed operations will not leave connections in an inconsistent state.
  *
  * @see ChatMemoryStore
- * @see JedisPool
+ * @see RedisConnections
  * @since 1.0
  */
 public class PersistentRedisStore implements ChatMemoryStore {
@@ -53,16 +58,31 @@ public class PersistentRedisStore implements ChatMemoryStore {
     private static final Logger LOG = LoggerFactory.getLogger(PersistentRedisStore.class);
     private static final String EMPTY_MESSAGES_JSON = "[]";
 
-    private final JedisPool jedisPool;
+    private final RedisConnections connections;
+    private final Long ttlSeconds;
+
+    /**
+     * Creates a new Redis-based chat memory store keeping the conversations forever.
+     *
+     * @param jedis the Redis client to use for database operations, e.g. a {@link redis.clients.jedis.RedisClient},
+     *        must not be {@code null}
+     * @throws NullPointerException if jedis is null
+     */
+    public PersistentRedisStore(UnifiedJedis jedis) {
+        this(RedisConnections.of(Objects.requireNonNull(jedis, "Redis client cannot be null")), null);
+    }
 
     /**
      * Creates a new Redis-based chat memory store.
      *
-     * @param jedisPool the Redis connection pool to use for database operations, must not be {@code null}
-     * @throws NullPointerException if jedisPool is null
+     * @param connections the connections to the Redis deployment, must not be {@code null}
+     * @param ttlSeconds the time to live of a conversation after it was last read or updated, or {@code null} to
+     *        keep it
+     * @throws NullPointerException if connections is null
      */
-    public PersistentRedisStore(JedisPool jedisPool) {
-        this.jedisPool = Objects.requireNonNull(jedisPool, "JedisPool cannot be null");
+    public PersistentRedisStore(RedisConnections connections, Long ttlSeconds) {
+        this.connections = Objects.requireNonNull(connections, "RedisConnections cannot be null");
+        this.ttlSeconds = ttlSeconds;
     }
 
     /**
@@ -81,8 +101,8 @@ public class PersistentRedisStore implements ChatMemoryStore {
         Objects.requireNonNull(memoryId, "Memory ID cannot be null");
 
         String key = memoryId.toString();
-        try (Jedis jedis = jedisPool.getResource()) {
-            long deleted = jedis.del(key);
+        try {
+            long deleted = connections.execute(key, redis -> redis.del(key));
             LOG.debug("Deleted {} conversation(s) for memory ID: {}", deleted, key);
         } catch (JedisException e) {
             LOG.error("Failed to delete messages for memory ID: {}", key, e);
@@ -94,7 +114,8 @@ public class PersistentRedisStore implements ChatMemoryStore {
      * Retrieves all chat messages for the specified memory ID.
      *
      * <p>Returns the complete conversation history as a list of {@link ChatMessage} objects.
-     * If no conversation exists for the given memory ID, an empty list is returned.
+     * If no conversation exists for the given memory ID, an empty list is returned. With a time to live,
+     * the expiry of the conversation is reset.
      *
      * @param memoryId the unique identifier for the conversation to retrieve, must not be {@code null}
      * @return a list of chat messages for the conversation, never {@code null} but may be empty
@@ -106,16 +127,18 @@ public class PersistentRedisStore implements ChatMemoryStore {
         Objects.requireNonNull(memoryId, "Memory ID cannot be null");
 
         String key = memoryId.toString();
-        try (Jedis jedis = jedisPool.getResource()) {
-            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-            byte[] bytes = jedis.get(keyBytes);
+        try {
+            String json = connections.execute(
+                    key,
+                    redis -> ttlSeconds != null
+                            ? redis.getEx(key, GetExParams.getExParams().ex(ttlSeconds))
+                            : redis.get(key));
 
-            if (bytes == null) {
+            if (json == null) {
                 LOG.debug("No messages found for memory ID: {}", key);
                 return Collections.emptyList();
             }
 
-            String json = new String(bytes, StandardCharsets.UTF_8);
             if (json.isEmpty() || EMPTY_MESSAGES_JSON.equals(json)) {
                 return Collections.emptyList();
             }
@@ -136,8 +159,8 @@ public class PersistentRedisStore implements ChatMemoryStore {
      * Updates the chat messages for the specified memory ID.
      *
      * <p>This operation replaces the entire conversation history with the provided messages.
-     * The messages are serialized to JSON format and stored in Redis. If the messages list
-     * is empty, an empty conversation is stored (not deleted).
+     * The messages are serialized to JSON format and stored in Redis, expiring after the configured
+     * time to live. If the messages list is empty, an empty conversation is stored (not deleted).
      *
      * @param memoryId the unique identifier for the conversation to update, must not be {@code null}
      * @param messages the complete list of messages for the conversation, must not be {@code null}
@@ -150,12 +173,14 @@ public class PersistentRedisStore implements ChatMemoryStore {
         Objects.requireNonNull(messages, "Messages list cannot be null");
 
         String key = memoryId.toString();
-        try (Jedis jedis = jedisPool.getResource()) {
+        try {
             String json = ChatMessageSerializer.messagesToJson(messages);
-            byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
-            byte[] messageBytes = json.getBytes(StandardCharsets.UTF_8);
-
-            jedis.set(keyBytes, messageBytes);
+            if (ttlSeconds != null) {
+                connections.execute(
+                        key, redis -> redis.set(key, json, SetParams.setParams().ex(ttlSeconds)));
+            } else {
+                connections.execute(key, redis -> redis.set(key, json));
+            }
             LOG.debug("Updated {} messages for memory ID: {}", messages.size(), key);
         } catch (JedisException e) {
             LOG.error("Failed to update messages for memory ID: {}", key, e);
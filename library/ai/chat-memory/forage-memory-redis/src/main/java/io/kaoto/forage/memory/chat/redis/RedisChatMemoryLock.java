@@ -0,0 +1,41 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import java.time.Duration;
+import java.util.List;
+import io.kaoto.forage.core.ai.memory.DistributedChatMemoryLock;
+import redis.clients.jedis.params.SetParams;
+
+/**
+ * Chat memory lock held in Redis, shared by all the instances using the same Redis deployment.
+ *
+ * <p>The lock is acquired with {@code SET NX PX} and released by a Lua script deleting the key only while it
+ * holds the token of the owner, so that a lock that expired and was acquired by another instance is left alone.
+ * The lock keys are kept under the {@value DistributedChatMemoryLock#KEY_PREFIX} prefix, apart from the
+ * conversations stored under their memory id.
+ */
+public class RedisChatMemoryLock extends DistributedChatMemoryLock {
+
+    private static final String RELEASE_SCRIPT =
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end";
+
+    private final RedisConnections connections;
+
+    public RedisChatMemoryLock(RedisConnections connections, int stripes, Duration leaseTime, Duration timeout) {
+        super(KEY_PREFIX, stripes, leaseTime, timeout);
+        this.connections = connections;
+    }
+
+    @Override
+    protected boolean tryAcquire(String key, String token, Duration leaseTime) {
+        return "OK"
+                .equals(connections.execute(
+                        key,
+                        redis ->
+                                redis.set(key, token, SetParams.setParams().nx().px(leaseTime.toMillis()))));
+    }
+
+    @Override
+    protected void release(String key, String token) {
+        connections.execute(key, redis -> redis.eval(RELEASE_SCRIPT, List.of(key), List.of(token)));
+    }
+}
@@ -0,0 +1,20 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import io.kaoto.forage.core.ai.ChatMemoryStoreProvider;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Exposes the Redis store of the Redis chat memory.
+ */
+public class RedisChatMemoryStoreProvider implements ChatMemoryStoreProvider {
+
+    @Override
+    public String kind() {
+        return "redis";
+    }
+
+    @Override
+    public ChatMemoryStore create(String id) {
+        return RedisMemoryBeanProvider.chatMemoryStore();
+    }
+}
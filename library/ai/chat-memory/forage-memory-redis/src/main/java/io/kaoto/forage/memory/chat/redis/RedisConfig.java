@@ -1,9 +1,15 @@
 package io.kaoto.forage.memory.chat.redis;
 
+import java.util.Arrays;
+import java.util.List;
 import io.kaoto.forage.core.util.config.AbstractConfig;
+import redis.clients.jedis.HostAndPort;
 
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.CLUSTER_MAX_ATTEMPTS;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.DATABASE;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.HOST;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.MODE;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.NODES;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.PASSWORD;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.POOL_MAX_IDLE;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.POOL_MAX_TOTAL;
@@ -13,7 +19,10 @@ import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.POOL_TEST_ON_
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.POOL_TEST_ON_RETURN;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.POOL_TEST_WHILE_IDLE;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.PORT;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.SENTINEL_MASTER;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.SENTINEL_PASSWORD;
 import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.TIMEOUT;
+import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.TTL_SECONDS;
 
 /**
  * Configuration class for Redis-based chat memory storage in the Forage framework.
@@ -36,8 +45,18 @@ import static io.kaoto.forage.memory.chat.redis.RedisConfigEntries.TIMEOUT;
  *   <li><code>redis.pool.test-on-return</code> - Test connections when returning to pool (default: true)</li>
  *   <li><code>redis.pool.test-while-idle</code> - Test idle connections periodically (default: true)</li>
  *   <li><code>redis.pool.max-wait-millis</code> - Maximum time to wait for a connection (default: 2000)</li>
+ *   <li><code>redis.mode</code> - Deployment: standalone, cluster, sentinel or sharded (default: standalone)</li>
+ *   <li><code>redis.nodes</code> - Cluster seed nodes, sentinels or shards as host:port list (required unless standalone)</li>
+ *   <li><code>redis.sentinel.master</code> - Name of the master monitored by the sentinels (default: mymaster)</li>
+ *   <li><code>redis.sentinel.password</code> - Password of the sentinels (optional)</li>
+ *   <li><code>redis.cluster.max-attempts</code> - Maximum attempts of a cluster command (default: 5)</li>
+ *   <li><code>redis.ttl-seconds</code> - Time to live of a conversation after it was last read or updated (optional)</li>
  * </ul>
  *
+ * <p>The standalone mode connects to {@code redis.host} and {@code redis.port}, the other modes to
+ * {@code redis.nodes}. The password, database, timeout and pool settings apply to every mode, except the
+ * database with a cluster, which only has database 0.
+ *
  * <p><strong>Configuration Sources (in order of precedence):</strong>
  * <ol>
  *   <li>Environment variables: {@code REDIS_HOST}, {@code REDIS_PORT}, {@code REDIS_PASSWORD}, {@code REDIS_POOL_MAX_TOTAL}, etc.</li>
@@ -301,6 +320,92 @@ public class RedisConfig extends AbstractConfig {
                 .orElse(Integer.parseInt(POOL_MAX_WAIT_MILLIS.defaultValue()));
     }
 
+    /**
+     * Returns the Redis deployment the chat memories are stored in.
+     *
+     * @return the mode, defaults to {@link RedisMode#STANDALONE} if not configured
+     * @throws IllegalArgumentException if the configured value is not a known mode
+     */
+    public RedisMode mode() {
+        return get(MODE).map(RedisMode::of).orElse(RedisMode.of(MODE.defaultValue()));
+    }
+
+    /**
+     * Returns the addresses of the cluster seed nodes, of the sentinels or of the shards.
+     *
+     * @return the nodes in their configured order, empty if not configured
+     * @throws IllegalArgumentException if an address is not in the {@code host:port} format
+     */
+    public List<HostAndPort> nodes() {
+        return get(NODES)
+                .map(value -> Arrays.stream(value.split(","))
+                        .map(String::trim)
+                        .filter(node -> !node.isEmpty())
+                        .map(node -> {
+                            try {
+                                return HostAndPort.from(node);
+                            } catch (RuntimeException e) {
+                                throw new IllegalArgumentException("Invalid Redis node address: " + node, e);
+                            }
+                        })
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Returns the name of the master monitored by the sentinels.
+     *
+     * @return the master name, defaults to "mymaster" if not configured
+     */
+    public String sentinelMaster() {
+        return get(SENTINEL_MASTER).orElse(SENTINEL_MASTER.defaultValue());
+    }
+
+    /**
+     * Returns the password of the sentinels.
+     *
+     * @return the sentinel password, or {@code null} if the sentinels do not require authentication
+     */
+    public String sentinelPassword() {
+        return get(SENTINEL_PASSWORD).orElse(SENTINEL_PASSWORD.defaultValue());
+    }
+
+    /**
+     * Returns the maximum number of attempts of a command sent to a Redis Cluster.
+     *
+     * @return the maximum attempts, defaults to 5 if not configured
+     * @throws IllegalArgumentException if the configured value is not a valid integer
+     */
+    public int clusterMaxAttempts() {
+        return get(CLUSTER_MAX_ATTEMPTS)
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Redis cluster max-attempts value: " + value, e);
+                    }
+                })
+                .orElse(Integer.parseInt(CLUSTER_MAX_ATTEMPTS.defaultValue()));
+    }
+
+    /**
+     * Returns the time to live of a conversation after it was last read or updated in seconds.
+     *
+     * @return the time to live, or {@code null} if the conversations never expire
+     * @throws IllegalArgumentException if the configured value is not a valid integer
+     */
+    public Long ttlSeconds() {
+        return get(TTL_SECONDS)
+                .map(value -> {
+                    try {
+                        return Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid Redis ttl-seconds value: " + value, e);
+                    }
+                })
+                .orElse(null);
+    }
+
     /**
      * Returns the unique name identifier for this Redis memory configuration module.
      *
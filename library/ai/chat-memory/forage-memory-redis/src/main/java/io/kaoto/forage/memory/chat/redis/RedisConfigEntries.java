@@ -113,6 +113,60 @@ public final class RedisConfigEntries extends ConfigEntries {
             "integer",
             false,
             ConfigTag.ADVANCED);
+    public static final ConfigModule MODE = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.mode",
+            "Redis deployment: 'standalone' (host and port), 'cluster', 'sentinel' or 'sharded' (consistent hashing over the nodes)",
+            "Mode",
+            "standalone",
+            "string",
+            false,
+            ConfigTag.COMMON);
+    public static final ConfigModule NODES = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.nodes",
+            "Comma-separated list of 'host:port' addresses: the cluster seed nodes, the sentinels or the shards",
+            "Nodes",
+            null,
+            "string",
+            false,
+            ConfigTag.COMMON);
+    public static final ConfigModule SENTINEL_MASTER = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.sentinel.master",
+            "Name of the master monitored by the sentinels",
+            "Sentinel Master",
+            "mymaster",
+            "string",
+            false,
+            ConfigTag.COMMON);
+    public static final ConfigModule SENTINEL_PASSWORD = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.sentinel.password",
+            "Password of the sentinels (optional)",
+            "Sentinel Password",
+            null,
+            "password",
+            false,
+            ConfigTag.SECURITY);
+    public static final ConfigModule CLUSTER_MAX_ATTEMPTS = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.cluster.max-attempts",
+            "Maximum number of attempts of a command when the cluster redirects it or a node fails",
+            "Cluster Max Attempts",
+            "5",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule TTL_SECONDS = ConfigModule.of(
+            RedisConfig.class,
+            "forage.redis.ttl-seconds",
+            "Time to live of a conversation after it was last read or updated in seconds (kept forever if not set)",
+            "TTL",
+            null,
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
 
     static {
         initModules(
@@ -128,6 +182,12 @@ public final class RedisConfigEntries extends ConfigEntries {
                 POOL_TEST_ON_BORROW,
                 POOL_TEST_ON_RETURN,
                 POOL_TEST_WHILE_IDLE,
-                POOL_MAX_WAIT_MILLIS);
+                POOL_MAX_WAIT_MILLIS,
+                MODE,
+                NODES,
+                SENTINEL_MASTER,
+                SENTINEL_PASSWORD,
+                CLUSTER_MAX_ATTEMPTS,
+                TTL_SECONDS);
     }
 }
@@ -0,0 +1,57 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import java.util.function.Function;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.commands.JedisCommands;
+
+/**
+ * Connections to the Redis deployment storing the chat memories.
+ *
+ * <p>Each command is run on a connection to the node holding its key, so that callers do not depend on
+ * whether the keys are spread over several nodes or not.
+ *
+ * @see RedisMode
+ */
+public interface RedisConnections extends AutoCloseable {
+
+    /**
+     * Runs a command on the node holding the given key.
+     *
+     * @param key the key the command reads or writes
+     * @param command the command, which must only access the given key
+     * @return the result of the command
+     */
+    <T> T execute(String key, Function<JedisCommands, T> command);
+
+    /**
+     * Sends a {@code PING} to every node, failing if one of them cannot be reached.
+     */
+    void ping();
+
+    @Override
+    void close();
+
+    /**
+     * Returns connections managed by the given client, e.g. a {@link redis.clients.jedis.RedisClient} pooling the
+     * connections to a single server, a {@link redis.clients.jedis.RedisClusterClient} routing the keys to the
+     * node of their hash slot or a {@link redis.clients.jedis.RedisSentinelClient} following the master.
+     */
+    static RedisConnections of(UnifiedJedis jedis) {
+        return new RedisConnections() {
+            @Override
+            public <T> T execute(String key, Function<JedisCommands, T> command) {
+                return command.apply(jedis);
+            }
+
+            @Override
+            public void ping() {
+                jedis.ping();
+            }
+
+            @Override
+            public void close() {
+                jedis.close();
+            }
+        };
+    }
+}
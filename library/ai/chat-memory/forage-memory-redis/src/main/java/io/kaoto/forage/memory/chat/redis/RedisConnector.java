@@ -0,0 +1,117 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import redis.clients.jedis.ConnectionPoolConfig;
+import redis.clients.jedis.DefaultJedisClientConfig;
+import redis.clients.jedis.HostAndPort;
+import redis.clients.jedis.JedisClientConfig;
+import redis.clients.jedis.RedisClient;
+import redis.clients.jedis.RedisClusterClient;
+import redis.clients.jedis.RedisSentinelClient;
+
+/**
+ * Opens the {@link RedisConnections} of a {@link RedisConfig}, so that the Redis backed beans each own their
+ * connections instead of sharing those of the chat memory provider.
+ */
+final class RedisConnector {
+    private static final Logger LOG = LoggerFactory.getLogger(RedisConnector.class);
+
+    private RedisConnector() {}
+
+    /**
+     * Opens the connections to the Redis deployment described by the given configuration.
+     *
+     * @throws IllegalArgumentException if a clustered mode has no nodes
+     */
+    static RedisConnections connect(RedisConfig config) {
+        RedisMode mode = config.mode();
+        ConnectionPoolConfig poolConfig = new ConnectionPoolConfig();
+        configurePool(config, poolConfig);
+        JedisClientConfig clientConfig = DefaultJedisClientConfig.builder()
+                .timeoutMillis(config.timeout())
+                .password(config.password())
+                .database(mode == RedisMode.CLUSTER ? 0 : config.database())
+                .build();
+
+        if (mode == RedisMode.STANDALONE) {
+            LOG.debug(
+                    "Redis pool configuration: maxTotal={}, maxIdle={}, minIdle={}, testOnBorrow={}, testOnReturn={}, testWhileIdle={}, maxWaitMillis={}",
+                    poolConfig.getMaxTotal(),
+                    poolConfig.getMaxIdle(),
+                    poolConfig.getMinIdle(),
+                    poolConfig.getTestOnBorrow(),
+                    poolConfig.getTestOnReturn(),
+                    poolConfig.getTestWhileIdle(),
+                    poolConfig.getMaxWaitDuration().toMillis());
+
+            return RedisConnections.of(RedisClient.builder()
+                    .hostAndPort(config.host(), config.port())
+                    .clientConfig(clientConfig)
+                    .poolConfig(poolConfig)
+                    .build());
+        }
+
+        List<HostAndPort> nodes = config.nodes();
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("Redis %s mode requires forage.redis.nodes".formatted(mode));
+        }
+
+        return switch (mode) {
+            case CLUSTER -> {
+                if (config.database() != 0) {
+                    LOG.warn("Redis Cluster only has database 0, ignoring database {}", config.database());
+                }
+                yield RedisConnections.of(RedisClusterClient.builder()
+                        .nodes(new HashSet<>(nodes))
+                        .clientConfig(clientConfig)
+                        .maxAttempts(config.clusterMaxAttempts())
+                        .poolConfig(poolConfig)
+                        .build());
+            }
+            case SENTINEL -> {
+                JedisClientConfig sentinelConfig = DefaultJedisClientConfig.builder()
+                        .timeoutMillis(config.timeout())
+                        .password(config.sentinelPassword())
+                        .build();
+                yield RedisConnections.of(RedisSentinelClient.builder()
+                        .masterName(config.sentinelMaster())
+                        .sentinels(new HashSet<>(nodes))
+                        .clientConfig(clientConfig)
+                        .sentinelClientConfig(sentinelConfig)
+                        .poolConfig(poolConfig)
+                        .build());
+            }
+            case SHARDED -> {
+                Map<String, RedisConnections> shards = new LinkedHashMap<>();
+                for (HostAndPort node : nodes) {
+                    shards.put(
+                            node.toString(),
+                            RedisConnections.of(RedisClient.builder()
+                                    .hostAndPort(node)
+                                    .clientConfig(clientConfig)
+                                    .poolConfig(poolConfig)
+                                    .build()));
+                }
+                yield new ShardedRedisConnections(shards);
+            }
+            case STANDALONE -> throw new IllegalStateException("Unexpected Redis mode " + mode);
+        };
+    }
+
+    private static void configurePool(RedisConfig config, GenericObjectPoolConfig<?> poolConfig) {
+        poolConfig.setMaxTotal(config.poolMaxTotal());
+        poolConfig.setMaxIdle(config.poolMaxIdle());
+        poolConfig.setMinIdle(config.poolMinIdle());
+        poolConfig.setTestOnBorrow(config.poolTestOnBorrow());
+        poolConfig.setTestOnReturn(config.poolTestOnReturn());
+        poolConfig.setTestWhileIdle(config.poolTestWhileIdle());
+        poolConfig.setMaxWait(Duration.ofMillis(config.poolMaxWaitMillis()));
+    }
+}
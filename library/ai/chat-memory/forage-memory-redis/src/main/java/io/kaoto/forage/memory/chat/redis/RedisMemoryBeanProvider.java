@@ -1,15 +1,19 @@
 package io.kaoto.forage.memory.chat.redis;
 
-import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
+import io.kaoto.forage.core.ai.memory.ChatMemoryLock;
+import io.kaoto.forage.core.ai.memory.ChatMemoryLockConfig;
+import io.kaoto.forage.core.ai.memory.LockingChatMemory;
+import io.kaoto.forage.core.ai.memory.StripedChatMemoryLock;
+import io.kaoto.forage.core.ai.memory.WriteBehindChatMemoryStore;
+import io.kaoto.forage.core.ai.memory.WriteBehindConfig;
 import io.kaoto.forage.core.annotations.ForageBean;
 import dev.langchain4j.memory.chat.ChatMemoryProvider;
 import dev.langchain4j.memory.chat.MessageWindowChatMemory;
-import redis.clients.jedis.JedisPool;
-import redis.clients.jedis.JedisPoolConfig;
-import redis.clients.jedis.exceptions.JedisException;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
 
 /**
  * Redis-based implementation of {@link ChatMemoryBeanProvider} that creates chat memory providers
@@ -24,6 +28,7 @@ import redis.clients.jedis.exceptions.JedisException;
  *   <li>Persistent chat memory storage using Redis</li>
  *   <li>Configurable message window size for memory management</li>
  *   <li>Connection pooling for optimal Redis performance</li>
+ *   <li>Standalone, Redis Cluster, Sentinel and client-side sharded deployments</li>
  *   <li>Automatic discovery via ServiceLoader mechanism</li>
  *   <li>Thread-safe memory provider creation</li>
  * </ul>
@@ -53,53 +58,42 @@ public class RedisMemoryBeanProvider implements ChatMemoryBeanProvider {
     private static final int DEFAULT_MAX_MESSAGES = 100;
 
     private static final RedisConfig CONFIG = new RedisConfig();
-    private static final JedisPool JEDIS_POOL;
-    private static final PersistentRedisStore REDIS_STORE;
+    private static final RedisConnections CONNECTIONS;
+    private static final ChatMemoryStore REDIS_STORE;
+    private static final ChatMemoryLock LOCK;
+    private static final AtomicBoolean CLOSED = new AtomicBoolean();
 
     static {
-        LOG.info(
-                "Initializing Redis chat memory provider with host: {}, port: {}, database: {}",
-                CONFIG.host(),
-                CONFIG.port(),
-                CONFIG.database());
+        RedisMode mode = CONFIG.mode();
+        if (mode == RedisMode.STANDALONE) {
+            LOG.info(
+                    "Initializing Redis chat memory provider with host: {}, port: {}, database: {}",
+                    CONFIG.host(),
+                    CONFIG.port(),
+                    CONFIG.database());
+        } else {
+            LOG.info(
+                    "Initializing Redis chat memory provider in {} mode with nodes: {}, database: {}",
+                    mode,
+                    CONFIG.nodes(),
+                    CONFIG.database());
+        }
 
         try {
-            // Initialize Redis connection pool with configuration from RedisConfig
-            JedisPoolConfig poolConfig = new JedisPoolConfig();
-            poolConfig.setMaxTotal(CONFIG.poolMaxTotal());
-            poolConfig.setMaxIdle(CONFIG.poolMaxIdle());
-            poolConfig.setMinIdle(CONFIG.poolMinIdle());
-            poolConfig.setTestOnBorrow(CONFIG.poolTestOnBorrow());
-            poolConfig.setTestOnReturn(CONFIG.poolTestOnReturn());
-            poolConfig.setTestWhileIdle(CONFIG.poolTestWhileIdle());
-            poolConfig.setMaxWait(Duration.ofMillis(CONFIG.poolMaxWaitMillis()));
-
-            LOG.debug(
-                    "Redis pool configuration: maxTotal={}, maxIdle={}, minIdle={}, testOnBorrow={}, testOnReturn={}, testWhileIdle={}, maxWaitMillis={}",
-                    poolConfig.getMaxTotal(),
-                    poolConfig.getMaxIdle(),
-                    poolConfig.getMinIdle(),
-                    poolConfig.getTestOnBorrow(),
-                    poolConfig.getTestOnReturn(),
-                    poolConfig.getTestWhileIdle(),
-                    poolConfig.getMaxWaitDuration().toMillis());
-
-            JEDIS_POOL = new JedisPool(
-                    poolConfig, CONFIG.host(), CONFIG.port(), CONFIG.timeout(), CONFIG.password(), CONFIG.database());
+            CONNECTIONS = RedisConnector.connect(CONFIG);
 
             // Test the connection
-            try (var jedis = JEDIS_POOL.getResource()) {
-                jedis.ping();
-                LOG.info(
-                        "Successfully connected to Redis at {}:{}/{} with pool configuration",
-                        CONFIG.host(),
-                        CONFIG.port(),
-                        CONFIG.database());
-            }
+            CONNECTIONS.ping();
+            LOG.info("Successfully connected to Redis in {} mode with pool configuration", mode);
 
-            REDIS_STORE = new PersistentRedisStore(JEDIS_POOL);
+            REDIS_STORE = WriteBehindChatMemoryStore.decorate(
+                    new PersistentRedisStore(CONNECTIONS, CONFIG.ttlSeconds()), new WriteBehindConfig());
+            LOCK = createLock(new ChatMemoryLockConfig());
+            Runtime.getRuntime()
+                    .addShutdownHook(new Thread(RedisMemoryBeanProvider::close, "forage-memory-redis-shutdown"));
 
-        } catch (JedisException e) {
+        } catch (RuntimeException e) {
+            // Connection failures, invalid deployment settings and a distributed lock combined with write-behind
             LOG.error("Failed to initialize Redis connection pool for chat memory", e);
             throw new RuntimeException("Failed to connect to Redis for chat memory storage", e);
         }
@@ -139,34 +133,64 @@ public class RedisMemoryBeanProvider implements ChatMemoryBeanProvider {
     public ChatMemoryProvider create() {
         return memoryId -> {
             LOG.debug("Creating message window chat memory for ID: {}", memoryId);
-            return MessageWindowChatMemory.builder()
-                    .id(memoryId)
-                    .maxMessages(DEFAULT_MAX_MESSAGES)
-                    .chatMemoryStore(REDIS_STORE)
-                    .build();
+            return new LockingChatMemory(
+                    MessageWindowChatMemory.builder()
+                            .id(memoryId)
+                            .maxMessages(DEFAULT_MAX_MESSAGES)
+                            .chatMemoryStore(REDIS_STORE)
+                            .build(),
+                    LOCK);
         };
     }
 
+    private static ChatMemoryLock createLock(ChatMemoryLockConfig config) {
+        if (!config.distributed()) {
+            return new StripedChatMemoryLock(config.stripes());
+        }
+        if (REDIS_STORE instanceof WriteBehindChatMemoryStore) {
+            // The updates would reach the store after the release of their lock, other instances would read stale
+            // messages and overwrite them
+            throw new IllegalStateException("The distributed chat memory lock (forage.memory.lock.distributed) "
+                    + "cannot be combined with write-behind (forage.memory.write.behind.enabled)");
+        }
+        LOG.info("Locking the chat memories in Redis");
+        return new RedisChatMemoryLock(CONNECTIONS, config.stripes(), config.leaseTime(), config.timeout());
+    }
+
     @Override
     public ChatMemoryProvider create(String id) {
         throw new UnsupportedOperationException("Named chat memory stores are not yet supported for Redis");
     }
 
+    /**
+     * Returns the Redis store backing the chat memories.
+     */
+    static ChatMemoryStore chatMemoryStore() {
+        return REDIS_STORE;
+    }
+
     /**
      * Closes the Redis connection pool and releases all associated resources.
      *
      * <p>This method should be called during application shutdown to ensure proper
      * cleanup of Redis connections. After calling this method, the factory should
-     * not be used to create new memory providers.
+     * not be used to create new memory providers. With write-behind enabled, the buffered
+     * chat memory updates are written before the connection pool is closed.
      *
-     * <p><strong>Note:</strong> This method is not automatically called and must be
-     * explicitly invoked by the application or container during shutdown. Since the
+     * <p><strong>Note:</strong> This method is called by a shutdown hook registered when the
+     * provider is loaded, and can be invoked earlier by the application or container. Since the
      * Redis pool is static, this affects all instances of this factory class.
      */
     public static void close() {
-        if (JEDIS_POOL != null && !JEDIS_POOL.isClosed()) {
+        if (!CLOSED.compareAndSet(false, true)) {
+            return;
+        }
+        if (REDIS_STORE instanceof WriteBehindChatMemoryStore writeBehindStore) {
+            writeBehindStore.close();
+        }
+        if (CONNECTIONS != null) {
             LOG.info("Closing Redis connection pool for chat memory");
-            JEDIS_POOL.close();
+            CONNECTIONS.close();
         }
     }
 }
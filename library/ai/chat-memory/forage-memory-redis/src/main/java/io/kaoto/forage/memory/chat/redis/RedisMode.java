@@ -0,0 +1,33 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import java.util.Locale;
+
+/**
+ * Redis deployments the chat memories can be stored in.
+ */
+public enum RedisMode {
+    /**
+     * A single Redis server.
+     */
+    STANDALONE,
+    /**
+     * A Redis Cluster, the keys being spread over its nodes by hash slot.
+     */
+    CLUSTER,
+    /**
+     * A Redis master monitored by sentinels, the client following the master on failover.
+     */
+    SENTINEL,
+    /**
+     * Independent Redis servers, the keys being spread over them by consistent hashing in the client.
+     */
+    SHARDED;
+
+    static RedisMode of(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid Redis mode value: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.ai.ChatResponseCacheStore;
+import io.kaoto.forage.core.ai.ChatResponseCacheStoreProvider;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.SetParams;
+
+/**
+ * Redis remote tier of the agent response cache.
+ *
+ * <p>Responses are stored with a Redis expiry under the {@value #KEY_PREFIX} key prefix, apart from the
+ * conversations. Each store opens its own connections to the Redis deployment configured for the chat memory,
+ * without initializing the chat memory provider, and closes them with the agent.
+ */
+public class RedisResponseCacheStoreProvider implements ChatResponseCacheStoreProvider {
+    private static final Logger LOG = LoggerFactory.getLogger(RedisResponseCacheStoreProvider.class);
+
+    static final String KEY_PREFIX = "forage:response-cache:";
+
+    @Override
+    public String kind() {
+        return "redis";
+    }
+
+    @Override
+    public ChatResponseCacheStore create(String id) {
+        RedisConfig config = new RedisConfig();
+        RedisConnections connections = RedisConnector.connect(config);
+        LOG.info("Connected the Redis response cache in {} mode", config.mode());
+
+        return new ChatResponseCacheStore() {
+            @Override
+            public String get(String key) {
+                String redisKey = KEY_PREFIX + key;
+                try {
+                    return connections.execute(redisKey, redis -> redis.get(redisKey));
+                } catch (JedisException e) {
+                    LOG.warn("Failed to read cached response {} from Redis: {}", key, e.getMessage());
+                    return null;
+                }
+            }
+
+            @Override
+            public void put(String key, String value, Duration ttl) {
+                String redisKey = KEY_PREFIX + key;
+                try {
+                    connections.execute(
+                            redisKey,
+                            redis -> redis.set(
+                                    redisKey, value, SetParams.setParams().px(ttl.toMillis())));
+                } catch (JedisException e) {
+                    LOG.warn("Failed to store cached response {} in Redis: {}", key, e.getMessage());
+                }
+            }
+
+            @Override
+            public void close() {
+                connections.close();
+            }
+        };
+    }
+}
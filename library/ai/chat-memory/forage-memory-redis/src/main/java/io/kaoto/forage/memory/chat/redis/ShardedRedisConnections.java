@@ -0,0 +1,97 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import redis.clients.jedis.commands.JedisCommands;
+
+/**
+ * Connections spreading the keys over independent Redis servers by consistent hashing.
+ *
+ * <p>Each shard is placed at {@value #POINTS_PER_SHARD} points of a hash ring derived from its name, and a key
+ * belongs to the shard of the first point following the hash of the key. The ring only depends on the shard
+ * names, so that every instance of the application maps a key to the same shard, and adding or removing a
+ * shard only moves the keys of the ring segments it gains or loses, about one shard's worth of keys.
+ *
+ * <p>The shards are independent: a shard being down makes its conversations unavailable, and keys moved by a
+ * change of shards are not migrated.
+ */
+public class ShardedRedisConnections implements RedisConnections {
+
+    static final int POINTS_PER_SHARD = 160;
+
+    private final Map<String, RedisConnections> shards;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * @param shards the connections to each shard by shard name, usually its {@code host:port} address
+     */
+    public ShardedRedisConnections(Map<String, RedisConnections> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one Redis shard is required");
+        }
+        this.shards = new LinkedHashMap<>(shards);
+        for (String name : shards.keySet()) {
+            // Four points per digest, as in the ketama ring of memcached clients
+            for (int i = 0; i < POINTS_PER_SHARD / 4; i++) {
+                byte[] digest = md5(name + "-" + i);
+                for (int point = 0; point < 4; point++) {
+                    ring.putIfAbsent(hash(digest, point), name);
+                }
+            }
+        }
+    }
+
+    @Override
+    public <T> T execute(String key, Function<JedisCommands, T> command) {
+        return shards.get(shardOf(key)).execute(key, command);
+    }
+
+    /**
+     * Returns the name of the shard holding the given key.
+     */
+    String shardOf(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(md5(key), 0));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    @Override
+    public void ping() {
+        shards.values().forEach(RedisConnections::ping);
+    }
+
+    @Override
+    public void close() {
+        RuntimeException failure = null;
+        for (RedisConnections shard : shards.values()) {
+            try {
+                shard.close();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static long hash(byte[] digest, int point) {
+        return ((long) (digest[3 + point * 4] & 0xFF) << 24)
+                | ((long) (digest[2 + point * 4] & 0xFF) << 16)
+                | ((long) (digest[1 + point * 4] & 0xFF) << 8)
+                | (digest[point * 4] & 0xFF);
+    }
+
+    private static byte[] md5(String value) {
+        try {
+            return MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.UserMessage;
+import redis.clients.jedis.commands.JedisCommands;
+import redis.clients.jedis.params.GetExParams;
+import redis.clients.jedis.params.SetParams;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentRedisStoreTest {
+
+    private final Map<String, String> values = new HashMap<>();
+    private final List<List<Object>> commands = new ArrayList<>();
+
+    @Test
+    void shouldSetAndRefreshTheTimeToLive() {
+        PersistentRedisStore store = new PersistentRedisStore(new RecordingConnections(), 60L);
+
+        store.updateMessages("conversation-1", List.of(UserMessage.from("Hello")));
+        List<ChatMessage> messages = store.getMessages("conversation-1");
+
+        assertThat(messages).containsExactly(UserMessage.from("Hello"));
+        assertThat(commands).extracting(command -> command.get(0)).containsExactly("set", "getEx");
+        assertThat(commands.get(0).get(3)).isEqualTo(SetParams.setParams().ex(60));
+        assertThat(commands.get(1).get(2)).isEqualTo(GetExParams.getExParams().ex(60));
+    }
+
+    @Test
+    void shouldKeepConversationsWithoutTimeToLive() {
+        PersistentRedisStore store = new PersistentRedisStore(new RecordingConnections(), null);
+
+        store.updateMessages("conversation-1", List.of(UserMessage.from("Hello")));
+        store.getMessages("conversation-1");
+
+        assertThat(commands).extracting(List::size).containsExactly(3, 2);
+        assertThat(commands).extracting(command -> command.get(0)).containsExactly("set", "get");
+    }
+
+    /**
+     * Records the commands run, keeping the values set in a map.
+     */
+    private final class RecordingConnections implements RedisConnections {
+        private final JedisCommands redis = (JedisCommands) Proxy.newProxyInstance(
+                JedisCommands.class.getClassLoader(), new Class<?>[] {JedisCommands.class}, (proxy, method, args) -> {
+                    List<Object> command = new ArrayList<>();
+                    command.add(method.getName());
+                    command.addAll(List.of(args));
+                    commands.add(command);
+                    return switch (method.getName()) {
+                        case "set" -> {
+                            values.put((String) args[0], (String) args[1]);
+                            yield "OK";
+                        }
+                        case "get", "getEx" -> values.get((String) args[0]);
+                        default -> throw new UnsupportedOperationException(method.getName());
+                    };
+                });
+
+        @Override
+        public <T> T execute(String key, Function<JedisCommands, T> command) {
+            return command.apply(redis);
+        }
+
+        @Override
+        public void ping() {}
+
+        @Override
+        public void close() {}
+    }
+}
@@ -0,0 +1,73 @@
+package io.kaoto.forage.memory.chat.redis;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import redis.clients.jedis.commands.JedisCommands;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedRedisConnectionsTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void shouldSpreadKeysOverShards() {
+        ShardedRedisConnections connections = sharded("redis1:6379", "redis2:6379", "redis3:6379", "redis4:6379");
+
+        Map<String, Integer> keysPerShard = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            keysPerShard.merge(connections.shardOf("conversation-" + i), 1, Integer::sum);
+        }
+
+        assertThat(keysPerShard).hasSize(4);
+        assertThat(keysPerShard.values()).allSatisfy(count -> assertThat(count).isBetween(KEYS / 8, KEYS / 2));
+    }
+
+    @Test
+    void shouldOnlyMoveKeysOfRemovedShard() {
+        ShardedRedisConnections four = sharded("redis1:6379", "redis2:6379", "redis3:6379", "redis4:6379");
+        ShardedRedisConnections three = sharded("redis1:6379", "redis2:6379", "redis3:6379");
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "conversation-" + i;
+            String shard = four.shardOf(key);
+            if (!shard.equals("redis4:6379")) {
+                assertThat(three.shardOf(key)).isEqualTo(shard);
+            }
+        }
+    }
+
+    @Test
+    void shouldMapKeysIndependentlyOfShardOrder() {
+        ShardedRedisConnections connections = sharded("redis1:6379", "redis2:6379", "redis3:6379");
+        ShardedRedisConnections reordered = sharded("redis3:6379", "redis1:6379", "redis2:6379");
+
+        for (int i = 0; i < KEYS; i++) {
+            assertThat(reordered.shardOf("conversation-" + i)).isEqualTo(connections.shardOf("conversation-" + i));
+        }
+    }
+
+    private static ShardedRedisConnections sharded(String... names) {
+        Map<String, RedisConnections> shards = new LinkedHashMap<>();
+        for (String name : names) {
+            shards.put(name, new UnusedConnections());
+        }
+        return new ShardedRedisConnections(shards);
+    }
+
+    private static final class UnusedConnections implements RedisConnections {
+        @Override
+        public <T> T execute(String key, Function<JedisCommands, T> command) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void ping() {}
+
+        @Override
+        public void close() {}
+    }
+}
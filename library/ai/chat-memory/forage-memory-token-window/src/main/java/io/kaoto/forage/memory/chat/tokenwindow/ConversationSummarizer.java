@@ -0,0 +1,206 @@
+package io.kaoto.forage.memory.chat.tokenwindow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.Content;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.TextContent;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Folds the messages evicted from a {@link TokenWindowChatMemory} into a rolling summary of the conversation.
+ *
+ * <p>Summaries are written by a background thread, so that calling the summary model never delays a response.
+ * The summaries of a memory are updated one at a time and in eviction order, each one merging the evicted
+ * messages into the previous summary. A summary is kept in the memory store, next to the messages.
+ *
+ * <p>Until their summary is written, the evicted messages are kept by the summarizer and returned by
+ * {@link #pending(Object)}, so that they do not go missing from the memory in the meantime. They are only kept
+ * on the heap of the instance that evicted them: another instance sharing the store does not see them.
+ */
+public class ConversationSummarizer implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(ConversationSummarizer.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    static final String SUMMARY_HEADER = "Summary of the earlier conversation:\n";
+    private static final String SUMMARY_ID_SUFFIX = ":summary";
+
+    private final ChatModel model;
+    private final ChatMemoryStore store;
+    private final int maxSummaryTokens;
+    private final ExecutorService executor;
+    private final Map<Object, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    private final Map<Object, List<ChatMessage>> unsummarized = new ConcurrentHashMap<>();
+
+    /**
+     * @param model the model writing the summaries, preferably a small and cheap one
+     * @param store the store keeping the summaries
+     * @param maxSummaryTokens the length the model is asked to keep a summary under
+     */
+    public ConversationSummarizer(ChatModel model, ChatMemoryStore store, int maxSummaryTokens) {
+        this.model = model;
+        this.store = store;
+        this.maxSummaryTokens = maxSummaryTokens;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "forage-memory-summarizer-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the current summary of the conversation, or null when no message has been summarized yet.
+     */
+    public String summary(Object memoryId) {
+        List<ChatMessage> messages = store.getMessages(summaryId(memoryId));
+        return messages.isEmpty() ? null : ((SystemMessage) messages.get(0)).text();
+    }
+
+    /**
+     * Returns the messages evicted from a memory that are not included in its summary yet, oldest first.
+     */
+    public List<ChatMessage> pending(Object memoryId) {
+        List<ChatMessage> messages = unsummarized.get(memoryId);
+        return messages != null ? messages : List.of();
+    }
+
+    /**
+     * Schedules the messages evicted from a memory to be merged into its summary.
+     *
+     * @return a future completed once the summary includes the messages
+     */
+    public CompletableFuture<Void> summarize(Object memoryId, List<ChatMessage> evicted) {
+        List<ChatMessage> messages = List.copyOf(evicted);
+        unsummarized.merge(memoryId, messages, ConversationSummarizer::concat);
+        CompletableFuture<Void> update = pending.compute(
+                memoryId,
+                (id, previous) -> (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                        .thenRunAsync(() -> update(id, messages), executor)
+                        .exceptionally(e -> {
+                            LOG.warn(
+                                    "Failed to summarize {} messages of chat memory {}: {}",
+                                    messages.size(),
+                                    id,
+                                    e.getMessage());
+                            return null;
+                        })
+                        // Once written, the summary replaces the messages, or they are dropped if it failed
+                        .thenRun(() -> unsummarized.computeIfPresent(id, (key, kept) -> drop(kept, messages.size()))));
+        update.whenComplete((result, e) -> pending.remove(memoryId, update));
+        return update;
+    }
+
+    /**
+     * Deletes the summary of a memory.
+     */
+    public void clear(Object memoryId) {
+        CompletableFuture<Void> update = pending.get(memoryId);
+        if (update != null) {
+            // Let a running update finish before deleting what it writes
+            update.join();
+        }
+        unsummarized.remove(memoryId);
+        store.deleteMessages(summaryId(memoryId));
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void update(Object memoryId, List<ChatMessage> evicted) {
+        if (evicted.isEmpty()) {
+            return;
+        }
+        String previous = summary(memoryId);
+        long start = System.nanoTime();
+        String summary = model.chat(SystemMessage.from(instructions()), UserMessage.from(transcript(previous, evicted)))
+                .aiMessage()
+                .text();
+        if (summary == null || summary.isBlank()) {
+            LOG.warn("The summary model returned an empty summary for chat memory {}", memoryId);
+            return;
+        }
+        store.updateMessages(summaryId(memoryId), List.of(SystemMessage.from(summary.strip())));
+        LOG.debug(
+                "Summarized {} messages of chat memory {} in {} ms",
+                evicted.size(),
+                memoryId,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private String instructions() {
+        return "You maintain a running summary of a conversation between a user and an AI assistant. Merge the "
+                + "new messages into the current summary. Keep the facts, names, numbers, decisions and open "
+                + "questions the assistant may need later, and drop greetings and repetitions. Answer with the "
+                + "updated summary only, in less than " + maxSummaryTokens + " tokens.";
+    }
+
+    private static String transcript(String previous, List<ChatMessage> evicted) {
+        StringBuilder transcript = new StringBuilder("Current summary:\n")
+                .append(previous != null ? previous : "(none)")
+                .append("\n\nNew messages:\n");
+        for (ChatMessage message : evicted) {
+            if (message instanceof UserMessage userMessage) {
+                transcript.append("User: ");
+                for (Content content : userMessage.contents()) {
+                    if (content instanceof TextContent textContent) {
+                        transcript.append(textContent.text());
+                    }
+                }
+            } else if (message instanceof AiMessage aiMessage) {
+                transcript.append("Assistant: ");
+                if (aiMessage.text() != null) {
+                    transcript.append(aiMessage.text());
+                }
+                for (ToolExecutionRequest request : aiMessage.toolExecutionRequests()) {
+                    transcript
+                            .append(" [calls ")
+                            .append(request.name())
+                            .append(' ')
+                            .append(request.arguments())
+                            .append(']');
+                }
+            } else if (message instanceof ToolExecutionResultMessage toolResult) {
+                transcript
+                        .append("Tool ")
+                        .append(toolResult.toolName())
+                        .append(": ")
+                        .append(toolResult.text());
+            } else {
+                continue;
+            }
+            transcript.append('\n');
+        }
+        return transcript.toString();
+    }
+
+    private static List<ChatMessage> concat(List<ChatMessage> first, List<ChatMessage> second) {
+        List<ChatMessage> messages = new ArrayList<>(first.size() + second.size());
+        messages.addAll(first);
+        messages.addAll(second);
+        return List.copyOf(messages);
+    }
+
+    private static List<ChatMessage> drop(List<ChatMessage> messages, int count) {
+        return count >= messages.size() ? null : List.copyOf(messages.subList(count, messages.size()));
+    }
+
+    private static String summaryId(Object memoryId) {
+        return memoryId + SUMMARY_ID_SUFFIX;
+    }
+}
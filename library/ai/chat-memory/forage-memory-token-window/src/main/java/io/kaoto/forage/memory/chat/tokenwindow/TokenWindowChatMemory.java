@@ -0,0 +1,167 @@
+package io.kaoto.forage.memory.chat.tokenwindow;
+
+import java.util.ArrayList;
+import java.util.List;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.memory.ChatMemory;
+import dev.langchain4j.model.TokenCountEstimator;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+
+/**
+ * Chat memory retaining the most recent messages fitting in a token budget.
+ *
+ * <p>When adding a message takes the memory over its budget, the oldest messages are evicted. The system
+ * message and the latest message are always kept, and a tool result never outlives the request it answers.
+ * With a {@link ConversationSummarizer}, the evicted messages are folded into a rolling summary of the
+ * conversation, returned right after the system message. The summary is written in the background: until it
+ * includes them, the evicted messages are still returned after the summary, so the memory may briefly exceed its
+ * budget rather than miss them. The tokens of the summary are taken from the budget.
+ *
+ * <p>Updates are not synchronized: concurrent updates of a memory must be serialized by the caller, as the
+ * memories created by {@link TokenWindowChatMemoryBeanProvider} are with a per memory id lock.
+ */
+public class TokenWindowChatMemory implements ChatMemory {
+
+    private final Object id;
+    private final ChatMemoryStore store;
+    private final TokenCountEstimator tokenCountEstimator;
+    private final int maxTokens;
+    private final ConversationSummarizer summarizer;
+
+    /**
+     * @param id the memory id
+     * @param store the store keeping the messages and the summary
+     * @param tokenCountEstimator the estimator counting the tokens of the messages
+     * @param maxTokens the token budget of the memory
+     * @param summarizer the summarizer of the evicted messages, or null to drop them
+     */
+    public TokenWindowChatMemory(
+            Object id,
+            ChatMemoryStore store,
+            TokenCountEstimator tokenCountEstimator,
+            int maxTokens,
+            ConversationSummarizer summarizer) {
+        this.id = id;
+        this.store = store;
+        this.tokenCountEstimator = tokenCountEstimator;
+        this.maxTokens = maxTokens;
+        this.summarizer = summarizer;
+    }
+
+    @Override
+    public Object id() {
+        return id;
+    }
+
+    @Override
+    public void add(ChatMessage message) {
+        List<ChatMessage> messages = new ArrayList<>(store.getMessages(id));
+        if (message instanceof SystemMessage) {
+            int index = systemMessageIndex(messages);
+            if (index >= 0) {
+                if (messages.get(index).equals(message)) {
+                    return;
+                }
+                messages.remove(index);
+            }
+            messages.add(0, message);
+        } else {
+            messages.add(message);
+        }
+
+        List<ChatMessage> evicted = evict(messages);
+        store.updateMessages(id, messages);
+        if (!evicted.isEmpty() && summarizer != null) {
+            summarizer.summarize(id, evicted);
+        }
+    }
+
+    @Override
+    public List<ChatMessage> messages() {
+        List<ChatMessage> messages = store.getMessages(id);
+        String summary = summary();
+        List<ChatMessage> unsummarized = summarizer != null ? summarizer.pending(id) : List.of();
+        if (summary == null && unsummarized.isEmpty()) {
+            return new ArrayList<>(messages);
+        }
+
+        List<ChatMessage> result = new ArrayList<>(messages.size() + unsummarized.size() + 1);
+        int index = systemMessageIndex(messages);
+        if (index >= 0) {
+            result.add(messages.get(index));
+        }
+        if (summary != null) {
+            result.add(SystemMessage.from(ConversationSummarizer.SUMMARY_HEADER + summary));
+        }
+        result.addAll(unsummarized);
+        for (int i = 0; i < messages.size(); i++) {
+            if (i != index) {
+                result.add(messages.get(i));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void clear() {
+        store.deleteMessages(id);
+        if (summarizer != null) {
+            summarizer.clear(id);
+        }
+    }
+
+    private String summary() {
+        return summarizer != null ? summarizer.summary(id) : null;
+    }
+
+    private List<ChatMessage> evict(List<ChatMessage> messages) {
+        String summary = summary();
+        int budget = maxTokens
+                - (summary != null
+                        ? tokenCountEstimator.estimateTokenCountInText(ConversationSummarizer.SUMMARY_HEADER + summary)
+                        : 0);
+
+        List<ChatMessage> evicted = new ArrayList<>();
+        int tokens = tokenCountEstimator.estimateTokenCountInMessages(messages);
+        while (tokens > budget) {
+            int oldest = oldestEvictableIndex(messages);
+            if (oldest < 0) {
+                break;
+            }
+            ChatMessage removed = messages.remove(oldest);
+            evicted.add(removed);
+            tokens -= tokenCountEstimator.estimateTokenCountInMessage(removed);
+
+            if (removed instanceof AiMessage aiMessage && aiMessage.hasToolExecutionRequests()) {
+                // The results of the requests would be orphans without them
+                while (oldest < messages.size() && messages.get(oldest) instanceof ToolExecutionResultMessage) {
+                    ChatMessage result = messages.remove(oldest);
+                    evicted.add(result);
+                    tokens -= tokenCountEstimator.estimateTokenCountInMessage(result);
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private static int oldestEvictableIndex(List<ChatMessage> messages) {
+        for (int i = 0; i < messages.size() - 1; i++) {
+            if (!(messages.get(i) instanceof SystemMessage)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int systemMessageIndex(List<ChatMessage> messages) {
+        for (int i = 0; i < messages.size(); i++) {
+            if (messages.get(i) instanceof SystemMessage) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,135 @@
+package io.kaoto.forage.memory.chat.tokenwindow;
+
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
+import io.kaoto.forage.core.ai.ChatMemoryStoreProvider;
+import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.memory.ChatMemoryLock;
+import io.kaoto.forage.core.ai.memory.ChatMemoryLockConfig;
+import io.kaoto.forage.core.ai.memory.LockingChatMemory;
+import io.kaoto.forage.core.ai.memory.StripedChatMemoryLock;
+import io.kaoto.forage.core.annotations.ForageBean;
+import dev.langchain4j.memory.chat.ChatMemoryProvider;
+import dev.langchain4j.model.TokenCountEstimator;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+
+/**
+ * Chat memory bounded by an estimated number of tokens rather than a number of messages.
+ *
+ * <p>Long tool results and documents make message counts a poor proxy for the size of the prompt. This memory
+ * keeps the most recent messages fitting in a token budget and, when a summary model is configured, folds the
+ * evicted messages into a rolling summary written in the background. The messages and the summary are kept in
+ * the store of another memory kind, or in memory.
+ *
+ * <p>The store and the summarizer of a configuration are created once per provider and shared by the memory
+ * providers it creates for that configuration. Closing the provider stops the summarizers.
+ *
+ * @see TokenWindowChatMemory
+ * @see TokenWindowConfig
+ */
+@ForageBean(
+        value = "token-window",
+        components = {"camel-langchain4j-agent"},
+        feature = "Memory",
+        configClass = TokenWindowConfig.class,
+        description = "Token budget memory with a rolling summary of the evicted messages")
+public class TokenWindowChatMemoryBeanProvider implements ChatMemoryBeanProvider, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(TokenWindowChatMemoryBeanProvider.class);
+    private static final ChatMemoryLock LOCK = new StripedChatMemoryLock(new ChatMemoryLockConfig().stripes());
+    private static final String DEFAULT_ID = "default";
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public ChatMemoryProvider create(String id) {
+        TokenWindowConfig config = new TokenWindowConfig(id);
+        Window window = windows.computeIfAbsent(id != null ? id : DEFAULT_ID, k -> createWindow(config, id));
+        ChatMemoryStore store = window.store();
+        ConversationSummarizer summarizer = window.summarizer();
+        TokenCountEstimator tokenCountEstimator = createTokenCountEstimator(config.tokenizer());
+        int maxTokens = config.maxTokens();
+
+        LOG.trace(
+                "Creating token window chat memory with maxTokens={}, store={}, summaryModel={}",
+                maxTokens,
+                config.store(),
+                config.summaryModelKind());
+        return memoryId -> new LockingChatMemory(
+                new TokenWindowChatMemory(memoryId, store, tokenCountEstimator, maxTokens, summarizer), LOCK);
+    }
+
+    /**
+     * Stops the summarizers, dropping the summaries not written yet.
+     */
+    @Override
+    public void close() {
+        for (Window window : windows.values()) {
+            if (window.summarizer() != null) {
+                window.summarizer().close();
+            }
+        }
+        windows.clear();
+    }
+
+    private Window createWindow(TokenWindowConfig config, String id) {
+        ChatMemoryStore store = createStore(config.store(), id);
+        ConversationSummarizer summarizer = config.summaryModelKind() != null
+                ? new ConversationSummarizer(
+                        createSummaryModel(config.summaryModelKind(), config.summaryModelId()),
+                        store,
+                        config.summaryMaxTokens())
+                : null;
+        return new Window(store, summarizer);
+    }
+
+    private ChatMemoryStore createStore(String kind, String id) {
+        if (kind == null) {
+            return new InMemoryChatMemoryStore();
+        }
+        for (ChatMemoryStoreProvider provider : ServiceLoader.load(ChatMemoryStoreProvider.class, classLoader())) {
+            if (provider.kind().equals(kind)) {
+                LOG.debug("Using the {} store for the token window chat memory", kind);
+                return provider.create(id);
+            }
+        }
+        throw new IllegalArgumentException("No chat memory store found for kind '" + kind + "'");
+    }
+
+    private ChatModel createSummaryModel(String kind, String id) {
+        for (ServiceLoader.Provider<ModelProvider> provider :
+                ServiceLoader.load(ModelProvider.class, classLoader()).stream().toList()) {
+            ForageBean annotation = provider.type().getAnnotation(ForageBean.class);
+            if (annotation != null && annotation.value().equals(kind)) {
+                LOG.debug("Summarizing the evicted messages with the {} model", kind);
+                return provider.get().create(id);
+            }
+        }
+        throw new IllegalArgumentException("No model provider found for the summary model kind '" + kind + "'");
+    }
+
+    private TokenCountEstimator createTokenCountEstimator(String className) {
+        if (className == null) {
+            return new CharacterTokenCountEstimator();
+        }
+        try {
+            return (TokenCountEstimator) Class.forName(className, true, classLoader())
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Invalid tokenizer: " + className, e);
+        }
+    }
+
+    private ClassLoader classLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : TokenWindowChatMemoryBeanProvider.class.getClassLoader();
+    }
+
+    private record Window(ChatMemoryStore store, ConversationSummarizer summarizer) {}
+}
@@ -0,0 +1,59 @@
+package io.kaoto.forage.memory.chat.tokenwindow;
+
+import io.kaoto.forage.core.util.config.AbstractConfig;
+import io.kaoto.forage.core.util.config.ConfigModule;
+
+public class TokenWindowConfig extends AbstractConfig {
+
+    private static final int DEFAULT_MAX_TOKENS = 4000;
+    private static final int DEFAULT_SUMMARY_MAX_TOKENS = 500;
+
+    public TokenWindowConfig() {
+        this(null);
+    }
+
+    public TokenWindowConfig(String prefix) {
+        super(prefix, TokenWindowConfigEntries.class);
+    }
+
+    public int maxTokens() {
+        return intValue(TokenWindowConfigEntries.MAX_TOKENS, "max tokens", DEFAULT_MAX_TOKENS);
+    }
+
+    public String store() {
+        return get(TokenWindowConfigEntries.STORE).orElse(null);
+    }
+
+    public String tokenizer() {
+        return get(TokenWindowConfigEntries.TOKENIZER).orElse(null);
+    }
+
+    public String summaryModelKind() {
+        return get(TokenWindowConfigEntries.SUMMARY_MODEL_KIND).orElse(null);
+    }
+
+    public String summaryModelId() {
+        return get(TokenWindowConfigEntries.SUMMARY_MODEL_ID).orElse(null);
+    }
+
+    public int summaryMaxTokens() {
+        return intValue(TokenWindowConfigEntries.SUMMARY_MAX_TOKENS, "summary max tokens", DEFAULT_SUMMARY_MAX_TOKENS);
+    }
+
+    private int intValue(ConfigModule entry, String description, int defaultValue) {
+        return get(entry)
+                .map(value -> {
+                    try {
+                        return Integer.parseInt(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("Invalid " + description + " value: " + value, e);
+                    }
+                })
+                .orElse(defaultValue);
+    }
+
+    @Override
+    public String name() {
+        return "forage-memory-token-window";
+    }
+}
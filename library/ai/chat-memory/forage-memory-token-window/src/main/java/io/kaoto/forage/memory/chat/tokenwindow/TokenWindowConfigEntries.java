@@ -0,0 +1,79 @@
+package io.kaoto.forage.memory.chat.tokenwindow;
+
+import io.kaoto.forage.core.util.config.ConfigEntries;
+import io.kaoto.forage.core.util.config.ConfigModule;
+import io.kaoto.forage.core.util.config.ConfigTag;
+
+public final class TokenWindowConfigEntries extends ConfigEntries {
+
+    public static final ConfigModule MAX_TOKENS = ConfigModule.of(
+            TokenWindowConfig.class,
+            "forage.memory.token-window.max.tokens",
+            "Maximum number of estimated tokens to retain in memory, including the conversation summary",
+            "Max Tokens",
+            "4000",
+            "integer",
+            false,
+            ConfigTag.COMMON);
+
+    public static final ConfigModule STORE = ConfigModule.of(
+            TokenWindowConfig.class,
+            "forage.memory.token-window.store",
+            "The memory kind whose store keeps the messages (e.g., message-window, redis, infinispan), in memory when unset",
+            "Store",
+            null,
+            "string",
+            false,
+            ConfigTag.COMMON);
+
+    public static final ConfigModule TOKENIZER = ConfigModule.of(
+            TokenWindowConfig.class,
+            "forage.memory.token-window.tokenizer",
+            "Class name of the dev.langchain4j.model.TokenCountEstimator counting the tokens, about four characters per token when unset",
+            "Tokenizer",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule SUMMARY_MODEL_KIND = ConfigModule.of(
+            TokenWindowConfig.class,
+            "forage.memory.token-window.summary.model.kind",
+            "The model provider kind summarizing the evicted messages (e.g., ollama, openai), evicted messages are dropped when unset",
+            "Summary Model Kind",
+            null,
+            "string",
+            false,
+            ConfigTag.COMMON);
+
+    public static final ConfigModule SUMMARY_MODEL_ID = ConfigModule.of(
+            TokenWindowConfig.class,
+            "forage.memory.token-window.summary.model.id",
+            "The configuration prefix of the summary model, the default model configuration when unset",
+            "Summary Model Configuration",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule SUMMARY_MAX_TOKENS = ConfigModule.of(
+            TokenWindowConfig.class,
+            "forage.memory.token-window.summary.max.tokens",
+            "Maximum number of tokens the summary model is asked to keep the conversation summary under",
+            "Summary Max Tokens",
+            "500",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    static {
+        initModules(
+                TokenWindowConfigEntries.class,
+                MAX_TOKENS,
+                STORE,
+                TOKENIZER,
+                SUMMARY_MODEL_KIND,
+                SUMMARY_MODEL_ID,
+                SUMMARY_MAX_TOKENS);
+    }
+}
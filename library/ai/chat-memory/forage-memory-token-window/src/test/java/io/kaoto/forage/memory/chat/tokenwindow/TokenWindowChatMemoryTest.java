@@ -0,0 +1,143 @@
+package io.kaoto.forage.memory.chat.tokenwindow;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import dev.langchain4j.agent.tool.ToolExecutionRequest;
+import dev.langchain4j.data.message.AiMessage;
+import dev.langchain4j.data.message.ChatMessage;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.ToolExecutionResultMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.request.ChatRequest;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.store.memory.chat.ChatMemoryStore;
+import dev.langchain4j.store.memory.chat.InMemoryChatMemoryStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenWindowChatMemoryTest {
+
+    private final ChatMemoryStore store = new InMemoryChatMemoryStore();
+    private final CharacterTokenCountEstimator estimator = new CharacterTokenCountEstimator();
+    private ConversationSummarizer summarizer;
+
+    @AfterEach
+    void cleanup() {
+        if (summarizer != null) {
+            summarizer.close();
+        }
+    }
+
+    @Test
+    void shouldEvictOldestMessagesOverTheBudget() {
+        TokenWindowChatMemory memory = new TokenWindowChatMemory("user-1", store, estimator, 30, null);
+
+        memory.add(SystemMessage.from("You are a helpful assistant."));
+        memory.add(UserMessage.from("a".repeat(40)));
+        memory.add(AiMessage.from("b".repeat(40)));
+        memory.add(UserMessage.from("c".repeat(40)));
+
+        assertThat(memory.messages())
+                .containsExactly(SystemMessage.from("You are a helpful assistant."), UserMessage.from("c".repeat(40)));
+        assertThat(estimator.estimateTokenCountInMessages(memory.messages())).isLessThanOrEqualTo(30);
+    }
+
+    @Test
+    void shouldKeepTheLatestMessageAboveTheBudget() {
+        TokenWindowChatMemory memory = new TokenWindowChatMemory("user-1", store, estimator, 10, null);
+
+        memory.add(UserMessage.from("hello"));
+        memory.add(UserMessage.from("x".repeat(400)));
+
+        assertThat(memory.messages()).containsExactly(UserMessage.from("x".repeat(400)));
+    }
+
+    @Test
+    void shouldEvictToolResultsWithTheirRequest() {
+        TokenWindowChatMemory memory = new TokenWindowChatMemory("user-1", store, estimator, 30, null);
+        ToolExecutionRequest request = ToolExecutionRequest.builder()
+                .id("1")
+                .name("search")
+                .arguments("{}")
+                .build();
+
+        memory.add(UserMessage.from("search"));
+        memory.add(AiMessage.from(request));
+        memory.add(ToolExecutionResultMessage.from(request, "r".repeat(100)));
+        memory.add(AiMessage.from("found it"));
+        memory.add(UserMessage.from("thanks"));
+
+        assertThat(memory.messages()).containsExactly(AiMessage.from("found it"), UserMessage.from("thanks"));
+    }
+
+    @Test
+    void shouldSummarizeEvictedMessagesInTheBackground() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingChatModel model = new RecordingChatModel(release);
+        summarizer = new ConversationSummarizer(model, store, 100);
+        TokenWindowChatMemory memory = new TokenWindowChatMemory("user-1", store, estimator, 40, summarizer);
+
+        memory.add(SystemMessage.from("Be brief."));
+        memory.add(UserMessage.from("My name is Alice and I live in Paris."));
+        memory.add(AiMessage.from("Nice to meet you Alice, how can I help?"));
+        memory.add(UserMessage.from("What is the weather like?"));
+
+        // The summary model is still running, adding messages did not wait for it and the evicted ones are kept
+        assertThat(memory.messages()).noneMatch(message -> message.toString().contains("Summary"));
+        assertThat(memory.messages())
+                .startsWith(SystemMessage.from("Be brief."), UserMessage.from("My name is Alice and I live in Paris."))
+                .endsWith(UserMessage.from("What is the weather like?"));
+
+        release.countDown();
+        // Updates of a memory run in order, waiting for an empty one waits for the pending one
+        summarizer.summarize("user-1", List.of()).get(5, TimeUnit.SECONDS);
+
+        List<ChatMessage> messages = memory.messages();
+        assertThat(messages.get(0)).isEqualTo(SystemMessage.from("Be brief."));
+        assertThat(((SystemMessage) messages.get(1)).text()).endsWith("The user is Alice from Paris.");
+        assertThat(messages.get(messages.size() - 1)).isEqualTo(UserMessage.from("What is the weather like?"));
+        assertThat(messages).doesNotContain(UserMessage.from("My name is Alice and I live in Paris."));
+        assertThat(model.prompts).singleElement().asString().contains("My name is Alice and I live in Paris.");
+        assertThat(summarizer.pending("user-1")).isEmpty();
+
+        memory.clear();
+        assertThat(memory.messages()).isEmpty();
+        assertThat(summarizer.summary("user-1")).isNull();
+    }
+
+    @Test
+    void shouldShareTheStoreOfAConfigurationUntilClosed() {
+        try (TokenWindowChatMemoryBeanProvider provider = new TokenWindowChatMemoryBeanProvider()) {
+            provider.create().get("user-1").add(UserMessage.from("Hello"));
+
+            assertThat(provider.create().get("user-1").messages()).containsExactly(UserMessage.from("Hello"));
+        }
+    }
+
+    private static final class RecordingChatModel implements ChatModel {
+        private final CountDownLatch release;
+        private final List<String> prompts = new CopyOnWriteArrayList<>();
+
+        private RecordingChatModel(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public ChatResponse doChat(ChatRequest chatRequest) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            prompts.add(((UserMessage) chatRequest.messages().get(1)).singleText());
+            return ChatResponse.builder()
+                    .aiMessage(AiMessage.from("The user is Alice from Paris."))
+                    .build();
+        }
+    }
+}
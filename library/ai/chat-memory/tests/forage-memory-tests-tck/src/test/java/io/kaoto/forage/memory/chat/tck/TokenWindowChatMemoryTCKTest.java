@@ -0,0 +1,20 @@
+package io.kaoto.forage.memory.chat.tck;
+
+import io.kaoto.forage.core.ai.ChatMemoryBeanProvider;
+import io.kaoto.forage.memory.chat.tokenwindow.TokenWindowChatMemoryBeanProvider;
+
+/**
+ * Test for TokenWindowChatMemoryBeanProvider using the ChatMemoryFactoryTCK.
+ *
+ * <p>This test validates the TokenWindowChatMemoryBeanProvider implementation
+ * from the forage-memory-token-window module against the comprehensive
+ * test suite provided by the TCK.
+ * All actual tests are inherited from ChatMemoryBeanProviderTCK
+ */
+class TokenWindowChatMemoryTCKTest extends ChatMemoryBeanProviderTCK {
+
+    @Override
+    protected ChatMemoryBeanProvider createChatMemoryFactory() {
+        return new TokenWindowChatMemoryBeanProvider();
+    }
+}
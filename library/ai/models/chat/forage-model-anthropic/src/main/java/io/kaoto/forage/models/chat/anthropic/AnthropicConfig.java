@@ -5,6 +5,9 @@ import java.util.List;
 import io.kaoto.forage.core.util.config.AbstractConfig;
 
 import static io.kaoto.forage.models.chat.anthropic.AnthropicConfigEntries.API_KEY;
+import static io.kaoto.forage.models.chat.anthropic.AnthropicConfigEntries.BASE_URL;
+import static io.kaoto.forage.models.chat.anthropic.AnthropicConfigEntries.CACHE_SYSTEM_MESSAGES;
+import static io.kaoto.forage.models.chat.anthropic.AnthropicConfigEntries.CACHE_TOOLS;
 import static io.kaoto.forage.models.chat.anthropic.AnthropicConfigEntries.LOG_REQUESTS_AND_RESPONSES;
 import static io.kaoto.forage.models.chat.anthropic.AnthropicConfigEntries.MAX_RETRIES;
 import static io.kaoto.forage.models.chat.anthropic.AnthropicConfigEntries.MAX_TOKENS;
@@ -127,6 +130,15 @@ public class AnthropicConfig extends AbstractConfig {
         return get(MODEL_NAME).orElse(MODEL_NAME.defaultValue());
     }
 
+    /**
+     * Returns the base URL of the Anthropic API, for example to go through a gateway.
+     *
+     * @return the base URL, or null if not configured (uses Anthropic's default)
+     */
+    public String baseUrl() {
+        return get(BASE_URL).orElse(null);
+    }
+
     /**
      * Returns the temperature setting for response generation.
      *
@@ -222,4 +234,26 @@ public class AnthropicConfig extends AbstractConfig {
     public Boolean logRequestsAndResponses() {
         return get(LOG_REQUESTS_AND_RESPONSES).map(Boolean::parseBoolean).orElse(null);
     }
+
+    /**
+     * Returns whether the system messages are marked as cacheable.
+     *
+     * <p>Anthropic then reads unchanged system prompts from its prompt cache instead of processing them again,
+     * which reduces the latency and cost of agents resending the same system prompt on every turn. Prompts
+     * shorter than the minimum cacheable length of the model are not cached.
+     *
+     * @return whether system messages are cached, defaults to true
+     */
+    public boolean cacheSystemMessages() {
+        return get(CACHE_SYSTEM_MESSAGES).map(Boolean::parseBoolean).orElse(true);
+    }
+
+    /**
+     * Returns whether the tool definitions are marked as cacheable.
+     *
+     * @return whether tool definitions are cached, defaults to true
+     */
+    public boolean cacheTools() {
+        return get(CACHE_TOOLS).map(Boolean::parseBoolean).orElse(true);
+    }
 }
@@ -23,6 +23,15 @@ public final class AnthropicConfigEntries extends ConfigEntries {
             "string",
             false,
             ConfigTag.COMMON);
+    public static final ConfigModule BASE_URL = ConfigModule.of(
+            AnthropicConfig.class,
+            "forage.anthropic.base.url",
+            "Custom base URL for the Anthropic API",
+            "Base URL",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
     public static final ConfigModule TEMPERATURE = ConfigModule.of(
             AnthropicConfig.class,
             "forage.anthropic.temperature",
@@ -95,12 +104,31 @@ public final class AnthropicConfigEntries extends ConfigEntries {
             "boolean",
             false,
             ConfigTag.ADVANCED);
+    public static final ConfigModule CACHE_SYSTEM_MESSAGES = ConfigModule.of(
+            AnthropicConfig.class,
+            "forage.anthropic.cache.system.messages",
+            "Mark the system messages as cacheable, so that unchanged system prompts are read from the Anthropic prompt cache",
+            "Cache System Messages",
+            "true",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule CACHE_TOOLS = ConfigModule.of(
+            AnthropicConfig.class,
+            "forage.anthropic.cache.tools",
+            "Mark the tool definitions as cacheable, so that unchanged tool schemas are read from the Anthropic prompt cache",
+            "Cache Tools",
+            "true",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
 
     static {
         initModules(
                 AnthropicConfigEntries.class,
                 API_KEY,
                 MODEL_NAME,
+                BASE_URL,
                 TEMPERATURE,
                 MAX_TOKENS,
                 TOP_P,
@@ -108,6 +136,8 @@ public final class AnthropicConfigEntries extends ConfigEntries {
                 STOP_SEQUENCES,
                 TIMEOUT,
                 MAX_RETRIES,
-                LOG_REQUESTS_AND_RESPONSES);
+                LOG_REQUESTS_AND_RESPONSES,
+                CACHE_SYSTEM_MESSAGES,
+                CACHE_TOOLS);
     }
 }
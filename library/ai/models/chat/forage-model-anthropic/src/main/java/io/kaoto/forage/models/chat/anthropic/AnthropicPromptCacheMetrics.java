@@ -0,0 +1,87 @@
+package io.kaoto.forage.models.chat.anthropic;
+
+import java.util.concurrent.atomic.LongAdder;
+import dev.langchain4j.model.anthropic.AnthropicTokenUsage;
+import dev.langchain4j.model.chat.listener.ChatModelListener;
+import dev.langchain4j.model.chat.listener.ChatModelResponseContext;
+import dev.langchain4j.model.output.TokenUsage;
+
+/**
+ * Prompt cache counters of the Anthropic chat models created for a configuration.
+ *
+ * <p>Registered as a listener of the models, it accumulates the input tokens Anthropic reports for each
+ * response: the tokens read from the prompt cache, the tokens written to it, and the uncached tokens.
+ *
+ * @see AnthropicProvider#getPromptCacheMetrics(String)
+ */
+public class AnthropicPromptCacheMetrics implements ChatModelListener {
+
+    private final LongAdder responses = new LongAdder();
+    private final LongAdder inputTokens = new LongAdder();
+    private final LongAdder cacheReadInputTokens = new LongAdder();
+    private final LongAdder cacheCreationInputTokens = new LongAdder();
+
+    @Override
+    public void onResponse(ChatModelResponseContext responseContext) {
+        record(responseContext.chatResponse().tokenUsage());
+    }
+
+    void record(TokenUsage tokenUsage) {
+        if (tokenUsage == null) {
+            return;
+        }
+        responses.increment();
+        inputTokens.add(valueOf(tokenUsage.inputTokenCount()));
+        if (tokenUsage instanceof AnthropicTokenUsage anthropicTokenUsage) {
+            cacheReadInputTokens.add(valueOf(anthropicTokenUsage.cacheReadInputTokens()));
+            cacheCreationInputTokens.add(valueOf(anthropicTokenUsage.cacheCreationInputTokens()));
+        }
+    }
+
+    public long responses() {
+        return responses.sum();
+    }
+
+    /**
+     * Returns the input tokens that were neither read from nor written to the prompt cache.
+     */
+    public long inputTokens() {
+        return inputTokens.sum();
+    }
+
+    /**
+     * Returns the input tokens read from the prompt cache.
+     */
+    public long cacheReadInputTokens() {
+        return cacheReadInputTokens.sum();
+    }
+
+    /**
+     * Returns the input tokens written to the prompt cache.
+     */
+    public long cacheCreationInputTokens() {
+        return cacheCreationInputTokens.sum();
+    }
+
+    /**
+     * Returns the ratio of input tokens read from the prompt cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 when no input token has been reported yet
+     */
+    public double cacheHitRate() {
+        long read = cacheReadInputTokens();
+        long total = read + inputTokens() + cacheCreationInputTokens();
+        return total == 0 ? 0.0 : (double) read / total;
+    }
+
+    private static long valueOf(Integer count) {
+        return count != null ? count : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "AnthropicPromptCacheMetrics{responses=" + responses() + ", inputTokens=" + inputTokens()
+                + ", cacheReadInputTokens=" + cacheReadInputTokens() + ", cacheCreationInputTokens="
+                + cacheCreationInputTokens() + ", cacheHitRate=" + String.format("%.2f", cacheHitRate()) + "}";
+    }
+}
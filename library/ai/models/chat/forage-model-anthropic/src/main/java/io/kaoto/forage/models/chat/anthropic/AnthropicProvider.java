@@ -1,51 +1,177 @@
 package io.kaoto.forage.models.chat.anthropic;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.http.ForageHttpClients;
 import io.kaoto.forage.core.annotations.ForageBean;
+import dev.langchain4j.http.client.HttpClientBuilder;
+import dev.langchain4j.model.anthropic.AnthropicChatModel;
+import dev.langchain4j.model.anthropic.AnthropicStreamingChatModel;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+
+import static java.time.Duration.ofSeconds;
 
 /**
- * Provider for creating Anthropic Claude chat models.
+ * Provider for creating Anthropic Claude chat models with configurable parameters.
  *
- * <p><strong>Note:</strong> This is a placeholder implementation. The actual Anthropic integration
- * will be available when LangChain4J adds comprehensive support for Anthropic Claude in future versions.
+ * <p>This provider creates instances of {@link AnthropicChatModel} using configuration
+ * values managed by {@link AnthropicConfig}. The configuration supports environment
+ * variables, system properties, and configuration files for flexible deployment.
  *
- * <p>This provider currently throws an UnsupportedOperationException to indicate that
- * the integration is not yet fully available. Once LangChain4J adds the complete {@code langchain4j-anthropic}
- * integration with a proper builder pattern, this implementation should be updated
- * to use the proper Anthropic integration.
+ * <p><strong>Prompt Caching:</strong>
+ * System messages and tool definitions are marked as cacheable by default, so that agents resending the
+ * same system prompt and tool schemas on every turn have them read from the Anthropic prompt cache. The
+ * cached token counts reported by Anthropic are accumulated per configuration and available from
+ * {@link #getPromptCacheMetrics(String)}.
  *
  * <p><strong>Configuration:</strong>
- * The configuration system is already in place and will work once the implementation is completed.
- * Required configuration includes:
  * <ul>
- *   <li>ANTHROPIC_API_KEY - Your Anthropic API key</li>
- *   <li>ANTHROPIC_MODEL_NAME - The Claude model to use (optional, defaults to "claude-3-haiku-20240307")</li>
+ *   <li>API Key: Configured via ANTHROPIC_API_KEY environment variable (required)</li>
+ *   <li>Model Name: Configured via ANTHROPIC_MODEL_NAME environment variable or defaults to "claude-3-haiku-20240307"</li>
+ *   <li>Base URL: Optional, to reach the API through a gateway or proxy</li>
+ *   <li>Temperature, Max Tokens, Top-P, Top-K, Stop Sequences: Optional sampling parameters</li>
+ *   <li>Timeout, Max Retries, Request/Response Logging: Optional connection settings</li>
+ *   <li>Cache System Messages, Cache Tools: Prompt caching settings (enabled by default)</li>
  * </ul>
+ *
+ * @see AnthropicConfig
+ * @see ModelProvider
  */
 @ForageBean(
         value = "anthropic",
         components = {"camel-langchain4j-agent"},
         feature = "Chat Model",
         description = "Anthropic Claude models")
-public class AnthropicProvider implements ModelProvider {
+public class AnthropicProvider implements ModelProvider, StreamingModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(AnthropicProvider.class);
 
+    private static final String DEFAULT_ID = "default";
+    private static final Map<String, AnthropicPromptCacheMetrics> PROMPT_CACHE_METRICS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the prompt cache metrics of the models created for the given configuration.
+     *
+     * @param id the configuration prefix the models were created with, or null for the default configuration
+     * @return the metrics accumulated over all the chat and streaming models created for the configuration
+     */
+    public static AnthropicPromptCacheMetrics getPromptCacheMetrics(String id) {
+        return PROMPT_CACHE_METRICS.computeIfAbsent(
+                id != null ? id : DEFAULT_ID, k -> new AnthropicPromptCacheMetrics());
+    }
+
     @Override
     public ChatModel create(String id) {
         final AnthropicConfig config = new AnthropicConfig(id);
-        LOG.warn("Anthropic integration is not yet fully available. This is a placeholder implementation.");
-        LOG.warn(
-                "Configuration loaded: API key configured={}, Model name={}",
-                config.apiKey() != null,
-                config.modelName());
-
-        throw new UnsupportedOperationException("Anthropic integration is not yet fully available in LangChain4J. "
-                + "This provider will be implemented once langchain4j-anthropic dependency becomes fully available. "
-                + "Configuration is ready: API key is "
-                + (config.apiKey() != null ? "configured" : "missing") + ", model name is '"
-                + config.modelName() + "'");
+        LOG.trace("Creating Anthropic chat model");
+
+        AnthropicChatModel.AnthropicChatModelBuilder builder =
+                AnthropicChatModel.builder().apiKey(config.apiKey()).modelName(config.modelName());
+
+        if (config.baseUrl() != null) {
+            builder.baseUrl(config.baseUrl());
+        }
+
+        if (config.temperature() != null) {
+            builder.temperature(config.temperature());
+        }
+
+        if (config.maxTokens() != null) {
+            builder.maxTokens(config.maxTokens());
+        }
+
+        if (config.topP() != null) {
+            builder.topP(config.topP());
+        }
+
+        if (config.topK() != null) {
+            builder.topK(config.topK());
+        }
+
+        if (config.stopSequences() != null) {
+            builder.stopSequences(config.stopSequences());
+        }
+
+        builder.cacheSystemMessages(config.cacheSystemMessages());
+        builder.cacheTools(config.cacheTools());
+        builder.listeners(List.of(getPromptCacheMetrics(id)));
+
+        if (config.timeoutSeconds() != null) {
+            builder.timeout(ofSeconds(config.timeoutSeconds()));
+        }
+
+        if (config.maxRetries() != null) {
+            builder.maxRetries(config.maxRetries());
+        }
+
+        if (config.logRequestsAndResponses() != null) {
+            builder.logRequests(config.logRequestsAndResponses());
+            builder.logResponses(config.logRequestsAndResponses());
+        }
+
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public StreamingChatModel createStreaming(String id) {
+        final AnthropicConfig config = new AnthropicConfig(id);
+        LOG.trace("Creating Anthropic streaming chat model");
+
+        AnthropicStreamingChatModel.AnthropicStreamingChatModelBuilder builder =
+                AnthropicStreamingChatModel.builder().apiKey(config.apiKey()).modelName(config.modelName());
+
+        if (config.baseUrl() != null) {
+            builder.baseUrl(config.baseUrl());
+        }
+
+        if (config.temperature() != null) {
+            builder.temperature(config.temperature());
+        }
+
+        if (config.maxTokens() != null) {
+            builder.maxTokens(config.maxTokens());
+        }
+
+        if (config.topP() != null) {
+            builder.topP(config.topP());
+        }
+
+        if (config.topK() != null) {
+            builder.topK(config.topK());
+        }
+
+        if (config.stopSequences() != null) {
+            builder.stopSequences(config.stopSequences());
+        }
+
+        builder.cacheSystemMessages(config.cacheSystemMessages());
+        builder.cacheTools(config.cacheTools());
+        builder.listeners(List.of(getPromptCacheMetrics(id)));
+
+        if (config.timeoutSeconds() != null) {
+            builder.timeout(ofSeconds(config.timeoutSeconds()));
+        }
+
+        if (config.logRequestsAndResponses() != null) {
+            builder.logRequests(config.logRequestsAndResponses());
+            builder.logResponses(config.logRequestsAndResponses());
+        }
+
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
+        return builder.build();
     }
 }
@@ -0,0 +1,125 @@
+package io.kaoto.forage.models.chat.anthropic;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import com.sun.net.httpserver.HttpServer;
+import dev.langchain4j.data.message.SystemMessage;
+import dev.langchain4j.data.message.UserMessage;
+import dev.langchain4j.model.anthropic.AnthropicChatModel;
+import dev.langchain4j.model.anthropic.AnthropicStreamingChatModel;
+import dev.langchain4j.model.anthropic.AnthropicTokenUsage;
+import dev.langchain4j.model.chat.response.ChatResponse;
+import dev.langchain4j.model.output.TokenUsage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnthropicProviderTest {
+
+    private static final String RESPONSE = "{\"id\":\"msg_1\",\"type\":\"message\",\"role\":\"assistant\","
+            + "\"model\":\"claude-3-haiku-20240307\",\"content\":[{\"type\":\"text\",\"text\":\"Hello\"}],"
+            + "\"stop_reason\":\"end_turn\",\"usage\":{\"input_tokens\":10,\"output_tokens\":2,"
+            + "\"cache_creation_input_tokens\":0,\"cache_read_input_tokens\":900}}";
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty("forage.anthropic.api.key");
+        System.clearProperty("forage.anthropic.cache.tools");
+        System.clearProperty("forage.local.anthropic.api.key");
+        System.clearProperty("forage.local.anthropic.base.url");
+    }
+
+    @Test
+    void shouldCreateChatAndStreamingModels() {
+        System.setProperty("forage.anthropic.api.key", "test-key");
+
+        AnthropicProvider provider = new AnthropicProvider();
+
+        assertThat(provider.create(null)).isInstanceOf(AnthropicChatModel.class);
+        assertThat(provider.createStreaming(null)).isInstanceOf(AnthropicStreamingChatModel.class);
+    }
+
+    @Test
+    void shouldMarkTheSystemMessageCacheableAndCountCachedTokens() throws Exception {
+        List<String> requests = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/messages", exchange -> {
+            try (exchange) {
+                requests.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                byte[] body = RESPONSE.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        server.start();
+        try {
+            System.setProperty("forage.local.anthropic.api.key", "test-key");
+            System.setProperty(
+                    "forage.local.anthropic.base.url",
+                    "http://localhost:" + server.getAddress().getPort() + "/v1/");
+
+            ChatResponse response = new AnthropicProvider()
+                    .create("local")
+                    .chat(SystemMessage.from("You are a helpful assistant"), UserMessage.from("Hi"));
+
+            assertThat(response.aiMessage().text()).isEqualTo("Hello");
+            assertThat(requests).hasSize(1);
+            assertThat(requests.get(0))
+                    .containsPattern(
+                            "(?s)\"system\"\\s*:\\s*\\[.*\"cache_control\"\\s*:\\s*\\{\\s*\"type\"\\s*:\\s*\"ephemeral\"");
+
+            AnthropicPromptCacheMetrics metrics = AnthropicProvider.getPromptCacheMetrics("local");
+            assertThat(metrics.responses()).isEqualTo(1);
+            assertThat(metrics.cacheReadInputTokens()).isEqualTo(900);
+            assertThat(metrics.inputTokens()).isEqualTo(10);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldCachePromptsByDefault() {
+        System.setProperty("forage.anthropic.cache.tools", "false");
+
+        AnthropicConfig config = new AnthropicConfig();
+
+        assertThat(config.cacheSystemMessages()).isTrue();
+        assertThat(config.cacheTools()).isFalse();
+    }
+
+    @Test
+    void shouldAccumulateCachedTokenCounts() {
+        AnthropicPromptCacheMetrics metrics = new AnthropicPromptCacheMetrics();
+
+        metrics.record(AnthropicTokenUsage.builder()
+                .inputTokenCount(100)
+                .outputTokenCount(10)
+                .cacheCreationInputTokens(900)
+                .cacheReadInputTokens(0)
+                .build());
+        metrics.record(AnthropicTokenUsage.builder()
+                .inputTokenCount(100)
+                .outputTokenCount(10)
+                .cacheCreationInputTokens(0)
+                .cacheReadInputTokens(900)
+                .build());
+        metrics.record(new TokenUsage(200, 10));
+
+        assertThat(metrics.responses()).isEqualTo(3);
+        assertThat(metrics.inputTokens()).isEqualTo(400);
+        assertThat(metrics.cacheReadInputTokens()).isEqualTo(900);
+        assertThat(metrics.cacheCreationInputTokens()).isEqualTo(900);
+        assertThat(metrics.cacheHitRate()).isEqualTo(900.0 / 2200);
+    }
+
+    @Test
+    void shouldShareMetricsPerConfiguration() {
+        assertThat(AnthropicProvider.getPromptCacheMetrics(null))
+                .isSameAs(AnthropicProvider.getPromptCacheMetrics(null))
+                .isNotSameAs(AnthropicProvider.getPromptCacheMetrics("agent1"));
+    }
+}
@@ -3,9 +3,12 @@ package io.kaoto.forage.models.chat.azureopenai;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
 import io.kaoto.forage.core.annotations.ForageBean;
 import dev.langchain4j.model.azure.AzureOpenAiChatModel;
+import dev.langchain4j.model.azure.AzureOpenAiStreamingChatModel;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 
 import static java.time.Duration.ofSeconds;
 
@@ -17,7 +20,7 @@ import static java.time.Duration.ofSeconds;
         components = {"camel-langchain4j-agent"},
         feature = "Chat Model",
         description = "OpenAI models hosted on Microsoft Azure")
-public class AzureOpenAiProvider implements ModelProvider {
+public class AzureOpenAiProvider implements ModelProvider, StreamingModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(AzureOpenAiProvider.class);
 
     @Override
@@ -76,4 +79,57 @@ public class AzureOpenAiProvider implements ModelProvider {
 
         return builder.build();
     }
+
+    @Override
+    public StreamingChatModel createStreaming(String id) {
+        final AzureOpenAiConfig config = new AzureOpenAiConfig(id);
+        LOG.trace("Creating Azure OpenAI streaming chat model");
+
+        AzureOpenAiStreamingChatModel.Builder builder = AzureOpenAiStreamingChatModel.builder()
+                .apiKey(config.apiKey())
+                .endpoint(config.endpoint())
+                .deploymentName(config.deploymentName());
+
+        if (config.serviceVersion() != null) {
+            builder.serviceVersion(config.serviceVersion());
+        }
+
+        builder.temperature(config.temperature() != null ? config.temperature() : 1.0);
+
+        if (config.maxTokens() != null) {
+            builder.maxTokens(config.maxTokens());
+        }
+
+        if (config.topP() != null) {
+            builder.topP(config.topP());
+        }
+
+        if (config.presencePenalty() != null) {
+            builder.presencePenalty(config.presencePenalty());
+        }
+
+        if (config.frequencyPenalty() != null) {
+            builder.frequencyPenalty(config.frequencyPenalty());
+        }
+
+        if (config.seed() != null) {
+            builder.seed(config.seed());
+        }
+
+        if (config.user() != null) {
+            builder.user(config.user());
+        }
+
+        int timeoutSeconds = config.timeoutSeconds() != null ? config.timeoutSeconds() : 60;
+        builder.timeout(ofSeconds(timeoutSeconds));
+
+        if (config.maxRetries() != null) {
+            builder.maxRetries(config.maxRetries());
+        }
+
+        boolean logRequestsAndResponses = config.logRequestsAndResponses() == null || config.logRequestsAndResponses();
+        builder.logRequestsAndResponses(logRequestsAndResponses);
+
+        return builder.build();
+    }
 }
@@ -3,9 +3,14 @@ package io.kaoto.forage.models.chat.google;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.http.ForageHttpClients;
 import io.kaoto.forage.core.annotations.ForageBean;
+import dev.langchain4j.http.client.HttpClientBuilder;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.googleai.GoogleAiGeminiChatModel;
+import dev.langchain4j.model.googleai.GoogleAiGeminiStreamingChatModel;
 
 import static java.time.Duration.ofSeconds;
 
@@ -17,7 +22,7 @@ import static java.time.Duration.ofSeconds;
         components = {"camel-langchain4j-agent"},
         feature = "Chat Model",
         description = "Google Gemini models")
-public class GoogleGeminiProvider implements ModelProvider {
+public class GoogleGeminiProvider implements ModelProvider, StreamingModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(GoogleGeminiProvider.class);
 
     @Override
@@ -43,6 +48,44 @@ public class GoogleGeminiProvider implements ModelProvider {
             builder.logRequestsAndResponses(logRequests);
         }
 
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
+        return builder.build();
+    }
+
+    @Override
+    public StreamingChatModel createStreaming(String id) {
+        final GoogleConfig config = new GoogleConfig(id);
+        LOG.trace("Creating google streaming chat model");
+
+        GoogleAiGeminiStreamingChatModel.GoogleAiGeminiStreamingChatModelBuilder builder =
+                GoogleAiGeminiStreamingChatModel.builder()
+                        .apiKey(config.apiKey())
+                        .modelName(config.modelName());
+
+        Double temperature = config.temperature();
+        if (temperature != null) {
+            builder.temperature(temperature);
+        }
+
+        Integer timeout = config.timeout();
+        if (timeout != null) {
+            builder.timeout(ofSeconds(timeout));
+        }
+
+        Boolean logRequests = config.logRequestsAndResponses();
+        if (logRequests != null) {
+            builder.logRequestsAndResponses(logRequests);
+        }
+
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
         return builder.build();
     }
 }
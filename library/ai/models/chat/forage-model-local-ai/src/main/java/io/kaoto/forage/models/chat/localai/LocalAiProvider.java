@@ -3,7 +3,9 @@ package io.kaoto.forage.models.chat.localai;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.http.ForageHttpClients;
 import io.kaoto.forage.core.annotations.ForageBean;
+import dev.langchain4j.http.client.HttpClientBuilder;
 import dev.langchain4j.model.chat.ChatModel;
 import dev.langchain4j.model.openai.OpenAiChatModel;
 
@@ -86,6 +88,11 @@ public class LocalAiProvider implements ModelProvider {
             builder.logResponses(config.logRequestsAndResponses());
         }
 
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
         return builder.build();
     }
 }
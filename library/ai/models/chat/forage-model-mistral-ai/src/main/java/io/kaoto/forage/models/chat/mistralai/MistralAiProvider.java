@@ -3,9 +3,14 @@ package io.kaoto.forage.models.chat.mistralai;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.http.ForageHttpClients;
 import io.kaoto.forage.core.annotations.ForageBean;
+import dev.langchain4j.http.client.HttpClientBuilder;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.mistralai.MistralAiChatModel;
+import dev.langchain4j.model.mistralai.MistralAiStreamingChatModel;
 
 import static java.time.Duration.ofSeconds;
 
@@ -45,7 +50,7 @@ import static java.time.Duration.ofSeconds;
         components = {"camel-langchain4j-agent"},
         feature = "Chat Model",
         description = "Mistral AI models")
-public class MistralAiProvider implements ModelProvider {
+public class MistralAiProvider implements ModelProvider, StreamingModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(MistralAiProvider.class);
 
     /**
@@ -98,6 +103,58 @@ public class MistralAiProvider implements ModelProvider {
             builder.logResponses(config.logRequestsAndResponses());
         }
 
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a new MistralAI streaming chat model instance with the configured parameters.
+     *
+     * @param id the configuration prefix to use (optional)
+     * @return a new configured MistralAI streaming chat model instance
+     */
+    @Override
+    public StreamingChatModel createStreaming(String id) {
+        final MistralAiConfig config = new MistralAiConfig(id);
+        LOG.trace("Creating MistralAI streaming chat model");
+
+        MistralAiStreamingChatModel.MistralAiStreamingChatModelBuilder builder =
+                MistralAiStreamingChatModel.builder().apiKey(config.apiKey()).modelName(config.modelName());
+
+        if (config.temperature() != null) {
+            builder.temperature(config.temperature());
+        }
+
+        if (config.maxTokens() != null) {
+            builder.maxTokens(config.maxTokens());
+        }
+
+        if (config.topP() != null) {
+            builder.topP(config.topP());
+        }
+
+        if (config.randomSeed() != null) {
+            builder.randomSeed(config.randomSeed());
+        }
+
+        if (config.timeoutSeconds() != null) {
+            builder.timeout(ofSeconds(config.timeoutSeconds()));
+        }
+
+        if (config.logRequestsAndResponses() != null) {
+            builder.logRequests(config.logRequestsAndResponses());
+            builder.logResponses(config.logRequestsAndResponses());
+        }
+
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
         return builder.build();
     }
 }
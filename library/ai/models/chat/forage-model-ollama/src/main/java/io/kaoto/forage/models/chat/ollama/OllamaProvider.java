@@ -4,9 +4,14 @@ import java.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.http.ForageHttpClients;
 import io.kaoto.forage.core.annotations.ForageBean;
+import dev.langchain4j.http.client.HttpClientBuilder;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.ollama.OllamaChatModel;
+import dev.langchain4j.model.ollama.OllamaStreamingChatModel;
 
 /**
  * Provider for creating Ollama chat models with configurable parameters.
@@ -44,7 +49,7 @@ import dev.langchain4j.model.ollama.OllamaChatModel;
         components = {"camel-langchain4j-agent"},
         feature = "Chat Model",
         description = "Locally-hosted models via Ollama (Llama, Mistral, etc.)")
-public class OllamaProvider implements ModelProvider {
+public class OllamaProvider implements ModelProvider, StreamingModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(OllamaProvider.class);
 
     /**
@@ -120,6 +125,64 @@ public class OllamaProvider implements ModelProvider {
             builder.timeout(timeout);
         }
 
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a new Ollama streaming chat model instance with the configured parameters.
+     *
+     * @return a new configured Ollama streaming chat model instance
+     */
+    @Override
+    public StreamingChatModel createStreaming(String id) {
+        final OllamaConfig config = new OllamaConfig(id);
+        LOG.trace("Creating Ollama streaming model: {} at {}", config.modelName(), config.baseUrl());
+
+        OllamaStreamingChatModel.OllamaStreamingChatModelBuilder builder =
+                OllamaStreamingChatModel.builder().baseUrl(config.baseUrl()).modelName(config.modelName());
+
+        if (config.temperature() != null) {
+            builder.temperature(config.temperature());
+        }
+
+        if (config.topK() != null) {
+            builder.topK(config.topK());
+        }
+
+        if (config.topP() != null) {
+            builder.topP(config.topP());
+        }
+
+        if (config.minP() != null) {
+            builder.minP(config.minP());
+        }
+
+        if (config.numCtx() != null) {
+            builder.numCtx(config.numCtx());
+        }
+
+        if (config.logRequests() != null) {
+            builder.logRequests(config.logRequests());
+        }
+
+        if (config.logResponses() != null) {
+            builder.logResponses(config.logResponses());
+        }
+
+        if (config.timeout() != null) {
+            builder.timeout(config.timeout());
+        }
+
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder();
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
         return builder.build();
     }
 }
@@ -4,7 +4,10 @@ import java.util.List;
 import java.util.ServiceLoader;
 import java.util.stream.StreamSupport;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
+import dev.langchain4j.model.ollama.OllamaStreamingChatModel;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -100,6 +103,22 @@ class OllamaServiceLoaderTest {
             assertThat(namedModel).isNotNull();
             assertThat(defaultModel).isNotSameAs(namedModel);
         }
+
+        @Test
+        @DisplayName("Should create StreamingChatModel from discovered provider")
+        void shouldCreateStreamingChatModelFromDiscoveredProvider() {
+            ServiceLoader<ModelProvider> serviceLoader = ServiceLoader.load(ModelProvider.class);
+
+            ModelProvider ollamaProvider = StreamSupport.stream(serviceLoader.spliterator(), false)
+                    .filter(provider -> provider instanceof OllamaProvider)
+                    .findFirst()
+                    .orElse(null);
+
+            assertThat(ollamaProvider).isInstanceOf(StreamingModelProvider.class);
+
+            StreamingChatModel model = ((StreamingModelProvider) ollamaProvider).createStreaming("test-instance");
+            assertThat(model).isInstanceOf(OllamaStreamingChatModel.class);
+        }
     }
 
     @Nested
@@ -4,10 +4,14 @@ import java.net.http.HttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.ModelProvider;
+import io.kaoto.forage.core.ai.StreamingModelProvider;
+import io.kaoto.forage.core.ai.http.ForageHttpClients;
 import io.kaoto.forage.core.annotations.ForageBean;
-import dev.langchain4j.http.client.jdk.JdkHttpClientBuilder;
+import dev.langchain4j.http.client.HttpClientBuilder;
 import dev.langchain4j.model.chat.ChatModel;
+import dev.langchain4j.model.chat.StreamingChatModel;
 import dev.langchain4j.model.openai.OpenAiChatModel;
+import dev.langchain4j.model.openai.OpenAiStreamingChatModel;
 
 /**
  * Provider for creating OpenAI chat models with configurable parameters.
@@ -46,7 +50,7 @@ import dev.langchain4j.model.openai.OpenAiChatModel;
         components = {"camel-langchain4j-agent"},
         feature = "Chat Model",
         description = "OpenAI API-compatible models")
-public class OpenAIProvider implements ModelProvider {
+public class OpenAIProvider implements ModelProvider, StreamingModelProvider {
     private static final Logger LOG = LoggerFactory.getLogger(OpenAIProvider.class);
 
     /**
@@ -125,12 +129,68 @@ public class OpenAIProvider implements ModelProvider {
             builder.timeout(config.timeout());
         }
 
-        if (Boolean.TRUE.equals(config.http1_1())) {
-            JdkHttpClientBuilder clientBuilder = new JdkHttpClientBuilder();
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder(
+                Boolean.TRUE.equals(config.http1_1()) ? HttpClient.Version.HTTP_1_1 : null);
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a new OpenAI streaming chat model instance with the configured parameters.
+     *
+     * @return a new configured OpenAI streaming chat model instance
+     */
+    @Override
+    public StreamingChatModel createStreaming(String id) {
+        OpenAIConfig config = new OpenAIConfig(id);
+        LOG.trace("Creating OpenAI streaming model: {}", config.modelName());
+
+        OpenAiStreamingChatModel.OpenAiStreamingChatModelBuilder builder =
+                OpenAiStreamingChatModel.builder().apiKey(config.apiKey()).modelName(config.modelName());
+
+        if (config.baseUrl() != null) {
+            builder.baseUrl(config.baseUrl());
+        }
+
+        if (config.temperature() != null) {
+            builder.temperature(config.temperature());
+        }
 
-            clientBuilder.httpClientBuilder(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1));
+        if (config.maxTokens() != null) {
+            builder.maxTokens(config.maxTokens());
+        }
+
+        if (config.topP() != null) {
+            builder.topP(config.topP());
+        }
+
+        if (config.frequencyPenalty() != null) {
+            builder.frequencyPenalty(config.frequencyPenalty());
+        }
+
+        if (config.presencePenalty() != null) {
+            builder.presencePenalty(config.presencePenalty());
+        }
+
+        if (config.logRequests() != null) {
+            builder.logRequests(config.logRequests());
+        }
+
+        if (config.logResponses() != null) {
+            builder.logResponses(config.logResponses());
+        }
+
+        if (config.timeout() != null) {
+            builder.timeout(config.timeout());
+        }
 
-            builder.httpClientBuilder(clientBuilder);
+        HttpClientBuilder httpClientBuilder = ForageHttpClients.httpClientBuilder(
+                Boolean.TRUE.equals(config.http1_1()) ? HttpClient.Version.HTTP_1_1 : null);
+        if (httpClientBuilder != null) {
+            builder.httpClientBuilder(httpClientBuilder);
         }
 
         return builder.build();
@@ -1,11 +1,20 @@
 package io.kaoto.forage.rag.defaultRag;
 
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
 import io.kaoto.forage.core.util.config.AbstractConfig;
 import dev.langchain4j.model.embedding.EmbeddingModel;
 import dev.langchain4j.rag.RetrievalAugmentor;
 
+import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntries.FUSION;
 import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntries.MAX_RESULTS;
 import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntries.MIN_SCORE;
+import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntries.RRF_K;
+import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntries.SEARCH_THREADS;
+import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntries.STORES;
+import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntries.STORE_KIND;
+import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntries.STORE_TIMEOUT;
 
 /**
  * Configuration class for the {@link DefaultRetrievalAugmentorProvider} (default implementation of {@link RetrievalAugmentor})
@@ -21,6 +30,11 @@ import static io.kaoto.forage.rag.defaultRag.DefaultRetrievalAugmentorConfigEntr
  * <ul>
  *   <li><strong>MAX_RESULTS</strong> - The maximum number of Contents to retrieve.</li>
  *   <li><strong>MIN_SCORE</strong> - The minimum relevance score for the returned Contents. Contents scoring below #minScore are excluded from the results.</li>
+ *   <li><strong>STORES</strong> - The configuration names of embedding stores searched in parallel with the agent
+ *   embedding store, see {@link MultiStoreContentRetriever}.</li>
+ *   <li><strong>STORE_KIND</strong> - The kind of the embedding store of a configuration name.</li>
+ *   <li><strong>STORE_TIMEOUT</strong>, <strong>FUSION</strong>, <strong>RRF_K</strong>,
+ *   <strong>SEARCH_THREADS</strong> - How the stores are searched and their results fused.</li>
  * </ul>
  *
  * @see io.kaoto.forage.core.util.config.Config
@@ -67,4 +81,65 @@ public class DefaultRetrievalAugmentorConfig extends AbstractConfig {
     public Double minScore() {
         return get(MIN_SCORE).map(Double::parseDouble).orElse(null);
     }
+
+    /**
+     * Returns the stores parameter.
+     *
+     * <p>The configuration names of the embedding stores searched in parallel with the agent embedding store.</p>
+     */
+    public List<String> stores() {
+        return get(STORES)
+                .map(stores -> Arrays.stream(stores.split(","))
+                        .map(String::trim)
+                        .filter(store -> !store.isEmpty())
+                        .toList())
+                .orElse(List.of());
+    }
+
+    /**
+     * Returns the store-kind parameter.
+     *
+     * <p>The kind of the embedding store of this configuration name, or null for the first embedding store found.</p>
+     */
+    public String storeKind() {
+        return get(STORE_KIND).orElse(null);
+    }
+
+    /**
+     * Returns the store-timeout parameter.
+     *
+     * <p>The maximum time to wait for the results of the embedding stores.</p>
+     */
+    public Duration storeTimeout() {
+        return get(STORE_TIMEOUT).map(Duration::parse).orElse(Duration.parse(STORE_TIMEOUT.defaultValue()));
+    }
+
+    /**
+     * Returns the fusion parameter.
+     *
+     * <p>How the results of several embedding stores are fused.</p>
+     *
+     * @throws IllegalArgumentException if the configured fusion is neither rrf nor score
+     */
+    public MultiStoreContentRetriever.Fusion fusion() {
+        return MultiStoreContentRetriever.Fusion.of(get(FUSION).orElse(FUSION.defaultValue()));
+    }
+
+    /**
+     * Returns the rrf-k parameter.
+     *
+     * <p>The rank constant of the reciprocal rank fusion.</p>
+     */
+    public int rrfK() {
+        return get(RRF_K).map(Integer::parseInt).orElse(Integer.parseInt(RRF_K.defaultValue()));
+    }
+
+    /**
+     * Returns the search-threads parameter.
+     *
+     * <p>The maximum number of threads searching the embedding stores and the lexical index.</p>
+     */
+    public int searchThreads() {
+        return get(SEARCH_THREADS).map(Integer::parseInt).orElse(Integer.parseInt(SEARCH_THREADS.defaultValue()));
+    }
 }
@@ -24,7 +24,72 @@ public final class DefaultRetrievalAugmentorConfigEntries extends ConfigEntries
             false,
             ConfigTag.COMMON);
 
+    public static final ConfigModule STORES = ConfigModule.of(
+            DefaultRetrievalAugmentorConfig.class,
+            "forage.rag.stores",
+            "Comma separated configuration names of embedding stores searched in parallel with the agent embedding store.",
+            "Stores",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule STORE_KIND = ConfigModule.of(
+            DefaultRetrievalAugmentorConfig.class,
+            "forage.rag.store.kind",
+            "Kind of the embedding store of a configuration name listed in the stores, the first embedding store found when not set.",
+            "Store kind",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule STORE_TIMEOUT = ConfigModule.of(
+            DefaultRetrievalAugmentorConfig.class,
+            "forage.rag.store.timeout",
+            "Maximum time to wait for the results of the embedding stores, in ISO-8601 format (e.g. PT2S).",
+            "Store timeout",
+            "PT2S",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule FUSION = ConfigModule.of(
+            DefaultRetrievalAugmentorConfig.class,
+            "forage.rag.fusion",
+            "How the results of several embedding stores are fused: 'rrf' (reciprocal rank fusion) or 'score' (normalized scores).",
+            "Fusion",
+            "rrf",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+    public static final ConfigModule RRF_K = ConfigModule.of(
+            DefaultRetrievalAugmentorConfig.class,
+            "forage.rag.rrf.k",
+            "Rank constant of the reciprocal rank fusion, higher values give more weight to the lower ranked results.",
+            "RRF k",
+            "60",
+            "int",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule SEARCH_THREADS = ConfigModule.of(
+            DefaultRetrievalAugmentorConfig.class,
+            "forage.rag.search.threads",
+            "Maximum number of threads searching the embedding stores and the lexical index, shared by the concurrent queries.",
+            "Search threads",
+            String.valueOf(MultiStoreContentRetriever.DEFAULT_SEARCH_THREADS),
+            "int",
+            false,
+            ConfigTag.ADVANCED);
+
     static {
-        initModules(DefaultRetrievalAugmentorConfigEntries.class, MAX_RESULTS, MIN_SCORE);
+        initModules(
+                DefaultRetrievalAugmentorConfigEntries.class,
+                MAX_RESULTS,
+                MIN_SCORE,
+                STORES,
+                STORE_KIND,
+                STORE_TIMEOUT,
+                FUSION,
+                RRF_K,
+                SEARCH_THREADS);
     }
 }
@@ -1,13 +1,21 @@
 package io.kaoto.forage.rag.defaultRag;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.EmbeddingModelAware;
 import io.kaoto.forage.core.ai.EmbeddingStoreAware;
+import io.kaoto.forage.core.ai.EmbeddingStoreProvider;
 import io.kaoto.forage.core.ai.RetrievalAugmentorProvider;
+import io.kaoto.forage.core.ai.ingestion.Bm25Index;
+import io.kaoto.forage.core.ai.ingestion.Bm25IndexedEmbeddingStore;
 import io.kaoto.forage.core.annotations.ForageBean;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.rag.AugmentationRequest;
+import dev.langchain4j.rag.AugmentationResult;
 import dev.langchain4j.rag.DefaultRetrievalAugmentor;
 import dev.langchain4j.rag.RetrievalAugmentor;
 import dev.langchain4j.rag.content.retriever.EmbeddingStoreContentRetriever;
@@ -27,8 +35,20 @@ import dev.langchain4j.store.embedding.EmbeddingStore;
  * <ul>
  *   <li><strong>MAX_RESULTS</strong> - The maximum number of Contents to retrieve.</li>
  *   <li><strong>MIN_SCORE</strong> - The minimum relevance score for the returned Contents. Contents scoring below #minScore are excluded from the results.</li>
+ *   <li><strong>STORES</strong> - The configuration names of embedding stores searched in parallel with the agent
+ *   embedding store.</li>
+ *   <li><strong>STORE_TIMEOUT</strong>, <strong>FUSION</strong>, <strong>RRF_K</strong>,
+ *   <strong>SEARCH_THREADS</strong> - How the stores are searched and their results fused.</li>
  * </ul>
  *
+ * <p>When stores are configured, each of them is created by the {@link EmbeddingStoreProvider} of its
+ * {@code store.kind}, and the query is searched in all of them with a {@link MultiStoreContentRetriever}. The
+ * retrieval augmentor is then {@link AutoCloseable}, closing the threads of the retriever.
+ *
+ * <p>When the agent embedding store is a {@link Bm25IndexedEmbeddingStore} ({@code forage.ingestion.lexical.index}),
+ * the retrieval is hybrid: the query text is also searched in the BM25 index of the ingested segments, and its
+ * results are fused with those of the stores.
+ *
  * <p><strong>Usage:</strong>
  * <pre>{@code
  * // Configuration is automatic through environment variables or defaults
@@ -81,6 +101,20 @@ public class DefaultRetrievalAugmentorProvider
             LOG.trace("RAG is not configured, because no embedding model is provided");
             return null;
         }
+
+        List<String> storeNames = config.stores();
+        Bm25Index lexicalIndex =
+                embeddingStore instanceof Bm25IndexedEmbeddingStore indexedStore ? indexedStore.index() : null;
+        if (!storeNames.isEmpty() || lexicalIndex != null) {
+            MultiStoreContentRetriever contentRetriever =
+                    createMultiStoreContentRetriever(id, config, storeNames, lexicalIndex);
+            return new ClosingRetrievalAugmentor(
+                    DefaultRetrievalAugmentor.builder()
+                            .contentRetriever(contentRetriever)
+                            .build(),
+                    contentRetriever);
+        }
+
         if (embeddingStore == null) {
             LOG.trace("RAG is not configured, because no embedding store is provided");
             return null;
@@ -112,4 +146,74 @@ public class DefaultRetrievalAugmentorProvider
                 .contentRetriever(contentRetriever)
                 .build();
     }
+
+    private MultiStoreContentRetriever createMultiStoreContentRetriever(
+            String id, DefaultRetrievalAugmentorConfig config, List<String> storeNames, Bm25Index lexicalIndex) {
+        List<MultiStoreContentRetriever.Store> stores = new ArrayList<>();
+        if (embeddingStore != null) {
+            stores.add(new MultiStoreContentRetriever.Store(id == null ? "default" : id, embeddingStore));
+        }
+        for (String storeName : storeNames) {
+            EmbeddingStore<TextSegment> store = createEmbeddingStore(storeName);
+            if (store != null) {
+                stores.add(new MultiStoreContentRetriever.Store(storeName, store));
+            }
+        }
+
+        LOG.trace(
+                "Creating DefaultRetrievalAugmentor model over stores {} (lexical index: {}) with configuration: maxResults={}, minScore={}, fusion={}",
+                stores.stream().map(MultiStoreContentRetriever.Store::name).toList(),
+                lexicalIndex != null,
+                config.maxResults(),
+                config.minScore(),
+                config.fusion());
+
+        return new MultiStoreContentRetriever(
+                stores,
+                lexicalIndex,
+                embeddingModel,
+                config.maxResults() != null ? config.maxResults() : 3,
+                config.minScore() != null ? config.minScore() : 0,
+                config.storeTimeout(),
+                config.fusion(),
+                config.rrfK(),
+                config.searchThreads());
+    }
+
+    private EmbeddingStore<TextSegment> createEmbeddingStore(String storeName) {
+        String kind = new DefaultRetrievalAugmentorConfig(storeName).storeKind();
+        ServiceLoader<EmbeddingStoreProvider> loader = ServiceLoader.load(
+                EmbeddingStoreProvider.class, Thread.currentThread().getContextClassLoader());
+        for (ServiceLoader.Provider<EmbeddingStoreProvider> provider :
+                loader.stream().toList()) {
+            ForageBean annotation = provider.type().getAnnotation(ForageBean.class);
+            if (kind == null || (annotation != null && annotation.value().equals(kind))) {
+                EmbeddingStoreProvider storeProvider = provider.get();
+                if (storeProvider instanceof EmbeddingModelAware embeddingModelAware) {
+                    embeddingModelAware.withEmbeddingModel(embeddingModel);
+                }
+                return storeProvider.create(storeName);
+            }
+        }
+
+        LOG.warn("No embedding store found for kind '{}', store '{}' is not searched", kind, storeName);
+        return null;
+    }
+
+    /**
+     * Retrieval augmentor closing the resources of its content retriever, such as its threads.
+     */
+    record ClosingRetrievalAugmentor(RetrievalAugmentor retrievalAugmentor, AutoCloseable resource)
+            implements RetrievalAugmentor, AutoCloseable {
+
+        @Override
+        public AugmentationResult augment(AugmentationRequest augmentationRequest) {
+            return retrievalAugmentor.augment(augmentationRequest);
+        }
+
+        @Override
+        public void close() throws Exception {
+            resource.close();
+        }
+    }
 }
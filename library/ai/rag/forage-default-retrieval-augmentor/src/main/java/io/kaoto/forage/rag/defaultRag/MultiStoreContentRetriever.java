@@ -0,0 +1,302 @@
+package io.kaoto.forage.rag.defaultRag;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.ai.ingestion.Bm25Index;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.content.ContentMetadata;
+import dev.langchain4j.rag.content.retriever.ContentRetriever;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+
+/**
+ * Content retriever searching several embedding stores in parallel and fusing their results.
+ *
+ * <p>The query is embedded once, and the embedding is searched in all the stores at the same time, so that the
+ * retrieval takes as long as the slowest store rather than the sum of all the stores. A store that fails or has not
+ * answered within the timeout is left out of the results.
+ *
+ * <p>The scores of different stores are not comparable, so the results are fused before the global top results
+ * are kept, segments with the same text found in several stores being merged:
+ * <ul>
+ *   <li>{@link Fusion#RRF} (reciprocal rank fusion) scores a segment with the sum of {@code 1 / (k + rank)} over the
+ *   stores that returned it, and only depends on the rank of the segment in each store.</li>
+ *   <li>{@link Fusion#SCORE} rescales the scores of each store between 0 and 1 and sums them. The relevance scores
+ *   of the stores are rescaled from the minimum score to 1, so that a store returning a single weak match does not
+ *   outrank the better matches of the other stores. The unbounded BM25 scores are rescaled from the lowest to the
+ *   highest score of the results, the results of the same score getting 0.5.</li>
+ * </ul>
+ *
+ * <p>With a {@link Bm25Index}, the query text is also searched in the index, in parallel with the embedding of the
+ * query and the searches of the stores, and its results are fused as those of another store. This hybrid retrieval
+ * finds the segments containing the exact identifiers of the query, which vector search tends to miss. The minimum
+ * score does not apply to the BM25 scores.
+ *
+ * <p>The searches run in a pool of at most the given number of threads, shared by the concurrent queries, the searches
+ * waiting for a thread when all of them are busy. Its idle threads stop after a minute, and {@link #close()} stops
+ * them all.
+ */
+public class MultiStoreContentRetriever implements ContentRetriever, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(MultiStoreContentRetriever.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    /**
+     * The default maximum number of threads searching the stores and the index.
+     */
+    public static final int DEFAULT_SEARCH_THREADS = 16;
+
+    /**
+     * How the results of the stores are fused.
+     */
+    public enum Fusion {
+        RRF,
+        SCORE;
+
+        /**
+         * Returns the fusion of the given configuration value: {@code rrf} or {@code score}.
+         *
+         * @throws IllegalArgumentException if the value is not a fusion
+         */
+        public static Fusion of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid RAG fusion value: " + value, e);
+            }
+        }
+    }
+
+    /**
+     * An embedding store and the name it is reported with.
+     */
+    public record Store(String name, EmbeddingStore<TextSegment> embeddingStore) {}
+
+    private final List<Store> stores;
+    private final EmbeddingModel embeddingModel;
+    private final int maxResults;
+    private final double minScore;
+    private final Duration timeout;
+    private final Fusion fusion;
+    private final int rrfK;
+    private final Bm25Index lexicalIndex;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param stores the stores to search
+     * @param embeddingModel the model embedding the queries
+     * @param maxResults the number of results searched in each store, and returned
+     * @param minScore the minimum score of the results of each store
+     * @param timeout the maximum time to wait for the results of the stores
+     * @param fusion how the results of the stores are fused
+     * @param rrfK the rank constant of the reciprocal rank fusion
+     */
+    public MultiStoreContentRetriever(
+            List<Store> stores,
+            EmbeddingModel embeddingModel,
+            int maxResults,
+            double minScore,
+            Duration timeout,
+            Fusion fusion,
+            int rrfK) {
+        this(stores, null, embeddingModel, maxResults, minScore, timeout, fusion, rrfK);
+    }
+
+    /**
+     * @param stores the stores to search
+     * @param lexicalIndex the index searched with the query text, or null
+     * @param embeddingModel the model embedding the queries
+     * @param maxResults the number of results searched in each store and in the index, and returned
+     * @param minScore the minimum score of the results of each store
+     * @param timeout the maximum time to wait for the results of the stores and of the index
+     * @param fusion how the results of the stores and of the index are fused
+     * @param rrfK the rank constant of the reciprocal rank fusion
+     */
+    public MultiStoreContentRetriever(
+            List<Store> stores,
+            Bm25Index lexicalIndex,
+            EmbeddingModel embeddingModel,
+            int maxResults,
+            double minScore,
+            Duration timeout,
+            Fusion fusion,
+            int rrfK) {
+        this(stores, lexicalIndex, embeddingModel, maxResults, minScore, timeout, fusion, rrfK, DEFAULT_SEARCH_THREADS);
+    }
+
+    /**
+     * @param stores the stores to search
+     * @param lexicalIndex the index searched with the query text, or null
+     * @param embeddingModel the model embedding the queries
+     * @param maxResults the number of results searched in each store and in the index, and returned
+     * @param minScore the minimum score of the results of each store
+     * @param timeout the maximum time to wait for the results of the stores and of the index
+     * @param fusion how the results of the stores and of the index are fused
+     * @param rrfK the rank constant of the reciprocal rank fusion
+     * @param searchThreads the maximum number of threads searching the stores and the index
+     */
+    public MultiStoreContentRetriever(
+            List<Store> stores,
+            Bm25Index lexicalIndex,
+            EmbeddingModel embeddingModel,
+            int maxResults,
+            double minScore,
+            Duration timeout,
+            Fusion fusion,
+            int rrfK,
+            int searchThreads) {
+        this.lexicalIndex = lexicalIndex;
+        this.stores = List.copyOf(stores);
+        this.embeddingModel = embeddingModel;
+        this.maxResults = maxResults;
+        this.minScore = minScore;
+        this.timeout = timeout;
+        this.fusion = fusion;
+        this.rrfK = rrfK;
+        int threads = Math.max(1, searchThreads);
+        this.executor =
+                new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "forage-rag-store-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public List<Content> retrieve(Query query) {
+        CompletableFuture<List<EmbeddingMatch<TextSegment>>> lexicalSearch = lexicalIndex != null
+                ? CompletableFuture.supplyAsync(() -> lexicalIndex.search(query.text(), maxResults), executor)
+                : null;
+
+        Embedding embedding = embeddingModel.embed(query.text()).content();
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embedding)
+                .maxResults(maxResults)
+                .minScore(minScore)
+                .build();
+
+        List<CompletableFuture<List<EmbeddingMatch<TextSegment>>>> searches = new ArrayList<>(stores.size());
+        for (Store store : stores) {
+            searches.add(CompletableFuture.supplyAsync(
+                    () -> store.embeddingStore().search(request).matches(), executor));
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<String, Fused> fused = new LinkedHashMap<>();
+        for (int i = 0; i < stores.size(); i++) {
+            fuse(await(stores.get(i).name(), searches.get(i), deadline), true, fused);
+        }
+        if (lexicalSearch != null) {
+            fuse(await("lexical index", lexicalSearch, deadline), false, fused);
+        }
+
+        return fused.values().stream()
+                .sorted(Comparator.comparingDouble(Fused::score).reversed())
+                .limit(maxResults)
+                .map(Fused::content)
+                .toList();
+    }
+
+    private List<EmbeddingMatch<TextSegment>> await(
+            String name, CompletableFuture<List<EmbeddingMatch<TextSegment>>> search, long deadline) {
+        try {
+            return search.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            search.cancel(true);
+            LOG.warn("Search in '{}' did not complete within {}, its results are ignored", name, timeout);
+        } catch (ExecutionException e) {
+            LOG.warn(
+                    "Search in '{}' failed, its results are ignored: {}",
+                    name,
+                    e.getCause().getMessage(),
+                    e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return List.of();
+    }
+
+    /**
+     * Fuses the matches of a store, whose scores are relevance scores between 0 and 1, or of the lexical index.
+     */
+    private void fuse(List<EmbeddingMatch<TextSegment>> matches, boolean relevance, Map<String, Fused> fused) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        double max = relevance
+                ? 1
+                : matches.stream().mapToDouble(EmbeddingMatch::score).max().orElse(0);
+        double min = relevance
+                ? Math.min(minScore, 1)
+                : matches.stream().mapToDouble(EmbeddingMatch::score).min().orElse(0);
+        for (int rank = 0; rank < matches.size(); rank++) {
+            EmbeddingMatch<TextSegment> match = matches.get(rank);
+            if (match.embedded() == null) {
+                continue;
+            }
+            double score =
+                    switch (fusion) {
+                        case RRF -> 1.0 / (rrfK + rank + 1);
+                        case SCORE -> max > min ? Math.max(0, Math.min(1, (match.score() - min) / (max - min))) : 0.5;
+                    };
+            fused.computeIfAbsent(match.embedded().text(), text -> new Fused(match))
+                    .add(score);
+        }
+    }
+
+    /**
+     * Stops the threads searching the stores, the searches in progress being interrupted.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A segment found in one or more stores, with the embedding id of the store it was found in first.
+     */
+    private static final class Fused {
+        private final EmbeddingMatch<TextSegment> match;
+        private double score;
+
+        private Fused(EmbeddingMatch<TextSegment> match) {
+            this.match = match;
+        }
+
+        private void add(double score) {
+            this.score += score;
+        }
+
+        private double score() {
+            return score;
+        }
+
+        private Content content() {
+            if (match.embeddingId() == null) {
+                return Content.from(match.embedded(), Map.of(ContentMetadata.SCORE, score));
+            }
+            return Content.from(
+                    match.embedded(),
+                    Map.of(ContentMetadata.SCORE, score, ContentMetadata.EMBEDDING_ID, match.embeddingId()));
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package io.kaoto.forage.rag.defaultRag;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import io.kaoto.forage.core.ai.ingestion.Bm25Index;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.rag.content.Content;
+import dev.langchain4j.rag.query.Query;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("MultiStoreContentRetriever Tests")
+class MultiStoreContentRetrieverTest {
+
+    private static final Embedding QUERY = Embedding.from(new float[] {1, 0});
+
+    private final AtomicInteger embedCalls = new AtomicInteger();
+    private final EmbeddingModel embeddingModel = new EmbeddingModel() {
+        @Override
+        public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+            embedCalls.addAndGet(segments.size());
+            return Response.from(segments.stream().map(segment -> QUERY).toList());
+        }
+    };
+    private final List<MultiStoreContentRetriever> retrievers = new ArrayList<>();
+
+    @AfterEach
+    void cleanup() {
+        retrievers.forEach(MultiStoreContentRetriever::close);
+    }
+
+    @Test
+    @DisplayName("Should embed the query once and fuse the ranks of all the stores")
+    void shouldFuseRanks() {
+        InMemoryEmbeddingStore<TextSegment> first = store("shared", 0.9f, "first only", 0.8f);
+        InMemoryEmbeddingStore<TextSegment> second = store("second only", 0.99f, "shared", 0.5f);
+
+        List<Content> contents = retriever(
+                        Duration.ofSeconds(5),
+                        MultiStoreContentRetriever.Fusion.RRF,
+                        new MultiStoreContentRetriever.Store("first", first),
+                        new MultiStoreContentRetriever.Store("second", second))
+                .retrieve(Query.from("question"));
+
+        assertThat(embedCalls).hasValue(1);
+        assertThat(texts(contents)).containsExactly("shared", "second only", "first only");
+    }
+
+    @Test
+    @DisplayName("Should fuse the normalized scores of all the stores")
+    void shouldFuseScores() {
+        InMemoryEmbeddingStore<TextSegment> first = store("a", 0.9f, "c", 0.5f, "b", 0.1f);
+        InMemoryEmbeddingStore<TextSegment> second = store("c", 0.99f, "d", 0.3f);
+
+        List<Content> contents = retriever(
+                        Duration.ofSeconds(5),
+                        MultiStoreContentRetriever.Fusion.SCORE,
+                        new MultiStoreContentRetriever.Store("first", first),
+                        new MultiStoreContentRetriever.Store("second", second))
+                .retrieve(Query.from("question"));
+
+        assertThat(texts(contents)).hasSize(3).startsWith("c", "a");
+    }
+
+    @Test
+    @DisplayName("Should not rank the single weak match of a store above the better matches of the other stores")
+    void shouldFuseTheScoreOfASingleMatch() {
+        InMemoryEmbeddingStore<TextSegment> first = store("strong", 0.95f, "good", 0.9f);
+        InMemoryEmbeddingStore<TextSegment> second = store("weak", 0.1f);
+
+        List<Content> contents = retriever(
+                        Duration.ofSeconds(5),
+                        MultiStoreContentRetriever.Fusion.SCORE,
+                        new MultiStoreContentRetriever.Store("first", first),
+                        new MultiStoreContentRetriever.Store("second", second))
+                .retrieve(Query.from("question"));
+
+        assertThat(texts(contents)).containsExactly("strong", "good", "weak");
+    }
+
+    @Test
+    @DisplayName("Should fuse the results of the lexical index with those of the stores")
+    void shouldFuseLexicalResults() {
+        String error = "Error ERR-1042 means the disk quota is exceeded.";
+        InMemoryEmbeddingStore<TextSegment> store =
+                store("Disks fill up over time.", 0.9f, "Quotas are set per user.", 0.8f, error, 0.7f, "Other", 0.6f);
+        Bm25Index lexicalIndex = new Bm25Index();
+        lexicalIndex.add("error", TextSegment.from(error));
+        lexicalIndex.add("quotas", TextSegment.from("Quotas are set per user."));
+
+        MultiStoreContentRetriever retriever = new MultiStoreContentRetriever(
+                List.of(new MultiStoreContentRetriever.Store("default", store)),
+                lexicalIndex,
+                embeddingModel,
+                3,
+                0,
+                Duration.ofSeconds(5),
+                MultiStoreContentRetriever.Fusion.RRF,
+                60);
+        retrievers.add(retriever);
+        List<Content> contents = retriever.retrieve(Query.from("What does ERR-1042 mean?"));
+
+        assertThat(embedCalls).hasValue(1);
+        assertThat(texts(contents)).containsExactly(error, "Disks fill up over time.", "Quotas are set per user.");
+    }
+
+    @Test
+    @DisplayName("Should ignore the stores that fail or do not answer within the timeout")
+    void shouldIgnoreSlowAndFailingStores() {
+        InMemoryEmbeddingStore<TextSegment> fast = store("fast", 0.9f);
+        InMemoryEmbeddingStore<TextSegment> slow = new InMemoryEmbeddingStore<>() {
+            @Override
+            public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new EmbeddingSearchResult<>(List.of());
+            }
+        };
+        InMemoryEmbeddingStore<TextSegment> failing = new InMemoryEmbeddingStore<>() {
+            @Override
+            public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+                throw new IllegalStateException("unavailable");
+            }
+        };
+
+        long start = System.nanoTime();
+        List<Content> contents = retriever(
+                        Duration.ofMillis(200),
+                        MultiStoreContentRetriever.Fusion.RRF,
+                        new MultiStoreContentRetriever.Store("slow", slow),
+                        new MultiStoreContentRetriever.Store("failing", failing),
+                        new MultiStoreContentRetriever.Store("fast", fast))
+                .retrieve(Query.from("question"));
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(texts(contents)).containsExactly("fast");
+    }
+
+    @Test
+    @DisplayName("Should queue the searches beyond the search threads and stop the threads when closed")
+    void shouldBoundAndCloseTheSearchThreads() {
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        MultiStoreContentRetriever retriever = new MultiStoreContentRetriever(
+                List.of(
+                        new MultiStoreContentRetriever.Store("first", recordingStore(threads, "a", 0.9f)),
+                        new MultiStoreContentRetriever.Store("second", recordingStore(threads, "b", 0.8f)),
+                        new MultiStoreContentRetriever.Store("third", recordingStore(threads, "c", 0.7f))),
+                null,
+                embeddingModel,
+                3,
+                0,
+                Duration.ofSeconds(5),
+                MultiStoreContentRetriever.Fusion.RRF,
+                60,
+                1);
+        retrievers.add(retriever);
+
+        assertThat(texts(retriever.retrieve(Query.from("question")))).containsExactly("a", "b", "c");
+        assertThat(threads).hasSize(1);
+
+        retriever.close();
+
+        assertThatThrownBy(() -> retriever.retrieve(Query.from("question")))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    @DisplayName("Should parse the fusion configuration values")
+    void shouldParseFusion() {
+        assertThat(MultiStoreContentRetriever.Fusion.of("rrf")).isEqualTo(MultiStoreContentRetriever.Fusion.RRF);
+        assertThat(MultiStoreContentRetriever.Fusion.of(" Score ")).isEqualTo(MultiStoreContentRetriever.Fusion.SCORE);
+    }
+
+    private MultiStoreContentRetriever retriever(
+            Duration timeout, MultiStoreContentRetriever.Fusion fusion, MultiStoreContentRetriever.Store... stores) {
+        MultiStoreContentRetriever retriever =
+                new MultiStoreContentRetriever(List.of(stores), embeddingModel, 3, 0, timeout, fusion, 60);
+        retrievers.add(retriever);
+        return retriever;
+    }
+
+    /**
+     * Creates a store of the given texts, each followed by its cosine similarity to the query.
+     */
+    private static InMemoryEmbeddingStore<TextSegment> store(Object... textsAndScores) {
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>();
+        for (int i = 0; i < textsAndScores.length; i += 2) {
+            float cosine = (float) textsAndScores[i + 1];
+            float[] vector = {cosine, (float) Math.sqrt(1 - cosine * cosine)};
+            store.add(Embedding.from(vector), TextSegment.from((String) textsAndScores[i]));
+        }
+        return store;
+    }
+
+    /**
+     * Creates a store of the given text and cosine similarity, recording the threads searching it.
+     */
+    private static InMemoryEmbeddingStore<TextSegment> recordingStore(Set<Thread> threads, String text, float cosine) {
+        InMemoryEmbeddingStore<TextSegment> store = new InMemoryEmbeddingStore<>() {
+            @Override
+            public EmbeddingSearchResult<TextSegment> search(EmbeddingSearchRequest request) {
+                threads.add(Thread.currentThread());
+                return super.search(request);
+            }
+        };
+        store.add(Embedding.from(new float[] {cosine, (float) Math.sqrt(1 - cosine * cosine)}), TextSegment.from(text));
+        return store;
+    }
+
+    private static List<String> texts(List<Content> contents) {
+        return contents.stream().map(content -> content.textSegment().text()).toList();
+    }
+}
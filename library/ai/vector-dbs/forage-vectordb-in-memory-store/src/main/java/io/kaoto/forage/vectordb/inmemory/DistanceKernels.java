@@ -0,0 +1,63 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Dot product kernels of the {@link OffHeapEmbeddingStore}.
+ *
+ * <p>The kernels compare a query with a vector stored at an offset of a larger array, so that a block of vectors
+ * copied from off-heap memory is scored without copying each vector again.
+ */
+interface DistanceKernels {
+
+    /**
+     * Returns the dot product of {@code a} and the {@code length} values of {@code b} from {@code bOffset}.
+     */
+    float dot(float[] a, float[] b, int bOffset, int length);
+
+    /**
+     * Returns the dot product of {@code a} and the {@code length} values of {@code b} from {@code bOffset}.
+     */
+    int dot(byte[] a, byte[] b, int bOffset, int length);
+
+    /**
+     * Returns the kernels using the Vector API when they are built, with the {@code vector-api} Maven profile, and the
+     * {@code jdk.incubator.vector} module is available, which requires the JVM to be started with
+     * {@code --add-modules jdk.incubator.vector}, or scalar kernels otherwise.
+     */
+    static DistanceKernels best() {
+        return Holder.BEST;
+    }
+
+    static DistanceKernels scalar() {
+        return ScalarDistanceKernels.INSTANCE;
+    }
+
+    final class Holder {
+        private static final Logger LOG = LoggerFactory.getLogger(DistanceKernels.class);
+        private static final DistanceKernels BEST = load();
+
+        private Holder() {}
+
+        private static DistanceKernels load() {
+            if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+                LOG.debug("Module jdk.incubator.vector is not available, using scalar distance kernels");
+                return scalar();
+            }
+            try {
+                // Loaded reflectively: the class cannot be linked without the incubator module
+                DistanceKernels kernels =
+                        (DistanceKernels) Class.forName(DistanceKernels.class.getPackageName() + ".SimdDistanceKernels")
+                                .getDeclaredConstructor()
+                                .newInstance();
+                LOG.debug("Using Vector API distance kernels");
+                return kernels;
+            } catch (ReflectiveOperationException | LinkageError e) {
+                LOG.debug(
+                        "Vector API distance kernels are not built or not supported, using scalar distance kernels", e);
+                return scalar();
+            }
+        }
+    }
+}
@@ -0,0 +1,615 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.ai.ingestion.TransientEmbeddingStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.RelevanceScore;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+/**
+ * In-memory {@link EmbeddingStore} searching a Hierarchical Navigable Small World graph instead of scanning every
+ * embedding.
+ *
+ * <p>Each embedding is a node of a layered proximity graph: every node is on layer 0, and exponentially fewer nodes
+ * on each upper layer. A search descends greedily from the single node of the top layer to layer 0, where it
+ * explores the {@code efSearch} closest nodes found so far. Search time therefore grows logarithmically with the
+ * number of embeddings, at the cost of approximate results: a match can be missed, which raising
+ * {@code efSearch} makes less likely.
+ *
+ * <p>Like {@link dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore}, embeddings are compared by cosine
+ * similarity and the filters of a search request apply to the metadata of {@link TextSegment}s. A filtered search
+ * walks the whole graph but only returns the matching embeddings.
+ *
+ * <p>The store is thread-safe. Batches added with {@link #addAll(List, List, List)} are inserted by
+ * {@code buildThreads} threads. Removed embeddings stay in the graph to keep it connected, but are no longer
+ * returned. Once their share of the graph exceeds the compaction threshold, the graph is rebuilt from the
+ * remaining embeddings, blocking searches and updates meanwhile, so that searches stop walking through them.
+ *
+ * @param <Embedded> the type of the objects embedded, usually {@link TextSegment}
+ */
+public class HnswEmbeddingStore<Embedded> implements EmbeddingStore<Embedded>, TransientEmbeddingStore {
+    private static final Logger LOG = LoggerFactory.getLogger(HnswEmbeddingStore.class);
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final int PARALLEL_THRESHOLD = 1000;
+    static final double DEFAULT_COMPACTION_THRESHOLD = 0.3;
+
+    private final int m;
+    private final int maxConnections0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final int buildThreads;
+    private final double levelMultiplier;
+    private final double compactionThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> indexById = new ConcurrentHashMap<>();
+    private volatile Node<Embedded>[] nodes = newNodes(64);
+    private int size;
+    private final AtomicInteger removed = new AtomicInteger();
+    private volatile EntryPoint entryPoint;
+
+    /**
+     * @param m the number of neighbours of a node on the upper layers, twice as many on layer 0
+     * @param efConstruction the number of nearest nodes considered when inserting a node
+     * @param efSearch the number of nearest nodes considered when searching
+     * @param buildThreads the number of threads inserting a batch of embeddings
+     */
+    public HnswEmbeddingStore(int m, int efConstruction, int efSearch, int buildThreads) {
+        this(m, efConstruction, efSearch, buildThreads, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * @param m the number of neighbours of a node on the upper layers, twice as many on layer 0
+     * @param efConstruction the number of nearest nodes considered when inserting a node
+     * @param efSearch the number of nearest nodes considered when searching
+     * @param buildThreads the number of threads inserting a batch of embeddings
+     * @param compactionThreshold the share of removed nodes above which the graph is rebuilt, 1 to never rebuild it
+     */
+    public HnswEmbeddingStore(int m, int efConstruction, int efSearch, int buildThreads, double compactionThreshold) {
+        if (m < 2) {
+            throw new IllegalArgumentException("HNSW m must be at least 2: " + m);
+        }
+        this.m = m;
+        this.maxConnections0 = 2 * m;
+        this.efConstruction = Math.max(m, efConstruction);
+        this.efSearch = Math.max(1, efSearch);
+        this.buildThreads = Math.max(1, buildThreads);
+        this.levelMultiplier = 1 / Math.log(m);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Returns the number of embeddings that can be returned by a search.
+     */
+    public int size() {
+        return indexById.size();
+    }
+
+    /**
+     * Returns the number of nodes of the graph, including the removed ones.
+     */
+    int graphSize() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String add(Embedding embedding) {
+        String id = UUID.randomUUID().toString();
+        add(id, embedding);
+        return id;
+    }
+
+    @Override
+    public void add(String id, Embedding embedding) {
+        addAll(List.of(id), List.of(embedding), null);
+    }
+
+    @Override
+    public String add(Embedding embedding, Embedded embedded) {
+        String id = UUID.randomUUID().toString();
+        addAll(List.of(id), List.of(embedding), embedded == null ? null : List.of(embedded));
+        return id;
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings) {
+        List<String> ids = generateIds(embeddings.size());
+        addAll(ids, embeddings, null);
+        return ids;
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings, List<Embedded> embedded) {
+        List<String> ids = generateIds(embeddings.size());
+        addAll(ids, embeddings, embedded);
+        return ids;
+    }
+
+    @Override
+    public void addAll(List<String> ids, List<Embedding> embeddings, List<Embedded> embedded) {
+        if (ids.size() != embeddings.size() || (embedded != null && embedded.size() != embeddings.size())) {
+            throw new IllegalArgumentException("The ids, embeddings and embedded lists must have the same size");
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        lock.readLock().lock();
+        try {
+            insert(append(ids, embeddings, embedded));
+        } finally {
+            lock.readLock().unlock();
+        }
+        // Embeddings added again replaced their previous node
+        compactIfNeeded();
+    }
+
+    @Override
+    public void remove(String id) {
+        removeAll(List.of(id));
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                Integer index = indexById.remove(id);
+                if (index != null) {
+                    markRemoved(index);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Filter filter) {
+        Objects.requireNonNull(filter, "filter");
+        lock.writeLock().lock();
+        try {
+            Node<Embedded>[] current = nodes;
+            for (int index = 0; index < size; index++) {
+                Node<Embedded> node = current[index];
+                if (!node.removed && matches(filter, node) && indexById.remove(node.id, index)) {
+                    markRemoved(index);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        lock.writeLock().lock();
+        try {
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public EmbeddingSearchResult<Embedded> search(EmbeddingSearchRequest request) {
+        float[] query = request.queryEmbedding().vector();
+        float queryNorm = inverseNorm(query);
+        Filter filter = request.filter();
+        IntPredicate accepted = index -> {
+            Node<Embedded> node = nodes[index];
+            return !node.removed && (filter == null || matches(filter, node));
+        };
+
+        lock.readLock().lock();
+        try {
+            EntryPoint entry = entryPoint;
+            if (entry == null) {
+                return new EmbeddingSearchResult<>(List.of());
+            }
+            int closest = entry.node();
+            for (int level = entry.level(); level > 0; level--) {
+                closest = searchLayer(query, queryNorm, closest, 1, level, index -> true)
+                        .get(0)
+                        .node();
+            }
+            List<Candidate> found =
+                    searchLayer(query, queryNorm, closest, Math.max(efSearch, request.maxResults()), 0, accepted);
+
+            List<EmbeddingMatch<Embedded>> matches = new ArrayList<>(Math.min(found.size(), request.maxResults()));
+            for (Candidate candidate : found) {
+                double score = RelevanceScore.fromCosineSimilarity(1 - candidate.distance());
+                if (matches.size() == request.maxResults() || score < request.minScore()) {
+                    break;
+                }
+                Node<Embedded> node = nodes[candidate.node()];
+                matches.add(new EmbeddingMatch<>(score, node.id, node.embedding, node.embedded));
+            }
+            return new EmbeddingSearchResult<>(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        indexById.clear();
+        nodes = newNodes(64);
+        size = 0;
+        removed.set(0);
+        entryPoint = null;
+    }
+
+    private void markRemoved(int index) {
+        nodes[index].removed = true;
+        removed.incrementAndGet();
+    }
+
+    /**
+     * Rebuilds the graph from the remaining nodes once the share of removed ones exceeds the compaction threshold.
+     */
+    private void compactIfNeeded() {
+        if (removed.get() <= compactionThreshold * size) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int count = size;
+            if (removed.get() <= compactionThreshold * count) {
+                return;
+            }
+            Node<Embedded>[] current = nodes;
+            List<String> ids = new ArrayList<>(count);
+            List<Embedding> embeddings = new ArrayList<>(count);
+            List<Embedded> embedded = new ArrayList<>(count);
+            for (int index = 0; index < count; index++) {
+                Node<Embedded> node = current[index];
+                if (!node.removed) {
+                    ids.add(node.id);
+                    embeddings.add(node.embedding);
+                    embedded.add(node.embedded);
+                }
+            }
+            LOG.debug(
+                    "Rebuilding the HNSW graph of {} embeddings without its {} removed ones",
+                    ids.size(),
+                    count - ids.size());
+            clear();
+            if (!ids.isEmpty()) {
+                insert(append(ids, embeddings, embedded));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int[] append(List<String> ids, List<Embedding> embeddings, List<Embedded> embedded) {
+        int[] indices = new int[ids.size()];
+        synchronized (this) {
+            if (size + indices.length > nodes.length) {
+                nodes = Arrays.copyOf(nodes, Math.max(2 * nodes.length, size + indices.length));
+            }
+            Node<Embedded>[] current = nodes;
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < indices.length; i++) {
+                Embedding embedding = embeddings.get(i);
+                int level = (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier);
+                int index = size++;
+                current[index] = new Node<>(
+                        ids.get(i),
+                        embedding,
+                        inverseNorm(embedding.vector()),
+                        embedded != null ? embedded.get(i) : null,
+                        level);
+                indices[i] = index;
+            }
+            // Publishes the new nodes before they are linked into the graph
+            nodes = current;
+        }
+        for (int i = 0; i < indices.length; i++) {
+            Integer previous = indexById.put(ids.get(i), indices[i]);
+            if (previous != null) {
+                markRemoved(previous);
+            }
+        }
+        return indices;
+    }
+
+    private void insert(int[] indices) {
+        if (buildThreads == 1 || indices.length < PARALLEL_THRESHOLD) {
+            for (int index : indices) {
+                insert(index);
+            }
+        } else {
+            insertInParallel(indices);
+        }
+    }
+
+    private void insertInParallel(int[] indices) {
+        LOG.debug("Inserting {} embeddings into the HNSW graph with {} threads", indices.length, buildThreads);
+        // Inserting the first node alone gives the other threads an entry point
+        insert(indices[0]);
+        AtomicInteger next = new AtomicInteger(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buildThreads, r -> {
+            Thread thread = new Thread(r, "forage-hnsw-build-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> workers = new ArrayList<>(buildThreads);
+            for (int i = 0; i < buildThreads; i++) {
+                workers.add(executor.submit(() -> {
+                    int position;
+                    while ((position = next.getAndIncrement()) < indices.length) {
+                        insert(indices[position]);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the HNSW graph", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to build the HNSW graph", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void insert(int index) {
+        Node<Embedded> node = nodes[index];
+        EntryPoint entry = entryPoint;
+        if (entry == null) {
+            synchronized (this) {
+                if (entryPoint == null) {
+                    entryPoint = new EntryPoint(index, node.level);
+                    return;
+                }
+                entry = entryPoint;
+            }
+        }
+
+        float[] vector = node.embedding.vector();
+        int closest = entry.node();
+        for (int level = entry.level(); level > node.level; level--) {
+            closest = searchLayer(vector, node.inverseNorm, closest, 1, level, i -> true)
+                    .get(0)
+                    .node();
+        }
+        for (int level = Math.min(node.level, entry.level()); level >= 0; level--) {
+            List<Candidate> candidates =
+                    searchLayer(vector, node.inverseNorm, closest, efConstruction, level, i -> true);
+            int[] neighbours = selectNeighbours(candidates, m);
+            link(index, neighbours, level);
+            for (int neighbour : neighbours) {
+                link(neighbour, new int[] {index}, level);
+            }
+            closest = candidates.get(0).node();
+        }
+
+        if (node.level > entry.level()) {
+            synchronized (this) {
+                if (node.level > entryPoint.level()) {
+                    entryPoint = new EntryPoint(index, node.level);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds neighbours to a node, pruning its neighbours once it has too many. Other threads may be adding
+     * neighbours to the same node, including to a node being inserted as soon as it can be found on a layer.
+     */
+    private void link(int index, int[] added, int level) {
+        Node<Embedded> node = nodes[index];
+        int maxConnections = level == 0 ? maxConnections0 : m;
+        synchronized (node) {
+            int[] neighbours = node.neighbours.get(level);
+            int[] extended = Arrays.copyOf(neighbours, neighbours.length + added.length);
+            int count = neighbours.length;
+            for (int neighbour : added) {
+                if (neighbour != index && !contains(neighbours, neighbour)) {
+                    extended[count++] = neighbour;
+                }
+            }
+            if (count <= maxConnections) {
+                node.neighbours.set(level, Arrays.copyOf(extended, count));
+                return;
+            }
+            List<Candidate> candidates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                candidates.add(new Candidate(extended[i], distance(node, nodes[extended[i]])));
+            }
+            candidates.sort(Comparator.comparingDouble(Candidate::distance));
+            node.neighbours.set(level, selectNeighbours(candidates, maxConnections));
+        }
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Keeps the closest candidates that are closer to the node than to the candidates already kept, so that the
+     * neighbours of a node point in different directions rather than all into the same cluster.
+     */
+    private int[] selectNeighbours(List<Candidate> candidates, int max) {
+        List<Candidate> selected = new ArrayList<>(max);
+        for (Candidate candidate : candidates) {
+            if (selected.size() == max) {
+                break;
+            }
+            Node<Embedded> node = nodes[candidate.node()];
+            boolean diverse = true;
+            for (Candidate other : selected) {
+                if (distance(node, nodes[other.node()]) < candidate.distance()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            }
+        }
+        int[] neighbours = new int[selected.size()];
+        for (int i = 0; i < neighbours.length; i++) {
+            neighbours[i] = selected.get(i).node();
+        }
+        return neighbours;
+    }
+
+    /**
+     * Returns the {@code ef} accepted nodes closest to the query found from the entry node, closest first.
+     */
+    private List<Candidate> searchLayer(
+            float[] query, float queryInverseNorm, int entry, int ef, int level, IntPredicate accepted) {
+        BitSet visited = new BitSet();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator.comparingDouble(Candidate::distance));
+        PriorityQueue<Candidate> results = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::distance).reversed());
+
+        Candidate start = new Candidate(entry, distance(query, queryInverseNorm, nodes[entry]));
+        visited.set(entry);
+        candidates.add(start);
+        if (accepted.test(entry)) {
+            results.add(start);
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate candidate = candidates.poll();
+            if (results.size() >= ef && candidate.distance() > results.peek().distance()) {
+                break;
+            }
+            int[] neighbours = nodes[candidate.node()].neighbours(level);
+            for (int neighbour : neighbours) {
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                float distance = distance(query, queryInverseNorm, nodes[neighbour]);
+                if (results.size() < ef || distance < results.peek().distance()) {
+                    candidates.add(new Candidate(neighbour, distance));
+                    if (accepted.test(neighbour)) {
+                        results.add(new Candidate(neighbour, distance));
+                        if (results.size() > ef) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Candidate> sorted = new ArrayList<>(results);
+        sorted.sort(Comparator.comparingDouble(Candidate::distance));
+        return sorted;
+    }
+
+    private static boolean matches(Filter filter, Node<?> node) {
+        // Same semantics as the InMemoryEmbeddingStore: only text segments have metadata to filter on
+        return !(node.embedded instanceof TextSegment segment) || filter.test(segment.metadata());
+    }
+
+    private static float distance(Node<?> a, Node<?> b) {
+        return distance(a.embedding.vector(), a.inverseNorm, b);
+    }
+
+    private static float distance(float[] query, float queryInverseNorm, Node<?> node) {
+        float[] vector = node.embedding.vector();
+        if (vector.length != query.length) {
+            throw new IllegalArgumentException(
+                    "Embedding dimension " + vector.length + " differs from query dimension " + query.length);
+        }
+        float dot = 0;
+        for (int i = 0; i < vector.length; i++) {
+            dot += query[i] * vector[i];
+        }
+        return 1 - dot * queryInverseNorm * node.inverseNorm;
+    }
+
+    private static float inverseNorm(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        return sum == 0 ? 0 : (float) (1 / Math.sqrt(sum));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <E> Node<E>[] newNodes(int capacity) {
+        return (Node<E>[]) new Node[capacity];
+    }
+
+    private record EntryPoint(int node, int level) {}
+
+    private record Candidate(int node, float distance) {}
+
+    private static final class Node<Embedded> {
+        private static final int[] NO_NEIGHBOURS = new int[0];
+
+        private final String id;
+        private final Embedding embedding;
+        private final float inverseNorm;
+        private final Embedded embedded;
+        private final int level;
+        private final AtomicReferenceArray<int[]> neighbours;
+        private volatile boolean removed;
+
+        private Node(String id, Embedding embedding, float inverseNorm, Embedded embedded, int level) {
+            this.id = id;
+            this.embedding = embedding;
+            this.inverseNorm = inverseNorm;
+            this.embedded = embedded;
+            this.level = level;
+            this.neighbours = new AtomicReferenceArray<>(level + 1);
+            for (int i = 0; i <= level; i++) {
+                neighbours.set(i, NO_NEIGHBOURS);
+            }
+        }
+
+        private int[] neighbours(int level) {
+            return level <= this.level ? neighbours.get(level) : NO_NEIGHBOURS;
+        }
+    }
+}
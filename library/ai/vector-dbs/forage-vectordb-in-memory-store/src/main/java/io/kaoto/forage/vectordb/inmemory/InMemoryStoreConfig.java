@@ -1,11 +1,21 @@
 package io.kaoto.forage.vectordb.inmemory;
 
+import java.util.Locale;
 import io.kaoto.forage.core.util.config.AbstractConfig;
 import dev.langchain4j.store.embedding.EmbeddingStore;
 
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.COMPACTION_THRESHOLD;
 import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.FILE_SOURCE;
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.HNSW_BUILD_THREADS;
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.HNSW_EF_CONSTRUCTION;
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.HNSW_EF_SEARCH;
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.HNSW_M;
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.INDEX;
 import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.MAX_SIZE;
 import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.OVERLAP_SIZE;
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.QUANTIZATION;
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.RERANK_FACTOR;
+import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.SIMD;
 
 /**
  * Configuration class for the {@link dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore}.
@@ -26,7 +36,14 @@ import static io.kaoto.forage.vectordb.inmemory.InMemoryStoreConfigEntries.OVERL
  * <ul>
  *   <li><strong>FILE_SOURCE</strong> - Path to a file to be loaded into store via {@link dev.langchain4j.data.document.Document#from}.</li>
  *   <li><strong>MAX_SIZE</strong> - The maximum size of the segment, defined in characters.</li>
- *   <li><strong>OVERLAP_SIZE</strong> - The maximum size of the overlap, defined in characters. Only full sentences are considered for the overlap..</li>
+ *   <li><strong>OVERLAP_SIZE</strong> - The maximum size of the overlap, defined in characters. The overlap starts at a word boundary.</li>
+ *   <li><strong>INDEX</strong> - How the embeddings are searched: brute-force (default), hnsw, see {@link HnswEmbeddingStore},
+ *   or off-heap, see {@link OffHeapEmbeddingStore}.</li>
+ *   <li><strong>HNSW_M</strong>, <strong>HNSW_EF_CONSTRUCTION</strong>, <strong>HNSW_EF_SEARCH</strong>,
+ *   <strong>HNSW_BUILD_THREADS</strong> - Settings of the HNSW graph.</li>
+ *   <li><strong>QUANTIZATION</strong>, <strong>RERANK_FACTOR</strong>, <strong>SIMD</strong> - Settings of the
+ *   off-heap index.</li>
+ *   <li><strong>COMPACTION_THRESHOLD</strong> - Share of removed embeddings above which the index is rebuilt.</li>
  * </ul>
  *
  * @see AbstractConfig
@@ -73,9 +90,104 @@ public class InMemoryStoreConfig extends AbstractConfig {
     /**
      * Returns the overlap-size parameter.
      *
-     * <p>The maximum size of the overlap, defined in characters. Only full sentences are considered for the overlap.</p>
+     * <p>The maximum size of the overlap, defined in characters. The overlap starts at a word boundary.</p>
      */
     public Integer overlapSize() {
         return get(OVERLAP_SIZE).map(Integer::parseInt).orElse(null);
     }
+
+    /**
+     * Returns the index parameter.
+     *
+     * <p>How the embeddings are searched: {@code brute-force}, {@code hnsw} or {@code off-heap}.</p>
+     *
+     * @throws IllegalArgumentException if the configured index is not brute-force, hnsw or off-heap
+     */
+    public String index() {
+        String index = get(INDEX).orElse(INDEX.defaultValue()).trim().toLowerCase(Locale.ROOT);
+        if (!index.equals("brute-force") && !index.equals("hnsw") && !index.equals("off-heap")) {
+            throw new IllegalArgumentException("Invalid in memory store index value: " + index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the hnsw-m parameter.
+     *
+     * <p>Number of neighbours of each embedding in the HNSW graph.</p>
+     */
+    public int hnswM() {
+        return get(HNSW_M).map(Integer::parseInt).orElse(Integer.parseInt(HNSW_M.defaultValue()));
+    }
+
+    /**
+     * Returns the hnsw-ef-construction parameter.
+     *
+     * <p>Number of nearest embeddings considered when inserting an embedding into the HNSW graph.</p>
+     */
+    public int hnswEfConstruction() {
+        return get(HNSW_EF_CONSTRUCTION)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(HNSW_EF_CONSTRUCTION.defaultValue()));
+    }
+
+    /**
+     * Returns the hnsw-ef-search parameter.
+     *
+     * <p>Number of nearest embeddings considered when searching the HNSW graph.</p>
+     */
+    public int hnswEfSearch() {
+        return get(HNSW_EF_SEARCH).map(Integer::parseInt).orElse(Integer.parseInt(HNSW_EF_SEARCH.defaultValue()));
+    }
+
+    /**
+     * Returns the hnsw-build-threads parameter.
+     *
+     * <p>Number of threads inserting the embeddings into the HNSW graph.</p>
+     */
+    public int hnswBuildThreads() {
+        return get(HNSW_BUILD_THREADS)
+                .map(Integer::parseInt)
+                .orElse(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Returns the quantization parameter.
+     *
+     * <p>How the embeddings of the off-heap index are quantized: {@code none}, {@code int8} or {@code binary}.</p>
+     *
+     * @throws IllegalArgumentException if the configured quantization is not none, int8 or binary
+     */
+    public OffHeapEmbeddingStore.Quantization quantization() {
+        return OffHeapEmbeddingStore.Quantization.of(get(QUANTIZATION).orElse(QUANTIZATION.defaultValue()));
+    }
+
+    /**
+     * Returns the rerank-factor parameter.
+     *
+     * <p>Number of quantized candidates per result re-ranked in full precision by the off-heap index.</p>
+     */
+    public int rerankFactor() {
+        return get(RERANK_FACTOR).map(Integer::parseInt).orElse(Integer.parseInt(RERANK_FACTOR.defaultValue()));
+    }
+
+    /**
+     * Returns the simd parameter.
+     *
+     * <p>Whether the off-heap index uses the Vector API when it is available.</p>
+     */
+    public boolean simd() {
+        return get(SIMD).map(Boolean::parseBoolean).orElse(Boolean.parseBoolean(SIMD.defaultValue()));
+    }
+
+    /**
+     * Returns the compaction-threshold parameter.
+     *
+     * <p>Share of removed embeddings above which the index is rebuilt without them.</p>
+     */
+    public double compactionThreshold() {
+        return get(COMPACTION_THRESHOLD)
+                .map(Double::parseDouble)
+                .orElse(Double.parseDouble(COMPACTION_THRESHOLD.defaultValue()));
+    }
 }
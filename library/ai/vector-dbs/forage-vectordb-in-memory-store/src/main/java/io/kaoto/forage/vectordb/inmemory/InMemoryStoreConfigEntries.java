@@ -35,7 +35,110 @@ public final class InMemoryStoreConfigEntries extends ConfigEntries {
             false,
             ConfigTag.COMMON);
 
+    public static final ConfigModule INDEX = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.index",
+            "How the embeddings are searched: 'brute-force' compares the query with every embedding, 'hnsw' searches an approximate nearest-neighbour graph, 'off-heap' compares the query with every embedding stored outside of the Java heap.",
+            "Index",
+            "brute-force",
+            "string",
+            false,
+            ConfigTag.COMMON);
+
+    public static final ConfigModule HNSW_M = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.hnsw.m",
+            "Number of neighbours of each embedding in the HNSW graph, higher values improve recall at the cost of memory.",
+            "HNSW M",
+            "16",
+            "int",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule HNSW_EF_CONSTRUCTION = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.hnsw.ef.construction",
+            "Number of nearest embeddings considered when inserting an embedding into the HNSW graph.",
+            "HNSW efConstruction",
+            "200",
+            "int",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule HNSW_EF_SEARCH = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.hnsw.ef.search",
+            "Number of nearest embeddings considered when searching the HNSW graph, higher values improve recall at the cost of latency.",
+            "HNSW efSearch",
+            "64",
+            "int",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule HNSW_BUILD_THREADS = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.hnsw.build.threads",
+            "Number of threads inserting the embeddings into the HNSW graph, defaults to the number of processors.",
+            "HNSW build threads",
+            null,
+            "int",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule QUANTIZATION = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.quantization",
+            "How the embeddings of the off-heap index are quantized before being compared with the query: 'none', 'int8' or 'binary'. The best candidates are re-ranked in full precision.",
+            "Quantization",
+            "none",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule RERANK_FACTOR = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.rerank.factor",
+            "Number of quantized candidates per result re-ranked in full precision by the off-heap index, binary quantization usually needs a higher factor than int8.",
+            "Re-rank factor",
+            "4",
+            "int",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule SIMD = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.simd",
+            "Whether the off-heap index uses the Vector API when the module is built with the 'vector-api' profile and the JVM runs with '--add-modules jdk.incubator.vector'.",
+            "SIMD",
+            "true",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule COMPACTION_THRESHOLD = ConfigModule.of(
+            InMemoryStoreConfig.class,
+            "forage.in.memory.store.compaction.threshold",
+            "Share of removed embeddings above which the hnsw index rebuilds its graph and the off-heap index compacts its records without them, 1 never compacts them.",
+            "Compaction threshold",
+            "0.3",
+            "double",
+            false,
+            ConfigTag.ADVANCED);
+
     static {
-        initModules(InMemoryStoreConfigEntries.class, FILE_SOURCE, MAX_SIZE, OVERLAP_SIZE);
+        initModules(
+                InMemoryStoreConfigEntries.class,
+                FILE_SOURCE,
+                MAX_SIZE,
+                OVERLAP_SIZE,
+                INDEX,
+                HNSW_M,
+                HNSW_EF_CONSTRUCTION,
+                HNSW_EF_SEARCH,
+                HNSW_BUILD_THREADS,
+                QUANTIZATION,
+                RERANK_FACTOR,
+                SIMD,
+                COMPACTION_THRESHOLD);
     }
 }
@@ -2,15 +2,20 @@ package io.kaoto.forage.vectordb.inmemory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.ai.EmbeddingModelAware;
 import io.kaoto.forage.core.ai.EmbeddingStoreProvider;
+import io.kaoto.forage.core.ai.ingestion.Bm25Index;
+import io.kaoto.forage.core.ai.ingestion.Bm25IndexedEmbeddingStore;
+import io.kaoto.forage.core.ai.ingestion.IngestionConfig;
+import io.kaoto.forage.core.ai.ingestion.StreamingDocumentSplitter;
 import io.kaoto.forage.core.annotations.ForageBean;
-import dev.langchain4j.data.document.Document;
-import dev.langchain4j.data.document.splitter.DocumentSplitters;
+import dev.langchain4j.data.document.Metadata;
 import dev.langchain4j.data.embedding.Embedding;
 import dev.langchain4j.data.segment.TextSegment;
 import dev.langchain4j.model.embedding.EmbeddingModel;
@@ -21,7 +26,10 @@ import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
  * Configuration class for the {@link dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore}.
  *
  * <p>An {@link EmbeddingStore} that stores embeddings in memory.
- * Uses a brute force approach by iterating over all embeddings to find the best matches.
+ * Uses a brute force approach by iterating over all embeddings to find the best matches, unless the
+ * {@code hnsw} index is configured, which searches a {@link HnswEmbeddingStore} graph instead, or the
+ * {@code off-heap} index, which scans optionally quantized vectors kept outside of the heap by an
+ * {@link OffHeapEmbeddingStore}.
  *
  * <p>This store can be persisted using the {@code InMemoryEmbeddingStore#serializeToJson()} and
  * {@code InMemoryEmbeddingStore#serializeToFile(Path)} methods.
@@ -31,11 +39,20 @@ import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
  *
  * <p><strong>Configuration Parameters:</strong>
  * <ul>
- *   <li><strong>FILE_SOURCE</strong> - Path to a file to be loaded into store via {@link dev.langchain4j.data.document.Document#from}.</li>
+ *   <li><strong>FILE_SOURCE</strong> - Path to a classpath file to be loaded into store, split while being read by a
+ *   {@link StreamingDocumentSplitter}.</li>
  *   <li><strong>MAX_SIZE</strong> - The maximum size of the segment, defined in characters.</li>
- *   <li><strong>OVERLAP_SIZE</strong> - The maximum size of the overlap, defined in characters. Only full sentences are considered for the overlap.</li>
+ *   <li><strong>OVERLAP_SIZE</strong> - The maximum size of the overlap, defined in characters. The overlap starts at a word boundary.</li>
+ *   <li><strong>INDEX</strong> - How the embeddings are searched: brute-force (default), hnsw or off-heap.</li>
  * </ul>
  *
+ * <p>Without a file source, an empty store is created when {@code forage.ingestion.sources} are configured, to be
+ * filled by a {@link io.kaoto.forage.core.ai.ingestion.DocumentIngestor}.
+ *
+ * <p>With {@code forage.ingestion.lexical.index}, the store is wrapped in a {@link Bm25IndexedEmbeddingStore} before
+ * the file source is loaded, so that its segments are searched by the hybrid retrieval too. The index is kept in
+ * memory only, like the store it is rebuilt with at startup.
+ *
  * <p>An {@link dev.langchain4j.model.embedding.EmbeddingModel EmbeddingModel} has to be provided for the
  * successful construction of a retrieval augmentor as part of the agent configuration.
  *
@@ -69,6 +86,7 @@ public class InMemoryStoreProvider implements EmbeddingStoreProvider, EmbeddingM
     @Override
     public EmbeddingStore<TextSegment> create(String id) {
         final InMemoryStoreConfig config = new InMemoryStoreConfig(id);
+        final IngestionConfig ingestionConfig = new IngestionConfig(id);
 
         if (embeddingModel == null) {
             LOG.trace("embeddingModel is mandatory for InMemoryStore creation");
@@ -76,8 +94,8 @@ public class InMemoryStoreProvider implements EmbeddingStoreProvider, EmbeddingM
         }
 
         String fileSource = config.fileSource();
-        Integer maxSize = config.maxSize();
-        Integer overlapSize = config.overlapSize();
+        int maxSize = config.maxSize() != null ? config.maxSize() : ingestionConfig.maxSegmentSize();
+        int overlapSize = config.overlapSize() != null ? config.overlapSize() : ingestionConfig.overlapSize();
 
         LOG.trace(
                 "Creating InMemory embedding store from {} with configuration: maxSize={}, overlapSize={}",
@@ -86,26 +104,117 @@ public class InMemoryStoreProvider implements EmbeddingStoreProvider, EmbeddingM
                 overlapSize);
 
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-        try (InputStream stream = classLoader.getResourceAsStream(fileSource)) {
+        try (InputStream stream = fileSource != null ? classLoader.getResourceAsStream(fileSource) : null) {
             if (stream == null) {
+                if (!ingestionConfig.sources().isEmpty()) {
+                    LOG.trace("Creating an empty InMemory embedding store for the ingestion sources");
+                    return newEmbeddingStore(config, ingestionConfig);
+                }
                 LOG.trace("InMemory embedding store is not created. The source file is not provided.");
                 return null;
             }
 
-            Document document = Document.from(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
-
-            List<TextSegment> segments =
-                    DocumentSplitters.recursive(maxSize, overlapSize).split(document);
-
-            List<Embedding> embeddings = embeddingModel.embedAll(segments).content();
+            EmbeddingStore<TextSegment> embeddingStore = newEmbeddingStore(config, ingestionConfig);
 
-            // Store in embedding store
-            EmbeddingStore<TextSegment> embeddingStore = new InMemoryEmbeddingStore<>();
-            embeddingStore.addAll(embeddings, segments);
+            // The file is split while being read, and its segments embedded and stored in batches
+            Batches batches = new Batches(embeddingStore, ingestionConfig.batchSize());
+            new StreamingDocumentSplitter(maxSize, overlapSize)
+                    .split(new InputStreamReader(stream, StandardCharsets.UTF_8), new Metadata(), batches::add);
+            batches.flush();
 
             return embeddingStore;
         } catch (IOException e) {
             throw new RuntimeException("Non accessible source file '%s'".formatted(fileSource), e);
         }
     }
+
+    private static EmbeddingStore<TextSegment> newEmbeddingStore(
+            InMemoryStoreConfig config, IngestionConfig ingestionConfig) {
+        EmbeddingStore<TextSegment> embeddingStore = newEmbeddingStore(config);
+        if (!ingestionConfig.lexicalIndex()) {
+            return embeddingStore;
+        }
+        if (ingestionConfig.lexicalIndexFile() != null) {
+            // A persisted index would keep the segments of the previous runs, which are not in the new store
+            LOG.warn(
+                    "Ignoring the lexical index file {}: the InMemory embedding store is rebuilt at startup",
+                    ingestionConfig.lexicalIndexFile());
+        }
+        return new Bm25IndexedEmbeddingStore(embeddingStore, new Bm25Index(), null);
+    }
+
+    private static EmbeddingStore<TextSegment> newEmbeddingStore(InMemoryStoreConfig config) {
+        if ("hnsw".equals(config.index())) {
+            LOG.trace(
+                    "Indexing embeddings with HNSW: m={}, efConstruction={}, efSearch={}, compactionThreshold={}",
+                    config.hnswM(),
+                    config.hnswEfConstruction(),
+                    config.hnswEfSearch(),
+                    config.compactionThreshold());
+            return new HnswEmbeddingStore<>(
+                    config.hnswM(),
+                    config.hnswEfConstruction(),
+                    config.hnswEfSearch(),
+                    config.hnswBuildThreads(),
+                    config.compactionThreshold());
+        } else if ("off-heap".equals(config.index())) {
+            LOG.trace(
+                    "Storing embeddings off-heap: quantization={}, rerankFactor={}, simd={}, compactionThreshold={}",
+                    config.quantization(),
+                    config.rerankFactor(),
+                    config.simd(),
+                    config.compactionThreshold());
+            return new OffHeapEmbeddingStore<>(
+                    config.quantization(), config.rerankFactor(), config.simd(), config.compactionThreshold());
+        }
+        return new InMemoryEmbeddingStore<>();
+    }
+
+    /**
+     * Segments embedded {@code batchSize} at a time, and added to the store by groups large enough for the HNSW
+     * index to insert them in parallel.
+     */
+    private final class Batches {
+        private static final int STORE_BATCH_SIZE = 1000;
+
+        private final EmbeddingStore<TextSegment> embeddingStore;
+        private final int batchSize;
+        private final List<TextSegment> segments = new ArrayList<>();
+        private final List<Embedding> embeddings = new ArrayList<>();
+
+        private Batches(EmbeddingStore<TextSegment> embeddingStore, int batchSize) {
+            this.embeddingStore = embeddingStore;
+            this.batchSize = Math.max(1, batchSize);
+        }
+
+        private void add(TextSegment segment) {
+            segments.add(segment);
+            if (segments.size() - embeddings.size() == batchSize) {
+                embed();
+                if (segments.size() >= STORE_BATCH_SIZE) {
+                    store();
+                }
+            }
+        }
+
+        private void flush() {
+            embed();
+            store();
+        }
+
+        private void embed() {
+            List<TextSegment> pending = segments.subList(embeddings.size(), segments.size());
+            if (!pending.isEmpty()) {
+                embeddings.addAll(embeddingModel.embedAll(pending).content());
+            }
+        }
+
+        private void store() {
+            if (!segments.isEmpty()) {
+                embeddingStore.addAll(List.copyOf(embeddings), List.copyOf(segments));
+                segments.clear();
+                embeddings.clear();
+            }
+        }
+    }
 }
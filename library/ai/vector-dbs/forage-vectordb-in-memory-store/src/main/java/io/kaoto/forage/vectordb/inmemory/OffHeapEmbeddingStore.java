@@ -0,0 +1,640 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.core.ai.ingestion.TransientEmbeddingStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingSearchResult;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.RelevanceScore;
+import dev.langchain4j.store.embedding.filter.Filter;
+
+/**
+ * In-memory {@link EmbeddingStore} keeping the vectors in direct {@link ByteBuffer}s outside of the Java heap.
+ *
+ * <p>The vectors are appended to contiguous off-heap chunks, so that millions of embeddings neither grow the heap
+ * nor add work to the garbage collector, and a search scans them sequentially. Only the ids and the embedded
+ * objects stay on the heap.
+ *
+ * <p>The vectors can additionally be quantized, in which case a search first scans the compact quantized codes,
+ * keeps the {@code maxResults * rerankFactor} best candidates, and re-ranks them with the full precision vectors:
+ * <ul>
+ *   <li>{@link Quantization#INT8} stores one byte per dimension, scaled by the largest component of the vector.</li>
+ *   <li>{@link Quantization#BINARY} stores one bit per dimension, the sign of the component, and compares the
+ *   codes by Hamming distance. It needs a higher re-rank factor than int8 for the same recall.</li>
+ * </ul>
+ *
+ * <p>Like {@link dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore}, embeddings are compared by cosine
+ * similarity and the filters of a search request apply to the metadata of {@link TextSegment}s. The dot products
+ * use scalar code, or the Vector API when the module is built with the {@code vector-api} Maven profile and the JVM
+ * runs with {@code --add-modules jdk.incubator.vector}.
+ *
+ * <p>The store is thread-safe. Removed embeddings keep their off-heap slot, skipped by searches, until their share
+ * of the slots exceeds the compaction threshold: the remaining records are then copied to new chunks, and the old
+ * ones released to the garbage collector, as {@link #removeAll()} releases all of them.
+ *
+ * @param <Embedded> the type of the objects embedded, usually {@link TextSegment}
+ */
+public class OffHeapEmbeddingStore<Embedded> implements EmbeddingStore<Embedded>, TransientEmbeddingStore {
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapEmbeddingStore.class);
+    private static final int CHUNK_BYTES = 64 << 20;
+    private static final int BLOCK_BYTES = 64 << 10;
+
+    /**
+     * How the vectors scanned by a search are quantized.
+     */
+    public enum Quantization {
+        NONE,
+        INT8,
+        BINARY;
+
+        /**
+         * Returns the quantization of the given configuration value: {@code none}, {@code int8} or {@code binary}.
+         *
+         * @throws IllegalArgumentException if the value is not a quantization
+         */
+        public static Quantization of(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid in memory store quantization value: " + value, e);
+            }
+        }
+    }
+
+    private final Quantization quantization;
+    private final int rerankFactor;
+    private final DistanceKernels kernels;
+    private final double compactionThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<String> ids = new ArrayList<>();
+    private final List<Embedded> embedded = new ArrayList<>();
+    private final Map<String, Integer> indexById = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private int dimension = -1;
+    // Each vector record is its inverse norm followed by its components
+    private Chunks vectors;
+    private Chunks codes;
+
+    /**
+     * @param quantization how the vectors scanned by a search are quantized
+     * @param rerankFactor the number of candidates per result re-ranked with the full precision vectors, ignored
+     * without quantization
+     * @param simd whether to use the Vector API when it is available
+     */
+    public OffHeapEmbeddingStore(Quantization quantization, int rerankFactor, boolean simd) {
+        this(quantization, rerankFactor, simd, HnswEmbeddingStore.DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * @param quantization how the vectors scanned by a search are quantized
+     * @param rerankFactor the number of candidates per result re-ranked with the full precision vectors, ignored
+     * without quantization
+     * @param simd whether to use the Vector API when it is available
+     * @param compactionThreshold the share of removed slots above which the records are compacted, 1 to never
+     * compact them
+     */
+    public OffHeapEmbeddingStore(
+            Quantization quantization, int rerankFactor, boolean simd, double compactionThreshold) {
+        this(quantization, rerankFactor, simd ? DistanceKernels.best() : DistanceKernels.scalar(), compactionThreshold);
+    }
+
+    OffHeapEmbeddingStore(
+            Quantization quantization, int rerankFactor, DistanceKernels kernels, double compactionThreshold) {
+        this.quantization = Objects.requireNonNull(quantization, "quantization");
+        this.rerankFactor = Math.max(1, rerankFactor);
+        this.kernels = kernels;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    /**
+     * Returns the number of embeddings that can be returned by a search.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of off-heap records, including those of the removed embeddings.
+     */
+    int records() {
+        lock.readLock().lock();
+        try {
+            return ids.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes allocated outside of the heap for the vectors and their quantized codes.
+     */
+    public long offHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (vectors != null ? vectors.allocatedBytes() : 0) + (codes != null ? codes.allocatedBytes() : 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String add(Embedding embedding) {
+        String id = UUID.randomUUID().toString();
+        add(id, embedding);
+        return id;
+    }
+
+    @Override
+    public void add(String id, Embedding embedding) {
+        addAll(List.of(id), List.of(embedding), null);
+    }
+
+    @Override
+    public String add(Embedding embedding, Embedded embedded) {
+        String id = UUID.randomUUID().toString();
+        addAll(List.of(id), List.of(embedding), embedded == null ? null : List.of(embedded));
+        return id;
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings) {
+        List<String> ids = generateIds(embeddings.size());
+        addAll(ids, embeddings, null);
+        return ids;
+    }
+
+    @Override
+    public List<String> addAll(List<Embedding> embeddings, List<Embedded> embedded) {
+        List<String> ids = generateIds(embeddings.size());
+        addAll(ids, embeddings, embedded);
+        return ids;
+    }
+
+    @Override
+    public void addAll(List<String> ids, List<Embedding> embeddings, List<Embedded> embedded) {
+        if (ids.size() != embeddings.size() || (embedded != null && embedded.size() != embeddings.size())) {
+            throw new IllegalArgumentException("The ids, embeddings and embedded lists must have the same size");
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (dimension < 0) {
+                allocate(embeddings.get(0).dimension());
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                append(ids.get(i), embeddings.get(i).vector(), embedded != null ? embedded.get(i) : null);
+            }
+            // Embeddings added again replaced their previous record
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(String id) {
+        removeAll(List.of(id));
+    }
+
+    @Override
+    public void removeAll(Collection<String> ids) {
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                Integer index = indexById.remove(id);
+                if (index != null) {
+                    removed.set(index);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll(Filter filter) {
+        Objects.requireNonNull(filter, "filter");
+        lock.writeLock().lock();
+        try {
+            for (int index = removed.nextClearBit(0); index < ids.size(); index = removed.nextClearBit(index + 1)) {
+                if (matches(filter, embedded.get(index))) {
+                    indexById.remove(ids.get(index));
+                    removed.set(index);
+                }
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        lock.writeLock().lock();
+        try {
+            ids.clear();
+            embedded.clear();
+            indexById.clear();
+            removed.clear();
+            dimension = -1;
+            vectors = null;
+            codes = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public EmbeddingSearchResult<Embedded> search(EmbeddingSearchRequest request) {
+        float[] query = request.queryEmbedding().vector();
+        Filter filter = request.filter();
+
+        lock.readLock().lock();
+        try {
+            if (dimension < 0 || request.maxResults() <= 0) {
+                return new EmbeddingSearchResult<>(List.of());
+            }
+            if (query.length != dimension) {
+                throw new IllegalArgumentException(
+                        "Embedding dimension " + dimension + " differs from query dimension " + query.length);
+            }
+
+            int limit = quantization == Quantization.NONE
+                    ? request.maxResults()
+                    : (int) Math.min(Integer.MAX_VALUE, (long) request.maxResults() * rerankFactor);
+            TopCandidates candidates = new TopCandidates(limit);
+            switch (quantization) {
+                case NONE -> scanVectors(query, filter, candidates);
+                case INT8 -> scanInt8Codes(query, filter, candidates);
+                case BINARY -> scanBinaryCodes(query, filter, candidates);
+            }
+
+            List<Candidate> ranked = candidates.sorted();
+            if (quantization != Quantization.NONE) {
+                float queryInverseNorm = inverseNorm(query);
+                float[] vector = new float[dimension + 1];
+                List<Candidate> reranked = new ArrayList<>(ranked.size());
+                for (Candidate candidate : ranked) {
+                    vectors.read(candidate.index(), vector);
+                    reranked.add(new Candidate(candidate.index(), cosine(query, queryInverseNorm, vector, 0)));
+                }
+                reranked.sort(Comparator.comparingDouble(Candidate::score).reversed());
+                ranked = reranked;
+            }
+
+            List<EmbeddingMatch<Embedded>> matches = new ArrayList<>(Math.min(ranked.size(), request.maxResults()));
+            for (Candidate candidate : ranked) {
+                double score = RelevanceScore.fromCosineSimilarity(candidate.score());
+                if (matches.size() == request.maxResults() || score < request.minScore()) {
+                    break;
+                }
+                int index = candidate.index();
+                matches.add(new EmbeddingMatch<>(score, ids.get(index), embedding(index), embedded.get(index)));
+            }
+            return new EmbeddingSearchResult<>(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void allocate(int dimension) {
+        this.dimension = dimension;
+        this.vectors = new Chunks(Float.BYTES * (dimension + 1));
+        this.codes = switch (quantization) {
+            case NONE -> null;
+            case INT8 -> new Chunks(Float.BYTES + dimension);
+            case BINARY -> new Chunks(Long.BYTES * binaryWords(dimension));
+        };
+        LOG.debug(
+                "Allocating off-heap chunks for embeddings of dimension {} with {} quantization",
+                dimension,
+                quantization);
+    }
+
+    /**
+     * Copies the records of the remaining embeddings to new chunks once the share of removed ones exceeds the
+     * compaction threshold. The records are copied as they are, without quantizing the vectors again.
+     */
+    private void compactIfNeeded() {
+        int count = ids.size();
+        int removedCount = removed.cardinality();
+        if (removedCount <= compactionThreshold * count) {
+            return;
+        }
+        LOG.debug(
+                "Compacting the off-heap records of {} embeddings without {} removed ones",
+                count - removedCount,
+                removedCount);
+        Chunks compactedVectors = new Chunks(vectors.recordBytes);
+        Chunks compactedCodes = codes != null ? new Chunks(codes.recordBytes) : null;
+        List<String> compactedIds = new ArrayList<>(count - removedCount);
+        List<Embedded> compactedEmbedded = new ArrayList<>(count - removedCount);
+        for (int index = removed.nextClearBit(0); index < count; index = removed.nextClearBit(index + 1)) {
+            int target = compactedIds.size();
+            vectors.copy(index, compactedVectors, target);
+            if (codes != null) {
+                codes.copy(index, compactedCodes, target);
+            }
+            compactedIds.add(ids.get(index));
+            compactedEmbedded.add(embedded.get(index));
+            indexById.put(ids.get(index), target);
+        }
+        ids.clear();
+        ids.addAll(compactedIds);
+        embedded.clear();
+        embedded.addAll(compactedEmbedded);
+        removed.clear();
+        vectors = compactedVectors;
+        codes = compactedCodes;
+    }
+
+    private void append(String id, float[] vector, Embedded embedded) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException(
+                    "Embedding dimension " + vector.length + " differs from store dimension " + dimension);
+        }
+        int index = ids.size();
+        float inverseNorm = inverseNorm(vector);
+
+        ByteBuffer chunk = vectors.chunkForAppend(index);
+        int offset = vectors.offset(index);
+        chunk.putFloat(offset, inverseNorm);
+        chunk.asFloatBuffer().put(offset / Float.BYTES + 1, vector);
+
+        if (quantization == Quantization.INT8) {
+            chunk = codes.chunkForAppend(index);
+            offset = codes.offset(index);
+            float scale = int8Scale(vector);
+            chunk.putFloat(offset, scale * inverseNorm);
+            chunk.put(offset + Float.BYTES, quantizeInt8(vector, scale));
+        } else if (quantization == Quantization.BINARY) {
+            chunk = codes.chunkForAppend(index);
+            offset = codes.offset(index);
+            chunk.asLongBuffer().put(offset / Long.BYTES, quantizeBinary(vector));
+        }
+
+        ids.add(id);
+        this.embedded.add(embedded);
+        Integer previous = indexById.put(id, index);
+        if (previous != null) {
+            removed.set(previous);
+        }
+    }
+
+    /**
+     * Scores every vector in full precision, copying blocks of vectors to the heap for the kernels.
+     */
+    private void scanVectors(float[] query, Filter filter, TopCandidates candidates) {
+        float queryInverseNorm = inverseNorm(query);
+        int stride = dimension + 1;
+        float[] block = new float[vectors.blockRecords() * stride];
+        int count = ids.size();
+        for (int start = 0; start < count; ) {
+            int records = vectors.readBlock(start, count, block);
+            for (int i = 0; i < records; i++) {
+                int index = start + i;
+                if (!removed.get(index)) {
+                    float score = cosine(query, queryInverseNorm, block, i * stride);
+                    candidates.offer(index, score, filter);
+                }
+            }
+            start += records;
+        }
+    }
+
+    private void scanInt8Codes(float[] query, Filter filter, TopCandidates candidates) {
+        float scale = int8Scale(query);
+        float queryFactor = scale * inverseNorm(query);
+        byte[] queryCodes = quantizeInt8(query, scale);
+        int stride = Float.BYTES + dimension;
+        byte[] block = new byte[codes.blockRecords() * stride];
+        int count = ids.size();
+        for (int start = 0; start < count; ) {
+            int records = codes.readBlock(start, count, block);
+            ByteBuffer chunk = codes.chunk(start);
+            int offset = codes.offset(start);
+            for (int i = 0; i < records; i++) {
+                int index = start + i;
+                if (!removed.get(index)) {
+                    float factor = chunk.getFloat(offset + i * stride);
+                    float score =
+                            kernels.dot(queryCodes, block, i * stride + Float.BYTES, dimension) * factor * queryFactor;
+                    candidates.offer(index, score, filter);
+                }
+            }
+            start += records;
+        }
+    }
+
+    private void scanBinaryCodes(float[] query, Filter filter, TopCandidates candidates) {
+        long[] queryCodes = quantizeBinary(query);
+        int count = ids.size();
+        for (int index = removed.nextClearBit(0); index < count; index = removed.nextClearBit(index + 1)) {
+            ByteBuffer chunk = codes.chunk(index);
+            int offset = codes.offset(index);
+            int distance = 0;
+            for (int word = 0; word < queryCodes.length; word++) {
+                distance += Long.bitCount(queryCodes[word] ^ chunk.getLong(offset + word * Long.BYTES));
+            }
+            // Only used to rank the candidates, the scores are recomputed in full precision
+            candidates.offer(index, -distance, filter);
+        }
+    }
+
+    private float cosine(float[] query, float queryInverseNorm, float[] records, int offset) {
+        return kernels.dot(query, records, offset + 1, dimension) * queryInverseNorm * records[offset];
+    }
+
+    private Embedding embedding(int index) {
+        float[] record = new float[dimension + 1];
+        vectors.read(index, record);
+        float[] vector = new float[dimension];
+        System.arraycopy(record, 1, vector, 0, dimension);
+        return Embedding.from(vector);
+    }
+
+    private boolean accepted(int index, Filter filter) {
+        return filter == null || matches(filter, embedded.get(index));
+    }
+
+    private static boolean matches(Filter filter, Object embedded) {
+        // Same semantics as the InMemoryEmbeddingStore: only text segments have metadata to filter on
+        return !(embedded instanceof TextSegment segment) || filter.test(segment.metadata());
+    }
+
+    private static float int8Scale(float[] vector) {
+        float max = 0;
+        for (float value : vector) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max / Byte.MAX_VALUE;
+    }
+
+    private static byte[] quantizeInt8(float[] vector, float scale) {
+        byte[] codes = new byte[vector.length];
+        if (scale > 0) {
+            for (int i = 0; i < vector.length; i++) {
+                codes[i] = (byte) Math.round(vector[i] / scale);
+            }
+        }
+        return codes;
+    }
+
+    private static int binaryWords(int dimension) {
+        return (dimension + Long.SIZE - 1) / Long.SIZE;
+    }
+
+    private static long[] quantizeBinary(float[] vector) {
+        long[] codes = new long[binaryWords(vector.length)];
+        for (int i = 0; i < vector.length; i++) {
+            if (vector[i] > 0) {
+                codes[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        }
+        return codes;
+    }
+
+    private static float inverseNorm(float[] vector) {
+        double sum = 0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        return sum == 0 ? 0 : (float) (1 / Math.sqrt(sum));
+    }
+
+    private record Candidate(int index, float score) {}
+
+    /**
+     * The best scored accepted embeddings of a scan, the filter being only tested on the embeddings that would be
+     * kept.
+     */
+    private final class TopCandidates {
+        private final int limit;
+        private final PriorityQueue<Candidate> queue =
+                new PriorityQueue<>(Comparator.comparingDouble(Candidate::score));
+
+        private TopCandidates(int limit) {
+            this.limit = limit;
+        }
+
+        private void offer(int index, float score, Filter filter) {
+            if (queue.size() == limit && score <= queue.peek().score()) {
+                return;
+            }
+            if (!accepted(index, filter)) {
+                return;
+            }
+            queue.add(new Candidate(index, score));
+            if (queue.size() > limit) {
+                queue.poll();
+            }
+        }
+
+        private List<Candidate> sorted() {
+            List<Candidate> sorted = new ArrayList<>(queue);
+            sorted.sort(Comparator.comparingDouble(Candidate::score).reversed());
+            return sorted;
+        }
+    }
+
+    /**
+     * Fixed size records stored in direct buffers of at most {@code CHUNK_BYTES}, allocated as records are appended.
+     * A record never spans two chunks.
+     */
+    private static final class Chunks {
+        private final int recordBytes;
+        private final int recordsPerChunk;
+        private final List<ByteBuffer> chunks = new ArrayList<>();
+
+        private Chunks(int recordBytes) {
+            this.recordBytes = recordBytes;
+            this.recordsPerChunk = Math.max(1, CHUNK_BYTES / recordBytes);
+        }
+
+        private long allocatedBytes() {
+            return chunks.stream().mapToLong(ByteBuffer::capacity).sum();
+        }
+
+        private int blockRecords() {
+            return Math.max(1, Math.min(recordsPerChunk, BLOCK_BYTES / recordBytes));
+        }
+
+        private ByteBuffer chunk(int record) {
+            return chunks.get(record / recordsPerChunk);
+        }
+
+        private int offset(int record) {
+            return (record % recordsPerChunk) * recordBytes;
+        }
+
+        private ByteBuffer chunkForAppend(int record) {
+            if (record / recordsPerChunk == chunks.size()) {
+                chunks.add(
+                        ByteBuffer.allocateDirect(recordsPerChunk * recordBytes).order(ByteOrder.nativeOrder()));
+            }
+            return chunk(record);
+        }
+
+        /**
+         * Copies the records from {@code start}, up to the end of the block, chunk or records, and returns how many
+         * were copied.
+         */
+        private int readBlock(int start, int count, float[] block) {
+            int records = blockLength(start, count);
+            chunk(start)
+                    .asFloatBuffer()
+                    .get(offset(start) / Float.BYTES, block, 0, records * recordBytes / Float.BYTES);
+            return records;
+        }
+
+        private int readBlock(int start, int count, byte[] block) {
+            int records = blockLength(start, count);
+            chunk(start).get(offset(start), block, 0, records * recordBytes);
+            return records;
+        }
+
+        /**
+         * Copies a record to the given record of other chunks of the same record size.
+         */
+        private void copy(int record, Chunks target, int targetRecord) {
+            target.chunkForAppend(targetRecord)
+                    .put(target.offset(targetRecord), chunk(record), offset(record), recordBytes);
+        }
+
+        private void read(int record, float[] values) {
+            chunk(record).asFloatBuffer().get(offset(record) / Float.BYTES, values, 0, recordBytes / Float.BYTES);
+        }
+
+        private int blockLength(int start, int count) {
+            return Math.min(blockRecords(), Math.min(count - start, recordsPerChunk - start % recordsPerChunk));
+        }
+    }
+}
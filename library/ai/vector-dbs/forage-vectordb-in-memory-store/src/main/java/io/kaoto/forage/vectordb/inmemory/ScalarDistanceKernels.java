@@ -0,0 +1,28 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+/**
+ * Plain Java {@link DistanceKernels}, which the JIT compiler may still auto-vectorize.
+ */
+final class ScalarDistanceKernels implements DistanceKernels {
+    static final ScalarDistanceKernels INSTANCE = new ScalarDistanceKernels();
+
+    private ScalarDistanceKernels() {}
+
+    @Override
+    public float dot(float[] a, float[] b, int bOffset, int length) {
+        float dot = 0;
+        for (int i = 0; i < length; i++) {
+            dot += a[i] * b[bOffset + i];
+        }
+        return dot;
+    }
+
+    @Override
+    public int dot(byte[] a, byte[] b, int bOffset, int length) {
+        int dot = 0;
+        for (int i = 0; i < length; i++) {
+            dot += a[i] * b[bOffset + i];
+        }
+        return dot;
+    }
+}
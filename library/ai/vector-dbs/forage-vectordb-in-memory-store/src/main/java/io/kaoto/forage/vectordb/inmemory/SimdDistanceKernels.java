@@ -0,0 +1,55 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link DistanceKernels} using the incubating Vector API with the preferred vector size of the platform.
+ *
+ * <p>Only compiled with the {@code vector-api} Maven profile, and only loaded through {@link DistanceKernels#best()},
+ * once the {@code jdk.incubator.vector} module is known to be available.
+ */
+final class SimdDistanceKernels implements DistanceKernels {
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    // As many bytes as ints in a vector, so that widening the bytes fills an int vector
+    private static final VectorSpecies<Byte> BYTES =
+            VectorSpecies.of(byte.class, VectorShape.forBitSize(INTS.length() * Byte.SIZE));
+
+    @Override
+    public float dot(float[] a, float[] b, int bOffset, int length) {
+        FloatVector sum = FloatVector.zero(FLOATS);
+        int bound = FLOATS.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += FLOATS.length()) {
+            sum = FloatVector.fromArray(FLOATS, a, i).fma(FloatVector.fromArray(FLOATS, b, bOffset + i), sum);
+        }
+        float dot = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            dot += a[i] * b[bOffset + i];
+        }
+        return dot;
+    }
+
+    @Override
+    public int dot(byte[] a, byte[] b, int bOffset, int length) {
+        IntVector sum = IntVector.zero(INTS);
+        int bound = BYTES.loopBound(length);
+        int i = 0;
+        for (; i < bound; i += BYTES.length()) {
+            IntVector va = (IntVector) ByteVector.fromArray(BYTES, a, i).castShape(INTS, 0);
+            IntVector vb =
+                    (IntVector) ByteVector.fromArray(BYTES, b, bOffset + i).castShape(INTS, 0);
+            sum = va.mul(vb).add(sum);
+        }
+        int dot = sum.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            dot += a[i] * b[bOffset + i];
+        }
+        return dot;
+    }
+}
@@ -0,0 +1,134 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the recall and search latency of the {@link HnswEmbeddingStore} with the brute force
+ * {@link InMemoryEmbeddingStore}.
+ *
+ * <p>Skipped by the build unless the {@code forage.benchmark} system property is {@code true}, e.g.
+ * {@code mvn test -Dtest=HnswEmbeddingStoreBenchmark -Dforage.benchmark=true}. The {@code forage.benchmark.*}
+ * properties change the number of embeddings, their dimension, the number of queries, the number of results and
+ * {@code efSearch}.
+ */
+@EnabledIfSystemProperty(named = "forage.benchmark", matches = "true")
+class HnswEmbeddingStoreBenchmark {
+    private static final Logger LOG = LoggerFactory.getLogger(HnswEmbeddingStoreBenchmark.class);
+
+    @Test
+    void compareWithBruteForce() {
+        int size = Integer.getInteger("forage.benchmark.embeddings", 100_000);
+        int dimension = Integer.getInteger("forage.benchmark.dimension", 384);
+        int queries = Integer.getInteger("forage.benchmark.queries", 200);
+        int maxResults = Integer.getInteger("forage.benchmark.max.results", 10);
+        int efSearch = Integer.getInteger("forage.benchmark.ef.search", 64);
+
+        Random random = new Random(42);
+        List<Embedding> embeddings = clusteredEmbeddings(random, size, dimension);
+        List<Embedding> queryEmbeddings = clusteredEmbeddings(random, queries, dimension);
+
+        InMemoryEmbeddingStore<String> bruteForce = new InMemoryEmbeddingStore<>();
+        HnswEmbeddingStore<String> hnsw =
+                new HnswEmbeddingStore<>(16, 200, efSearch, Runtime.getRuntime().availableProcessors());
+
+        long start = System.nanoTime();
+        List<String> ids = bruteForce.addAll(embeddings);
+        long bruteForceBuild = System.nanoTime() - start;
+        start = System.nanoTime();
+        hnsw.addAll(ids, embeddings, null);
+        long hnswBuild = System.nanoTime() - start;
+
+        // Warm up both stores before measuring
+        search(bruteForce, queryEmbeddings, maxResults);
+        search(hnsw, queryEmbeddings, maxResults);
+
+        start = System.nanoTime();
+        List<Set<String>> exact = search(bruteForce, queryEmbeddings, maxResults);
+        long bruteForceSearch = System.nanoTime() - start;
+        start = System.nanoTime();
+        List<Set<String>> approximate = search(hnsw, queryEmbeddings, maxResults);
+        long hnswSearch = System.nanoTime() - start;
+
+        int found = 0;
+        int expected = 0;
+        for (int i = 0; i < queries; i++) {
+            expected += exact.get(i).size();
+            Set<String> hits = new HashSet<>(approximate.get(i));
+            hits.retainAll(exact.get(i));
+            found += hits.size();
+        }
+
+        LOG.info(
+                "{} embeddings of dimension {}, {} queries, top {}, efSearch {}",
+                size,
+                dimension,
+                queries,
+                maxResults,
+                efSearch);
+        LOG.info(
+                "brute force: build {} ms, search {} ms/query",
+                bruteForceBuild / 1_000_000,
+                String.format("%.3f", bruteForceSearch / 1e6 / queries));
+        LOG.info(
+                "hnsw:        build {} ms, search {} ms/query, recall@{} {}",
+                hnswBuild / 1_000_000,
+                String.format("%.3f", hnswSearch / 1e6 / queries),
+                maxResults,
+                String.format("%.4f", (double) found / expected));
+        assertThat(found).isPositive();
+    }
+
+    private static List<Set<String>> search(EmbeddingStore<String> store, List<Embedding> queries, int maxResults) {
+        List<Set<String>> results = new ArrayList<>(queries.size());
+        for (Embedding query : queries) {
+            Set<String> ids = new HashSet<>();
+            for (EmbeddingMatch<String> match : store.search(EmbeddingSearchRequest.builder()
+                            .queryEmbedding(query)
+                            .maxResults(maxResults)
+                            .build())
+                    .matches()) {
+                ids.add(match.embeddingId());
+            }
+            results.add(ids);
+        }
+        return results;
+    }
+
+    /**
+     * Returns embeddings gathered around a few hundred topics, closer to real text embeddings than uniform noise.
+     */
+    private static List<Embedding> clusteredEmbeddings(Random random, int count, int dimension) {
+        Random topics = new Random(1);
+        float[][] centers = new float[256][dimension];
+        for (float[] center : centers) {
+            for (int j = 0; j < dimension; j++) {
+                center[j] = (float) topics.nextGaussian();
+            }
+        }
+        List<Embedding> embeddings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] center = centers[random.nextInt(centers.length)];
+            float[] vector = new float[dimension];
+            for (int j = 0; j < dimension; j++) {
+                vector[j] = center[j] + (float) random.nextGaussian() * 0.5f;
+            }
+            embeddings.add(Embedding.from(vector));
+        }
+        return embeddings;
+    }
+}
@@ -0,0 +1,167 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+class HnswEmbeddingStoreTest {
+
+    private static final int DIMENSION = 32;
+
+    @Test
+    void shouldFindMostOfTheExactNearestNeighbours() {
+        Random random = new Random(42);
+        List<Embedding> embeddings = randomEmbeddings(random, 5000);
+        List<TextSegment> segments = segments(embeddings.size());
+
+        HnswEmbeddingStore<TextSegment> hnsw = new HnswEmbeddingStore<>(16, 200, 64, 4);
+        InMemoryEmbeddingStore<TextSegment> bruteForce = new InMemoryEmbeddingStore<>();
+        List<String> ids = hnsw.addAll(embeddings, segments);
+        bruteForce.addAll(ids, embeddings, segments);
+
+        int found = 0;
+        int expected = 0;
+        for (Embedding query : randomEmbeddings(random, 100)) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(query)
+                    .maxResults(10)
+                    .build();
+            Set<String> exact = ids(bruteForce.search(request).matches());
+            Set<String> approximate = ids(hnsw.search(request).matches());
+            expected += exact.size();
+            approximate.retainAll(exact);
+            found += approximate.size();
+        }
+
+        assertThat(hnsw.size()).isEqualTo(5000);
+        assertThat((double) found / expected).isGreaterThan(0.95);
+    }
+
+    @Test
+    void shouldScoreLikeTheBruteForceStore() {
+        Random random = new Random(7);
+        List<Embedding> embeddings = randomEmbeddings(random, 200);
+        HnswEmbeddingStore<TextSegment> hnsw = new HnswEmbeddingStore<>(8, 100, 200, 1);
+        InMemoryEmbeddingStore<TextSegment> bruteForce = new InMemoryEmbeddingStore<>();
+        List<String> ids = hnsw.addAll(embeddings, segments(embeddings.size()));
+        bruteForce.addAll(ids, embeddings, segments(embeddings.size()));
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddings.get(0))
+                .maxResults(5)
+                .minScore(0.6)
+                .build();
+
+        List<EmbeddingMatch<TextSegment>> expected = bruteForce.search(request).matches();
+        List<EmbeddingMatch<TextSegment>> matches = hnsw.search(request).matches();
+        assertThat(matches)
+                .extracting(EmbeddingMatch::embeddingId)
+                .containsExactlyElementsOf(
+                        expected.stream().map(EmbeddingMatch::embeddingId).toList());
+        assertThat(matches.get(0).score()).isCloseTo(expected.get(0).score(), offset(1e-5));
+        assertThat(matches).allSatisfy(match -> assertThat(match.score()).isGreaterThanOrEqualTo(0.6));
+    }
+
+    @Test
+    void shouldFilterAndRemoveEmbeddings() {
+        Random random = new Random(3);
+        List<Embedding> embeddings = randomEmbeddings(random, 300);
+        HnswEmbeddingStore<TextSegment> store = new HnswEmbeddingStore<>(8, 100, 64, 1);
+        List<String> ids = store.addAll(embeddings, segments(embeddings.size()));
+
+        EmbeddingSearchRequest evenOnly = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddings.get(1))
+                .maxResults(10)
+                .filter(metadataKey("parity").isEqualTo("even"))
+                .build();
+        assertThat(store.search(evenOnly).matches()).hasSize(10).allSatisfy(match -> assertThat(
+                        match.embedded().metadata().getString("parity"))
+                .isEqualTo("even"));
+
+        store.remove(ids.get(0));
+        store.removeAll(metadataKey("parity").isEqualTo("odd"));
+        EmbeddingSearchRequest all = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddings.get(0))
+                .maxResults(300)
+                .build();
+        assertThat(store.size()).isEqualTo(149);
+        assertThat(store.search(all).matches()).hasSize(149).noneMatch(match -> match.embeddingId()
+                .equals(ids.get(0)));
+
+        store.removeAll();
+        assertThat(store.search(all).matches()).isEmpty();
+    }
+
+    @Test
+    void shouldRebuildTheGraphOnceEnoughEmbeddingsAreRemoved() {
+        Random random = new Random(4);
+        List<Embedding> embeddings = randomEmbeddings(random, 200);
+        HnswEmbeddingStore<TextSegment> store = new HnswEmbeddingStore<>(8, 100, 64, 1, 0.3);
+        List<String> ids = store.addAll(embeddings, segments(embeddings.size()));
+
+        store.removeAll(ids.subList(0, 50));
+        assertThat(store.graphSize()).isEqualTo(200);
+
+        // Adding an embedding again replaces its node
+        store.add(ids.get(199), embeddings.get(199));
+        store.removeAll(ids.subList(50, 59));
+        assertThat(store.graphSize()).isEqualTo(201);
+
+        // 61 of 201 nodes removed, above the threshold
+        store.remove(ids.get(59));
+        assertThat(store.graphSize()).isEqualTo(140);
+        assertThat(store.size()).isEqualTo(140);
+
+        InMemoryEmbeddingStore<TextSegment> exact = new InMemoryEmbeddingStore<>();
+        exact.addAll(
+                ids.subList(60, 200), embeddings.subList(60, 200), segments(200).subList(60, 200));
+        for (int i = 0; i < 20; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(embeddings.get(random.nextInt(200)))
+                    .maxResults(5)
+                    .build();
+            assertThat(ids(store.search(request).matches()))
+                    .isEqualTo(ids(exact.search(request).matches()));
+        }
+    }
+
+    private static List<Embedding> randomEmbeddings(Random random, int count) {
+        List<Embedding> embeddings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[DIMENSION];
+            for (int j = 0; j < DIMENSION; j++) {
+                vector[j] = (float) random.nextGaussian();
+            }
+            embeddings.add(Embedding.from(vector));
+        }
+        return embeddings;
+    }
+
+    private static List<TextSegment> segments(int count) {
+        List<TextSegment> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            segments.add(TextSegment.from("segment " + i, Metadata.from("parity", i % 2 == 0 ? "even" : "odd")));
+        }
+        return segments;
+    }
+
+    private static Set<String> ids(List<EmbeddingMatch<TextSegment>> matches) {
+        Set<String> ids = new HashSet<>();
+        matches.forEach(match -> ids.add(match.embeddingId()));
+        return ids;
+    }
+}
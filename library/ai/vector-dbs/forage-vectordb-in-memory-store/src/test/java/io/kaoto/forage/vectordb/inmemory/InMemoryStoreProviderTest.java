@@ -0,0 +1,61 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+import java.util.List;
+import java.util.Map;
+import io.kaoto.forage.core.ai.ingestion.Bm25IndexedEmbeddingStore;
+import io.kaoto.forage.core.util.config.ConfigStore;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.model.embedding.EmbeddingModel;
+import dev.langchain4j.model.output.Response;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingStore;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryStoreProviderTest {
+
+    private static final Map<String, String> PROPERTIES = Map.of(
+            "forage.lexical.in.memory.store.file.source", "io/kaoto/forage/vectordb/inmemory/lexical-source.txt",
+            "forage.lexical.in.memory.store.max.size", "80",
+            "forage.lexical.in.memory.store.overlap.size", "0",
+            "forage.lexical.ingestion.lexical.index", "true");
+
+    @BeforeEach
+    void setUp() {
+        ConfigStore.getInstance().setClassLoader(getClass().getClassLoader());
+        PROPERTIES.forEach(System::setProperty);
+    }
+
+    @AfterEach
+    void cleanup() {
+        PROPERTIES.keySet().forEach(System::clearProperty);
+    }
+
+    @Test
+    void shouldIndexTheFileSourceForTheLexicalSearch() {
+        InMemoryStoreProvider provider = new InMemoryStoreProvider();
+        // Embeds every segment the same, so that only the lexical search can tell them apart
+        provider.withEmbeddingModel(new EmbeddingModel() {
+            @Override
+            public Response<List<Embedding>> embedAll(List<TextSegment> segments) {
+                return Response.from(segments.stream()
+                        .map(segment -> Embedding.from(new float[] {1, 0}))
+                        .toList());
+            }
+        });
+
+        EmbeddingStore<TextSegment> store = provider.create("lexical");
+
+        assertThat(store).isInstanceOf(Bm25IndexedEmbeddingStore.class);
+        Bm25IndexedEmbeddingStore indexedStore = (Bm25IndexedEmbeddingStore) store;
+        assertThat(indexedStore.index().size()).isEqualTo(3);
+        assertThat(indexedStore.index().search("What does ERR-1042 mean?", 1))
+                .extracting(EmbeddingMatch::embedded)
+                .extracting(TextSegment::text)
+                .containsExactly("Error ERR-1042 means the disk quota of the user is exceeded.");
+    }
+}
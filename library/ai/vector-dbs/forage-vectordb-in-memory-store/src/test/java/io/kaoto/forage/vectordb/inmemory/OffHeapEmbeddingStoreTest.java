@@ -0,0 +1,205 @@
+package io.kaoto.forage.vectordb.inmemory;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import io.kaoto.forage.vectordb.inmemory.OffHeapEmbeddingStore.Quantization;
+import dev.langchain4j.data.document.Metadata;
+import dev.langchain4j.data.embedding.Embedding;
+import dev.langchain4j.data.segment.TextSegment;
+import dev.langchain4j.store.embedding.EmbeddingMatch;
+import dev.langchain4j.store.embedding.EmbeddingSearchRequest;
+import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
+
+import static dev.langchain4j.store.embedding.filter.MetadataFilterBuilder.metadataKey;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class OffHeapEmbeddingStoreTest {
+
+    private static final int DIMENSION = 64;
+
+    @Test
+    void shouldScoreLikeTheBruteForceStore() {
+        Random random = new Random(7);
+        List<Embedding> embeddings = randomEmbeddings(random, 500);
+        OffHeapEmbeddingStore<TextSegment> offHeap = new OffHeapEmbeddingStore<>(Quantization.NONE, 1, true);
+        InMemoryEmbeddingStore<TextSegment> bruteForce = new InMemoryEmbeddingStore<>();
+        List<String> ids = offHeap.addAll(embeddings, segments(embeddings.size()));
+        bruteForce.addAll(ids, embeddings, segments(embeddings.size()));
+
+        EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddings.get(0))
+                .maxResults(5)
+                .minScore(0.55)
+                .build();
+
+        List<EmbeddingMatch<TextSegment>> expected = bruteForce.search(request).matches();
+        List<EmbeddingMatch<TextSegment>> matches = offHeap.search(request).matches();
+        assertThat(matches)
+                .extracting(EmbeddingMatch::embeddingId)
+                .containsExactlyElementsOf(
+                        expected.stream().map(EmbeddingMatch::embeddingId).toList());
+        assertThat(matches.get(0).score()).isCloseTo(expected.get(0).score(), offset(1e-5));
+        assertThat(matches.get(0).embedding()).isEqualTo(embeddings.get(0));
+        assertThat(matches).allSatisfy(match -> assertThat(match.score()).isGreaterThanOrEqualTo(0.55));
+        assertThat(offHeap.offHeapBytes()).isPositive();
+    }
+
+    @ParameterizedTest
+    @CsvSource({"INT8, 2, 0.98", "BINARY, 40, 0.75"})
+    void shouldRerankQuantizedCandidates(Quantization quantization, int rerankFactor, double expectedRecall) {
+        Random random = new Random(42);
+        List<Embedding> embeddings = randomEmbeddings(random, 5000);
+        OffHeapEmbeddingStore<TextSegment> offHeap = new OffHeapEmbeddingStore<>(quantization, rerankFactor, true);
+        InMemoryEmbeddingStore<TextSegment> bruteForce = new InMemoryEmbeddingStore<>();
+        List<String> ids = offHeap.addAll(embeddings, segments(embeddings.size()));
+        bruteForce.addAll(ids, embeddings, segments(embeddings.size()));
+
+        int found = 0;
+        int expected = 0;
+        for (Embedding query : randomEmbeddings(random, 100)) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(query)
+                    .maxResults(10)
+                    .build();
+            List<EmbeddingMatch<TextSegment>> exact = bruteForce.search(request).matches();
+            List<EmbeddingMatch<TextSegment>> approximate =
+                    offHeap.search(request).matches();
+            // Re-ranked candidates are scored in full precision
+            assertThat(approximate.get(0).score())
+                    .isLessThanOrEqualTo(exact.get(0).score() + 1e-5);
+            Set<String> approximateIds = ids(approximate);
+            approximateIds.retainAll(ids(exact));
+            expected += exact.size();
+            found += approximateIds.size();
+        }
+
+        assertThat((double) found / expected).isGreaterThan(expectedRecall);
+    }
+
+    @Test
+    void shouldFilterAndRemoveEmbeddings() {
+        Random random = new Random(3);
+        List<Embedding> embeddings = randomEmbeddings(random, 300);
+        OffHeapEmbeddingStore<TextSegment> store = new OffHeapEmbeddingStore<>(Quantization.INT8, 4, true);
+        List<String> ids = store.addAll(embeddings, segments(embeddings.size()));
+
+        EmbeddingSearchRequest evenOnly = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddings.get(1))
+                .maxResults(10)
+                .filter(metadataKey("parity").isEqualTo("even"))
+                .build();
+        assertThat(store.search(evenOnly).matches()).hasSize(10).allSatisfy(match -> assertThat(
+                        match.embedded().metadata().getString("parity"))
+                .isEqualTo("even"));
+
+        store.remove(ids.get(0));
+        store.removeAll(metadataKey("parity").isEqualTo("odd"));
+        EmbeddingSearchRequest all = EmbeddingSearchRequest.builder()
+                .queryEmbedding(embeddings.get(0))
+                .maxResults(300)
+                .build();
+        assertThat(store.size()).isEqualTo(149);
+        assertThat(store.search(all).matches()).hasSize(149).noneMatch(match -> match.embeddingId()
+                .equals(ids.get(0)));
+
+        store.removeAll();
+        assertThat(store.search(all).matches()).isEmpty();
+        assertThat(store.offHeapBytes()).isZero();
+    }
+
+    @ParameterizedTest
+    @EnumSource(Quantization.class)
+    void shouldCompactTheRecordsOnceEnoughEmbeddingsAreRemoved(Quantization quantization) {
+        Random random = new Random(5);
+        List<Embedding> embeddings = randomEmbeddings(random, 100);
+        List<TextSegment> segments = segments(embeddings.size());
+        OffHeapEmbeddingStore<TextSegment> store = new OffHeapEmbeddingStore<>(quantization, 4, true, 0.3);
+        OffHeapEmbeddingStore<TextSegment> uncompacted = new OffHeapEmbeddingStore<>(quantization, 4, true, 1);
+        List<String> ids = store.addAll(embeddings, segments);
+        uncompacted.addAll(ids, embeddings, segments);
+
+        store.removeAll(ids.subList(0, 30));
+        uncompacted.removeAll(ids.subList(0, 30));
+        assertThat(store.records()).isEqualTo(100);
+
+        store.remove(ids.get(30));
+        uncompacted.remove(ids.get(30));
+        assertThat(store.records()).isEqualTo(69);
+        assertThat(uncompacted.records()).isEqualTo(100);
+
+        for (int i = 0; i < 10; i++) {
+            EmbeddingSearchRequest request = EmbeddingSearchRequest.builder()
+                    .queryEmbedding(embeddings.get(random.nextInt(100)))
+                    .maxResults(5)
+                    .build();
+            assertThat(store.search(request).matches())
+                    .extracting(EmbeddingMatch::embeddingId, EmbeddingMatch::score)
+                    .isEqualTo(uncompacted.search(request).matches().stream()
+                            .map(match -> tuple(match.embeddingId(), match.score()))
+                            .toList());
+        }
+    }
+
+    @Test
+    void shouldComputeTheSameDotProductsWithTheVectorApi() {
+        DistanceKernels simd = DistanceKernels.best();
+        assumeTrue(simd != DistanceKernels.scalar(), "The Vector API kernels need the vector-api profile");
+        DistanceKernels scalar = DistanceKernels.scalar();
+        Random random = new Random(11);
+
+        for (int length : new int[] {1, 7, 16, 33, 384, 1000}) {
+            float[] a = new float[length];
+            float[] b = new float[length + 5];
+            byte[] codesA = new byte[length];
+            byte[] codesB = new byte[length + 5];
+            for (int i = 0; i < length; i++) {
+                a[i] = (float) random.nextGaussian();
+                codesA[i] = (byte) (random.nextInt(255) - 127);
+            }
+            for (int i = 0; i < b.length; i++) {
+                b[i] = (float) random.nextGaussian();
+                codesB[i] = (byte) (random.nextInt(255) - 127);
+            }
+
+            assertThat(simd.dot(a, b, 5, length)).isCloseTo(scalar.dot(a, b, 5, length), offset(1e-3f));
+            assertThat(simd.dot(codesA, codesB, 5, length)).isEqualTo(scalar.dot(codesA, codesB, 5, length));
+        }
+    }
+
+    private static List<Embedding> randomEmbeddings(Random random, int count) {
+        List<Embedding> embeddings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            float[] vector = new float[DIMENSION];
+            for (int j = 0; j < DIMENSION; j++) {
+                vector[j] = (float) random.nextGaussian();
+            }
+            embeddings.add(Embedding.from(vector));
+        }
+        return embeddings;
+    }
+
+    private static List<TextSegment> segments(int count) {
+        List<TextSegment> segments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            segments.add(TextSegment.from("segment " + i, Metadata.from("parity", i % 2 == 0 ? "even" : "odd")));
+        }
+        return segments;
+    }
+
+    private static Set<String> ids(List<EmbeddingMatch<TextSegment>> matches) {
+        Set<String> ids = new HashSet<>();
+        matches.forEach(match -> ids.add(match.embeddingId()));
+        return ids;
+    }
+}
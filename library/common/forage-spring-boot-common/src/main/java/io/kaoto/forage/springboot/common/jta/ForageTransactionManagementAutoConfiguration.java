@@ -1,11 +1,13 @@
 package io.kaoto.forage.springboot.common.jta;
 
+import org.apache.camel.spi.TransactedPolicy;
 import org.apache.camel.spring.spi.SpringTransactionPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.transaction.jta.JtaTransactionManager;
+import io.kaoto.forage.core.jta.LocalRequiredJtaTransactionPolicy;
 import com.arjuna.ats.internal.jta.transaction.arjunacore.TransactionSynchronizationRegistryImple;
 import com.arjuna.ats.internal.jta.transaction.arjunacore.UserTransactionImple;
 
@@ -46,6 +48,12 @@ public abstract class ForageTransactionManagementAutoConfiguration {
         return createSpringBootTransactionPolicy(jtaTransactionManager, "PROPAGATION_REQUIRED");
     }
 
+    @ConditionalOnMissingBean
+    @Bean("LOCAL_REQUIRED")
+    public TransactedPolicy localRequired() {
+        return new LocalRequiredJtaTransactionPolicy();
+    }
+
     @ConditionalOnMissingBean
     @Bean("NESTED")
     public SpringTransactionPolicy nested(JtaTransactionManager jtaTransactionManager) {
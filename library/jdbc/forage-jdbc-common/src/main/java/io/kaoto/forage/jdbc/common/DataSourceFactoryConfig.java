@@ -25,6 +25,10 @@ import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.LEAK_TI
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.MAX_SIZE;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.MIN_SIZE;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.PASSWORD;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.STATEMENT_CACHE_MODE;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.STATEMENT_CACHE_SERVER_PREPARE;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.STATEMENT_CACHE_SIZE;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.STATEMENT_CACHE_SQL_LIMIT;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_ENABLED;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_ENABLE_RECOVERY;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_EXPIRY_SCANNERS;
@@ -34,10 +38,14 @@ import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSAC
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_OBJECT_STORE_DIRECTORY;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_OBJECT_STORE_DROP_TABLE;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_OBJECT_STORE_ID;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_OBJECT_STORE_TABLE_PREFIX;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_OBJECT_STORE_TYPE;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_RECOVERY_MODULES;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_TIMEOUT_SECONDS;
+import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_XA;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.TRANSACTION_XA_RESOURCE_ORPHAN_FILTERS;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.USERNAME;
 import static io.kaoto.forage.jdbc.common.DataSourceFactoryConfigEntries.VALIDATION_TIMEOUT_SECONDS;
@@ -114,6 +122,33 @@ public class DataSourceFactoryConfig extends AbstractConfig {
                 .orElse(Integer.parseInt(IDLE_VALIDATION_TIMEOUT_MINUTES.defaultValue()));
     }
 
+    // Statement cache configuration methods
+    public int statementCacheSize() {
+        return get(STATEMENT_CACHE_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(STATEMENT_CACHE_SIZE.defaultValue()));
+    }
+
+    public boolean statementCacheEnabled() {
+        return statementCacheSize() > 0;
+    }
+
+    public int statementCacheSqlLimit() {
+        return get(STATEMENT_CACHE_SQL_LIMIT)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(STATEMENT_CACHE_SQL_LIMIT.defaultValue()));
+    }
+
+    public boolean statementCacheServerPrepare() {
+        return get(STATEMENT_CACHE_SERVER_PREPARE)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(STATEMENT_CACHE_SERVER_PREPARE.defaultValue()));
+    }
+
+    public String statementCacheMode() {
+        return get(STATEMENT_CACHE_MODE).orElse(STATEMENT_CACHE_MODE.defaultValue());
+    }
+
     // Transaction configuration methods
     public int transactionTimeoutSeconds() {
         return get(TRANSACTION_TIMEOUT_SECONDS)
@@ -127,6 +162,19 @@ public class DataSourceFactoryConfig extends AbstractConfig {
                 .orElse(Boolean.parseBoolean(TRANSACTION_ENABLED.defaultValue()));
     }
 
+    public boolean transactionXa() {
+        return get(TRANSACTION_XA)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(TRANSACTION_XA.defaultValue()));
+    }
+
+    /**
+     * Whether the data source has to be backed by the XA driver of the database.
+     */
+    public boolean transactionXaEnabled() {
+        return transactionEnabled() && transactionXa();
+    }
+
     public String transactionNodeId() {
         return get(TRANSACTION_NODE_ID).orElse(null);
     }
@@ -182,6 +230,24 @@ public class DataSourceFactoryConfig extends AbstractConfig {
         return get(TRANSACTION_OBJECT_STORE_TABLE_PREFIX).orElse(TRANSACTION_OBJECT_STORE_TABLE_PREFIX.defaultValue());
     }
 
+    public boolean transactionObjectStoreJournalSyncWrites() {
+        return get(TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES.defaultValue()));
+    }
+
+    public int transactionObjectStoreJournalBufferFlushesPerSecond() {
+        return get(TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND.defaultValue()));
+    }
+
+    public boolean transactionObjectStoreJournalAsyncIo() {
+        return get(TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO.defaultValue()));
+    }
+
     public String aggregationRepositoryName() {
         return get(AGGREGATION_REPOSITORY_NAME).orElse(null);
     }
@@ -117,6 +117,48 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    // Statement cache configuration
+    public static final ConfigModule STATEMENT_CACHE_SIZE = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.statement.cache.size",
+            "Number of prepared statements cached per connection (0 disables statement caching)",
+            "Statement Cache Size",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule STATEMENT_CACHE_SQL_LIMIT = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.statement.cache.sql.limit",
+            "Maximum length of a SQL statement eligible for caching",
+            "Statement Cache SQL Limit",
+            "2048",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule STATEMENT_CACHE_SERVER_PREPARE = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.statement.cache.server.prepare",
+            "Use server-side prepared statements when the driver supports them",
+            "Server-side Prepare",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule STATEMENT_CACHE_MODE = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.statement.cache.mode",
+            "Statement cache implementation (auto, driver or forage). auto uses the driver cache when available "
+                    + "and falls back to the Forage per-connection cache otherwise",
+            "Statement Cache Mode",
+            "auto",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
     // Transaction configuration
     public static final ConfigModule TRANSACTION_ENABLED = ConfigModule.of(
             DataSourceFactoryConfig.class,
@@ -128,6 +170,17 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
             false,
             ConfigTag.COMMON);
 
+    public static final ConfigModule TRANSACTION_XA = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.transaction.xa",
+            "Use the XA driver when transactions are enabled, otherwise the plain driver is enlisted as a local "
+                    + "one-phase resource",
+            "XA Transactions",
+            "true",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
     public static final ConfigModule TRANSACTION_TIMEOUT_SECONDS = ConfigModule.of(
             DataSourceFactoryConfig.class,
             "forage.jdbc.transaction.timeout.seconds",
@@ -214,7 +267,7 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
     public static final ConfigModule TRANSACTION_OBJECT_STORE_TYPE = ConfigModule.of(
             DataSourceFactoryConfig.class,
             "forage.jdbc.transaction.object.store.type",
-            "Type of transaction object store (file-system or jdbc)",
+            "Type of transaction object store (file-system, journal or jdbc)",
             "Object Store Type",
             "file-system",
             "string",
@@ -261,6 +314,36 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.transaction.object.store.journal.sync.writes",
+            "Whether the journal object store waits for transaction log writes to reach the disk",
+            "Journal Sync Writes",
+            "true",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.transaction.object.store.journal.buffer.flushes.per.second",
+            "Number of journal buffer flushes per second, concurrent commits within a flush interval share one disk sync",
+            "Journal Buffer Flushes Per Second",
+            "500",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO = ConfigModule.of(
+            DataSourceFactoryConfig.class,
+            "forage.jdbc.transaction.object.store.journal.async.io",
+            "Use Linux libaio for the journal object store when available",
+            "Journal Async IO",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
     public static final ConfigModule AGGREGATION_REPOSITORY_NAME = ConfigModule.of(
             DataSourceFactoryConfig.class,
             "forage.jdbc.aggregation.repository.name",
@@ -405,8 +488,13 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
                 VALIDATION_TIMEOUT_SECONDS,
                 LEAK_TIMEOUT_MINUTES,
                 IDLE_VALIDATION_TIMEOUT_MINUTES,
+                STATEMENT_CACHE_SIZE,
+                STATEMENT_CACHE_SQL_LIMIT,
+                STATEMENT_CACHE_SERVER_PREPARE,
+                STATEMENT_CACHE_MODE,
                 TRANSACTION_TIMEOUT_SECONDS,
                 TRANSACTION_ENABLED,
+                TRANSACTION_XA,
                 TRANSACTION_NODE_ID,
                 TRANSACTION_OBJECT_STORE_ID,
                 TRANSACTION_ENABLE_RECOVERY,
@@ -419,6 +507,9 @@ public final class DataSourceFactoryConfigEntries extends ConfigEntries {
                 TRANSACTION_OBJECT_STORE_CREATE_TABLE,
                 TRANSACTION_OBJECT_STORE_DROP_TABLE,
                 TRANSACTION_OBJECT_STORE_TABLE_PREFIX,
+                TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES,
+                TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND,
+                TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO,
                 AGGREGATION_REPOSITORY_NAME,
                 AGGREGATION_REPOSITORY_HEADERS_TO_STORE,
                 AGGREGATION_REPOSITORY_STORE_BODY,
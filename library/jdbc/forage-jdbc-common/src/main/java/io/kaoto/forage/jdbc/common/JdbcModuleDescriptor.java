@@ -1,10 +1,13 @@
 package io.kaoto.forage.jdbc.common;
 
+import javax.sql.DataSource;
+
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
 import io.agroal.api.AgroalDataSource;
 import io.kaoto.forage.core.common.AuxiliaryBeanDescriptor;
 import io.kaoto.forage.core.common.ForageModuleDescriptor;
@@ -22,6 +25,12 @@ import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
  */
 public class JdbcModuleDescriptor implements ForageModuleDescriptor<DataSourceFactoryConfig, DataSourceProvider> {
 
+    /**
+     * The object store DataSources by name, so that every transacted DataSource or connection factory referencing
+     * the same object store shares one pool.
+     */
+    private static final Map<String, DataSource> OBJECT_STORE_DATA_SOURCES = new ConcurrentHashMap<>();
+
     @Override
     public String modulePrefix() {
         return "jdbc";
@@ -91,6 +100,11 @@ public class JdbcModuleDescriptor implements ForageModuleDescriptor<DataSourceFa
                     "quarkus.transaction-manager.xa-resource-orphan-filters",
                     config.transactionXaResourceOrphanFilters());
             props.put("quarkus.transaction-manager.object-store.directory", config.transactionObjectStoreDirectory());
+            if ("journal".equals(config.transactionObjectStoreType())) {
+                throw new IllegalArgumentException(
+                        "The journal transaction object store is not supported by the Quarkus transaction manager, "
+                                + "use file-system or jdbc instead");
+            }
             props.put("quarkus.transaction-manager.object-store.type", config.transactionObjectStoreType());
             if (config.transactionObjectStoreDataSource() != null) {
                 props.put(
@@ -141,6 +155,35 @@ public class JdbcModuleDescriptor implements ForageModuleDescriptor<DataSourceFa
         return beans;
     }
 
+    /**
+     * Returns the DataSource backing the JDBC transaction object store, creating it on first use.
+     *
+     * <p>The object store writes its records in local transactions, so the referenced DataSource must not be
+     * enlisted in JTA transactions itself. The DataSource is created once per name and shared by all the callers.
+     *
+     * @param name the configuration prefix of the object store DataSource
+     * @return the non transactional DataSource
+     * @throws IllegalStateException if no provider is found or the DataSource has transactions enabled
+     */
+    public DataSource createObjectStoreDataSource(String name) {
+        return OBJECT_STORE_DATA_SOURCES.computeIfAbsent(name, this::doCreateObjectStoreDataSource);
+    }
+
+    private DataSource doCreateObjectStoreDataSource(String name) {
+        DataSourceFactoryConfig config = createConfig(name);
+        if (config.transactionEnabled()) {
+            throw new IllegalStateException(
+                    "The transaction object store DataSource '" + name + "' must not have transactions enabled");
+        }
+
+        ForageDataSource ds = createDataSource(config, name);
+        if (ds == null) {
+            throw new IllegalStateException(
+                    "No DataSource provider found for the transaction object store DataSource '" + name + "'");
+        }
+        return ds.dataSource();
+    }
+
     /**
      * Creates a DataSource using ServiceLoader to find the appropriate provider.
      */
@@ -3,6 +3,7 @@ package io.kaoto.forage.jdbc.common;
 import javax.sql.DataSource;
 
 import java.time.Duration;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.agroal.api.AgroalDataSource;
@@ -16,6 +17,7 @@ import io.agroal.api.transaction.TransactionIntegration;
 import io.agroal.narayana.NarayanaTransactionIntegration;
 import io.kaoto.forage.core.jdbc.DataSourceProvider;
 import io.kaoto.forage.jdbc.common.idempotent.ForageIdRepository;
+import io.kaoto.forage.jdbc.common.statements.StatementCachingDataSource;
 import io.kaoto.forage.jdbc.common.transactions.TransactionConfiguration;
 
 /**
@@ -34,6 +36,18 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
      */
     protected abstract Class<?> getConnectionProviderClass();
 
+    /**
+     * Returns the driver properties enabling the native prepared statement cache of the driver.
+     * Drivers without a statement cache of their own return an empty map, in which case the
+     * Forage per-connection statement cache is used instead.
+     *
+     * @param config the data source configuration holding the statement cache settings
+     * @return the driver properties to set on the connection factory
+     */
+    protected Map<String, String> getStatementCacheProperties(DataSourceFactoryConfig config) {
+        return Map.of();
+    }
+
     @Override
     public DataSource create(String id) {
         LOG.info("Creating DataSource with id: {}", id);
@@ -78,6 +92,8 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
                 .principal(new NamePrincipal(config.username()))
                 .credential(new SimplePassword(config.password()));
 
+        boolean forageStatementCache = configureStatementCache(connectionFactoryConfig, id);
+
         // Configure connection pool settings
         AgroalConnectionPoolConfigurationSupplier poolConfig = configSupplier.connectionPoolConfiguration();
 
@@ -105,13 +121,53 @@ public abstract class PooledDataSource implements DataSourceProvider, ForageIdRe
 
         LOG.info("Pooled DataSource initialized successfully for id: {}", id);
         try {
-            return AgroalDataSource.from(dsConfig);
+            AgroalDataSource dataSource = AgroalDataSource.from(dsConfig);
+            if (forageStatementCache) {
+                return new StatementCachingDataSource(
+                        dataSource, config.statementCacheSize(), config.statementCacheSqlLimit());
+            }
+            return dataSource;
         } catch (Exception e) {
             LOG.error("Failed to create DataSource for id: {}", id, e);
             throw new RuntimeException("Failed to create DataSource", e);
         }
     }
 
+    /**
+     * Enables statement caching according to the configured mode.
+     *
+     * @return true if the Forage statement cache has to decorate the pool
+     */
+    private boolean configureStatementCache(
+            AgroalConnectionFactoryConfigurationSupplier connectionFactoryConfig, String id) {
+        if (!config.statementCacheEnabled()) {
+            return false;
+        }
+
+        String mode = config.statementCacheMode();
+        Map<String, String> driverProperties = "forage".equals(mode) ? Map.of() : getStatementCacheProperties(config);
+
+        if (!driverProperties.isEmpty()) {
+            LOG.info("Enabling driver statement cache for id: {} with properties: {}", id, driverProperties);
+            driverProperties.forEach(connectionFactoryConfig::jdbcProperty);
+            return false;
+        }
+
+        if ("driver".equals(mode)) {
+            LOG.warn(
+                    "Statement cache mode 'driver' requested for id: {} but the driver has no native statement "
+                            + "cache, statement caching is disabled",
+                    id);
+            return false;
+        }
+
+        LOG.info(
+                "Enabling Forage statement cache for id: {} with size: {} per connection",
+                id,
+                config.statementCacheSize());
+        return true;
+    }
+
     protected DataSourceFactoryConfig getConfig() {
         return config;
     }
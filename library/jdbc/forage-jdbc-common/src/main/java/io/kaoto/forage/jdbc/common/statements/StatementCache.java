@@ -0,0 +1,159 @@
+package io.kaoto.forage.jdbc.common.statements;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Least-recently-used cache of prepared statements bound to a single physical connection.
+ *
+ * <p>Each cached statement can be handed out to one caller at a time. A caller asking for a statement
+ * that is already in use gets a regular, uncached statement instead.
+ */
+class StatementCache {
+    private static final Logger LOG = LoggerFactory.getLogger(StatementCache.class);
+
+    private final int maxSize;
+    private final StatementCacheMetrics metrics;
+    private final LinkedHashMap<StatementKey, CachedStatement> statements;
+
+    StatementCache(int maxSize, StatementCacheMetrics metrics) {
+        this.maxSize = maxSize;
+        this.metrics = metrics;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Borrows the cached statement for the given key.
+     *
+     * @return the cached statement, {@link Lookup#MISS} when it is not cached, or {@link Lookup#IN_USE} when it is
+     *         currently borrowed
+     */
+    synchronized Lookup borrow(StatementKey key) {
+        CachedStatement cached = statements.get(key);
+        if (cached == null) {
+            metrics.miss();
+            return Lookup.MISS;
+        }
+        if (cached.inUse) {
+            metrics.miss();
+            return Lookup.IN_USE;
+        }
+
+        cached.inUse = true;
+        metrics.hit();
+        return new Lookup(cached, false);
+    }
+
+    /**
+     * Adds a freshly prepared statement to the cache, marking it as in use.
+     *
+     * @return the cache entry, or null if another statement is already cached under the same key
+     */
+    synchronized CachedStatement add(StatementKey key, PreparedStatement statement) {
+        if (statements.containsKey(key)) {
+            return null;
+        }
+
+        CachedStatement cached = new CachedStatement(key, statement);
+        cached.inUse = true;
+        statements.put(key, cached);
+        evictIfNeeded();
+        return cached;
+    }
+
+    /**
+     * Returns a borrowed statement to the cache. Statements evicted while in use are closed.
+     */
+    synchronized void release(CachedStatement cached) {
+        cached.inUse = false;
+        if (cached.evicted) {
+            closeQuietly(cached.statement);
+            return;
+        }
+
+        try {
+            cached.statement.clearParameters();
+            cached.statement.clearWarnings();
+        } catch (SQLException e) {
+            LOG.debug("Discarding cached statement that could not be reset: {}", e.getMessage());
+            statements.remove(cached.key);
+            closeQuietly(cached.statement);
+        }
+    }
+
+    /**
+     * Closes all the idle statements and forgets every entry. Statements in use are closed on release.
+     */
+    synchronized void clear() {
+        List<CachedStatement> all = new ArrayList<>(statements.values());
+        statements.clear();
+        for (CachedStatement cached : all) {
+            cached.evicted = true;
+            if (!cached.inUse) {
+                closeQuietly(cached.statement);
+            }
+        }
+    }
+
+    synchronized int size() {
+        return statements.size();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<StatementKey, CachedStatement>> it =
+                statements.entrySet().iterator();
+        while (statements.size() > maxSize && it.hasNext()) {
+            CachedStatement eldest = it.next().getValue();
+            it.remove();
+            eldest.evicted = true;
+            metrics.eviction();
+            if (!eldest.inUse) {
+                closeQuietly(eldest.statement);
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException e) {
+            LOG.debug("Failed to close cached statement: {}", e.getMessage());
+        }
+    }
+
+    static final class CachedStatement {
+        private final StatementKey key;
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(StatementKey key, PreparedStatement statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+    }
+
+    /**
+     * Result of {@link #borrow(StatementKey)}: the borrowed statement, or why there is none.
+     */
+    record Lookup(CachedStatement statement, boolean inUse) {
+        static final Lookup MISS = new Lookup(null, false);
+        static final Lookup IN_USE = new Lookup(null, true);
+    }
+
+    /**
+     * Identifies a prepared statement by the preparing method and all of its arguments.
+     */
+    record StatementKey(String method, List<Object> arguments) {}
+}
@@ -0,0 +1,55 @@
+package io.kaoto.forage.jdbc.common.statements;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hit, miss and eviction counters for the Forage statement cache, aggregated over all
+ * the physical connections of a data source.
+ */
+public class StatementCacheMetrics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    void hit() {
+        hits.increment();
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void eviction() {
+        evictions.increment();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the ratio of statement requests served from the cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 when no statement has been requested yet
+     */
+    public double hitRate() {
+        long hitCount = hits();
+        long total = hitCount + misses();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementCacheMetrics{hits=" + hits() + ", misses=" + misses() + ", evictions=" + evictions()
+                + ", hitRate=" + String.format("%.2f", hitRate()) + "}";
+    }
+}
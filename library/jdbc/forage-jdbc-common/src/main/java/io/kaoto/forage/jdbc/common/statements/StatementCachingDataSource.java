@@ -0,0 +1,328 @@
+package io.kaoto.forage.jdbc.common.statements;
+
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import org.slf4j.LoggerFactory;
+import io.agroal.api.AgroalDataSource;
+import io.agroal.api.AgroalDataSourceMetrics;
+import io.agroal.api.AgroalPoolInterceptor;
+import io.agroal.api.configuration.AgroalDataSourceConfiguration;
+
+/**
+ * Agroal data source decorator adding a per-connection LRU cache of prepared statements.
+ *
+ * <p>This is used for drivers that have no statement cache of their own. Statements are prepared on the
+ * physical connection, so they outlive the logical connection handed out by the pool and can be reused by
+ * the next borrower of the same physical connection. Closing a cached statement resets it and returns it to
+ * the cache; the statements of a physical connection are closed when the pool destroys that connection.
+ */
+public class StatementCachingDataSource implements AgroalDataSource {
+    private static final org.slf4j.Logger LOG = LoggerFactory.getLogger(StatementCachingDataSource.class);
+
+    private final AgroalDataSource delegate;
+    private final int cacheSize;
+    private final int sqlLimit;
+    private final StatementCacheMetrics metrics = new StatementCacheMetrics();
+    private final Map<Connection, StatementCache> caches = new ConcurrentHashMap<>();
+    private final AgroalPoolInterceptor evictionInterceptor = new AgroalPoolInterceptor() {
+        @Override
+        public void onConnectionDestroy(Connection connection) {
+            evict(connection);
+        }
+    };
+
+    public StatementCachingDataSource(AgroalDataSource delegate, int cacheSize, int sqlLimit) {
+        this.delegate = delegate;
+        this.cacheSize = cacheSize;
+        this.sqlLimit = sqlLimit;
+        delegate.setPoolInterceptors(List.of(evictionInterceptor));
+    }
+
+    /**
+     * Returns the statement cache metrics of this data source.
+     */
+    public StatementCacheMetrics getStatementCacheMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(delegate.getConnection(username, password));
+    }
+
+    @Override
+    public AgroalDataSourceConfiguration getConfiguration() {
+        return delegate.getConfiguration();
+    }
+
+    @Override
+    public AgroalDataSourceMetrics getMetrics() {
+        return delegate.getMetrics();
+    }
+
+    @Override
+    public void flush(FlushMode mode) {
+        delegate.flush(mode);
+    }
+
+    @Override
+    public void setPoolInterceptors(Collection<? extends AgroalPoolInterceptor> interceptors) {
+        List<AgroalPoolInterceptor> all = new ArrayList<>(interceptors);
+        all.add(evictionInterceptor);
+        delegate.setPoolInterceptors(all);
+    }
+
+    @Override
+    public List<AgroalPoolInterceptor> getPoolInterceptors() {
+        List<AgroalPoolInterceptor> interceptors = new ArrayList<>(delegate.getPoolInterceptors());
+        interceptors.remove(evictionInterceptor);
+        return interceptors;
+    }
+
+    @Override
+    public boolean isHealthy(boolean newConnection) throws SQLException {
+        return delegate.isHealthy(newConnection);
+    }
+
+    @Override
+    public void close() {
+        LOG.info("Closing statement caching DataSource: {}", metrics);
+        caches.values().forEach(StatementCache::clear);
+        caches.clear();
+        delegate.close();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+
+    private Connection wrap(Connection connection) throws SQLException {
+        Connection physical = connection.unwrap(Connection.class);
+        StatementCache cache = caches.computeIfAbsent(physical, c -> new StatementCache(cacheSize, metrics));
+        return (Connection) Proxy.newProxyInstance(
+                StatementCachingDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection, physical, cache));
+    }
+
+    private void evict(Connection connection) {
+        try {
+            StatementCache cache = caches.remove(connection.unwrap(Connection.class));
+            if (cache != null) {
+                cache.clear();
+            }
+        } catch (SQLException e) {
+            LOG.debug("Unable to evict the statement cache of a destroyed connection: {}", e.getMessage());
+        }
+    }
+
+    private static ResultSet wrap(ResultSet resultSet, Statement statement) {
+        return (ResultSet) Proxy.newProxyInstance(
+                StatementCachingDataSource.class.getClassLoader(),
+                new Class<?>[] {ResultSet.class},
+                (proxy, method, args) -> "getStatement".equals(method.getName())
+                        ? statement
+                        : StatementCachingDataSource.invoke(resultSet, method, args));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection logical;
+        private final Connection physical;
+        private final StatementCache cache;
+        private final List<StatementCache.CachedStatement> borrowed = new ArrayList<>();
+
+        private ConnectionHandler(Connection logical, Connection physical, StatementCache cache) {
+            this.logical = logical;
+            this.physical = physical;
+            this.cache = cache;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (("prepareStatement".equals(name) || "prepareCall".equals(name)) && isCacheable(args)) {
+                return prepare((Connection) proxy, method, args);
+            }
+            if ("close".equals(name)) {
+                releaseBorrowed();
+            }
+            return StatementCachingDataSource.invoke(logical, method, args);
+        }
+
+        private boolean isCacheable(Object[] args) throws SQLException {
+            return !logical.isClosed() && args[0] instanceof String sql && sql.length() <= sqlLimit;
+        }
+
+        private Object prepare(Connection proxy, Method method, Object[] args) throws Throwable {
+            StatementCache.StatementKey key = new StatementCache.StatementKey(
+                    method.getName() + Arrays.toString(method.getParameterTypes()), keyArguments(args));
+
+            StatementCache.Lookup lookup = cache.borrow(key);
+            if (lookup.inUse()) {
+                // Another borrower holds the cached statement for this SQL, hand out an uncached one
+                return StatementCachingDataSource.invoke(logical, method, args);
+            }
+
+            StatementCache.CachedStatement cached = lookup.statement();
+            PreparedStatement statement;
+            if (cached != null) {
+                statement = cached.statement();
+            } else {
+                statement = (PreparedStatement) StatementCachingDataSource.invoke(physical, method, args);
+                cached = cache.add(key, statement);
+                // When another thread using this connection cached the same SQL meanwhile, the statement is
+                // handed out uncached and closed with its proxy
+            }
+
+            if (cached != null) {
+                synchronized (borrowed) {
+                    borrowed.add(cached);
+                }
+            }
+            Class<?> statementType =
+                    statement instanceof CallableStatement ? CallableStatement.class : PreparedStatement.class;
+            return Proxy.newProxyInstance(
+                    StatementCachingDataSource.class.getClassLoader(),
+                    new Class<?>[] {statementType},
+                    new StatementHandler(proxy, statement, cached));
+        }
+
+        private List<Object> keyArguments(Object[] args) {
+            List<Object> arguments = new ArrayList<>(args.length);
+            for (Object arg : args) {
+                if (arg instanceof int[] ints) {
+                    arguments.add(Arrays.stream(ints).boxed().toList());
+                } else if (arg instanceof Object[] objects) {
+                    arguments.add(Arrays.asList(objects));
+                } else {
+                    arguments.add(arg);
+                }
+            }
+            return arguments;
+        }
+
+        private void release(StatementCache.CachedStatement cached) {
+            boolean wasBorrowed;
+            synchronized (borrowed) {
+                wasBorrowed = borrowed.remove(cached);
+            }
+            if (wasBorrowed) {
+                cache.release(cached);
+            }
+        }
+
+        private void releaseBorrowed() {
+            List<StatementCache.CachedStatement> toRelease;
+            synchronized (borrowed) {
+                toRelease = new ArrayList<>(borrowed);
+                borrowed.clear();
+            }
+            toRelease.forEach(cache::release);
+        }
+
+        private final class StatementHandler implements InvocationHandler {
+            private final Connection connection;
+            private final PreparedStatement statement;
+            private final StatementCache.CachedStatement cached;
+            private volatile boolean closed;
+
+            private StatementHandler(
+                    Connection connection, PreparedStatement statement, StatementCache.CachedStatement cached) {
+                this.connection = connection;
+                this.statement = statement;
+                this.cached = cached;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            if (cached != null) {
+                                release(cached);
+                            } else {
+                                statement.close();
+                            }
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || statement.isClosed();
+                    case "getConnection":
+                        return connection;
+                    default:
+                        if (closed) {
+                            throw new SQLException("Statement is closed");
+                        }
+                        Object result = StatementCachingDataSource.invoke(statement, method, args);
+                        // Result sets must not expose the physical statement through getStatement()
+                        return result instanceof ResultSet resultSet ? wrap(resultSet, (Statement) proxy) : result;
+                }
+            }
+        }
+    }
+}
@@ -1,16 +1,23 @@
 package io.kaoto.forage.jdbc.common.transactions;
 
+import javax.sql.DataSource;
+
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.agroal.narayana.LocalXAResource;
 import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
+import io.kaoto.forage.jdbc.common.JdbcModuleDescriptor;
 import com.arjuna.ats.arjuna.common.CoordinatorEnvironmentBean;
 import com.arjuna.ats.arjuna.common.CoreEnvironmentBean;
 import com.arjuna.ats.arjuna.common.CoreEnvironmentBeanException;
 import com.arjuna.ats.arjuna.common.ObjectStoreEnvironmentBean;
 import com.arjuna.ats.arjuna.common.RecoveryEnvironmentBean;
+import com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqJournalEnvironmentBean;
+import com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqObjectStoreAdaptor;
+import com.arjuna.ats.internal.arjuna.objectstore.jdbc.JDBCStore;
 import com.arjuna.ats.jta.common.JTAEnvironmentBean;
 import com.arjuna.common.internal.util.propertyservice.BeanPopulator;
 
@@ -59,14 +66,66 @@ public class TransactionConfiguration {
                 config.transactionObjectStoreType(),
                 config.transactionObjectStoreDirectory());
         ObjectStoreEnvironmentBean osBean = BeanPopulator.getDefaultInstance(ObjectStoreEnvironmentBean.class);
-        if ("file-system".equals(config.transactionObjectStoreType())) {
-            osBean.setObjectStoreDir(config.transactionObjectStoreDirectory());
+        switch (config.transactionObjectStoreType()) {
+            case "file-system" -> osBean.setObjectStoreDir(config.transactionObjectStoreDirectory());
+            case "journal" -> configureJournalObjectStore(osBean);
+            case "jdbc" -> configureJdbcObjectStore();
+            default ->
+                throw new IllegalArgumentException("Unsupported transaction object store type: "
+                        + config.transactionObjectStoreType() + ", expected file-system, journal or jdbc");
         }
-
-        // TODO Handle jdbc case, a datasource has to be created for this use case
         log.debug("Object store configured successfully");
     }
 
+    /**
+     * Configures the Artemis journal based object store. The journal appends records to preallocated files and
+     * groups the disk syncs of concurrent commits, which performs much better than the one file per transaction
+     * written by the file-system store.
+     */
+    private void configureJournalObjectStore(ObjectStoreEnvironmentBean osBean) {
+        log.debug(
+                "Configuring journal object store with sync writes: {}, buffer flushes per second: {}, async IO: {}",
+                config.transactionObjectStoreJournalSyncWrites(),
+                config.transactionObjectStoreJournalBufferFlushesPerSecond(),
+                config.transactionObjectStoreJournalAsyncIo());
+        osBean.setObjectStoreDir(config.transactionObjectStoreDirectory());
+        osBean.setObjectStoreType(HornetqObjectStoreAdaptor.class.getName());
+
+        HornetqJournalEnvironmentBean journalBean =
+                BeanPopulator.getDefaultInstance(HornetqJournalEnvironmentBean.class);
+        journalBean.setStoreDir(Paths.get(config.transactionObjectStoreDirectory(), "HornetqObjectStore")
+                .toString());
+        journalBean.setSyncWrites(config.transactionObjectStoreJournalSyncWrites());
+        journalBean.setSyncDeletes(config.transactionObjectStoreJournalSyncWrites());
+        journalBean.setBufferFlushesPerSecond(config.transactionObjectStoreJournalBufferFlushesPerSecond());
+        journalBean.setAsyncIO(config.transactionObjectStoreJournalAsyncIo());
+    }
+
+    /**
+     * Configures the JDBC object store on top of the Forage DataSource named by the object store datasource
+     * option. The action, state and communication stores share the same DataSource and tables.
+     */
+    private void configureJdbcObjectStore() {
+        String dataSourceName = config.transactionObjectStoreDataSource();
+        if (dataSourceName == null) {
+            throw new IllegalStateException(
+                    "The jdbc transaction object store requires the object store datasource to be configured");
+        }
+        log.debug("Configuring jdbc object store with datasource: {}", dataSourceName);
+
+        DataSource dataSource = new JdbcModuleDescriptor().createObjectStoreDataSource(dataSourceName);
+        for (String storeName : List.of("default", "stateStore", "communicationStore")) {
+            ObjectStoreEnvironmentBean storeBean = "default".equals(storeName)
+                    ? BeanPopulator.getDefaultInstance(ObjectStoreEnvironmentBean.class)
+                    : BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, storeName);
+            storeBean.setObjectStoreType(JDBCStore.class.getName());
+            storeBean.setJdbcDataSource(dataSource);
+            storeBean.setTablePrefix(config.transactionObjectStoreTablePrefix());
+            storeBean.setCreateTable(config.transactionObjectStoreCreateTable());
+            storeBean.setDropTable(config.transactionObjectStoreDropTable());
+        }
+    }
+
     private void configureCoordinator() {
         log.debug("Configuring coordinator with timeout: {} seconds", config.transactionTimeoutSeconds());
         BeanPopulator.getDefaultInstance(CoordinatorEnvironmentBean.class)
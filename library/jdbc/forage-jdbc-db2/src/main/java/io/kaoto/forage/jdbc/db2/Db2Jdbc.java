@@ -18,7 +18,7 @@ public class Db2Jdbc extends PooledDataSource {
 
     @Override
     protected Class<?> getConnectionProviderClass() {
-        if (getConfig().transactionEnabled()) {
+        if (getConfig().transactionXaEnabled()) {
             return DB2XADataSource.class;
         } else {
             return DB2Driver.class;
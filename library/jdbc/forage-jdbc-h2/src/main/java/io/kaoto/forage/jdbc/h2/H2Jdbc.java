@@ -19,7 +19,7 @@ public class H2Jdbc extends PooledDataSource {
 
     @Override
     protected Class<?> getConnectionProviderClass() {
-        if (getConfig().transactionEnabled()) {
+        if (getConfig().transactionXaEnabled()) {
             return JdbcDataSource.class;
         } else {
             return Driver.class;
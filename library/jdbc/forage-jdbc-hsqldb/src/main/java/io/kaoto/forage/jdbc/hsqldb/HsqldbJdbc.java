@@ -18,7 +18,7 @@ public class HsqldbJdbc extends PooledDataSource {
 
     @Override
     protected Class<?> getConnectionProviderClass() {
-        if (getConfig().transactionEnabled()) {
+        if (getConfig().transactionXaEnabled()) {
             return JDBCXADataSource.class;
         } else {
             return JDBCDriver.class;
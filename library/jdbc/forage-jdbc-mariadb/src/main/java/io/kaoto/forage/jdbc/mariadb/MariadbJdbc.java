@@ -1,8 +1,10 @@
 package io.kaoto.forage.jdbc.mariadb;
 
+import java.util.Map;
 import org.mariadb.jdbc.Driver;
 import org.mariadb.jdbc.MariaDbDataSource;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
 import io.kaoto.forage.jdbc.common.PooledDataSource;
 
 /**
@@ -19,13 +21,25 @@ public class MariadbJdbc extends PooledDataSource {
 
     @Override
     protected Class<?> getConnectionProviderClass() {
-        if (getConfig().transactionEnabled()) {
+        if (getConfig().transactionXaEnabled()) {
             return MariaDbDataSource.class;
         } else {
             return Driver.class;
         }
     }
 
+    @Override
+    protected Map<String, String> getStatementCacheProperties(DataSourceFactoryConfig config) {
+        if (config.transactionXaEnabled()) {
+            // MariaDbDataSource only accepts URL and credentials, fall back to the Forage statement cache
+            return Map.of();
+        }
+        return Map.of(
+                "cachePrepStmts", "true",
+                "prepStmtCacheSize", String.valueOf(config.statementCacheSize()),
+                "useServerPrepStmts", String.valueOf(config.statementCacheServerPrepare()));
+    }
+
     @Override
     public String getTestQuery() {
         return "SELECT VERSION(), DATABASE(), USER()";
@@ -1,6 +1,8 @@
 package io.kaoto.forage.jdbc.mssql;
 
+import java.util.Map;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
 import io.kaoto.forage.jdbc.common.PooledDataSource;
 import com.microsoft.sqlserver.jdbc.SQLServerDriver;
 import com.microsoft.sqlserver.jdbc.SQLServerXADataSource;
@@ -18,13 +20,22 @@ public class MssqlJdbc extends PooledDataSource {
 
     @Override
     protected Class<?> getConnectionProviderClass() {
-        if (getConfig().transactionEnabled()) {
+        if (getConfig().transactionXaEnabled()) {
             return SQLServerXADataSource.class;
         } else {
             return SQLServerDriver.class;
         }
     }
 
+    @Override
+    protected Map<String, String> getStatementCacheProperties(DataSourceFactoryConfig config) {
+        return Map.of(
+                "disableStatementPooling",
+                "false",
+                "statementPoolingCacheSize",
+                String.valueOf(config.statementCacheSize()));
+    }
+
     @Override
     public String getTestQuery() {
         return "SELECT @@VERSION, DB_NAME(), SUSER_SNAME()";
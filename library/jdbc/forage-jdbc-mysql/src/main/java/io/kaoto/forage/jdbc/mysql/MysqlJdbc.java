@@ -1,6 +1,8 @@
 package io.kaoto.forage.jdbc.mysql;
 
+import java.util.Map;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
 import io.kaoto.forage.jdbc.common.PooledDataSource;
 import com.mysql.cj.jdbc.Driver;
 import com.mysql.cj.jdbc.MysqlXADataSource;
@@ -19,13 +21,22 @@ public class MysqlJdbc extends PooledDataSource {
 
     @Override
     protected Class<?> getConnectionProviderClass() {
-        if (getConfig().transactionEnabled()) {
+        if (getConfig().transactionXaEnabled()) {
             return MysqlXADataSource.class;
         } else {
             return Driver.class;
         }
     }
 
+    @Override
+    protected Map<String, String> getStatementCacheProperties(DataSourceFactoryConfig config) {
+        return Map.of(
+                "cachePrepStmts", "true",
+                "prepStmtCacheSize", String.valueOf(config.statementCacheSize()),
+                "prepStmtCacheSqlLimit", String.valueOf(config.statementCacheSqlLimit()),
+                "useServerPrepStmts", String.valueOf(config.statementCacheServerPrepare()));
+    }
+
     @Override
     public String getTestQuery() {
         return "SELECT VERSION(), DATABASE(), USER()";
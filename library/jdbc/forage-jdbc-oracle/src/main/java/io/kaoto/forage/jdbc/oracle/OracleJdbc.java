@@ -1,6 +1,8 @@
 package io.kaoto.forage.jdbc.oracle;
 
+import java.util.Map;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
 import io.kaoto.forage.jdbc.common.PooledDataSource;
 import oracle.jdbc.OracleDriver;
 import oracle.jdbc.xa.OracleXADataSource;
@@ -18,13 +20,22 @@ public class OracleJdbc extends PooledDataSource {
 
     @Override
     protected Class<?> getConnectionProviderClass() {
-        if (getConfig().transactionEnabled()) {
+        if (getConfig().transactionXaEnabled()) {
             return OracleXADataSource.class;
         } else {
             return OracleDriver.class;
         }
     }
 
+    @Override
+    protected Map<String, String> getStatementCacheProperties(DataSourceFactoryConfig config) {
+        if (config.transactionXaEnabled()) {
+            // Connection properties cannot be injected into OracleXADataSource, use the Forage statement cache
+            return Map.of();
+        }
+        return Map.of("oracle.jdbc.implicitStatementCacheSize", String.valueOf(config.statementCacheSize()));
+    }
+
     @Override
     public String getTestQuery() {
         return "SELECT banner FROM v$version WHERE ROWNUM = 1";
@@ -1,8 +1,11 @@
 package io.kaoto.forage.jdbc.postgresql;
 
+import java.util.HashMap;
+import java.util.Map;
 import org.postgresql.Driver;
 import org.postgresql.xa.PGXADataSource;
 import io.kaoto.forage.core.annotations.ForageBean;
+import io.kaoto.forage.jdbc.common.DataSourceFactoryConfig;
 import io.kaoto.forage.jdbc.common.PooledDataSource;
 
 /**
@@ -19,13 +22,24 @@ public class PostgresqlJdbc extends PooledDataSource {
 
     @Override
     protected Class<?> getConnectionProviderClass() {
-        if (getConfig().transactionEnabled()) {
+        if (getConfig().transactionXaEnabled()) {
             return PGXADataSource.class;
         } else {
             return Driver.class;
         }
     }
 
+    @Override
+    protected Map<String, String> getStatementCacheProperties(DataSourceFactoryConfig config) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("preparedStatementCacheQueries", String.valueOf(config.statementCacheSize()));
+        if (config.statementCacheServerPrepare()) {
+            // Switch to a named server-side statement from the first execution instead of the fifth
+            properties.put("prepareThreshold", "1");
+        }
+        return properties;
+    }
+
     @Override
     public String getTestQuery() {
         return "SELECT version(), current_database(), current_user";
@@ -0,0 +1,9 @@
+package io.kaoto.forage.jdbc;
+
+public class FileSystemObjectStoreTest extends ObjectStoreThroughputTest {
+
+    @Override
+    protected String objectStoreType() {
+        return "file-system";
+    }
+}
@@ -0,0 +1,150 @@
+package io.kaoto.forage.jdbc;
+
+import javax.sql.DataSource;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import org.assertj.core.api.Assertions;
+import org.h2.Driver;
+import io.agroal.api.AgroalDataSource;
+import io.kaoto.forage.core.jta.LocalRequiredJtaTransactionPolicy;
+import io.kaoto.forage.jdbc.h2.H2Jdbc;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class H2LocalTransactionTest {
+
+    private DataSource dataSource;
+
+    @BeforeAll
+    public void setupDataSource() throws Exception {
+        System.setProperty("forage.local.jdbc.db.kind", "h2");
+        System.setProperty("forage.local.jdbc.url", "jdbc:h2:mem:localdb;DB_CLOSE_DELAY=-1");
+        System.setProperty("forage.local.jdbc.username", "sa");
+        System.setProperty("forage.local.jdbc.password", "");
+        System.setProperty("forage.local.jdbc.transaction.enabled", "true");
+        System.setProperty("forage.local.jdbc.transaction.xa", "false");
+
+        dataSource = new H2Jdbc().create("local");
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE payments (id INT PRIMARY KEY)");
+        }
+    }
+
+    @Test
+    public void testNonXaDriverIsUsed() {
+        Assertions.assertThat(((AgroalDataSource) dataSource)
+                        .getConfiguration()
+                        .connectionPoolConfiguration()
+                        .connectionFactoryConfiguration()
+                        .connectionProviderClass())
+                .isEqualTo(Driver.class);
+    }
+
+    @Test
+    public void testSingleResourceTransactionCommits() throws Throwable {
+        new LocalRequiredJtaTransactionPolicy().run(() -> insert(1));
+
+        Assertions.assertThat(count(1)).isEqualTo(1);
+    }
+
+    @Test
+    public void testSecondResourceRollsBackLocalTransaction() throws Exception {
+        Assertions.assertThatThrownBy(() -> new LocalRequiredJtaTransactionPolicy().run(() -> {
+                    insert(2);
+                    enlistXaResource();
+                }))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("2 resources");
+
+        Assertions.assertThat(count(2)).isZero();
+    }
+
+    @Test
+    public void testXaResourceIsRejected() {
+        Assertions.assertThatThrownBy(() -> new LocalRequiredJtaTransactionPolicy().run(this::enlistXaResource))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("XA resource");
+    }
+
+    private void enlistXaResource() {
+        try {
+            com.arjuna.ats.jta.TransactionManager.transactionManager()
+                    .getTransaction()
+                    .enlistResource(new VotingXAResource());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void insert(int id) {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO payments VALUES (" + id + ")");
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private int count(int id) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM payments WHERE id = " + id)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    /**
+     * XA participant that always votes to commit, standing for a second database or broker.
+     */
+    static class VotingXAResource implements XAResource {
+
+        @Override
+        public void commit(Xid xid, boolean onePhase) {}
+
+        @Override
+        public void end(Xid xid, int flags) {}
+
+        @Override
+        public void forget(Xid xid) {}
+
+        @Override
+        public int getTransactionTimeout() {
+            return 0;
+        }
+
+        @Override
+        public boolean isSameRM(XAResource resource) {
+            return false;
+        }
+
+        @Override
+        public int prepare(Xid xid) {
+            return XA_OK;
+        }
+
+        @Override
+        public Xid[] recover(int flag) {
+            return new Xid[0];
+        }
+
+        @Override
+        public void rollback(Xid xid) {}
+
+        @Override
+        public boolean setTransactionTimeout(int seconds) {
+            return false;
+        }
+
+        @Override
+        public void start(Xid xid, int flags) {}
+    }
+}
@@ -0,0 +1,130 @@
+package io.kaoto.forage.jdbc;
+
+import javax.sql.DataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.Map;
+import org.assertj.core.api.Assertions;
+import io.kaoto.forage.jdbc.common.statements.StatementCacheMetrics;
+import io.kaoto.forage.jdbc.common.statements.StatementCachingDataSource;
+import io.kaoto.forage.jdbc.h2.H2Jdbc;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class H2StatementCacheTest {
+
+    private static final Map<String, String> PROPERTIES = Map.of(
+            "forage.cached.jdbc.db.kind", "h2",
+            "forage.cached.jdbc.url", "jdbc:h2:mem:cachedb;DB_CLOSE_DELAY=-1",
+            "forage.cached.jdbc.username", "sa",
+            "forage.cached.jdbc.password", "",
+            "forage.cached.jdbc.pool.initial.size", "1",
+            "forage.cached.jdbc.pool.min.size", "1",
+            "forage.cached.jdbc.pool.max.size", "1",
+            "forage.cached.jdbc.statement.cache.size", "2");
+
+    private final Map<String, String> previousProperties = new HashMap<>();
+    private StatementCachingDataSource dataSource;
+
+    @BeforeAll
+    public void setupProperties() {
+        PROPERTIES.forEach((key, value) -> {
+            previousProperties.put(key, System.getProperty(key));
+            System.setProperty(key, value);
+        });
+    }
+
+    @AfterAll
+    public void restoreProperties() {
+        previousProperties.forEach((key, value) -> {
+            if (value == null) {
+                System.clearProperty(key);
+            } else {
+                System.setProperty(key, value);
+            }
+        });
+    }
+
+    @BeforeEach
+    public void createDataSource() {
+        DataSource created = new H2Jdbc().create("cached");
+        Assertions.assertThat(created).isInstanceOf(StatementCachingDataSource.class);
+        dataSource = (StatementCachingDataSource) created;
+    }
+
+    @AfterEach
+    public void closeDataSource() {
+        dataSource.close();
+    }
+
+    @Test
+    public void testStatementsAreReusedAcrossConnectionBorrows() throws Exception {
+        StatementCacheMetrics metrics = dataSource.getStatementCacheMetrics();
+
+        for (int i = 0; i < 5; i++) {
+            try (Connection connection = dataSource.getConnection();
+                    PreparedStatement statement = connection.prepareStatement("SELECT ? + 1")) {
+                statement.setInt(1, i);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    Assertions.assertThat(resultSet.getInt(1)).isEqualTo(i + 1);
+                }
+            }
+        }
+
+        Assertions.assertThat(metrics.misses()).isEqualTo(1);
+        Assertions.assertThat(metrics.hits()).isEqualTo(4);
+        Assertions.assertThat(metrics.hitRate()).isEqualTo(0.8);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedStatementIsEvicted() throws Exception {
+        StatementCacheMetrics metrics = dataSource.getStatementCacheMetrics();
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (String sql : new String[] {"SELECT 1", "SELECT 2", "SELECT 3", "SELECT 1"}) {
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    statement.executeQuery().close();
+                }
+            }
+        }
+
+        Assertions.assertThat(metrics.evictions()).isEqualTo(2);
+        Assertions.assertThat(metrics.hits()).isZero();
+    }
+
+    @Test
+    public void testConcurrentUseOfSameSqlGetsUncachedStatement() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement first = connection.prepareStatement("SELECT 42");
+                PreparedStatement second = connection.prepareStatement("SELECT 42")) {
+            Assertions.assertThat(first).isNotSameAs(second);
+
+            try (ResultSet firstResult = first.executeQuery();
+                    ResultSet secondResult = second.executeQuery()) {
+                firstResult.next();
+                secondResult.next();
+                Assertions.assertThat(firstResult.getInt(1)).isEqualTo(secondResult.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void testResultSetsDoNotExposeThePhysicalStatement() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT 1");
+                ResultSet resultSet = statement.executeQuery()) {
+            Assertions.assertThat(resultSet.getStatement()).isSameAs(statement);
+            Assertions.assertThat(resultSet.getStatement().getConnection()).isSameAs(connection);
+        }
+    }
+}
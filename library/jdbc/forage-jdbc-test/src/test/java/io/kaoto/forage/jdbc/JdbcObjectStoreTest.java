@@ -0,0 +1,38 @@
+package io.kaoto.forage.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import org.assertj.core.api.Assertions;
+
+import org.junit.jupiter.api.AfterAll;
+
+public class JdbcObjectStoreTest extends ObjectStoreThroughputTest {
+
+    @Override
+    protected String objectStoreType() {
+        return "jdbc";
+    }
+
+    @Override
+    protected void setUpObjectStore(String dataSourceName) {
+        System.setProperty("forage.objectstore.jdbc.db.kind", "h2");
+        System.setProperty("forage.objectstore.jdbc.url", "jdbc:h2:mem:objectstoredb;DB_CLOSE_DELAY=-1");
+        System.setProperty("forage.objectstore.jdbc.username", "sa");
+        System.setProperty("forage.objectstore.jdbc.password", "");
+        System.setProperty("forage." + dataSourceName + ".jdbc.transaction.object.store.datasource", "objectstore");
+        System.setProperty("forage." + dataSourceName + ".jdbc.transaction.object.store.create.table", "true");
+    }
+
+    @AfterAll
+    public void verifyObjectStoreTable() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:objectstoredb", "sa", "");
+                ResultSet tables = connection.getMetaData().getTables(null, null, "%", new String[] {"TABLE"})) {
+            boolean found = false;
+            while (tables.next()) {
+                found |= tables.getString("TABLE_NAME").toLowerCase().startsWith("forage_");
+            }
+            Assertions.assertThat(found).isTrue();
+        }
+    }
+}
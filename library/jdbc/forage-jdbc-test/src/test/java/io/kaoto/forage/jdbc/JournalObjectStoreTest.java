@@ -0,0 +1,27 @@
+package io.kaoto.forage.jdbc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.assertj.core.api.Assertions;
+import com.arjuna.ats.arjuna.common.ObjectStoreEnvironmentBean;
+import com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqObjectStoreAdaptor;
+import com.arjuna.common.internal.util.propertyservice.BeanPopulator;
+
+import org.junit.jupiter.api.AfterAll;
+
+public class JournalObjectStoreTest extends ObjectStoreThroughputTest {
+
+    @Override
+    protected String objectStoreType() {
+        return "journal";
+    }
+
+    @AfterAll
+    public void verifyJournal() {
+        Assertions.assertThat(BeanPopulator.getDefaultInstance(ObjectStoreEnvironmentBean.class)
+                        .getObjectStoreType())
+                .isEqualTo(HornetqObjectStoreAdaptor.class.getName());
+        Assertions.assertThat(Files.isDirectory(Path.of("target/object-store/journal/HornetqObjectStore")))
+                .isTrue();
+    }
+}
@@ -0,0 +1,190 @@
+package io.kaoto.forage.jdbc;
+
+import jakarta.transaction.TransactionManager;
+import javax.sql.DataSource;
+import javax.transaction.xa.XAException;
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.jdbc.h2.H2Jdbc;
+import com.arjuna.ats.arjuna.AtomicAction;
+import com.arjuna.ats.arjuna.common.Uid;
+import com.arjuna.ats.arjuna.objectstore.StoreManager;
+import com.arjuna.ats.arjuna.state.InputObjectState;
+import com.arjuna.ats.internal.arjuna.common.UidHelper;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Commits two-phase transactions against a transacted H2 DataSource and reports the commit throughput of the
+ * configured Narayana object store. A second, no-op XA resource is enlisted in every transaction so that
+ * Narayana cannot use the one-phase optimization and has to write a transaction log record.
+ *
+ * <p>The test checks that every transaction went through the prepare phase, committed its row, and left no log
+ * record behind in the object store.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class ObjectStoreThroughputTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ObjectStoreThroughputTest.class);
+
+    private static final int THREADS = 8;
+    private static final int TRANSACTIONS_PER_THREAD = 100;
+
+    protected abstract String objectStoreType();
+
+    protected void setUpObjectStore(String dataSourceName) {}
+
+    @BeforeAll
+    public void setupProperties() {
+        String name = objectStoreType().replace("-", "");
+        System.setProperty("forage.store.jdbc.db.kind", "h2");
+        System.setProperty("forage.store.jdbc.url", "jdbc:h2:mem:" + name + "db;DB_CLOSE_DELAY=-1");
+        System.setProperty("forage.store.jdbc.username", "sa");
+        System.setProperty("forage.store.jdbc.password", "");
+        System.setProperty("forage.store.jdbc.pool.max.size", String.valueOf(THREADS));
+        System.setProperty("forage.store.jdbc.transaction.enabled", "true");
+        System.setProperty("forage.store.jdbc.transaction.object.store.type", objectStoreType());
+        System.setProperty(
+                "forage.store.jdbc.transaction.object.store.directory", "target/object-store/" + objectStoreType());
+        setUpObjectStore("store");
+    }
+
+    @Test
+    public void testTwoPhaseCommitThroughput() throws Exception {
+        DataSource dataSource = new H2Jdbc().create("store");
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS orders (id INT PRIMARY KEY, thread INT)");
+        }
+
+        TransactionManager transactionManager = com.arjuna.ats.jta.TransactionManager.transactionManager();
+        AtomicInteger prepares = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < TRANSACTIONS_PER_THREAD; i++) {
+                        transactionManager.begin();
+                        transactionManager.getTransaction().enlistResource(new NoOpXAResource(prepares));
+                        try (Connection connection = dataSource.getConnection();
+                                Statement statement = connection.createStatement()) {
+                            statement.executeUpdate("INSERT INTO orders VALUES ("
+                                    + (thread * TRANSACTIONS_PER_THREAD + i) + ", " + thread + ")");
+                        }
+                        transactionManager.commit();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        int transactions = THREADS * TRANSACTIONS_PER_THREAD;
+        LOG.info(
+                "Object store {}: {} two-phase commits in {} ms ({} tx/s)",
+                objectStoreType(),
+                transactions,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.0f", transactions / (elapsedNanos / 1_000_000_000.0)));
+
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement();
+                var resultSet = statement.executeQuery("SELECT COUNT(*) FROM orders")) {
+            resultSet.next();
+            Assertions.assertThat(resultSet.getInt(1)).isEqualTo(transactions);
+        }
+        Assertions.assertThat(prepares).hasValue(transactions);
+        Assertions.assertThat(remainingLogRecords()).isZero();
+    }
+
+    /**
+     * Counts the log records of two-phase transactions left in the object store, which are only kept for the
+     * transactions that did not complete.
+     */
+    private static int remainingLogRecords() throws Exception {
+        InputObjectState uids = new InputObjectState();
+        Assertions.assertThat(StoreManager.getRecoveryStore().allObjUids(new AtomicAction().type(), uids))
+                .isTrue();
+        int count = 0;
+        while (!UidHelper.unpackFrom(uids).equals(Uid.nullUid())) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Second transaction participant that always votes to commit and counts the prepare calls.
+     */
+    static class NoOpXAResource implements XAResource, Serializable {
+
+        private final AtomicInteger prepares;
+
+        NoOpXAResource(AtomicInteger prepares) {
+            this.prepares = prepares;
+        }
+
+        @Override
+        public void commit(Xid xid, boolean onePhase) {}
+
+        @Override
+        public void end(Xid xid, int flags) {}
+
+        @Override
+        public void forget(Xid xid) {}
+
+        @Override
+        public int getTransactionTimeout() {
+            return 0;
+        }
+
+        @Override
+        public boolean isSameRM(XAResource resource) {
+            return false;
+        }
+
+        @Override
+        public int prepare(Xid xid) {
+            prepares.incrementAndGet();
+            return XA_OK;
+        }
+
+        @Override
+        public Xid[] recover(int flag) throws XAException {
+            return new Xid[0];
+        }
+
+        @Override
+        public void rollback(Xid xid) {}
+
+        @Override
+        public boolean setTransactionTimeout(int seconds) {
+            return false;
+        }
+
+        @Override
+        public void start(Xid xid, int flags) {}
+    }
+}
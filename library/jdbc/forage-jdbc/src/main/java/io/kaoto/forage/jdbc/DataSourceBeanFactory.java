@@ -15,6 +15,7 @@ import io.kaoto.forage.core.annotations.ForageFactory;
 import io.kaoto.forage.core.common.BeanFactory;
 import io.kaoto.forage.core.common.ServiceLoaderHelper;
 import io.kaoto.forage.core.jdbc.DataSourceProvider;
+import io.kaoto.forage.core.jta.LocalRequiredJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.MandatoryJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.NeverJtaTransactionPolicy;
 import io.kaoto.forage.core.jta.NotSupportedJtaTransactionPolicy;
@@ -50,6 +51,11 @@ import io.kaoto.forage.jdbc.common.idempotent.ForageJdbcMessageIdRepository;
                                 javaType = "org.apache.camel.spi.TransactedPolicy",
                                 description =
                                         "Starts a new transaction if none exists, otherwise joins the existing one"),
+                        @ConditionalBean(
+                                name = "LOCAL_REQUIRED",
+                                javaType = "org.apache.camel.spi.TransactedPolicy",
+                                description =
+                                        "Like PROPAGATION_REQUIRED for a single non-XA datasource, committed in one phase"),
                         @ConditionalBean(
                                 name = "MANDATORY",
                                 javaType = "org.apache.camel.spi.TransactedPolicy",
@@ -107,6 +113,7 @@ public class DataSourceBeanFactory implements BeanFactory {
 
         if (config.transactionEnabled()) {
             camelContext.getRegistry().bind("PROPAGATION_REQUIRED", new RequiredJtaTransactionPolicy());
+            camelContext.getRegistry().bind("LOCAL_REQUIRED", new LocalRequiredJtaTransactionPolicy());
             camelContext.getRegistry().bind("MANDATORY", new MandatoryJtaTransactionPolicy());
             camelContext.getRegistry().bind("NEVER", new NeverJtaTransactionPolicy());
             camelContext.getRegistry().bind("NOT_SUPPORTED", new NotSupportedJtaTransactionPolicy());
@@ -40,6 +40,18 @@ public class ArtemisJms extends PooledConnectionFactory {
         if (config.clientId() != null) {
             connectionFactory.setClientID(config.clientId());
         }
+        if (config.consumerWindowSize() != null) {
+            connectionFactory.setConsumerWindowSize(config.consumerWindowSize());
+        }
+        if (config.confirmationWindowSize() != null) {
+            connectionFactory.setConfirmationWindowSize(config.confirmationWindowSize());
+        }
+        if (config.blockOnDurableSend() != null) {
+            connectionFactory.setBlockOnDurableSend(config.blockOnDurableSend());
+        }
+        if (config.blockOnNonDurableSend() != null) {
+            connectionFactory.setBlockOnNonDurableSend(config.blockOnNonDurableSend());
+        }
     }
 
     @Override
@@ -0,0 +1,216 @@
+package io.kaoto.forage.jms.artemis;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptorFactory;
+import org.apache.activemq.artemis.core.server.Queue;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.assertj.core.api.Assertions;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Checks that the broker specific performance settings reach the Artemis connection factory and take effect on
+ * an embedded broker. The measured rates are logged for comparison.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ArtemisPerformanceSettingsTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ArtemisPerformanceSettingsTest.class);
+
+    private static final String BROKER_URL = "tcp://localhost:61699";
+    private static final int MESSAGES = 1000;
+
+    private EmbeddedActiveMQ broker;
+
+    @BeforeAll
+    public void startBroker() throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(true);
+        configuration.setJournalDirectory("target/artemis/journal");
+        configuration.setBindingsDirectory("target/artemis/bindings");
+        configuration.setLargeMessagesDirectory("target/artemis/large-messages");
+        configuration.setPagingDirectory("target/artemis/paging");
+        configuration.setSecurityEnabled(false);
+        configuration.addAcceptorConfiguration(
+                new TransportConfiguration(NettyAcceptorFactory.class.getName(), java.util.Map.of("port", 61699)));
+
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+
+        configure("blocking", true, 1024 * 1024);
+        configure("async", false, 1024 * 1024);
+        configure("noprefetch", true, 0);
+    }
+
+    @AfterAll
+    public void stopBroker() throws Exception {
+        broker.stop();
+    }
+
+    @Test
+    public void testSettingsAreAppliedToTheConnectionFactory() {
+        ActiveMQConnectionFactory async = underlying(new ArtemisJms().create("async"));
+        Assertions.assertThat(async.isBlockOnDurableSend()).isFalse();
+        Assertions.assertThat(async.getConfirmationWindowSize()).isEqualTo(1024 * 1024);
+        Assertions.assertThat(async.getConsumerWindowSize()).isEqualTo(1024 * 1024);
+
+        ActiveMQConnectionFactory blocking = underlying(new ArtemisJms().create("blocking"));
+        Assertions.assertThat(blocking.isBlockOnDurableSend()).isTrue();
+        Assertions.assertThat(blocking.getConfirmationWindowSize()).isEqualTo(1024 * 1024);
+        Assertions.assertThat(blocking.getConsumerWindowSize()).isEqualTo(1024 * 1024);
+
+        ActiveMQConnectionFactory noPrefetch = underlying(new ArtemisJms().create("noprefetch"));
+        Assertions.assertThat(noPrefetch.isBlockOnDurableSend()).isTrue();
+        Assertions.assertThat(noPrefetch.getConsumerWindowSize()).isZero();
+    }
+
+    @Test
+    public void testConsumerWindowSizeLimitsPrefetchedMessages() throws Exception {
+        sendRate("async", "window.enabled");
+        sendRate("async", "window.disabled");
+
+        Assertions.assertThat(deliveringAfterFirstReceive("blocking", "window.enabled"))
+                .isGreaterThan(1);
+        Assertions.assertThat(deliveringAfterFirstReceive("noprefetch", "window.disabled"))
+                .isEqualTo(1);
+    }
+
+    @Test
+    public void testSettingsOfAnotherKindAreRejected() {
+        System.setProperty("forage.invalid.jms.kind", "artemis");
+        System.setProperty("forage.invalid.jms.broker.url", BROKER_URL);
+        System.setProperty("forage.invalid.jms.read.ahead", "true");
+
+        Assertions.assertThatThrownBy(() -> new ArtemisJms().create("invalid"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ibmmq");
+    }
+
+    @Test
+    public void testDurableSendThroughput() throws Exception {
+        double blocking = sendRate("blocking", "throughput.blocking");
+        double async = sendRate("async", "throughput.async");
+
+        LOG.info(
+                "Durable sends: {} msg/s blocking on each send, {} msg/s with asynchronous confirmations",
+                String.format("%.0f", blocking),
+                String.format("%.0f", async));
+
+        Assertions.assertThat(receive("async", "throughput.async")).isEqualTo(MESSAGES);
+        Assertions.assertThat(receive("blocking", "throughput.blocking")).isEqualTo(MESSAGES);
+    }
+
+    @Test
+    public void testConsumerPrefetchThroughput() throws Exception {
+        sendRate("async", "prefetch.enabled");
+        sendRate("async", "prefetch.disabled");
+
+        long start = System.nanoTime();
+        Assertions.assertThat(receive("blocking", "prefetch.enabled")).isEqualTo(MESSAGES);
+        double prefetch = rate(start);
+
+        start = System.nanoTime();
+        Assertions.assertThat(receive("noprefetch", "prefetch.disabled")).isEqualTo(MESSAGES);
+        double noPrefetch = rate(start);
+
+        LOG.info(
+                "Receives: {} msg/s with a 1MiB consumer window, {} msg/s without prefetch",
+                String.format("%.0f", prefetch),
+                String.format("%.0f", noPrefetch));
+    }
+
+    private static void configure(String name, boolean blockOnDurableSend, int consumerWindowSize) {
+        System.setProperty("forage." + name + ".jms.kind", "artemis");
+        System.setProperty("forage." + name + ".jms.broker.url", BROKER_URL);
+        System.setProperty("forage." + name + ".jms.block.on.durable.send", String.valueOf(blockOnDurableSend));
+        System.setProperty("forage." + name + ".jms.confirmation.window.size", String.valueOf(1024 * 1024));
+        System.setProperty("forage." + name + ".jms.consumer.window.size", String.valueOf(consumerWindowSize));
+    }
+
+    private static ActiveMQConnectionFactory underlying(ConnectionFactory connectionFactory) {
+        return (ActiveMQConnectionFactory) ((JmsPoolConnectionFactory) connectionFactory).getConnectionFactory();
+    }
+
+    private static double sendRate(String name, String queueName) throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create(name);
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            MessageProducer producer = session.createProducer(session.createQueue(queueName));
+            producer.setDeliveryMode(DeliveryMode.PERSISTENT);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                producer.send(session.createTextMessage("message " + i));
+            }
+            return rate(start);
+        } finally {
+            ((JmsPoolConnectionFactory) connectionFactory).stop();
+        }
+    }
+
+    private static int receive(String name, String queueName) throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create(name);
+        int received = 0;
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            connection.start();
+            MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+            while (consumer.receive(TimeUnit.SECONDS.toMillis(5)) != null) {
+                received++;
+                if (received == MESSAGES) {
+                    break;
+                }
+            }
+        } finally {
+            ((JmsPoolConnectionFactory) connectionFactory).stop();
+        }
+        return received;
+    }
+
+    /**
+     * Receives one message without acknowledging it and returns the number of messages the broker has handed to
+     * the consumer, which includes the messages buffered in its window.
+     */
+    private long deliveringAfterFirstReceive(String name, String queueName) throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create(name);
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(false, Session.CLIENT_ACKNOWLEDGE)) {
+            connection.start();
+            MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+            Assertions.assertThat(consumer.receive(TimeUnit.SECONDS.toMillis(5)))
+                    .isNotNull();
+
+            Queue queue = broker.getActiveMQServer().locateQueue(SimpleString.of(queueName));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            long delivering = queue.getDeliveringCount();
+            while (delivering <= 1 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+                delivering = queue.getDeliveringCount();
+            }
+            return delivering;
+        } finally {
+            ((JmsPoolConnectionFactory) connectionFactory).stop();
+        }
+    }
+
+    private static double rate(long start) {
+        return MESSAGES / ((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+}
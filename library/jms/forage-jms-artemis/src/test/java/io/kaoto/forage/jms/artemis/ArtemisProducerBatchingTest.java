@@ -0,0 +1,276 @@
+package io.kaoto.forage.jms.artemis;
+
+import jakarta.jms.Connection;
+import jakarta.jms.ConnectionFactory;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageConsumer;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Queue;
+import jakarta.jms.Session;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyAcceptorFactory;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.apache.activemq.artemis.core.settings.impl.AddressFullMessagePolicy;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
+import org.assertj.core.api.Assertions;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.kaoto.forage.jms.common.batching.BatchingConnectionFactory;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Checks the thread-affine producer batching on an embedded broker, and compares its throughput with sends
+ * borrowing a pooled session and creating a producer for each message, as the Camel JMS producer does.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ArtemisProducerBatchingTest {
+    private static final Logger LOG = LoggerFactory.getLogger(ArtemisProducerBatchingTest.class);
+
+    private static final String BROKER_URL = "tcp://localhost:61698";
+    private static final int MESSAGES = 1000;
+
+    private EmbeddedActiveMQ broker;
+
+    @BeforeAll
+    public void startBroker() throws Exception {
+        ConfigurationImpl configuration = new ConfigurationImpl();
+        configuration.setPersistenceEnabled(true);
+        configuration.setJournalDirectory("target/artemis-batching/journal");
+        configuration.setBindingsDirectory("target/artemis-batching/bindings");
+        configuration.setLargeMessagesDirectory("target/artemis-batching/large-messages");
+        configuration.setPagingDirectory("target/artemis-batching/paging");
+        configuration.setSecurityEnabled(false);
+        configuration.addAddressSetting(
+                "batching.full.#",
+                new AddressSettings().setMaxSizeBytes(1).setAddressFullMessagePolicy(AddressFullMessagePolicy.FAIL));
+        configuration.addAcceptorConfiguration(
+                new TransportConfiguration(NettyAcceptorFactory.class.getName(), java.util.Map.of("port", 61698)));
+
+        broker = new EmbeddedActiveMQ();
+        broker.setConfiguration(configuration);
+        broker.start();
+
+        configure("unbatched", 0, 100);
+        configure("batched", 100, 50);
+        configure("slowbatch", 100, 1000);
+    }
+
+    @AfterAll
+    public void stopBroker() throws Exception {
+        broker.stop();
+    }
+
+    @Test
+    public void testBatchingIsOnlyEnabledWhenConfigured() {
+        ConnectionFactory unbatched = new ArtemisJms().create("unbatched");
+        ConnectionFactory batched = new ArtemisJms().create("batched");
+        try {
+            Assertions.assertThat(unbatched)
+                    .isInstanceOf(JmsPoolConnectionFactory.class)
+                    .isNotInstanceOf(BatchingConnectionFactory.class);
+            Assertions.assertThat(batched)
+                    .isInstanceOf(JmsPoolConnectionFactory.class)
+                    .isInstanceOf(BatchingConnectionFactory.class);
+        } finally {
+            stop(unbatched);
+            stop(batched);
+        }
+    }
+
+    @Test
+    public void testPartialBatchIsCommittedAfterTimeout() throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create("slowbatch");
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            connection.start();
+            Queue queue = session.createQueue("batching.partial");
+            MessageConsumer consumer = session.createConsumer(queue);
+            MessageProducer producer = session.createProducer(queue);
+            for (int i = 0; i < 3; i++) {
+                producer.send(session.createTextMessage("message " + i));
+            }
+
+            Assertions.assertThat(consumer.receive(100)).isNull();
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertThat(consumer.receive(TimeUnit.SECONDS.toMillis(5)))
+                        .isNotNull();
+            }
+        } finally {
+            stop(connectionFactory);
+        }
+    }
+
+    @Test
+    public void testRequestsAreCommittedWithoutWaitingForTheBatch() throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create("slowbatch");
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            connection.start();
+            Queue queue = session.createQueue("batching.request");
+            MessageConsumer consumer = session.createConsumer(queue);
+            Message request = session.createTextMessage("request");
+            request.setJMSReplyTo(session.createQueue("batching.reply"));
+            session.createProducer(queue).send(request);
+
+            Assertions.assertThat(consumer.receive(500)).isNotNull();
+        } finally {
+            stop(connectionFactory);
+        }
+    }
+
+    @Test
+    public void testFailedBatchesAreReportedToTheSender() throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create("slowbatch");
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            // The queue accepts a single message, the requests are committed one by one until it is full
+            MessageProducer producer = session.createProducer(session.createQueue("batching.full.queue"));
+            Message request = session.createTextMessage("request");
+            request.setJMSReplyTo(session.createQueue("batching.reply"));
+
+            Assertions.assertThatThrownBy(() -> {
+                        for (int i = 0; i < 3; i++) {
+                            producer.send(request);
+                        }
+                    })
+                    .isInstanceOf(JMSException.class)
+                    .hasMessageContaining("Failed to send a batch of 1 JMS messages");
+        } finally {
+            stop(connectionFactory);
+        }
+    }
+
+    @Test
+    public void testConnectionsWithCredentialsAreBatched() throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create("slowbatch");
+        try (Connection connection = connectionFactory.createConnection("guest", "guest");
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            connection.start();
+            Queue queue = session.createQueue("batching.credentials");
+            MessageConsumer consumer = session.createConsumer(queue);
+            session.createProducer(queue).send(session.createTextMessage("message"));
+
+            Assertions.assertThat(consumer.receive(100)).isNull();
+            Assertions.assertThat(consumer.receive(TimeUnit.SECONDS.toMillis(5)))
+                    .isNotNull();
+        } finally {
+            stop(connectionFactory);
+        }
+    }
+
+    @Test
+    public void testPendingBatchesAreCommittedOnStop() throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create("slowbatch");
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            Queue queue = session.createQueue("batching.stop");
+            session.createProducer(queue).send(session.createTextMessage("message"));
+        }
+        stop(connectionFactory);
+
+        Assertions.assertThat(receive("batching.stop", 1)).isEqualTo(1);
+    }
+
+    @Test
+    public void testTransactedSessionsAreNotBatched() throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create("slowbatch");
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(true, Session.SESSION_TRANSACTED)) {
+            connection.start();
+            Queue queue = session.createQueue("batching.transacted");
+            session.createProducer(queue).send(session.createTextMessage("message"));
+            session.commit();
+
+            Assertions.assertThat(session.createConsumer(queue).receive(500)).isNotNull();
+            session.commit();
+        } finally {
+            stop(connectionFactory);
+        }
+    }
+
+    @Test
+    public void testPersistentSendThroughput() throws Exception {
+        compareThroughput(DeliveryMode.PERSISTENT, "persistent");
+    }
+
+    @Test
+    public void testNonPersistentSendThroughput() throws Exception {
+        compareThroughput(DeliveryMode.NON_PERSISTENT, "non-persistent");
+    }
+
+    private void compareThroughput(int deliveryMode, String label) throws Exception {
+        double unbatched = sendRate("unbatched", "batching." + label + ".unbatched", deliveryMode);
+        double batched = sendRate("batched", "batching." + label + ".batched", deliveryMode);
+
+        LOG.info(
+                "{} sends: {} msg/s with a session and producer per send, {} msg/s with producer batching",
+                label,
+                String.format("%.0f", unbatched),
+                String.format("%.0f", batched));
+
+        Assertions.assertThat(receive("batching." + label + ".unbatched")).isEqualTo(MESSAGES);
+        Assertions.assertThat(receive("batching." + label + ".batched")).isEqualTo(MESSAGES);
+    }
+
+    private static void configure(String name, int batchSize, long batchTimeoutMillis) {
+        System.setProperty("forage." + name + ".jms.kind", "artemis");
+        System.setProperty("forage." + name + ".jms.broker.url", BROKER_URL);
+        System.setProperty("forage." + name + ".jms.producer.batch.size", String.valueOf(batchSize));
+        System.setProperty("forage." + name + ".jms.producer.batch.timeout.millis", String.valueOf(batchTimeoutMillis));
+    }
+
+    private static double sendRate(String name, String queueName, int deliveryMode) throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create(name);
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < MESSAGES; i++) {
+                try (Connection connection = connectionFactory.createConnection();
+                        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+                        MessageProducer producer = session.createProducer(session.createQueue(queueName))) {
+                    producer.setDeliveryMode(deliveryMode);
+                    producer.send(session.createTextMessage("message " + i));
+                }
+            }
+            if (connectionFactory instanceof BatchingConnectionFactory batching) {
+                batching.flush();
+            }
+            return MESSAGES / ((System.nanoTime() - start) / 1_000_000_000.0);
+        } finally {
+            stop(connectionFactory);
+        }
+    }
+
+    private static int receive(String queueName) throws Exception {
+        return receive(queueName, MESSAGES);
+    }
+
+    private static int receive(String queueName, int expected) throws Exception {
+        ConnectionFactory connectionFactory = new ArtemisJms().create("unbatched");
+        int received = 0;
+        try (Connection connection = connectionFactory.createConnection();
+                Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE)) {
+            connection.start();
+            MessageConsumer consumer = session.createConsumer(session.createQueue(queueName));
+            while (received < expected && consumer.receive(TimeUnit.SECONDS.toMillis(5)) != null) {
+                received++;
+            }
+        } finally {
+            stop(connectionFactory);
+        }
+        return received;
+    }
+
+    private static void stop(ConnectionFactory connectionFactory) {
+        ((JmsPoolConnectionFactory) connectionFactory).stop();
+    }
+}
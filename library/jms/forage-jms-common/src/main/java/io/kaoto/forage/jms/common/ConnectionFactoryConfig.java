@@ -1,12 +1,17 @@
 package io.kaoto.forage.jms.common;
 
 import io.kaoto.forage.core.util.config.AbstractConfig;
+import io.kaoto.forage.core.util.config.ConfigModule;
 
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.BLOCK_IF_FULL;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.BLOCK_IF_FULL_TIMEOUT_MILLIS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.BLOCK_ON_DURABLE_SEND;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.BLOCK_ON_NON_DURABLE_SEND;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.BROKER_URL;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CLIENT_ID;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONFIRMATION_WINDOW_SIZE;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONNECTION_TIMEOUT_MILLIS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.CONSUMER_WINDOW_SIZE;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.EXPIRY_TIMEOUT_MILLIS;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.IDLE_TIMEOUT_MILLIS;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.JMS_KIND;
@@ -14,12 +19,24 @@ import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.MAX_CONN
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.MAX_SESSIONS_PER_CONNECTION;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.PASSWORD;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.POOL_ENABLED;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.PRODUCER_BATCH_MAX_RETRIES;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.PRODUCER_BATCH_SIZE;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.PRODUCER_BATCH_TIMEOUT_MILLIS;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.PUT_ASYNC;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.READ_AHEAD;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_ENABLED;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_ENABLE_RECOVERY;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_EXPIRY_SCANNERS;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_NODE_ID;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_CREATE_TABLE;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_DATASOURCE;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_DIRECTORY;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_DROP_TABLE;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_ID;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES;
+import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_TABLE_PREFIX;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_OBJECT_STORE_TYPE;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_RECOVERY_MODULES;
 import static io.kaoto.forage.jms.common.ConnectionFactoryConfigEntries.TRANSACTION_TIMEOUT_SECONDS;
@@ -107,7 +124,90 @@ public class ConnectionFactoryConfig extends AbstractConfig {
                 .orElse(Long.parseLong(BLOCK_IF_FULL_TIMEOUT_MILLIS.defaultValue()));
     }
 
+    // Producer batching configuration methods
+    public int producerBatchSize() {
+        return get(PRODUCER_BATCH_SIZE)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(PRODUCER_BATCH_SIZE.defaultValue()));
+    }
+
+    public long producerBatchTimeoutMillis() {
+        return get(PRODUCER_BATCH_TIMEOUT_MILLIS)
+                .map(Long::parseLong)
+                .orElse(Long.parseLong(PRODUCER_BATCH_TIMEOUT_MILLIS.defaultValue()));
+    }
+
+    public int producerBatchMaxRetries() {
+        return get(PRODUCER_BATCH_MAX_RETRIES)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(PRODUCER_BATCH_MAX_RETRIES.defaultValue()));
+    }
+
+    public boolean producerBatchingEnabled() {
+        return producerBatchSize() > 1;
+    }
+
     // Transaction configuration methods
+    public Integer consumerWindowSize() {
+        return get(CONSUMER_WINDOW_SIZE)
+                .map(value -> parseWindowSize(CONSUMER_WINDOW_SIZE, value))
+                .orElse(null);
+    }
+
+    public Integer confirmationWindowSize() {
+        return get(CONFIRMATION_WINDOW_SIZE)
+                .map(value -> parseWindowSize(CONFIRMATION_WINDOW_SIZE, value))
+                .orElse(null);
+    }
+
+    public Boolean blockOnDurableSend() {
+        return get(BLOCK_ON_DURABLE_SEND).map(Boolean::parseBoolean).orElse(null);
+    }
+
+    public Boolean blockOnNonDurableSend() {
+        return get(BLOCK_ON_NON_DURABLE_SEND).map(Boolean::parseBoolean).orElse(null);
+    }
+
+    public Boolean readAhead() {
+        return get(READ_AHEAD).map(Boolean::parseBoolean).orElse(null);
+    }
+
+    public Boolean putAsync() {
+        return get(PUT_ASYNC).map(Boolean::parseBoolean).orElse(null);
+    }
+
+    /**
+     * Checks that the broker specific settings are only configured for the JMS kind supporting them.
+     *
+     * @throws IllegalArgumentException if a setting is configured for another JMS kind
+     */
+    public void validateKindSpecificSettings() {
+        String kind = get(JMS_KIND).orElse(null);
+        if (kind == null) {
+            // The provider was picked without a configured kind, there is nothing to check against
+            return;
+        }
+        ConnectionFactoryConfigEntries.kindSpecificModules().forEach((module, supportedKind) -> {
+            if (get(module).isPresent() && !supportedKind.equals(kind)) {
+                throw new IllegalArgumentException("%s is only supported by the %s JMS kind, not by %s"
+                        .formatted(module.propertyName(), supportedKind, kind));
+            }
+        });
+    }
+
+    private static int parseWindowSize(ConfigModule module, String value) {
+        try {
+            int size = Integer.parseInt(value);
+            if (size < -1) {
+                throw new IllegalArgumentException(
+                        "Invalid value for " + module.propertyName() + ": " + value + ", expected -1 or more");
+            }
+            return size;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + module.propertyName() + ": " + value, e);
+        }
+    }
+
     public boolean transactionEnabled() {
         return get(TRANSACTION_ENABLED)
                 .map(Boolean::parseBoolean)
@@ -154,4 +254,42 @@ public class ConnectionFactoryConfig extends AbstractConfig {
     public String transactionObjectStoreType() {
         return get(TRANSACTION_OBJECT_STORE_TYPE).orElse(TRANSACTION_OBJECT_STORE_TYPE.defaultValue());
     }
+
+    public String transactionObjectStoreDataSource() {
+        return get(TRANSACTION_OBJECT_STORE_DATASOURCE).orElse(null);
+    }
+
+    public boolean transactionObjectStoreCreateTable() {
+        return get(TRANSACTION_OBJECT_STORE_CREATE_TABLE)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(TRANSACTION_OBJECT_STORE_CREATE_TABLE.defaultValue()));
+    }
+
+    public boolean transactionObjectStoreDropTable() {
+        return get(TRANSACTION_OBJECT_STORE_DROP_TABLE)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(TRANSACTION_OBJECT_STORE_DROP_TABLE.defaultValue()));
+    }
+
+    public String transactionObjectStoreTablePrefix() {
+        return get(TRANSACTION_OBJECT_STORE_TABLE_PREFIX).orElse(TRANSACTION_OBJECT_STORE_TABLE_PREFIX.defaultValue());
+    }
+
+    public boolean transactionObjectStoreJournalSyncWrites() {
+        return get(TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES.defaultValue()));
+    }
+
+    public int transactionObjectStoreJournalBufferFlushesPerSecond() {
+        return get(TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND)
+                .map(Integer::parseInt)
+                .orElse(Integer.parseInt(TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND.defaultValue()));
+    }
+
+    public boolean transactionObjectStoreJournalAsyncIo() {
+        return get(TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO)
+                .map(Boolean::parseBoolean)
+                .orElse(Boolean.parseBoolean(TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO.defaultValue()));
+    }
 }
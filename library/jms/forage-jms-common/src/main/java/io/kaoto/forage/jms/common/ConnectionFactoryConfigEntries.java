@@ -1,5 +1,6 @@
 package io.kaoto.forage.jms.common;
 
+import java.util.Map;
 import io.kaoto.forage.core.util.config.ConfigEntries;
 import io.kaoto.forage.core.util.config.ConfigModule;
 import io.kaoto.forage.core.util.config.ConfigTag;
@@ -137,6 +138,98 @@ public final class ConnectionFactoryConfigEntries extends ConfigEntries {
             false,
             ConfigTag.ADVANCED);
 
+    // Broker specific performance configuration
+    public static final ConfigModule CONSUMER_WINDOW_SIZE = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.consumer.window.size",
+            "Artemis only: bytes of messages buffered by each consumer, 0 disables prefetch and -1 is unbounded",
+            "Consumer Window Size",
+            null,
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule CONFIRMATION_WINDOW_SIZE = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.confirmation.window.size",
+            "Artemis only: bytes of commands sent before the broker acknowledges them, -1 disables asynchronous confirmations",
+            "Confirmation Window Size",
+            null,
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule BLOCK_ON_DURABLE_SEND = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.block.on.durable.send",
+            "Artemis only: wait for the broker to acknowledge each persistent message sent outside a transaction",
+            "Block On Durable Send",
+            null,
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule BLOCK_ON_NON_DURABLE_SEND = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.block.on.non.durable.send",
+            "Artemis only: wait for the broker to acknowledge each non-persistent message",
+            "Block On Non Durable Send",
+            null,
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule READ_AHEAD = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.read.ahead",
+            "IBM MQ only: stream non-persistent messages to consumers ahead of receive calls",
+            "Read Ahead",
+            null,
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule PUT_ASYNC = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.put.async",
+            "IBM MQ only: put messages without waiting for the queue manager response",
+            "Put Async",
+            null,
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    // Producer batching configuration
+    public static final ConfigModule PRODUCER_BATCH_SIZE = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.producer.batch.size",
+            "Number of messages sent in a single local transaction by the thread-affine producer session, 0 or 1 disables producer batching",
+            "Producer Batch Size",
+            "0",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule PRODUCER_BATCH_TIMEOUT_MILLIS = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.producer.batch.timeout.millis",
+            "Maximum time a batched message waits for its transaction to be committed (milliseconds)",
+            "Producer Batch Timeout",
+            "100",
+            "long",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule PRODUCER_BATCH_MAX_RETRIES = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.producer.batch.max.retries",
+            "Number of times a batch of messages that cannot be committed is sent again before the failure is reported to the sender",
+            "Producer Batch Max Retries",
+            "3",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
     // Transaction configuration
     public static final ConfigModule TRANSACTION_ENABLED = ConfigModule.of(
             ConnectionFactoryConfig.class,
@@ -234,13 +327,91 @@ public final class ConnectionFactoryConfigEntries extends ConfigEntries {
     public static final ConfigModule TRANSACTION_OBJECT_STORE_TYPE = ConfigModule.of(
             ConnectionFactoryConfig.class,
             "forage.jms.transaction.object.store.type",
-            "Type of transaction object store (file-system or jdbc)",
+            "Type of transaction object store (file-system, journal, jdbc or volatile)",
             "Object Store Type",
             "file-system",
             "string",
             false,
             ConfigTag.ADVANCED);
 
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_DATASOURCE = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.transaction.object.store.datasource",
+            "DataSource name for JDBC object store",
+            "Object Store DataSource",
+            null,
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_CREATE_TABLE = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.transaction.object.store.create.table",
+            "Create object store table if not exists",
+            "Create Table",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_DROP_TABLE = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.transaction.object.store.drop.table",
+            "Drop object store table on shutdown",
+            "Drop Table",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_TABLE_PREFIX = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.transaction.object.store.table.prefix",
+            "Prefix for object store tables",
+            "Table Prefix",
+            "forage_",
+            "string",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.transaction.object.store.journal.sync.writes",
+            "Whether the journal object store waits for transaction log writes to reach the disk",
+            "Journal Sync Writes",
+            "true",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.transaction.object.store.journal.buffer.flushes.per.second",
+            "Number of journal buffer flushes per second, concurrent commits within a flush interval share one disk sync",
+            "Journal Buffer Flushes Per Second",
+            "500",
+            "integer",
+            false,
+            ConfigTag.ADVANCED);
+
+    public static final ConfigModule TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO = ConfigModule.of(
+            ConnectionFactoryConfig.class,
+            "forage.jms.transaction.object.store.journal.async.io",
+            "Use Linux libaio for the journal object store when available",
+            "Journal Async IO",
+            "false",
+            "boolean",
+            false,
+            ConfigTag.ADVANCED);
+
+    private static final Map<ConfigModule, String> KIND_SPECIFIC_MODULES = Map.of(
+            CONSUMER_WINDOW_SIZE, "artemis",
+            CONFIRMATION_WINDOW_SIZE, "artemis",
+            BLOCK_ON_DURABLE_SEND, "artemis",
+            BLOCK_ON_NON_DURABLE_SEND, "artemis",
+            READ_AHEAD, "ibmmq",
+            PUT_ASYNC, "ibmmq");
+
     static {
         initModules(
                 ConnectionFactoryConfigEntries.class,
@@ -257,6 +428,15 @@ public final class ConnectionFactoryConfigEntries extends ConfigEntries {
                 CONNECTION_TIMEOUT_MILLIS,
                 BLOCK_IF_FULL,
                 BLOCK_IF_FULL_TIMEOUT_MILLIS,
+                CONSUMER_WINDOW_SIZE,
+                CONFIRMATION_WINDOW_SIZE,
+                BLOCK_ON_DURABLE_SEND,
+                BLOCK_ON_NON_DURABLE_SEND,
+                READ_AHEAD,
+                PUT_ASYNC,
+                PRODUCER_BATCH_SIZE,
+                PRODUCER_BATCH_TIMEOUT_MILLIS,
+                PRODUCER_BATCH_MAX_RETRIES,
                 TRANSACTION_ENABLED,
                 TRANSACTION_TIMEOUT_SECONDS,
                 TRANSACTION_NODE_ID,
@@ -266,6 +446,20 @@ public final class ConnectionFactoryConfigEntries extends ConfigEntries {
                 TRANSACTION_EXPIRY_SCANNERS,
                 TRANSACTION_XA_RESOURCE_ORPHAN_FILTERS,
                 TRANSACTION_OBJECT_STORE_DIRECTORY,
-                TRANSACTION_OBJECT_STORE_TYPE);
+                TRANSACTION_OBJECT_STORE_TYPE,
+                TRANSACTION_OBJECT_STORE_DATASOURCE,
+                TRANSACTION_OBJECT_STORE_CREATE_TABLE,
+                TRANSACTION_OBJECT_STORE_DROP_TABLE,
+                TRANSACTION_OBJECT_STORE_TABLE_PREFIX,
+                TRANSACTION_OBJECT_STORE_JOURNAL_SYNC_WRITES,
+                TRANSACTION_OBJECT_STORE_JOURNAL_BUFFER_FLUSHES_PER_SECOND,
+                TRANSACTION_OBJECT_STORE_JOURNAL_ASYNC_IO);
+    }
+
+    /**
+     * Returns the broker specific entries with the JMS kind supporting each of them.
+     */
+    public static Map<ConfigModule, String> kindSpecificModules() {
+        return KIND_SPECIFIC_MODULES;
     }
 }
@@ -106,8 +106,29 @@ public class JmsModuleDescriptor implements ForageModuleDescriptor<ConnectionFac
                         props,
                         "quarkus.transaction-manager.object-store.directory",
                         config::transactionObjectStoreDirectory);
+                if ("journal".equals(config.transactionObjectStoreType())) {
+                    throw new IllegalArgumentException(
+                            "The journal transaction object store is not supported by the Quarkus transaction manager, "
+                                    + "use file-system or jdbc instead");
+                }
                 addIfNotEmpty(
                         props, "quarkus.transaction-manager.object-store.type", config::transactionObjectStoreType);
+                addIfNotEmpty(
+                        props,
+                        "quarkus.transaction-manager.object-store.datasource",
+                        config.transactionObjectStoreDataSource());
+                addIfNotEmpty(
+                        props,
+                        "quarkus.transaction-manager.object-store.create-table",
+                        config::transactionObjectStoreCreateTable);
+                addIfNotEmpty(
+                        props,
+                        "quarkus.transaction-manager.object-store.drop-table",
+                        config::transactionObjectStoreDropTable);
+                addIfNotEmpty(
+                        props,
+                        "quarkus.transaction-manager.object-store.table-prefix",
+                        config::transactionObjectStoreTablePrefix);
                 addIfNotEmpty(props, "quarkus.transaction-manager.enable-recovery", config::transactionEnableRecovery);
             }
         } else if (!"ibmmq".equals(config.jmsKind())) {
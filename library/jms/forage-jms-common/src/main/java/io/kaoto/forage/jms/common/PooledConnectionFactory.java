@@ -7,6 +7,7 @@ import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.jms.ConnectionFactoryProvider;
+import io.kaoto.forage.jms.common.batching.BatchingConnectionFactory;
 import io.kaoto.forage.jms.common.transactions.TransactionConfiguration;
 
 /**
@@ -49,6 +50,7 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
      */
     protected ConnectionFactory createPooledConnectionFactory(String id) {
         config = new ConnectionFactoryConfig(id);
+        config.validateKindSpecificSettings();
 
         LOG.info(
                 "ConnectionFactory configuration - Broker URL: {}, Username: {}, Pool Enabled: {}, Max Connections: {}, "
@@ -63,6 +65,9 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
                 config.transactionEnabled());
 
         if (config.transactionEnabled()) {
+            if (config.producerBatchingEnabled()) {
+                LOG.warn("Producer batching is ignored because sends take part in the JTA transactions");
+            }
             LOG.info("Creating XA ConnectionFactory for transactional support");
             new TransactionConfiguration(config, id == null ? "connectionFactory" : id).initializeNarayana();
             XAConnectionFactory xaConnectionFactory = createXAConnectionFactory(config);
@@ -81,6 +86,9 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
             ConnectionFactory underlyingConnectionFactory = createConnectionFactory(config);
 
             if (!config.poolEnabled()) {
+                if (config.producerBatchingEnabled()) {
+                    LOG.warn("Producer batching is ignored because connection pooling is disabled");
+                }
                 LOG.info("Connection pooling is disabled, returning underlying ConnectionFactory");
                 return underlyingConnectionFactory;
             }
@@ -93,9 +101,23 @@ public abstract class PooledConnectionFactory implements ConnectionFactoryProvid
         }
     }
 
+    private JmsPoolConnectionFactory createPoolConnectionFactory() {
+        if (config.transactionEnabled() || !config.producerBatchingEnabled()) {
+            return new JmsPoolConnectionFactory();
+        }
+
+        LOG.info(
+                "Producer batching enabled - Batch Size: {}, Batch Timeout: {}ms, Max Retries: {}",
+                config.producerBatchSize(),
+                config.producerBatchTimeoutMillis(),
+                config.producerBatchMaxRetries());
+        return new BatchingConnectionFactory(
+                config.producerBatchSize(), config.producerBatchTimeoutMillis(), config.producerBatchMaxRetries());
+    }
+
     private <T> JmsPoolConnectionFactory setupPooledConnectionFactory(T underlyingConnectionFactory) {
         // Configure pooled connection factory
-        JmsPoolConnectionFactory pooledConnectionFactory = new JmsPoolConnectionFactory();
+        JmsPoolConnectionFactory pooledConnectionFactory = createPoolConnectionFactory();
         pooledConnectionFactory.setConnectionFactory(underlyingConnectionFactory);
         pooledConnectionFactory.setMaxConnections(config.maxConnections());
         pooledConnectionFactory.setMaxSessionsPerConnection(config.maxSessionsPerConnection());
@@ -0,0 +1,257 @@
+package io.kaoto.forage.jms.common.batching;
+
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Connection;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.Session;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.messaginghub.pooled.jms.JmsPoolConnectionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pooled connection factory batching the messages sent by non-transacted sessions into local transactions.
+ *
+ * <p>Each sending thread gets its own transacted session and anonymous producer on a pooled connection dedicated
+ * to batching, one per set of credentials, so sends neither borrow a pooled session nor create a producer on the
+ * broker. The batch of a thread is committed every {@code batchSize} messages, and a background flusher commits
+ * batches whose oldest message has waited for {@code batchTimeoutMillis}. Messages with a {@code JMSReplyTo}
+ * destination are committed right away, so that the request/reply exchanges do not wait for the batch.
+ *
+ * <p>A send returns before its message is committed. A batch that cannot be committed is sent again up to
+ * {@code maxRetries} times; past that, the failure is thrown to the sending thread, by its current send or its
+ * next one, and completion listeners of asynchronous sends are notified. {@link #stop()} and {@link #close()}
+ * commit the pending batches before stopping the pool, they must be called on shutdown not to lose messages.
+ * Transacted sessions, consumers, {@link JMSContext} and queue or topic connections are not batched.
+ */
+public class BatchingConnectionFactory extends JmsPoolConnectionFactory implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingConnectionFactory.class);
+    private static final Credentials DEFAULT_CREDENTIALS = new Credentials(null, null);
+
+    private final int batchSize;
+    private final long batchTimeoutNanos;
+    private final int maxRetries;
+    private final ThreadLocal<Map<Credentials, ProducerBatch>> currentBatches = ThreadLocal.withInitial(HashMap::new);
+    private final Set<ProducerBatch> batches = ConcurrentHashMap.newKeySet();
+    private final Map<Credentials, Connection> batchConnections = new HashMap<>();
+    private final ScheduledExecutorService flusher;
+    private volatile boolean closed;
+
+    public BatchingConnectionFactory(int batchSize, long batchTimeoutMillis, int maxRetries) {
+        this.batchSize = batchSize;
+        this.batchTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(batchTimeoutMillis);
+        this.maxRetries = maxRetries;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "forage-jms-batch-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long period = Math.max(1, batchTimeoutMillis / 2);
+        flusher.scheduleWithFixedDelay(this::flushExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection createConnection() throws JMSException {
+        return wrap(super.createConnection(), DEFAULT_CREDENTIALS);
+    }
+
+    @Override
+    public Connection createConnection(String userName, String password) throws JMSException {
+        return wrap(super.createConnection(userName, password), new Credentials(userName, password));
+    }
+
+    /**
+     * Commits the pending messages of every sending thread.
+     */
+    public void flush() {
+        batches.forEach(ProducerBatch::flush);
+    }
+
+    /**
+     * Commits the pending messages, releases the batching sessions and connections, and stops the pool.
+     */
+    @Override
+    public void stop() {
+        closed = true;
+        flusher.shutdownNow();
+        batches.forEach(ProducerBatch::close);
+        batches.clear();
+
+        synchronized (this) {
+            batchConnections.values().forEach(BatchingConnectionFactory::closeQuietly);
+            batchConnections.clear();
+        }
+        super.stop();
+    }
+
+    /**
+     * Same as {@link #stop()}.
+     */
+    @Override
+    public void close() {
+        stop();
+    }
+
+    void send(
+            Credentials credentials,
+            Destination destination,
+            Message message,
+            SendOptions options,
+            CompletionListener listener)
+            throws JMSException {
+        batch(credentials).send(destination, message, options, listener, message.getJMSReplyTo() != null);
+    }
+
+    private ProducerBatch batch(Credentials credentials) throws JMSException {
+        Map<Credentials, ProducerBatch> threadBatches = currentBatches.get();
+        ProducerBatch batch = threadBatches.get(credentials);
+        if (batch != null && !batch.isClosed()) {
+            return batch;
+        }
+        if (batch != null) {
+            batches.remove(batch);
+        }
+        if (closed) {
+            throw new jakarta.jms.IllegalStateException("The batching connection factory is closed");
+        }
+
+        batch = new ProducerBatch(() -> createBatchSession(credentials), batchSize, batchTimeoutNanos, maxRetries);
+        threadBatches.put(credentials, batch);
+        batches.add(batch);
+        return batch;
+    }
+
+    private synchronized Session createBatchSession(Credentials credentials) throws JMSException {
+        if (closed) {
+            throw new jakarta.jms.IllegalStateException("The batching connection factory is closed");
+        }
+        Connection connection = batchConnections.get(credentials);
+        if (connection == null) {
+            connection = credentials == DEFAULT_CREDENTIALS
+                    ? super.createConnection()
+                    : super.createConnection(credentials.userName(), credentials.password());
+            batchConnections.put(credentials, connection);
+        }
+
+        try {
+            return connection.createSession(true, Session.SESSION_TRANSACTED);
+        } catch (JMSException | RuntimeException e) {
+            // The connection may be broken, the next session will be opened on a new one
+            LOG.warn(
+                    "Failed to create a producer batch session, resetting the batching connection: {}", e.getMessage());
+            closeQuietly(connection);
+            batchConnections.remove(credentials);
+            throw e;
+        }
+    }
+
+    private void flushExpired() {
+        for (ProducerBatch batch : batches) {
+            if (!batch.isOwnerAlive()) {
+                batch.close();
+            } else {
+                batch.flushIfExpired();
+            }
+            if (batch.isClosed()) {
+                batches.remove(batch);
+            }
+        }
+    }
+
+    private Connection wrap(Connection connection, Credentials credentials) {
+        return (Connection) Proxy.newProxyInstance(
+                BatchingConnectionFactory.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConnectionHandler(connection, credentials));
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (JMSException | RuntimeException e) {
+            LOG.debug("Failed to close the batching connection: {}", e.getMessage());
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static boolean isBatchable(Object[] args) {
+        if (args == null || args.length == 0) {
+            return true;
+        }
+        if (args.length == 1) {
+            return (int) args[0] != Session.SESSION_TRANSACTED;
+        }
+        return !(boolean) args[0] && (int) args[1] != Session.SESSION_TRANSACTED;
+    }
+
+    /**
+     * Credentials of the connections a batch sends on, both null for the default credentials.
+     */
+    record Credentials(String userName, String password) {}
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+        private final Credentials credentials;
+
+        private ConnectionHandler(Connection connection, Credentials credentials) {
+            this.connection = connection;
+            this.credentials = credentials;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = BatchingConnectionFactory.invoke(connection, method, args);
+            if ("createSession".equals(method.getName()) && isBatchable(args)) {
+                return Proxy.newProxyInstance(
+                        BatchingConnectionFactory.class.getClassLoader(),
+                        new Class<?>[] {Session.class},
+                        new SessionHandler((Session) result, credentials));
+            }
+            return result;
+        }
+    }
+
+    private final class SessionHandler implements InvocationHandler {
+        private final Session session;
+        private final Credentials credentials;
+
+        private SessionHandler(Session session, Credentials credentials) {
+            this.session = session;
+            this.credentials = credentials;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("createProducer".equals(method.getName())) {
+                if (session.getTransacted()) {
+                    // The session is transacted after all, its sends belong to the caller's transaction
+                    return BatchingConnectionFactory.invoke(session, method, args);
+                }
+                return new BatchingMessageProducer(BatchingConnectionFactory.this, credentials, (Destination) args[0]);
+            }
+            return BatchingConnectionFactory.invoke(session, method, args);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package io.kaoto.forage.jms.common.batching;
+
+import jakarta.jms.CompletionListener;
+import jakarta.jms.DeliveryMode;
+import jakarta.jms.Destination;
+import jakarta.jms.IllegalStateException;
+import jakarta.jms.InvalidDestinationException;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+
+/**
+ * Message producer handed out by the sessions of a {@link BatchingConnectionFactory}.
+ *
+ * <p>It only keeps the producer settings, the messages are sent by the producer batch of the calling thread.
+ */
+final class BatchingMessageProducer implements MessageProducer {
+
+    private final BatchingConnectionFactory connectionFactory;
+    private final BatchingConnectionFactory.Credentials credentials;
+    private final Destination destination;
+    private int deliveryMode = DeliveryMode.PERSISTENT;
+    private int priority = Message.DEFAULT_PRIORITY;
+    private long timeToLive = Message.DEFAULT_TIME_TO_LIVE;
+    private long deliveryDelay = Message.DEFAULT_DELIVERY_DELAY;
+    private boolean disableMessageId;
+    private boolean disableMessageTimestamp;
+    private volatile boolean closed;
+
+    BatchingMessageProducer(
+            BatchingConnectionFactory connectionFactory,
+            BatchingConnectionFactory.Credentials credentials,
+            Destination destination) {
+        this.connectionFactory = connectionFactory;
+        this.credentials = credentials;
+        this.destination = destination;
+    }
+
+    @Override
+    public void setDisableMessageID(boolean value) throws JMSException {
+        checkNotClosed();
+        disableMessageId = value;
+    }
+
+    @Override
+    public boolean getDisableMessageID() throws JMSException {
+        checkNotClosed();
+        return disableMessageId;
+    }
+
+    @Override
+    public void setDisableMessageTimestamp(boolean value) throws JMSException {
+        checkNotClosed();
+        disableMessageTimestamp = value;
+    }
+
+    @Override
+    public boolean getDisableMessageTimestamp() throws JMSException {
+        checkNotClosed();
+        return disableMessageTimestamp;
+    }
+
+    @Override
+    public void setDeliveryMode(int deliveryMode) throws JMSException {
+        checkNotClosed();
+        this.deliveryMode = deliveryMode;
+    }
+
+    @Override
+    public int getDeliveryMode() throws JMSException {
+        checkNotClosed();
+        return deliveryMode;
+    }
+
+    @Override
+    public void setPriority(int defaultPriority) throws JMSException {
+        checkNotClosed();
+        priority = defaultPriority;
+    }
+
+    @Override
+    public int getPriority() throws JMSException {
+        checkNotClosed();
+        return priority;
+    }
+
+    @Override
+    public void setTimeToLive(long timeToLive) throws JMSException {
+        checkNotClosed();
+        this.timeToLive = timeToLive;
+    }
+
+    @Override
+    public long getTimeToLive() throws JMSException {
+        checkNotClosed();
+        return timeToLive;
+    }
+
+    @Override
+    public void setDeliveryDelay(long deliveryDelay) throws JMSException {
+        checkNotClosed();
+        this.deliveryDelay = deliveryDelay;
+    }
+
+    @Override
+    public long getDeliveryDelay() throws JMSException {
+        checkNotClosed();
+        return deliveryDelay;
+    }
+
+    @Override
+    public Destination getDestination() throws JMSException {
+        checkNotClosed();
+        return destination;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+
+    @Override
+    public void send(Message message) throws JMSException {
+        send(message, deliveryMode, priority, timeToLive);
+    }
+
+    @Override
+    public void send(Message message, int deliveryMode, int priority, long timeToLive) throws JMSException {
+        doSend(boundDestination(), message, deliveryMode, priority, timeToLive, null);
+    }
+
+    @Override
+    public void send(Destination destination, Message message) throws JMSException {
+        send(destination, message, deliveryMode, priority, timeToLive);
+    }
+
+    @Override
+    public void send(Destination destination, Message message, int deliveryMode, int priority, long timeToLive)
+            throws JMSException {
+        doSend(explicitDestination(destination), message, deliveryMode, priority, timeToLive, null);
+    }
+
+    @Override
+    public void send(Message message, CompletionListener completionListener) throws JMSException {
+        send(message, deliveryMode, priority, timeToLive, completionListener);
+    }
+
+    @Override
+    public void send(
+            Message message, int deliveryMode, int priority, long timeToLive, CompletionListener completionListener)
+            throws JMSException {
+        doSend(boundDestination(), message, deliveryMode, priority, timeToLive, completionListener);
+    }
+
+    @Override
+    public void send(Destination destination, Message message, CompletionListener completionListener)
+            throws JMSException {
+        send(destination, message, deliveryMode, priority, timeToLive, completionListener);
+    }
+
+    @Override
+    public void send(
+            Destination destination,
+            Message message,
+            int deliveryMode,
+            int priority,
+            long timeToLive,
+            CompletionListener completionListener)
+            throws JMSException {
+        doSend(explicitDestination(destination), message, deliveryMode, priority, timeToLive, completionListener);
+    }
+
+    private void doSend(
+            Destination target,
+            Message message,
+            int deliveryMode,
+            int priority,
+            long timeToLive,
+            CompletionListener completionListener)
+            throws JMSException {
+        checkNotClosed();
+        SendOptions options = new SendOptions(
+                deliveryMode, priority, timeToLive, deliveryDelay, disableMessageId, disableMessageTimestamp);
+        connectionFactory.send(credentials, target, message, options, completionListener);
+    }
+
+    private Destination boundDestination() {
+        if (destination == null) {
+            throw new UnsupportedOperationException("The producer has no destination, one must be given on send");
+        }
+        return destination;
+    }
+
+    private Destination explicitDestination(Destination target) throws JMSException {
+        if (destination != null) {
+            throw new UnsupportedOperationException("The producer was created with a destination");
+        }
+        if (target == null) {
+            throw new InvalidDestinationException("The destination must not be null");
+        }
+        return target;
+    }
+
+    private void checkNotClosed() throws IllegalStateException {
+        if (closed) {
+            throw new IllegalStateException("The producer is closed");
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package io.kaoto.forage.jms.common.batching;
+
+import jakarta.jms.CompletionListener;
+import jakarta.jms.Destination;
+import jakarta.jms.JMSException;
+import jakarta.jms.Message;
+import jakarta.jms.MessageProducer;
+import jakarta.jms.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transacted session and anonymous producer owned by a single sending thread.
+ *
+ * <p>Messages are sent in a local transaction that is committed once the batch is full, or by the flusher
+ * once the oldest message of the batch has waited for the batch timeout. The lock serializes the owner
+ * thread and the flusher, so the session is never used by two threads at the same time.
+ *
+ * <p>The messages of the batch are kept until it is committed. When a send or the commit fails, the batch is
+ * sent again on a new session up to {@code maxRetries} times, so a message whose commit outcome was unknown may
+ * be delivered twice. When the retries are exhausted, the completion listeners are notified and the failure is
+ * thrown to the owner thread: directly when it was sending, otherwise by its next send.
+ */
+final class ProducerBatch {
+    private static final Logger LOG = LoggerFactory.getLogger(ProducerBatch.class);
+
+    private final Thread owner;
+    private final SessionFactory sessionFactory;
+    private final int batchSize;
+    private final long timeoutNanos;
+    private final int maxRetries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<PendingSend> pending = new ArrayList<>();
+    private Session session;
+    private MessageProducer producer;
+    private long firstPendingNanos;
+    private JMSException failure;
+    private boolean closed;
+
+    ProducerBatch(SessionFactory sessionFactory, int batchSize, long timeoutNanos, int maxRetries) {
+        this.owner = Thread.currentThread();
+        this.sessionFactory = sessionFactory;
+        this.batchSize = batchSize;
+        this.timeoutNanos = timeoutNanos;
+        this.maxRetries = maxRetries;
+    }
+
+    boolean isOwnerAlive() {
+        return owner.isAlive();
+    }
+
+    /**
+     * Sends a message within the current batch, committing the batch when it is full or expired.
+     *
+     * @param commit whether the batch has to be committed right after this message, e.g. for a request waiting
+     *     for its reply
+     * @throws JMSException if a previous batch committed in the background failed, or if this batch cannot be
+     *     sent and committed after the retries, in which case all its messages are discarded
+     */
+    void send(
+            Destination destination, Message message, SendOptions options, CompletionListener listener, boolean commit)
+            throws JMSException {
+        lock.lock();
+        try {
+            if (closed) {
+                throw new jakarta.jms.IllegalStateException("The producer batch is closed");
+            }
+            if (failure != null) {
+                JMSException previous = failure;
+                failure = null;
+                throw previous;
+            }
+
+            PendingSend send = new PendingSend(destination, message, options, listener);
+            if (pending.isEmpty()) {
+                firstPendingNanos = System.nanoTime();
+            }
+            pending.add(send);
+            try {
+                send(send);
+            } catch (JMSException | RuntimeException e) {
+                retry(e);
+                return;
+            }
+
+            if (commit || pending.size() >= batchSize || System.nanoTime() - firstPendingNanos >= timeoutNanos) {
+                commit();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits the batch if its oldest message has waited for the batch timeout.
+     */
+    void flushIfExpired() {
+        lock.lock();
+        try {
+            if (!closed && !pending.isEmpty() && System.nanoTime() - firstPendingNanos >= timeoutNanos) {
+                commitInBackground();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits the pending messages of the batch, if any.
+     */
+    void flush() {
+        lock.lock();
+        try {
+            if (!closed && !pending.isEmpty()) {
+                commitInBackground();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits the pending messages and closes the session of the batch.
+     */
+    void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            if (!pending.isEmpty()) {
+                commitInBackground();
+            }
+            closed = true;
+            closeSession();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Commits on behalf of the owner thread, keeping the failure for its next send.
+     */
+    private void commitInBackground() {
+        try {
+            commit();
+        } catch (JMSException e) {
+            LOG.error("Failed to commit a batch of JMS messages: {}", e.getMessage(), e);
+            if (failure == null) {
+                failure = e;
+            }
+        }
+    }
+
+    private void commit() throws JMSException {
+        try {
+            session.commit();
+        } catch (JMSException | RuntimeException e) {
+            retry(e);
+            return;
+        }
+        completed();
+    }
+
+    private void retry(Exception cause) throws JMSException {
+        Exception last = cause;
+        for (int attempt = 1; attempt <= maxRetries; attempt++) {
+            LOG.warn(
+                    "Sending a batch of {} JMS messages again after a failure (attempt {} of {}): {}",
+                    pending.size(),
+                    attempt,
+                    maxRetries,
+                    last.getMessage());
+            discardSession();
+            try {
+                for (PendingSend send : pending) {
+                    send(send);
+                }
+                session.commit();
+                completed();
+                return;
+            } catch (JMSException | RuntimeException e) {
+                last = e;
+            }
+        }
+        discardSession();
+        abort(last);
+    }
+
+    private void send(PendingSend send) throws JMSException {
+        if (session == null) {
+            session = sessionFactory.createSession();
+            try {
+                producer = session.createProducer(null);
+            } catch (JMSException | RuntimeException e) {
+                closeSession();
+                throw e;
+            }
+        }
+        SendOptions options = send.options();
+        producer.setDisableMessageID(options.disableMessageId());
+        producer.setDisableMessageTimestamp(options.disableMessageTimestamp());
+        producer.setDeliveryDelay(options.deliveryDelay());
+        producer.send(
+                send.destination(), send.message(), options.deliveryMode(), options.priority(), options.timeToLive());
+    }
+
+    private void completed() {
+        LOG.trace("Committed a batch of {} JMS messages", pending.size());
+        List<PendingSend> committed = new ArrayList<>(pending);
+        pending.clear();
+        for (PendingSend send : committed) {
+            if (send.listener() != null) {
+                send.listener().onCompletion(send.message());
+            }
+        }
+    }
+
+    private void abort(Exception cause) throws JMSException {
+        JMSException exception = new JMSException(
+                "Failed to send a batch of " + pending.size() + " JMS messages: " + cause.getMessage());
+        exception.setLinkedException(cause);
+        exception.initCause(cause);
+
+        List<PendingSend> aborted = new ArrayList<>(pending);
+        pending.clear();
+        for (PendingSend send : aborted) {
+            if (send.listener() != null) {
+                send.listener().onException(send.message(), exception);
+            }
+        }
+        throw exception;
+    }
+
+    private void discardSession() {
+        if (session == null) {
+            return;
+        }
+        try {
+            session.rollback();
+        } catch (JMSException | RuntimeException e) {
+            LOG.debug("Failed to roll back the producer batch: {}", e.getMessage());
+        }
+        closeSession();
+    }
+
+    private void closeSession() {
+        if (session == null) {
+            return;
+        }
+        try {
+            session.close();
+        } catch (JMSException | RuntimeException e) {
+            LOG.debug("Failed to close the producer batch session: {}", e.getMessage());
+        }
+        session = null;
+        producer = null;
+    }
+
+    /**
+     * Opens the transacted sessions of the batch.
+     */
+    @FunctionalInterface
+    interface SessionFactory {
+        Session createSession() throws JMSException;
+    }
+
+    private record PendingSend(
+            Destination destination, Message message, SendOptions options, CompletionListener listener) {}
+}
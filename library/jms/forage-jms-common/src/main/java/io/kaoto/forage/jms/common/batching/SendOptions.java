@@ -0,0 +1,12 @@
+package io.kaoto.forage.jms.common.batching;
+
+/**
+ * Message producer settings applied to a single send of the shared anonymous producer.
+ */
+record SendOptions(
+        int deliveryMode,
+        int priority,
+        long timeToLive,
+        long deliveryDelay,
+        boolean disableMessageId,
+        boolean disableMessageTimestamp) {}
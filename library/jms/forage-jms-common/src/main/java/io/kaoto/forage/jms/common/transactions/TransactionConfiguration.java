@@ -1,13 +1,22 @@
 package io.kaoto.forage.jms.common.transactions;
 
+import javax.sql.DataSource;
+
+import java.nio.file.Paths;
 import java.util.Arrays;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.kaoto.forage.jdbc.common.JdbcModuleDescriptor;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
 import com.arjuna.ats.arjuna.common.CoreEnvironmentBeanException;
 import com.arjuna.ats.arjuna.common.ObjectStoreEnvironmentBean;
 import com.arjuna.ats.arjuna.common.RecoveryEnvironmentBean;
 import com.arjuna.ats.internal.arjuna.objectstore.VolatileStore;
+import com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqJournalEnvironmentBean;
+import com.arjuna.ats.internal.arjuna.objectstore.hornetq.HornetqObjectStoreAdaptor;
+import com.arjuna.ats.internal.arjuna.objectstore.jdbc.JDBCStore;
+import com.arjuna.common.internal.util.propertyservice.BeanPopulator;
 
 /**
  * Manages Narayana transaction manager configuration for JMS operations.
@@ -30,6 +39,7 @@ public class TransactionConfiguration {
         try {
             configureNodeIdentifier();
             configureObjectStore();
+            configureCoordinator();
             configureRecovery();
             LOG.info("Narayana transaction manager initialized successfully");
         } catch (Exception e) {
@@ -52,19 +62,78 @@ public class TransactionConfiguration {
 
     private void configureObjectStore() {
         ObjectStoreEnvironmentBean defaultActionStoreObjectStoreEnvironmentBean =
-                com.arjuna.common.internal.util.propertyservice.BeanPopulator.getNamedInstance(
-                        ObjectStoreEnvironmentBean.class, "default");
+                BeanPopulator.getDefaultInstance(ObjectStoreEnvironmentBean.class);
 
         String objectStoreType = config.transactionObjectStoreType();
         String objectStoreDir = config.transactionObjectStoreDirectory();
 
         LOG.debug("Configuring object store - Type: {}, Directory: {}", objectStoreType, objectStoreDir);
 
-        if ("volatile".equalsIgnoreCase(objectStoreType)) {
-            defaultActionStoreObjectStoreEnvironmentBean.setObjectStoreType(VolatileStore.class.getName());
-        } else {
-            defaultActionStoreObjectStoreEnvironmentBean.setObjectStoreDir(objectStoreDir);
+        switch (objectStoreType.toLowerCase()) {
+            case "volatile" ->
+                defaultActionStoreObjectStoreEnvironmentBean.setObjectStoreType(VolatileStore.class.getName());
+            case "journal" -> configureJournalObjectStore(defaultActionStoreObjectStoreEnvironmentBean);
+            case "jdbc" -> configureJdbcObjectStore();
+            default -> defaultActionStoreObjectStoreEnvironmentBean.setObjectStoreDir(objectStoreDir);
+        }
+    }
+
+    private void configureJournalObjectStore(ObjectStoreEnvironmentBean objectStoreEnvironmentBean) {
+        LOG.debug(
+                "Configuring journal object store - Sync writes: {}, Buffer flushes per second: {}, Async IO: {}",
+                config.transactionObjectStoreJournalSyncWrites(),
+                config.transactionObjectStoreJournalBufferFlushesPerSecond(),
+                config.transactionObjectStoreJournalAsyncIo());
+
+        objectStoreEnvironmentBean.setObjectStoreDir(config.transactionObjectStoreDirectory());
+        objectStoreEnvironmentBean.setObjectStoreType(HornetqObjectStoreAdaptor.class.getName());
+
+        HornetqJournalEnvironmentBean journalEnvironmentBean =
+                BeanPopulator.getDefaultInstance(HornetqJournalEnvironmentBean.class);
+        journalEnvironmentBean.setStoreDir(Paths.get(config.transactionObjectStoreDirectory(), "HornetqObjectStore")
+                .toString());
+        journalEnvironmentBean.setSyncWrites(config.transactionObjectStoreJournalSyncWrites());
+        journalEnvironmentBean.setSyncDeletes(config.transactionObjectStoreJournalSyncWrites());
+        journalEnvironmentBean.setBufferFlushesPerSecond(config.transactionObjectStoreJournalBufferFlushesPerSecond());
+        journalEnvironmentBean.setAsyncIO(config.transactionObjectStoreJournalAsyncIo());
+    }
+
+    private void configureJdbcObjectStore() {
+        String dataSourceName = config.transactionObjectStoreDataSource();
+        if (dataSourceName == null) {
+            throw new IllegalStateException(
+                    "The jdbc transaction object store requires the object store datasource to be configured");
         }
+        LOG.debug("Configuring jdbc object store - DataSource: {}", dataSourceName);
+
+        DataSource dataSource;
+        try {
+            dataSource = new JdbcModuleDescriptor().createObjectStoreDataSource(dataSourceName);
+        } catch (NoClassDefFoundError e) {
+            throw new IllegalStateException(
+                    "The jdbc transaction object store requires forage-jdbc and a database driver module "
+                            + "on the classpath",
+                    e);
+        }
+
+        for (String storeName : List.of("default", "stateStore", "communicationStore")) {
+            ObjectStoreEnvironmentBean objectStoreEnvironmentBean = "default".equals(storeName)
+                    ? BeanPopulator.getDefaultInstance(ObjectStoreEnvironmentBean.class)
+                    : BeanPopulator.getNamedInstance(ObjectStoreEnvironmentBean.class, storeName);
+            objectStoreEnvironmentBean.setObjectStoreType(JDBCStore.class.getName());
+            objectStoreEnvironmentBean.setJdbcDataSource(dataSource);
+            objectStoreEnvironmentBean.setTablePrefix(config.transactionObjectStoreTablePrefix());
+            objectStoreEnvironmentBean.setCreateTable(config.transactionObjectStoreCreateTable());
+            objectStoreEnvironmentBean.setDropTable(config.transactionObjectStoreDropTable());
+        }
+    }
+
+    private void configureCoordinator() {
+        var coordinatorEnvironmentBean =
+                com.arjuna.ats.arjuna.common.arjPropertyManager.getCoordinatorEnvironmentBean();
+
+        LOG.debug("Configuring coordinator - Timeout: {}s", config.transactionTimeoutSeconds());
+        coordinatorEnvironmentBean.setDefaultTimeout(config.transactionTimeoutSeconds());
     }
 
     private void configureRecovery() {
@@ -0,0 +1,92 @@
+package io.kaoto.forage.jms.ibmmq;
+
+import jakarta.jms.Connection;
+import jakarta.jms.JMSContext;
+import jakarta.jms.JMSException;
+import jakarta.jms.Session;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import com.ibm.mq.jakarta.jms.MQDestination;
+import com.ibm.msg.client.jakarta.wmq.common.CommonConstants;
+
+/**
+ * Applies read-ahead and asynchronous put settings to every destination created through a connection factory.
+ *
+ * <p>IBM MQ only honours these settings on destinations, so the connections, sessions and contexts created by
+ * the factory are proxied and the queues and topics they create are configured before being returned.
+ */
+final class DestinationSettingsHandler implements InvocationHandler {
+
+    private final Object target;
+    private final Boolean readAhead;
+    private final Boolean putAsync;
+
+    private DestinationSettingsHandler(Object target, Boolean readAhead, Boolean putAsync) {
+        this.target = target;
+        this.readAhead = readAhead;
+        this.putAsync = putAsync;
+    }
+
+    static <T> T wrap(T target, Boolean readAhead, Boolean putAsync) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            collectPublicInterfaces(type, interfaces);
+        }
+
+        @SuppressWarnings("unchecked")
+        T proxy = (T) Proxy.newProxyInstance(
+                DestinationSettingsHandler.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]),
+                new DestinationSettingsHandler(target, readAhead, putAsync));
+        return proxy;
+    }
+
+    private static void collectPublicInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (Modifier.isPublic(candidate.getModifiers())) {
+                interfaces.add(candidate);
+            }
+            collectPublicInterfaces(candidate, interfaces);
+        }
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        if (result instanceof MQDestination destination) {
+            configure(destination);
+            return destination;
+        }
+        if (result instanceof Connection || result instanceof Session || result instanceof JMSContext) {
+            return wrap(result, readAhead, putAsync);
+        }
+        return result;
+    }
+
+    private void configure(MQDestination destination) throws JMSException {
+        if (readAhead != null) {
+            destination.setReadAheadAllowed(
+                    readAhead
+                            ? CommonConstants.WMQ_READ_AHEAD_ALLOWED_ENABLED
+                            : CommonConstants.WMQ_READ_AHEAD_ALLOWED_DISABLED);
+        }
+        if (putAsync != null) {
+            destination.setPutAsyncAllowed(
+                    putAsync
+                            ? CommonConstants.WMQ_PUT_ASYNC_ALLOWED_ENABLED
+                            : CommonConstants.WMQ_PUT_ASYNC_ALLOWED_DISABLED);
+        }
+    }
+}
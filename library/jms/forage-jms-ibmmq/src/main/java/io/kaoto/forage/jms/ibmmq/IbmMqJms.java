@@ -32,7 +32,7 @@ public class IbmMqJms extends PooledConnectionFactory {
         try {
             MQConnectionFactory connectionFactory = new MQConnectionFactory();
             configureConnectionFactory(connectionFactory, config);
-            return connectionFactory;
+            return applyDestinationSettings(connectionFactory, config);
         } catch (JMSException e) {
             throw new RuntimeException("Failed to create IBM MQ ConnectionFactory", e);
         }
@@ -43,7 +43,7 @@ public class IbmMqJms extends PooledConnectionFactory {
         try {
             MQXAConnectionFactory xaConnectionFactory = new MQXAConnectionFactory();
             configureConnectionFactory(xaConnectionFactory, config);
-            return xaConnectionFactory;
+            return applyDestinationSettings(xaConnectionFactory, config);
         } catch (JMSException e) {
             throw new RuntimeException("Failed to create IBM MQ XAConnectionFactory", e);
         }
@@ -73,6 +73,17 @@ public class IbmMqJms extends PooledConnectionFactory {
         }
     }
 
+    /**
+     * Read-ahead and asynchronous put are destination properties in IBM MQ, they are applied to the destinations
+     * created through the connection factory.
+     */
+    private static <T> T applyDestinationSettings(T connectionFactory, ConnectionFactoryConfig config) {
+        if (config.readAhead() == null && config.putAsync() == null) {
+            return connectionFactory;
+        }
+        return DestinationSettingsHandler.wrap(connectionFactory, config.readAhead(), config.putAsync());
+    }
+
     private String[] parseBrokerUrl(String brokerUrl) {
         // Expected format: mq://host:port/channel/queueManager
         try {
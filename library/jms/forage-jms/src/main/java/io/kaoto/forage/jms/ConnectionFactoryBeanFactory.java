@@ -6,6 +6,8 @@ import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Set;
 import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.support.service.ServiceSupport;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import io.kaoto.forage.core.annotations.ConditionalBean;
@@ -26,6 +28,7 @@ import io.kaoto.forage.core.util.config.ConfigStore;
 import io.kaoto.forage.jms.common.ConnectionFactoryCommonExportHelper;
 import io.kaoto.forage.jms.common.ConnectionFactoryConfig;
 import io.kaoto.forage.jms.common.ForageConnectionFactory;
+import io.kaoto.forage.jms.common.batching.BatchingConnectionFactory;
 
 @ForageFactory(
         value = "JMS Connection",
@@ -154,7 +157,31 @@ public class ConnectionFactoryBeanFactory implements BeanFactory {
     private ForageConnectionFactory doCreateConnectionFactory(
             ServiceLoader.Provider<ConnectionFactoryProvider> provider, String name) {
         final ConnectionFactoryProvider connectionFactoryProvider = provider.get();
-        return new ForageConnectionFactory(connectionFactoryProvider.create(name));
+        ConnectionFactory connectionFactory = connectionFactoryProvider.create(name);
+        stopOnShutdown(connectionFactory);
+        return new ForageConnectionFactory(connectionFactory);
+    }
+
+    /**
+     * Stops a batching connection factory with the Camel context, so that its pending batches are committed.
+     */
+    private void stopOnShutdown(ConnectionFactory connectionFactory) {
+        if (!(connectionFactory instanceof BatchingConnectionFactory batchingConnectionFactory)) {
+            return;
+        }
+        try {
+            camelContext.addService(
+                    new ServiceSupport() {
+                        @Override
+                        protected void doStop() {
+                            batchingConnectionFactory.stop();
+                        }
+                    },
+                    true,
+                    true);
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
     }
 
     @Override